@@ -488,6 +488,7 @@ orderByClause
 
 orderByAttributeClause
     : sortKey (DESC | ASC)?
+    | expression (DESC | ASC)?
     ;
 
 sortKey
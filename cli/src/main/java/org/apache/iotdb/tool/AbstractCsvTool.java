@@ -30,10 +30,16 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.QuoteMode;
 
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 public abstract class AbstractCsvTool {
 
@@ -56,6 +62,11 @@ public abstract class AbstractCsvTool {
 
   protected static final String TIME_ZONE_ARGS = "tz";
   protected static final String TIME_ZONE_NAME = "timeZone";
+
+  protected static final String THREAD_NUM_ARGS = "tn";
+  protected static final String THREAD_NUM_NAME = "threadNum";
+
+  protected static final String GZIP_SUFFIX = ".gz";
   protected static final int MAX_HELP_CONSOLE_WIDTH = 92;
   protected static final String[] TIME_FORMAT =
       new String[] {"default", "long", "number", "timestamp"};
@@ -110,6 +121,7 @@ public abstract class AbstractCsvTool {
   protected static String timeZoneID;
   protected static String timeFormat;
   protected static Session session;
+  protected static int threadNum = 1;
 
   public AbstractCsvTool() {}
 
@@ -139,6 +151,12 @@ public abstract class AbstractCsvTool {
     username = checkRequiredArg(USERNAME_ARGS, USERNAME_NAME, commandLine);
 
     password = commandLine.getOptionValue(PASSWORD_ARGS);
+    if (commandLine.getOptionValue(THREAD_NUM_ARGS) != null) {
+      threadNum = Integer.parseInt(commandLine.getOptionValue(THREAD_NUM_ARGS));
+      if (threadNum <= 0) {
+        throw new ArgsErrorException("The thread num should be positive: " + threadNum);
+      }
+    }
   }
 
   protected static boolean checkTimeFormat() {
@@ -201,6 +219,16 @@ public abstract class AbstractCsvTool {
             .desc("Password (required)")
             .build();
     options.addOption(opPassword);
+
+    Option opThreadNum =
+        Option.builder(THREAD_NUM_ARGS)
+            .longOpt(THREAD_NUM_NAME)
+            .argName(THREAD_NUM_NAME)
+            .hasArg()
+            .desc(
+                "The number of files processed and sessions used concurrently, default 1 (optional)")
+            .build();
+    options.addOption(opThreadNum);
     return options;
   }
 
@@ -232,11 +260,21 @@ public abstract class AbstractCsvTool {
 
   static class CSVPrinterWrapper {
     private final String filePath;
+    private final boolean gzip;
     private final CSVFormat csvFormat;
     private CSVPrinter csvPrinter;
 
     public CSVPrinterWrapper(String filePath) {
+      this(filePath, false);
+    }
+
+    /**
+     * @param filePath the path of the CSV file
+     * @param gzip whether to compress the file with gzip while writing it
+     */
+    public CSVPrinterWrapper(String filePath, boolean gzip) {
       this.filePath = filePath;
+      this.gzip = gzip;
       this.csvFormat =
           CSVFormat.Builder.create(CSVFormat.DEFAULT)
               .setHeader()
@@ -248,7 +286,7 @@ public abstract class AbstractCsvTool {
 
     public void printRecord(final Iterable<?> values) throws IOException {
       if (csvPrinter == null) {
-        csvPrinter = csvFormat.print(new PrintWriter(filePath));
+        csvPrinter = csvFormat.print(createWriter());
       }
       csvPrinter.printRecord(values);
     }
@@ -256,7 +294,7 @@ public abstract class AbstractCsvTool {
     public void print(Object value) {
       if (csvPrinter == null) {
         try {
-          csvPrinter = csvFormat.print(new PrintWriter(filePath));
+          csvPrinter = csvFormat.print(createWriter());
         } catch (IOException e) {
           e.printStackTrace();
         }
@@ -268,6 +306,15 @@ public abstract class AbstractCsvTool {
       }
     }
 
+    private Writer createWriter() throws IOException {
+      if (!gzip) {
+        return new PrintWriter(filePath);
+      }
+      return new BufferedWriter(
+          new OutputStreamWriter(
+              new GZIPOutputStream(new FileOutputStream(filePath)), StandardCharsets.UTF_8));
+    }
+
     public void println() throws IOException {
       csvPrinter.println();
     }
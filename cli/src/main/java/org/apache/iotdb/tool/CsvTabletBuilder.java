@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tool;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Build the {@link Tablet} of one device from the string values of CSV records. The values are
+ * parsed into primitive arrays directly, and the empty values are marked in the bitmaps, so that no
+ * boxed value is created for each point.
+ *
+ * <p>The data type of a column may be unknown until its first value is seen, so the column is
+ * allocated lazily, and the rows before it are marked as null.
+ */
+public class CsvTabletBuilder {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final String deviceId;
+  private final List<String> measurements;
+  private final TSDataType[] types;
+
+  private long[] timestamps;
+  private Object[] values;
+  private BitMap[] bitMaps;
+  private int capacity;
+
+  private int rowSize;
+  private int pointSize;
+  // whether any value has been set in the current row
+  private boolean rowHasValue;
+
+  public CsvTabletBuilder(String deviceId, List<String> measurements) {
+    this.deviceId = deviceId;
+    this.measurements = measurements;
+    this.types = new TSDataType[measurements.size()];
+    reset();
+  }
+
+  /** Start a new row, which is discarded by {@link #endRow()} if none of its values is set. */
+  public void startRow(long timestamp) {
+    if (rowSize == capacity) {
+      grow();
+    }
+    timestamps[rowSize] = timestamp;
+    for (BitMap bitMap : bitMaps) {
+      if (bitMap != null) {
+        bitMap.mark(rowSize);
+      }
+    }
+    rowHasValue = false;
+  }
+
+  /**
+   * Parse the value of a column of the current row.
+   *
+   * @param columnIndex the index of the column in the measurements
+   * @param type the data type of the column, which should be the same for all rows
+   * @return false if the value can't be converted to the given type
+   */
+  public boolean setValue(int columnIndex, TSDataType type, String value) {
+    if (values[columnIndex] == null) {
+      allocateColumn(columnIndex, type);
+    }
+    int row = rowSize;
+    try {
+      switch (types[columnIndex]) {
+        case BOOLEAN:
+          if ("true".equalsIgnoreCase(value)) {
+            ((boolean[]) values[columnIndex])[row] = true;
+          } else if ("false".equalsIgnoreCase(value)) {
+            ((boolean[]) values[columnIndex])[row] = false;
+          } else {
+            return false;
+          }
+          break;
+        case INT32:
+          ((int[]) values[columnIndex])[row] = Integer.parseInt(value);
+          break;
+        case INT64:
+          ((long[]) values[columnIndex])[row] = Long.parseLong(value);
+          break;
+        case FLOAT:
+          ((float[]) values[columnIndex])[row] = Float.parseFloat(value);
+          break;
+        case DOUBLE:
+          ((double[]) values[columnIndex])[row] = Double.parseDouble(value);
+          break;
+        case TEXT:
+          if (value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+          }
+          ((Binary[]) values[columnIndex])[row] = Binary.valueOf(value);
+          break;
+        default:
+          return false;
+      }
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    bitMaps[columnIndex].unmark(row);
+    rowHasValue = true;
+    pointSize++;
+    return true;
+  }
+
+  public void endRow() {
+    if (rowHasValue) {
+      rowSize++;
+    }
+  }
+
+  public int getRowSize() {
+    return rowSize;
+  }
+
+  public int getPointSize() {
+    return pointSize;
+  }
+
+  /**
+   * Build the Tablet of the rows added since the last build, which only contains the columns having
+   * values. The builder is reset afterwards, and the arrays are handed over to the Tablet.
+   *
+   * @return the Tablet, or null if there is no row
+   */
+  public Tablet build() {
+    if (rowSize == 0) {
+      return null;
+    }
+    List<MeasurementSchema> schemas = new ArrayList<>();
+    List<Object> columns = new ArrayList<>();
+    List<BitMap> columnBitMaps = new ArrayList<>();
+    for (int i = 0; i < measurements.size(); i++) {
+      if (values[i] != null) {
+        schemas.add(new MeasurementSchema(measurements.get(i), types[i]));
+        columns.add(values[i]);
+        columnBitMaps.add(bitMaps[i]);
+      }
+    }
+    Tablet tablet =
+        new Tablet(
+            deviceId,
+            schemas,
+            timestamps,
+            columns.toArray(),
+            columnBitMaps.toArray(new BitMap[0]),
+            rowSize);
+    reset();
+    return tablet;
+  }
+
+  private void reset() {
+    capacity = INITIAL_CAPACITY;
+    timestamps = new long[capacity];
+    values = new Object[measurements.size()];
+    bitMaps = new BitMap[measurements.size()];
+    rowSize = 0;
+    pointSize = 0;
+  }
+
+  private void allocateColumn(int columnIndex, TSDataType type) {
+    types[columnIndex] = type;
+    values[columnIndex] = createColumn(type, capacity);
+    BitMap bitMap = new BitMap(capacity);
+    // the rows before the first value of the column are null, including the current one
+    for (int i = 0; i <= rowSize; i++) {
+      bitMap.mark(i);
+    }
+    bitMaps[columnIndex] = bitMap;
+  }
+
+  private void grow() {
+    int newCapacity = capacity << 1;
+    timestamps = Arrays.copyOf(timestamps, newCapacity);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        continue;
+      }
+      Object newColumn = createColumn(types[i], newCapacity);
+      System.arraycopy(values[i], 0, newColumn, 0, capacity);
+      values[i] = newColumn;
+      bitMaps[i] =
+          new BitMap(
+              newCapacity, Arrays.copyOf(bitMaps[i].getByteArray(), newCapacity / Byte.SIZE + 1));
+    }
+    capacity = newCapacity;
+  }
+
+  private static Object createColumn(TSDataType type, int capacity) {
+    switch (type) {
+      case BOOLEAN:
+        return new boolean[capacity];
+      case INT32:
+        return new int[capacity];
+      case INT64:
+        return new long[capacity];
+      case FLOAT:
+        return new float[capacity];
+      case DOUBLE:
+        return new double[capacity];
+      case TEXT:
+        return new Binary[capacity];
+      default:
+        throw new UnsupportedOperationException("Unsupported data type: " + type);
+    }
+  }
+}
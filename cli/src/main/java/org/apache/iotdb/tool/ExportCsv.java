@@ -26,8 +26,8 @@ import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.Session;
 import org.apache.iotdb.session.SessionDataSet;
-import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
-import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -47,7 +47,12 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Export CSV file.
@@ -74,6 +79,8 @@ public class ExportCsv extends AbstractCsvTool {
   private static final String LINES_PER_FILE_ARGS = "linesPerFile";
   private static final String LINES_PER_FILE_ARGS_NAME = "Lines Per File";
 
+  private static final String GZIP_ARGS = "gzip";
+
   private static final String TSFILEDB_CLI_PREFIX = "ExportCsv";
 
   private static final String DUMP_FILE_NAME_DEFAULT = "dump";
@@ -89,6 +96,8 @@ public class ExportCsv extends AbstractCsvTool {
 
   private static int linesPerFile = 10000;
 
+  private static boolean gzip = false;
+
   private static final int EXPORT_PER_LINE_COUNT = 10000;
 
   /** main function of export csv tool. */
@@ -138,14 +147,12 @@ public class ExportCsv extends AbstractCsvTool {
           sql = lineReader.readLine(TSFILEDB_CLI_PREFIX + "> please input query: ");
           System.out.println(sql);
           String[] values = sql.trim().split(";");
-          for (int i = 0; i < values.length; i++) {
-            dumpResult(values[i], i);
-          }
+          dumpResults(Arrays.asList(values));
         } else {
           dumpFromSqlFile(sqlFile);
         }
       } else {
-        dumpResult(queryCommand, 0);
+        dumpResult(session, queryCommand, 0);
       }
 
     } catch (IOException e) {
@@ -198,6 +205,7 @@ public class ExportCsv extends AbstractCsvTool {
     if (commandLine.getOptionValue(LINES_PER_FILE_ARGS) != null) {
       linesPerFile = Integer.parseInt(commandLine.getOptionValue(LINES_PER_FILE_ARGS));
     }
+    gzip = commandLine.hasOption(GZIP_ARGS);
   }
 
   /**
@@ -279,6 +287,13 @@ public class ExportCsv extends AbstractCsvTool {
             .build();
     options.addOption(opLinesPerFile);
 
+    Option opGzip =
+        Option.builder(GZIP_ARGS)
+            .hasArg(false)
+            .desc("Compress the dump files with gzip while exporting. (optional)")
+            .build();
+    options.addOption(opGzip);
+
     Option opHelp =
         Option.builder(HELP_ARGS)
             .longOpt(HELP_ARGS)
@@ -297,12 +312,62 @@ public class ExportCsv extends AbstractCsvTool {
    * @throws IOException
    */
   private static void dumpFromSqlFile(String filePath) throws IOException {
+    List<String> sqls = new ArrayList<>();
     try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
       String sql;
-      int index = 0;
       while ((sql = reader.readLine()) != null) {
-        dumpResult(sql, index);
-        index++;
+        sqls.add(sql);
+      }
+    }
+    dumpResults(sqls);
+  }
+
+  /**
+   * Dump the results of the queries, which are executed by threadNum sessions concurrently.
+   *
+   * @param sqls the queries, whose indexes are used to create dump file names
+   */
+  private static void dumpResults(List<String> sqls) {
+    if (threadNum == 1 || sqls.size() <= 1) {
+      for (int i = 0; i < sqls.size(); i++) {
+        dumpResult(session, sqls.get(i), i);
+      }
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadNum, sqls.size()));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < sqls.size(); i++) {
+        String sql = sqls.get(i);
+        int index = i;
+        futures.add(executor.submit(() -> dumpResultWithNewSession(sql, index)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      System.out.println("Cannot dump result because: " + e.getCause().getMessage());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void dumpResultWithNewSession(String sql, int index) {
+    Session newSession = new Session(host, Integer.parseInt(port), username, password);
+    try {
+      newSession.open(false);
+      newSession.setTimeZone(zoneId.getId());
+      dumpResult(newSession, sql, index);
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      System.out.println("Cannot dump result because: " + e.getMessage());
+    } finally {
+      try {
+        newSession.close();
+      } catch (IoTDBConnectionException e) {
+        System.out.println("Encounter an error when closing session, error is: " + e.getMessage());
       }
     }
   }
@@ -310,13 +375,14 @@ public class ExportCsv extends AbstractCsvTool {
   /**
    * Dump files from database to CSV file.
    *
+   * @param querySession the session to execute the sql
    * @param sql export the result of executing the sql
    * @param index used to create dump file name
    */
-  private static void dumpResult(String sql, int index) {
+  private static void dumpResult(Session querySession, String sql, int index) {
     final String path = targetDirectory + targetFile + index;
     try {
-      SessionDataSet sessionDataSet = session.executeQueryStatement(sql);
+      SessionDataSet sessionDataSet = querySession.executeQueryStatement(sql);
       List<Object> headers = new ArrayList<>();
       List<String> names = sessionDataSet.getColumnNames();
       List<String> types = sessionDataSet.getColumnTypes();
@@ -354,46 +420,78 @@ public class ExportCsv extends AbstractCsvTool {
     }
   }
 
+  /**
+   * Write the result to CSV files block by block, so that the values are read from the columns of
+   * the TsBlocks directly instead of being wrapped into a RowRecord for each row.
+   */
   public static void writeCsvFile(
       SessionDataSet sessionDataSet, String filePath, List<Object> headers, int linesPerFile)
       throws IOException, IoTDBConnectionException, StatementExecutionException {
+    List<String> names = sessionDataSet.getColumnNames();
+    boolean hasTimeColumn = !names.isEmpty() && "Time".equals(names.get(0));
+    int[] valueColumnIndexes = new int[hasTimeColumn ? names.size() - 1 : names.size()];
+    for (int i = 0; i < valueColumnIndexes.length; i++) {
+      valueColumnIndexes[i] =
+          sessionDataSet.getValueColumnIndex(names.get(hasTimeColumn ? i + 1 : i));
+    }
+
     int fileIndex = 0;
-    boolean hasNext = true;
-    while (hasNext) {
-      int i = 0;
-      final String finalFilePath = filePath + "_" + fileIndex + ".csv";
-      final CSVPrinterWrapper csvPrinterWrapper = new CSVPrinterWrapper(finalFilePath);
-      csvPrinterWrapper.printRecord(headers);
-      while (i++ < linesPerFile) {
-        if (sessionDataSet.hasNext()) {
-          RowRecord rowRecord = sessionDataSet.next();
-          if (rowRecord.getTimestamp() != 0) {
-            csvPrinterWrapper.print(timeTrans(rowRecord.getTimestamp()));
+    int lineNum = 0;
+    CSVPrinterWrapper csvPrinterWrapper = createCsvPrinter(filePath, fileIndex++, headers);
+    try {
+      TsBlock tsBlock;
+      while ((tsBlock = sessionDataSet.nextBatch()) != null) {
+        for (int row = 0; row < tsBlock.getPositionCount(); row++) {
+          if (lineNum == linesPerFile) {
+            csvPrinterWrapper.flush();
+            csvPrinterWrapper.close();
+            csvPrinterWrapper = createCsvPrinter(filePath, fileIndex++, headers);
+            lineNum = 0;
+          }
+          if (hasTimeColumn) {
+            csvPrinterWrapper.print(timeTrans(tsBlock.getTimeByIndex(row)));
+          }
+          for (int valueColumnIndex : valueColumnIndexes) {
+            csvPrinterWrapper.print(getStringValue(tsBlock.getColumn(valueColumnIndex), row));
           }
-          rowRecord
-              .getFields()
-              .forEach(
-                  field -> {
-                    String fieldStringValue = field.getStringValue();
-                    if (!"null".equals(field.getStringValue())) {
-                      if (field.getDataType() == TSDataType.TEXT
-                          && !fieldStringValue.startsWith("root.")) {
-                        fieldStringValue = "\"" + fieldStringValue + "\"";
-                      }
-                      csvPrinterWrapper.print(fieldStringValue);
-                    } else {
-                      csvPrinterWrapper.print("");
-                    }
-                  });
           csvPrinterWrapper.println();
-        } else {
-          hasNext = false;
-          break;
+          lineNum++;
         }
       }
-      fileIndex++;
+    } finally {
       csvPrinterWrapper.flush();
       csvPrinterWrapper.close();
     }
   }
+
+  private static CSVPrinterWrapper createCsvPrinter(
+      String filePath, int fileIndex, List<Object> headers) throws IOException {
+    String finalFilePath = filePath + "_" + fileIndex + ".csv" + (gzip ? GZIP_SUFFIX : "");
+    CSVPrinterWrapper csvPrinterWrapper = new CSVPrinterWrapper(finalFilePath, gzip);
+    csvPrinterWrapper.printRecord(headers);
+    return csvPrinterWrapper;
+  }
+
+  private static String getStringValue(Column column, int position) {
+    if (column.isNull(position)) {
+      return "";
+    }
+    switch (column.getDataType()) {
+      case BOOLEAN:
+        return String.valueOf(column.getBoolean(position));
+      case INT32:
+        return String.valueOf(column.getInt(position));
+      case INT64:
+        return String.valueOf(column.getLong(position));
+      case FLOAT:
+        return String.valueOf(column.getFloat(position));
+      case DOUBLE:
+        return String.valueOf(column.getDouble(position));
+      case TEXT:
+        String value = column.getBinary(position).getStringValue();
+        return value.startsWith("root.") ? value : "\"" + value + "\"";
+      default:
+        return String.valueOf(column.getObject(position));
+    }
+  }
 }
@@ -28,11 +28,13 @@ import org.apache.iotdb.exception.ArgsErrorException;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.Session;
-import org.apache.iotdb.session.SessionDataSet;
+import org.apache.iotdb.session.pool.SessionDataSetWrapper;
+import org.apache.iotdb.session.pool.SessionPool;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.write.record.Tablet;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -49,21 +51,28 @@ import org.apache.thrift.annotation.Nullable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.apache.iotdb.tsfile.file.metadata.enums.TSDataType.BOOLEAN;
 import static org.apache.iotdb.tsfile.file.metadata.enums.TSDataType.DOUBLE;
@@ -105,13 +114,18 @@ public class ImportCsv extends AbstractCsvTool {
   private static int linesPerFailedFile = 10000;
   private static Boolean aligned = false;
 
-  private static String timeColumn = "Time";
-  private static String deviceColumn = "Device";
+  private static final String TIME_COLUMN = "Time";
+  private static final String DEVICE_COLUMN = "Device";
+
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
   private static int batchPointSize = 100_000;
 
   private static String timestampPrecision = "ms";
 
+  private static SessionPool sessionPool;
+  private static ExecutorService writeExecutor;
+
   private static final Map<String, TSDataType> TYPE_INFER_KEY_DICT = new HashMap<>();
 
   static {
@@ -149,7 +163,8 @@ public class ImportCsv extends AbstractCsvTool {
             .hasArg()
             .desc(
                 "If input a file path, load a csv file, "
-                    + "otherwise load all csv file under this directory (required)")
+                    + "otherwise load all csv file under this directory. "
+                    + "The files ending with .gz are decompressed while loading (required)")
             .build();
     options.addOption(opFile);
 
@@ -338,6 +353,10 @@ public class ImportCsv extends AbstractCsvTool {
    * Specifying a CSV file or a directory including CSV files that you want to import. This method
    * can be offered to console cli to implement importing CSV file by command.
    *
+   * <p>The files of a directory are imported by threadNum threads concurrently, and the records of
+   * each file are written in batches of Tablets by threadNum sessions, so that parsing and writing
+   * are overlapped.
+   *
    * @param host
    * @param port
    * @param username
@@ -350,11 +369,22 @@ public class ImportCsv extends AbstractCsvTool {
   public static int importFromTargetPath(
       String host, int port, String username, String password, String targetPath, String timeZone)
       throws IoTDBConnectionException {
+    ExecutorService fileExecutor = null;
     try {
       session = new Session(host, port, username, password, false);
       session.open(false);
       timeZoneID = timeZone;
       setTimeZone();
+      sessionPool = new SessionPool(host, port, username, password, threadNum);
+      // the parsing threads write the batches by themselves if all the writers are busy
+      writeExecutor =
+          new ThreadPoolExecutor(
+              threadNum,
+              threadNum,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(threadNum),
+              new ThreadPoolExecutor.CallerRunsPolicy());
 
       File file = new File(targetPath);
       if (file.isFile()) {
@@ -365,11 +395,14 @@ public class ImportCsv extends AbstractCsvTool {
           return CODE_OK;
         }
 
+        fileExecutor = Executors.newFixedThreadPool(threadNum);
+        List<Future<?>> futures = new ArrayList<>();
         for (File subFile : files) {
           if (subFile.isFile()) {
-            importFromSingleFile(subFile);
+            futures.add(fileExecutor.submit(() -> importFromSingleFile(subFile)));
           }
         }
+        waitForFutures(futures);
       } else {
         System.out.println("File not found!");
         return CODE_ERROR;
@@ -378,6 +411,15 @@ public class ImportCsv extends AbstractCsvTool {
       System.out.println("Encounter an error when connecting to server, because " + e.getMessage());
       return CODE_ERROR;
     } finally {
+      if (fileExecutor != null) {
+        fileExecutor.shutdown();
+      }
+      if (writeExecutor != null) {
+        writeExecutor.shutdown();
+      }
+      if (sessionPool != null) {
+        sessionPool.close();
+      }
       if (session != null) {
         session.close();
       }
@@ -391,16 +433,18 @@ public class ImportCsv extends AbstractCsvTool {
    * @param file the File object of the CSV file that you want to import.
    */
   private static void importFromSingleFile(File file) {
-    if (file.getName().endsWith(CSV_SUFFIXS) || file.getName().endsWith(TXT_SUFFIXS)) {
-      try {
-        CSVParser csvRecords = readCsvFile(file.getAbsolutePath());
+    String fileName = file.getName();
+    if (fileName.endsWith(GZIP_SUFFIX)) {
+      fileName = fileName.substring(0, fileName.length() - GZIP_SUFFIX.length());
+    }
+    if (fileName.endsWith(CSV_SUFFIXS) || fileName.endsWith(TXT_SUFFIXS)) {
+      try (CSVParser csvRecords = readCsvFile(file.getAbsolutePath())) {
         List<String> headerNames = csvRecords.getHeaderNames();
-        Stream<CSVRecord> records = csvRecords.stream();
         if (headerNames.isEmpty()) {
           System.out.println("Empty file!");
           return;
         }
-        if (!timeColumn.equalsIgnoreCase(headerNames.get(0))) {
+        if (!TIME_COLUMN.equalsIgnoreCase(headerNames.get(0))) {
           System.out.println("No headers!");
           return;
         }
@@ -410,16 +454,17 @@ public class ImportCsv extends AbstractCsvTool {
         } else {
           failedFilePath = failedFileDirectory + file.getName() + ".failed";
         }
-        if (!deviceColumn.equalsIgnoreCase(headerNames.get(1))) {
-          writeDataAlignedByTime(headerNames, records, failedFilePath);
+        if (!DEVICE_COLUMN.equalsIgnoreCase(headerNames.get(1))) {
+          writeDataAlignedByTime(headerNames, csvRecords, failedFilePath);
         } else {
-          writeDataAlignedByDevice(headerNames, records, failedFilePath);
+          writeDataAlignedByDevice(headerNames, csvRecords, failedFilePath);
         }
       } catch (IOException | IllegalPathException e) {
         System.out.println("CSV file read exception because: " + e.getMessage());
       }
     } else {
-      System.out.println("The file name must end with \"csv\" or \"txt\"!");
+      System.out.println(
+          "The file name must end with \"csv\" or \"txt\", optionally with \".gz\"!");
     }
   }
 
@@ -431,7 +476,7 @@ public class ImportCsv extends AbstractCsvTool {
    * @param failedFilePath the directory to save the failed files
    */
   private static void writeDataAlignedByTime(
-      List<String> headerNames, Stream<CSVRecord> records, String failedFilePath)
+      List<String> headerNames, Iterable<CSVRecord> records, String failedFilePath)
       throws IllegalPathException {
     HashMap<String, List<String>> deviceAndMeasurementNames = new HashMap<>();
     HashMap<String, TSDataType> headerTypeMap = new HashMap<>();
@@ -447,88 +492,77 @@ public class ImportCsv extends AbstractCsvTool {
       }
     }
 
-    List<String> deviceIds = new ArrayList<>();
-    List<Long> times = new ArrayList<>();
-    List<List<String>> measurementsList = new ArrayList<>();
-    List<List<TSDataType>> typesList = new ArrayList<>();
-    List<List<Object>> valuesList = new ArrayList<>();
-
-    AtomicReference<Boolean> hasStarted = new AtomicReference<>(false);
-    AtomicInteger pointSize = new AtomicInteger(0);
+    Map<String, CsvTabletBuilder> tabletBuilders = new HashMap<>();
+    for (Map.Entry<String, List<String>> entry : deviceAndMeasurementNames.entrySet()) {
+      tabletBuilders.put(entry.getKey(), new CsvTabletBuilder(entry.getKey(), entry.getValue()));
+    }
 
+    boolean hasStarted = false;
+    int pointSize = 0;
+    List<Future<?>> writeFutures = new ArrayList<>();
     ArrayList<List<Object>> failedRecords = new ArrayList<>();
 
-    records.forEach(
-        record -> {
-          if (!hasStarted.get()) {
-            hasStarted.set(true);
-          } else if (pointSize.get() >= batchPointSize) {
-            writeAndEmptyDataSet(deviceIds, times, typesList, valuesList, measurementsList, 3);
-            pointSize.set(0);
-          }
+    for (CSVRecord record : records) {
+      if (!hasStarted) {
+        hasStarted = true;
+      } else if (pointSize >= batchPointSize) {
+        writeFutures.add(submitTablets(tabletBuilders.values()));
+        pointSize = 0;
+      }
 
-          boolean isFail = false;
-
-          for (String deviceId : deviceAndMeasurementNames.keySet()) {
-            ArrayList<TSDataType> types = new ArrayList<>();
-            ArrayList<Object> values = new ArrayList<>();
-            ArrayList<String> measurements = new ArrayList<>();
-
-            List<String> measurementNames = deviceAndMeasurementNames.get(deviceId);
-            for (String measurement : measurementNames) {
-              String header = deviceId + "." + measurement;
-              String value = record.get(headerNameMap.get(header));
-              if (!"".equals(value)) {
-                TSDataType type;
-                if (!headerTypeMap.containsKey(header)) {
-                  type = typeInfer(value);
-                  if (type != null) {
-                    headerTypeMap.put(header, type);
-                  } else {
-                    System.out.printf(
-                        "Line '%s', column '%s': '%s' unknown type%n",
-                        record.getRecordNumber(), header, value);
-                    isFail = true;
-                  }
-                }
-                type = headerTypeMap.get(header);
-                if (type != null) {
-                  Object valueTrans = typeTrans(value, type);
-                  if (valueTrans == null) {
-                    isFail = true;
-                    System.out.printf(
-                        "Line '%s', column '%s': '%s' can't convert to '%s'%n",
-                        record.getRecordNumber(), header, value, type);
-                  } else {
-                    measurements.add(header.replace(deviceId + '.', ""));
-                    types.add(type);
-                    values.add(valueTrans);
-                    pointSize.getAndIncrement();
-                  }
-                }
+      boolean isFail = false;
+      long time = parseTimestamp(record.get(0));
+
+      for (Map.Entry<String, CsvTabletBuilder> builderEntry : tabletBuilders.entrySet()) {
+        String deviceId = builderEntry.getKey();
+        CsvTabletBuilder tabletBuilder = builderEntry.getValue();
+        tabletBuilder.startRow(time);
+
+        List<String> measurementNames = deviceAndMeasurementNames.get(deviceId);
+        for (int i = 0; i < measurementNames.size(); i++) {
+          String header = deviceId + "." + measurementNames.get(i);
+          String value = record.get(headerNameMap.get(header));
+          if (!"".equals(value)) {
+            TSDataType type;
+            if (!headerTypeMap.containsKey(header)) {
+              type = typeInfer(value);
+              if (type != null) {
+                headerTypeMap.put(header, type);
+              } else {
+                System.out.printf(
+                    "Line '%s', column '%s': '%s' unknown type%n",
+                    record.getRecordNumber(), header, value);
+                isFail = true;
               }
             }
-            if (!measurements.isEmpty()) {
-              times.add(parseTimestamp(record.get(timeColumn)));
-              deviceIds.add(deviceId);
-              typesList.add(types);
-              valuesList.add(values);
-              measurementsList.add(measurements);
+            type = headerTypeMap.get(header);
+            if (type != null) {
+              if (!tabletBuilder.setValue(i, type, value)) {
+                isFail = true;
+                System.out.printf(
+                    "Line '%s', column '%s': '%s' can't convert to '%s'%n",
+                    record.getRecordNumber(), header, value, type);
+              } else {
+                pointSize++;
+              }
             }
           }
-          if (isFail) {
-            failedRecords.add(record.stream().collect(Collectors.toList()));
-          }
-        });
-    if (!deviceIds.isEmpty()) {
-      writeAndEmptyDataSet(deviceIds, times, typesList, valuesList, measurementsList, 3);
-      pointSize.set(0);
+        }
+        tabletBuilder.endRow();
+      }
+      if (isFail) {
+        failedRecords.add(new ArrayList<>(Arrays.asList(record.values())));
+      }
+    }
+    if (pointSize > 0) {
+      writeFutures.add(submitTablets(tabletBuilders.values()));
     }
+    waitForFutures(writeFutures);
 
     if (!failedRecords.isEmpty()) {
       writeFailedLinesFile(headerNames, failedFilePath, failedRecords);
     }
-    if (hasStarted.get()) {
+    if (hasStarted) {
       System.out.println("Import completely!");
     } else {
       System.out.println("No records!");
@@ -543,124 +577,98 @@ public class ImportCsv extends AbstractCsvTool {
    * @param failedFilePath the directory to save the failed files
    */
   private static void writeDataAlignedByDevice(
-      List<String> headerNames, Stream<CSVRecord> records, String failedFilePath)
+      List<String> headerNames, Iterable<CSVRecord> records, String failedFilePath)
       throws IllegalPathException {
     HashMap<String, TSDataType> headerTypeMap = new HashMap<>();
     HashMap<String, String> headerNameMap = new HashMap<>();
     parseHeaders(headerNames, null, headerTypeMap, headerNameMap);
+    // headerNameWithoutType is equal to headerName if the CSV column do not have data type.
+    List<String> headerNamesWithoutType = new ArrayList<>(headerNameMap.keySet());
 
-    AtomicReference<String> deviceName = new AtomicReference<>(null);
+    String deviceName = null;
+    CsvTabletBuilder tabletBuilder = null;
 
     HashSet<String> typeQueriedDevice = new HashSet<>();
 
-    // the data that interface need
-    List<Long> times = new ArrayList<>();
-    List<List<TSDataType>> typesList = new ArrayList<>();
-    List<List<Object>> valuesList = new ArrayList<>();
-    List<List<String>> measurementsList = new ArrayList<>();
-
-    AtomicInteger pointSize = new AtomicInteger(0);
-
+    int pointSize = 0;
+    List<Future<?>> writeFutures = new ArrayList<>();
     ArrayList<List<Object>> failedRecords = new ArrayList<>();
 
-    records.forEach(
-        record -> {
-          // only run in first record
-          if (deviceName.get() == null) {
-            deviceName.set(record.get(1));
-          } else if (!Objects.equals(deviceName.get(), record.get(1))) {
-            // if device changed
-            writeAndEmptyDataSet(
-                deviceName.get(), times, typesList, valuesList, measurementsList, 3);
-            deviceName.set(record.get(1));
-            pointSize.set(0);
-          } else if (pointSize.get() >= batchPointSize) {
-            // insert a batch
-            writeAndEmptyDataSet(
-                deviceName.get(), times, typesList, valuesList, measurementsList, 3);
-            pointSize.set(0);
-          }
+    for (CSVRecord record : records) {
+      // only run in first record
+      if (deviceName == null) {
+        deviceName = record.get(1);
+        tabletBuilder = new CsvTabletBuilder(deviceName, headerNamesWithoutType);
+      } else if (!Objects.equals(deviceName, record.get(1))) {
+        // if device changed
+        writeFutures.add(submitTablets(Collections.singletonList(tabletBuilder)));
+        deviceName = record.get(1);
+        tabletBuilder = new CsvTabletBuilder(deviceName, headerNamesWithoutType);
+        pointSize = 0;
+      } else if (pointSize >= batchPointSize) {
+        // insert a batch
+        writeFutures.add(submitTablets(Collections.singletonList(tabletBuilder)));
+        pointSize = 0;
+      }
 
-          // the data of the record
-          ArrayList<TSDataType> types = new ArrayList<>();
-          ArrayList<Object> values = new ArrayList<>();
-          ArrayList<String> measurements = new ArrayList<>();
-
-          AtomicReference<Boolean> isFail = new AtomicReference<>(false);
-
-          // read data from record
-          for (Map.Entry<String, String> headerNameEntry : headerNameMap.entrySet()) {
-            // headerNameWithoutType is equal to headerName if the CSV column do not have data type.
-            String headerNameWithoutType = headerNameEntry.getKey();
-            String headerName = headerNameEntry.getValue();
-            String value = record.get(headerName);
-            if (!"".equals(value)) {
-              TSDataType type;
-              // Get the data type directly if the CSV column have data type.
-              if (!headerTypeMap.containsKey(headerNameWithoutType)) {
-                boolean hasResult = false;
-                // query the data type in iotdb
-                if (!typeQueriedDevice.contains(deviceName.get())) {
-                  try {
-                    if (headerTypeMap.isEmpty()) {
-                      hasResult =
-                          queryType(
-                              new HashSet<String>() {
-                                {
-                                  add(deviceName.get());
-                                }
-                              },
-                              headerTypeMap,
-                              "Device");
-                    }
-                    typeQueriedDevice.add(deviceName.get());
-                  } catch (IoTDBConnectionException e) {
-                    e.printStackTrace();
-                  }
-                }
-                if (!hasResult) {
-                  type = typeInfer(value);
-                  if (type != null) {
-                    headerTypeMap.put(headerNameWithoutType, type);
-                  } else {
-                    System.out.printf(
-                        "Line '%s', column '%s': '%s' unknown type%n",
-                        record.getRecordNumber(), headerNameWithoutType, value);
-                    isFail.set(true);
-                  }
+      boolean isFail = false;
+      tabletBuilder.startRow(parseTimestamp(record.get(0)));
+
+      // read data from record
+      for (int i = 0; i < headerNamesWithoutType.size(); i++) {
+        String headerNameWithoutType = headerNamesWithoutType.get(i);
+        String value = record.get(headerNameMap.get(headerNameWithoutType));
+        if (!"".equals(value)) {
+          TSDataType type;
+          // Get the data type directly if the CSV column have data type.
+          if (!headerTypeMap.containsKey(headerNameWithoutType)) {
+            boolean hasResult = false;
+            // query the data type in iotdb
+            if (!typeQueriedDevice.contains(deviceName)) {
+              try {
+                if (headerTypeMap.isEmpty()) {
+                  hasResult = queryType(Collections.singleton(deviceName), headerTypeMap, "Device");
                 }
+                typeQueriedDevice.add(deviceName);
+              } catch (IoTDBConnectionException e) {
+                e.printStackTrace();
               }
-              type = headerTypeMap.get(headerNameWithoutType);
+            }
+            if (!hasResult) {
+              type = typeInfer(value);
               if (type != null) {
-                Object valueTrans = typeTrans(value, type);
-                if (valueTrans == null) {
-                  isFail.set(true);
-                  System.out.printf(
-                      "Line '%s', column '%s': '%s' can't convert to '%s'%n",
-                      record.getRecordNumber(), headerNameWithoutType, value, type);
-                } else {
-                  values.add(valueTrans);
-                  measurements.add(headerNameWithoutType);
-                  types.add(type);
-                  pointSize.getAndIncrement();
-                }
+                headerTypeMap.put(headerNameWithoutType, type);
+              } else {
+                System.out.printf(
+                    "Line '%s', column '%s': '%s' unknown type%n",
+                    record.getRecordNumber(), headerNameWithoutType, value);
+                isFail = true;
               }
             }
           }
-          if (isFail.get()) {
-            failedRecords.add(record.stream().collect(Collectors.toList()));
-          }
-          if (!measurements.isEmpty()) {
-            times.add(parseTimestamp(record.get(timeColumn)));
-            typesList.add(types);
-            valuesList.add(values);
-            measurementsList.add(measurements);
+          type = headerTypeMap.get(headerNameWithoutType);
+          if (type != null) {
+            if (!tabletBuilder.setValue(i, type, value)) {
+              isFail = true;
+              System.out.printf(
+                  "Line '%s', column '%s': '%s' can't convert to '%s'%n",
+                  record.getRecordNumber(), headerNameWithoutType, value, type);
+            } else {
+              pointSize++;
+            }
           }
-        });
-    if (times.size() != 0) {
-      writeAndEmptyDataSet(deviceName.get(), times, typesList, valuesList, measurementsList, 3);
-      pointSize.set(0);
+        }
+      }
+      tabletBuilder.endRow();
+      if (isFail) {
+        failedRecords.add(new ArrayList<>(Arrays.asList(record.values())));
+      }
     }
+    if (tabletBuilder != null && tabletBuilder.getRowSize() != 0) {
+      writeFutures.add(submitTablets(Collections.singletonList(tabletBuilder)));
+    }
+    waitForFutures(writeFutures);
+
     if (!failedRecords.isEmpty()) {
       writeFailedLinesFile(headerNames, failedFilePath, failedRecords);
     }
@@ -684,81 +692,64 @@ public class ImportCsv extends AbstractCsvTool {
     }
   }
 
-  private static void writeAndEmptyDataSet(
-      String device,
-      List<Long> times,
-      List<List<TSDataType>> typesList,
-      List<List<Object>> valuesList,
-      List<List<String>> measurementsList,
-      int retryTime) {
-    try {
-      if (!aligned) {
-        session.insertRecordsOfOneDevice(device, times, measurementsList, typesList, valuesList);
-      } else {
-        session.insertAlignedRecordsOfOneDevice(
-            device, times, measurementsList, typesList, valuesList);
-      }
-    } catch (IoTDBConnectionException e) {
-      if (retryTime > 0) {
-        try {
-          session.open();
-        } catch (IoTDBConnectionException ex) {
-          System.out.println("Meet error when insert csv because " + e.getMessage());
-        }
-        writeAndEmptyDataSet(device, times, typesList, valuesList, measurementsList, --retryTime);
+  /**
+   * Build the Tablets of the given builders, which are reset afterwards, and write them
+   * asynchronously.
+   *
+   * @return the Future of the writing task
+   */
+  private static Future<?> submitTablets(Collection<CsvTabletBuilder> tabletBuilders) {
+    Map<String, Tablet> tablets = new HashMap<>();
+    for (CsvTabletBuilder tabletBuilder : tabletBuilders) {
+      Tablet tablet = tabletBuilder.build();
+      if (tablet != null) {
+        tablets.put(tablet.deviceId, tablet);
       }
-    } catch (StatementExecutionException e) {
-      System.out.println("Meet error when insert csv because " + e.getMessage());
-    } finally {
-      times.clear();
-      typesList.clear();
-      valuesList.clear();
-      measurementsList.clear();
     }
+    return writeExecutor.submit(() -> writeTablets(tablets));
   }
 
-  private static void writeAndEmptyDataSet(
-      List<String> deviceIds,
-      List<Long> times,
-      List<List<TSDataType>> typesList,
-      List<List<Object>> valuesList,
-      List<List<String>> measurementsList,
-      int retryTime) {
+  private static void writeTablets(Map<String, Tablet> tablets) {
+    if (tablets.isEmpty()) {
+      return;
+    }
+    // the session pool reconnects and retries if the connection is broken
     try {
       if (!aligned) {
-        session.insertRecords(deviceIds, times, measurementsList, typesList, valuesList);
+        sessionPool.insertTablets(tablets, false);
       } else {
-        session.insertAlignedRecords(deviceIds, times, measurementsList, typesList, valuesList);
+        sessionPool.insertAlignedTablets(tablets, false);
       }
-    } catch (IoTDBConnectionException e) {
-      if (retryTime > 0) {
-        try {
-          session.open();
-        } catch (IoTDBConnectionException ex) {
-          System.out.println("Meet error when insert csv because " + e.getMessage());
-        }
-        writeAndEmptyDataSet(
-            deviceIds, times, typesList, valuesList, measurementsList, --retryTime);
-      }
-    } catch (StatementExecutionException e) {
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
       System.out.println("Meet error when insert csv because " + e.getMessage());
-    } finally {
-      deviceIds.clear();
-      times.clear();
-      typesList.clear();
-      valuesList.clear();
-      measurementsList.clear();
+    }
+  }
+
+  private static void waitForFutures(List<Future<?>> futures) {
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        System.out.println("Meet error when import csv because " + e.getCause().getMessage());
+      }
     }
   }
 
   /**
-   * read data from the CSV file
+   * read data from the CSV file, which is decompressed while reading if it ends with ".gz"
    *
    * @param path
    * @return CSVParser csv parser
    * @throws IOException when reading the csv file failed.
    */
   private static CSVParser readCsvFile(String path) throws IOException {
+    InputStream inputStream = new FileInputStream(path);
+    if (path.endsWith(GZIP_SUFFIX)) {
+      inputStream = new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE);
+    }
     return CSVFormat.Builder.create(CSVFormat.DEFAULT)
         .setHeader()
         .setSkipHeaderRecord(true)
@@ -766,7 +757,7 @@ public class ImportCsv extends AbstractCsvTool {
         .setEscape('\\')
         .setIgnoreEmptyLines(true)
         .build()
-        .parse(new InputStreamReader(new FileInputStream(path)));
+        .parse(new InputStreamReader(inputStream));
   }
 
   /**
@@ -786,11 +777,7 @@ public class ImportCsv extends AbstractCsvTool {
     String regex = "(?<=\\()\\S+(?=\\))";
     Pattern pattern = Pattern.compile(regex);
     for (String headerName : headerNames) {
-      if ("Time".equalsIgnoreCase(headerName)) {
-        timeColumn = headerName;
-        continue;
-      } else if ("Device".equalsIgnoreCase(headerName)) {
-        deviceColumn = headerName;
+      if (TIME_COLUMN.equalsIgnoreCase(headerName) || DEVICE_COLUMN.equalsIgnoreCase(headerName)) {
         continue;
       }
       Matcher matcher = pattern.matcher(headerName);
@@ -832,9 +819,8 @@ public class ImportCsv extends AbstractCsvTool {
     boolean hasResult = false;
     for (String deviceName : deviceNames) {
       String sql = "show timeseries " + deviceName + ".*";
-      SessionDataSet sessionDataSet = null;
-      try {
-        sessionDataSet = session.executeQueryStatement(sql);
+      // the session pool is used since the files may be imported concurrently
+      try (SessionDataSetWrapper sessionDataSet = sessionPool.executeQueryStatement(sql)) {
         int tsIndex = sessionDataSet.getColumnNames().indexOf(ColumnHeaderConstant.TIMESERIES);
         int dtIndex = sessionDataSet.getColumnNames().indexOf(ColumnHeaderConstant.DATATYPE);
         while (sessionDataSet.hasNext()) {
@@ -938,40 +924,6 @@ public class ImportCsv extends AbstractCsvTool {
     return Long.parseLong(s) > (2 << 24);
   }
 
-  /**
-   * @param value
-   * @param type
-   * @return
-   */
-  private static Object typeTrans(String value, TSDataType type) {
-    try {
-      switch (type) {
-        case TEXT:
-          if (value.startsWith("\"") && value.endsWith("\"")) {
-            return value.substring(1, value.length() - 1);
-          }
-          return value;
-        case BOOLEAN:
-          if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
-            return null;
-          }
-          return Boolean.parseBoolean(value);
-        case INT32:
-          return Integer.parseInt(value);
-        case INT64:
-          return Long.parseLong(value);
-        case FLOAT:
-          return Float.parseFloat(value);
-        case DOUBLE:
-          return Double.parseDouble(value);
-        default:
-          return null;
-      }
-    } catch (NumberFormatException e) {
-      return null;
-    }
-  }
-
   private static long parseTimestamp(String str) {
     long timestamp;
     try {
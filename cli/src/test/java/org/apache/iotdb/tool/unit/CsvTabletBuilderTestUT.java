@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tool.unit;
+
+import org.apache.iotdb.tool.CsvTabletBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CsvTabletBuilderTestUT {
+  @Test
+  public void buildTabletTest() {
+    CsvTabletBuilder builder =
+        new CsvTabletBuilder("root.sg.d1", Arrays.asList("s1", "s2", "s3"));
+    // s1 has values in all rows, s2 starts from the 20th row, s3 never has value
+    for (int i = 0; i < 40; i++) {
+      builder.startRow(i);
+      assertTrue(builder.setValue(0, TSDataType.INT64, String.valueOf(i)));
+      if (i >= 20 && i % 2 == 0) {
+        assertTrue(builder.setValue(1, TSDataType.TEXT, "\"v" + i + "\""));
+      }
+      builder.endRow();
+    }
+    // the row without value is discarded
+    builder.startRow(40);
+    assertFalse(builder.setValue(0, TSDataType.INT64, "abc"));
+    builder.endRow();
+    assertEquals(40, builder.getRowSize());
+    assertEquals(50, builder.getPointSize());
+
+    Tablet tablet = builder.build();
+    assertEquals("root.sg.d1", tablet.deviceId);
+    assertEquals(40, tablet.rowSize);
+    assertEquals(2, tablet.getSchemas().size());
+    assertEquals("s1", tablet.getSchemas().get(0).getMeasurementId());
+    assertEquals(TSDataType.TEXT, tablet.getSchemas().get(1).getType());
+    for (int i = 0; i < 40; i++) {
+      assertEquals(i, tablet.timestamps[i]);
+      assertEquals(i, ((long[]) tablet.values[0])[i]);
+      assertFalse(tablet.bitMaps[0].isMarked(i));
+      if (i >= 20 && i % 2 == 0) {
+        assertFalse(tablet.bitMaps[1].isMarked(i));
+        assertEquals(new Binary("v" + i), ((Binary[]) tablet.values[1])[i]);
+      } else {
+        assertTrue(tablet.bitMaps[1].isMarked(i));
+      }
+    }
+
+    // the builder is reset after building
+    assertEquals(0, builder.getRowSize());
+    assertNull(builder.build());
+  }
+}
@@ -109,6 +109,18 @@ public class ConfigNodeConfig {
    */
   private boolean enableDataPartitionInheritPolicy = false;
 
+  /**
+   * The DataNode whose load ratio, i.e. the higher one of the cpu usage and the memtable usage,
+   * exceeds this threshold is overloaded. New RegionGroups and Partitions will avoid it
+   */
+  private double dataNodeOverloadThreshold = 0.8;
+
+  /** Whether to migrate hot Regions away from the overloaded DataNodes */
+  private boolean enableRegionRebalance = false;
+
+  /** The interval of Region rebalance, at most one Region is migrated in each round */
+  private long regionRebalanceIntervalInMs = 600_000;
+
   /** Max concurrent client number */
   private int rpcMaxConcurrentClientNum = 65535;
 
@@ -515,6 +527,30 @@ public class ConfigNodeConfig {
     this.enableDataPartitionInheritPolicy = enableDataPartitionInheritPolicy;
   }
 
+  public double getDataNodeOverloadThreshold() {
+    return dataNodeOverloadThreshold;
+  }
+
+  public void setDataNodeOverloadThreshold(double dataNodeOverloadThreshold) {
+    this.dataNodeOverloadThreshold = dataNodeOverloadThreshold;
+  }
+
+  public boolean isEnableRegionRebalance() {
+    return enableRegionRebalance;
+  }
+
+  public void setEnableRegionRebalance(boolean enableRegionRebalance) {
+    this.enableRegionRebalance = enableRegionRebalance;
+  }
+
+  public long getRegionRebalanceIntervalInMs() {
+    return regionRebalanceIntervalInMs;
+  }
+
+  public void setRegionRebalanceIntervalInMs(long regionRebalanceIntervalInMs) {
+    this.regionRebalanceIntervalInMs = regionRebalanceIntervalInMs;
+  }
+
   public int getThriftServerAwaitTimeForStopService() {
     return thriftServerAwaitTimeForStopService;
   }
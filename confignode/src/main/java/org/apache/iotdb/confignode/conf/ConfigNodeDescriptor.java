@@ -274,6 +274,29 @@ public class ConfigNodeDescriptor {
                 "enable_data_partition_inherit_policy",
                 String.valueOf(conf.isEnableDataPartitionInheritPolicy()))));
 
+    conf.setDataNodeOverloadThreshold(
+        Double.parseDouble(
+            properties
+                .getProperty(
+                    "data_node_overload_threshold",
+                    String.valueOf(conf.getDataNodeOverloadThreshold()))
+                .trim()));
+
+    conf.setEnableRegionRebalance(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_region_rebalance", String.valueOf(conf.isEnableRegionRebalance()))
+                .trim()));
+
+    conf.setRegionRebalanceIntervalInMs(
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "region_rebalance_interval_in_ms",
+                    String.valueOf(conf.getRegionRebalanceIntervalInMs()))
+                .trim()));
+
     conf.setCnRpcAdvancedCompressionEnable(
         Boolean.parseBoolean(
             properties
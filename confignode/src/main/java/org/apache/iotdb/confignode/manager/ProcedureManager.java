@@ -19,7 +19,9 @@
 
 package org.apache.iotdb.confignode.manager;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.exception.IoTDBException;
@@ -331,6 +333,36 @@ public class ProcedureManager {
     return true;
   }
 
+  /**
+   * Generate a RegionMigrateProcedure to migrate the Region for load balance, unless another
+   * RegionMigrateProcedure or RemoveDataNodeProcedure is still running
+   *
+   * @return True if the RegionMigrateProcedure is submitted
+   */
+  public boolean migrateRegion(
+      TConsensusGroupId regionId,
+      TDataNodeLocation originalDataNode,
+      TDataNodeLocation destDataNode) {
+    boolean isMigrating =
+        executor.getProcedures().values().stream()
+            .anyMatch(
+                procedure ->
+                    !procedure.isFinished()
+                        && (procedure instanceof RegionMigrateProcedure
+                            || procedure instanceof RemoveDataNodeProcedure));
+    if (isMigrating) {
+      return false;
+    }
+    this.executor.submitProcedure(
+        new RegionMigrateProcedure(regionId, originalDataNode, destDataNode));
+    LOGGER.info(
+        "Submit RegionMigrateProcedure successfully, Region: {}, from DataNode {} to DataNode {}",
+        regionId,
+        originalDataNode.getDataNodeId(),
+        destDataNode.getDataNodeId());
+    return true;
+  }
+
   /**
    * Generate CreateRegionGroupsProcedure and wait for it finished
    *
@@ -44,6 +44,7 @@ import org.apache.iotdb.confignode.manager.ConsensusManager;
 import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.load.balancer.PartitionBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.RegionBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.RegionRebalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.RouteBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.RegionRouteMap;
 import org.apache.iotdb.confignode.manager.node.NodeManager;
@@ -75,6 +76,8 @@ public class LoadManager {
 
   private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
   private static final long HEARTBEAT_INTERVAL = CONF.getHeartbeatIntervalInMs();
+  private static final boolean ENABLE_REGION_REBALANCE = CONF.isEnableRegionRebalance();
+  private static final long REGION_REBALANCE_INTERVAL = CONF.getRegionRebalanceIntervalInMs();
 
   private final IManager configManager;
 
@@ -83,10 +86,13 @@ public class LoadManager {
 
   private final PartitionBalancer partitionBalancer;
   private final RouteBalancer routeBalancer;
+  private final RegionRebalancer regionRebalancer;
 
   /** Load statistics executor service */
   private Future<?> currentLoadStatisticsFuture;
 
+  private Future<?> currentRegionRebalanceFuture;
+
   private final ScheduledExecutorService loadStatisticsExecutor =
       IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor("Cluster-LoadStatistics-Service");
   private final Object scheduleMonitor = new Object();
@@ -97,6 +103,7 @@ public class LoadManager {
     this.regionBalancer = new RegionBalancer(configManager);
     this.partitionBalancer = new PartitionBalancer(configManager);
     this.routeBalancer = new RouteBalancer(configManager);
+    this.regionRebalancer = new RegionRebalancer(configManager);
     MetricService.getInstance().addMetricSet(new LoadManagerMetrics(configManager));
   }
 
@@ -167,6 +174,17 @@ public class LoadManager {
                 TimeUnit.MILLISECONDS);
         LOGGER.info("LoadStatistics service is started successfully.");
       }
+      if (ENABLE_REGION_REBALANCE && currentRegionRebalanceFuture == null) {
+        // The first round waits for an interval, so that the load samples are collected
+        currentRegionRebalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                loadStatisticsExecutor,
+                regionRebalancer::rebalance,
+                REGION_REBALANCE_INTERVAL,
+                REGION_REBALANCE_INTERVAL,
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("RegionRebalance service is started successfully.");
+      }
     }
   }
 
@@ -178,6 +196,11 @@ public class LoadManager {
         currentLoadStatisticsFuture = null;
         LOGGER.info("LoadStatistics service is stopped successfully.");
       }
+      if (currentRegionRebalanceFuture != null) {
+        currentRegionRebalanceFuture.cancel(false);
+        currentRegionRebalanceFuture = null;
+        LOGGER.info("RegionRebalance service is stopped successfully.");
+      }
     }
   }
 
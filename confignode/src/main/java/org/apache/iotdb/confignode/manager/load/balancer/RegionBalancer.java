@@ -94,6 +94,8 @@ public class RegionBalancer {
     // Only considering the specified ConsensusGroupType when doing allocation
     List<TRegionReplicaSet> allocatedRegionGroups =
         getPartitionManager().getAllReplicaSets(consensusGroupType);
+    // The new RegionGroups will avoid the busy DataNodes
+    Map<Integer, Double> dataNodeLoadRatioMap = getNodeManager().getDataNodeLoadRatioMap();
 
     for (Map.Entry<String, Integer> entry : allotmentMap.entrySet()) {
       String storageGroup = entry.getKey();
@@ -119,6 +121,7 @@ public class RegionBalancer {
             regionGroupAllocator.generateOptimalRegionReplicasDistribution(
                 availableDataNodeMap,
                 freeDiskSpaceMap,
+                dataNodeLoadRatioMap,
                 allocatedRegionGroups,
                 replicationFactor,
                 new TConsensusGroupId(
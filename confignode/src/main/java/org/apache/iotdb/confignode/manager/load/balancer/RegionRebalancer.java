@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.ProcedureManager;
+import org.apache.iotdb.confignode.manager.node.NodeManager;
+import org.apache.iotdb.confignode.manager.partition.PartitionManager;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.apache.iotdb.consensus.ConsensusFactory.SIMPLE_CONSENSUS;
+
+/**
+ * The RegionRebalancer migrates the hot DataRegions away from the overloaded DataNodes according to
+ * the load sampled through heartbeat. It is invoked every region_rebalance_interval_in_ms and
+ * migrates at most one Region each time.
+ */
+public class RegionRebalancer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RegionRebalancer.class);
+
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
+  private final IManager configManager;
+
+  public RegionRebalancer(IManager configManager) {
+    this.configManager = configManager;
+  }
+
+  /** Migrate the hottest movable DataRegion of the busiest DataNode if it's overloaded */
+  public void rebalance() {
+    // SimpleConsensus doesn't support changing the peers of a consensus group
+    if (SIMPLE_CONSENSUS.equals(CONF.getDataRegionConsensusProtocolClass())) {
+      return;
+    }
+
+    Map<Integer, Double> dataNodeLoadRatioMap = getNodeManager().getDataNodeLoadRatioMap();
+    Map<Integer, Map<TConsensusGroupId, TRegionLoad>> regionLoadMap = new HashMap<>();
+    dataNodeLoadRatioMap
+        .keySet()
+        .forEach(
+            dataNodeId ->
+                regionLoadMap.put(dataNodeId, getNodeManager().getRegionLoads(dataNodeId)));
+    Map<TConsensusGroupId, TRegionReplicaSet> replicaSetMap =
+        getPartitionManager().getAllReplicaSetsMap(TConsensusGroupType.DataRegion);
+
+    Optional<RegionMigration> migration =
+        generateRegionMigration(
+            dataNodeLoadRatioMap,
+            regionLoadMap,
+            replicaSetMap,
+            CONF.getDataNodeOverloadThreshold());
+    if (!migration.isPresent()) {
+      return;
+    }
+
+    RegionMigration regionMigration = migration.get();
+    Map<Integer, TDataNodeLocation> dataNodeLocationMap =
+        getNodeManager().getRegisteredDataNodeLocations();
+    TDataNodeLocation originalDataNode =
+        dataNodeLocationMap.get(regionMigration.getOriginalDataNodeId());
+    TDataNodeLocation destDataNode = dataNodeLocationMap.get(regionMigration.getDestDataNodeId());
+    if (originalDataNode == null || destDataNode == null) {
+      return;
+    }
+    LOGGER.info(
+        "[RegionRebalance] DataNode {} is overloaded with load ratio {}, "
+            + "try to migrate {} to DataNode {} with load ratio {}",
+        regionMigration.getOriginalDataNodeId(),
+        dataNodeLoadRatioMap.get(regionMigration.getOriginalDataNodeId()),
+        regionMigration.getRegionId(),
+        regionMigration.getDestDataNodeId(),
+        dataNodeLoadRatioMap.get(regionMigration.getDestDataNodeId()));
+    getProcedureManager()
+        .migrateRegion(regionMigration.getRegionId(), originalDataNode, destDataNode);
+  }
+
+  /**
+   * Generate a Region migration from the busiest DataNode to a less loaded DataNode.
+   *
+   * <p>The share of a Region in the load of its DataNode is estimated by its share of the write
+   * rate and the query cpu rate. In order to avoid moving the hot spot back and forth, the Region
+   * to be migrated is the hottest one whose estimated load doesn't exceed half of the load gap
+   * between the two DataNodes.
+   *
+   * @param dataNodeLoadRatioMap Map<DataNodeId, load ratio in [0, 1]> of the Running DataNodes
+   * @param regionLoadMap Map<DataNodeId, Map<DataRegionGroupId, TRegionLoad>>
+   * @param replicaSetMap Map<DataRegionGroupId, TRegionReplicaSet>
+   * @param overloadThreshold The DataNode whose load ratio exceeds it is overloaded
+   * @return The Region migration, empty if there is no overloaded DataNode or no suitable Region
+   */
+  static Optional<RegionMigration> generateRegionMigration(
+      Map<Integer, Double> dataNodeLoadRatioMap,
+      Map<Integer, Map<TConsensusGroupId, TRegionLoad>> regionLoadMap,
+      Map<TConsensusGroupId, TRegionReplicaSet> replicaSetMap,
+      double overloadThreshold) {
+    if (dataNodeLoadRatioMap.size() < 2) {
+      return Optional.empty();
+    }
+
+    // Find the busiest DataNode
+    int sourceDataNodeId = -1;
+    double sourceLoadRatio = -1;
+    double totalLoadRatio = 0;
+    for (Map.Entry<Integer, Double> entry : dataNodeLoadRatioMap.entrySet()) {
+      totalLoadRatio += entry.getValue();
+      if (entry.getValue() > sourceLoadRatio) {
+        sourceDataNodeId = entry.getKey();
+        sourceLoadRatio = entry.getValue();
+      }
+    }
+    if (sourceLoadRatio <= overloadThreshold) {
+      return Optional.empty();
+    }
+    double averageLoadRatio = totalLoadRatio / dataNodeLoadRatioMap.size();
+
+    // Estimate the load of each Region on the busiest DataNode
+    Map<TConsensusGroupId, TRegionLoad> sourceRegionLoads =
+        regionLoadMap.getOrDefault(sourceDataNodeId, new HashMap<>());
+    double totalWriteRate = 0;
+    double totalQueryCpuRate = 0;
+    for (TRegionLoad regionLoad : sourceRegionLoads.values()) {
+      totalWriteRate += regionLoad.getWriteRate();
+      totalQueryCpuRate += regionLoad.getQueryCpuRate();
+    }
+    List<TConsensusGroupId> candidateRegions = new ArrayList<>();
+    Map<TConsensusGroupId, Double> estimatedLoadMap = new HashMap<>();
+    for (Map.Entry<TConsensusGroupId, TRegionLoad> entry : sourceRegionLoads.entrySet()) {
+      TRegionReplicaSet replicaSet = replicaSetMap.get(entry.getKey());
+      if (replicaSet == null || !containsDataNode(replicaSet, sourceDataNodeId)) {
+        continue;
+      }
+      double share =
+          (share(entry.getValue().getWriteRate(), totalWriteRate)
+                  + share(entry.getValue().getQueryCpuRate(), totalQueryCpuRate))
+              / 2;
+      if (share > 0) {
+        candidateRegions.add(entry.getKey());
+        estimatedLoadMap.put(entry.getKey(), share * sourceLoadRatio);
+      }
+    }
+    // Hottest first
+    candidateRegions.sort(
+        (o1, o2) -> Double.compare(estimatedLoadMap.get(o2), estimatedLoadMap.get(o1)));
+
+    // Try the less loaded DataNodes in ascending order of load
+    List<Map.Entry<Integer, Double>> targetDataNodes = new ArrayList<>();
+    for (Map.Entry<Integer, Double> entry : dataNodeLoadRatioMap.entrySet()) {
+      if (entry.getKey() != sourceDataNodeId
+          && entry.getValue() < averageLoadRatio
+          && entry.getValue() <= overloadThreshold) {
+        targetDataNodes.add(entry);
+      }
+    }
+    targetDataNodes.sort(Map.Entry.comparingByValue());
+    for (Map.Entry<Integer, Double> targetDataNode : targetDataNodes) {
+      double maxMigratedLoad = (sourceLoadRatio - targetDataNode.getValue()) / 2;
+      for (TConsensusGroupId regionId : candidateRegions) {
+        if (estimatedLoadMap.get(regionId) <= maxMigratedLoad
+            && !containsDataNode(replicaSetMap.get(regionId), targetDataNode.getKey())) {
+          return Optional.of(
+              new RegionMigration(regionId, sourceDataNodeId, targetDataNode.getKey()));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static double share(double part, double total) {
+    return total > 0 ? part / total : 0;
+  }
+
+  private static boolean containsDataNode(TRegionReplicaSet replicaSet, int dataNodeId) {
+    return replicaSet.getDataNodeLocations().stream()
+        .anyMatch(location -> location.getDataNodeId() == dataNodeId);
+  }
+
+  private NodeManager getNodeManager() {
+    return configManager.getNodeManager();
+  }
+
+  private PartitionManager getPartitionManager() {
+    return configManager.getPartitionManager();
+  }
+
+  private ProcedureManager getProcedureManager() {
+    return configManager.getProcedureManager();
+  }
+
+  /** Migrate a Region from the original DataNode to the destination DataNode */
+  static class RegionMigration {
+
+    private final TConsensusGroupId regionId;
+    private final int originalDataNodeId;
+    private final int destDataNodeId;
+
+    RegionMigration(TConsensusGroupId regionId, int originalDataNodeId, int destDataNodeId) {
+      this.regionId = regionId;
+      this.originalDataNodeId = originalDataNodeId;
+      this.destDataNodeId = destDataNodeId;
+    }
+
+    TConsensusGroupId getRegionId() {
+      return regionId;
+    }
+
+    int getOriginalDataNodeId() {
+      return originalDataNodeId;
+    }
+
+    int getDestDataNodeId() {
+      return destDataNodeId;
+    }
+  }
+}
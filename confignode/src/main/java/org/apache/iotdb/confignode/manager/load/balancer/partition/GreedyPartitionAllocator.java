@@ -20,6 +20,7 @@ package org.apache.iotdb.confignode.manager.load.balancer.partition;
 
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.partition.DataPartitionTable;
@@ -29,15 +30,19 @@ import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
 import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
 import org.apache.iotdb.confignode.exception.NoAvailableRegionGroupException;
 import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.node.NodeManager;
 import org.apache.iotdb.confignode.manager.partition.PartitionManager;
 import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
 import org.apache.iotdb.tsfile.utils.Pair;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /** Allocating new Partitions by greedy algorithm */
 public class GreedyPartitionAllocator implements IPartitionAllocator {
@@ -46,6 +51,7 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
   private static final boolean ENABLE_DATA_PARTITION_INHERIT_POLICY =
       CONF.isEnableDataPartitionInheritPolicy();
   private static final long TIME_PARTITION_INTERVAL = CONF.getTimePartitionInterval();
+  private static final double DATA_NODE_OVERLOAD_THRESHOLD = CONF.getDataNodeOverloadThreshold();
 
   private final IManager configManager;
 
@@ -97,8 +103,9 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
 
       // List<Pair<allocatedSlotsNum, TConsensusGroupId>>
       List<Pair<Long, TConsensusGroupId>> regionSlotsCounter =
-          getPartitionManager()
-              .getSortedRegionGroupSlotsCounter(storageGroup, TConsensusGroupType.DataRegion);
+          filterOverloadedRegionGroups(
+              getPartitionManager()
+                  .getSortedRegionGroupSlotsCounter(storageGroup, TConsensusGroupType.DataRegion));
 
       DataPartitionTable dataPartitionTable = new DataPartitionTable();
 
@@ -164,6 +171,39 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
     return result;
   }
 
+  /**
+   * Filter out the DataRegionGroups that have replicas on the overloaded DataNodes, so that the new
+   * DataPartitions are kept away from the hot spots. The regionSlotsCounter is returned directly if
+   * all the DataRegionGroups are overloaded
+   *
+   * @param regionSlotsCounter List<Pair<Allocated Partition num, TConsensusGroupId>>
+   * @return The regionSlotsCounter of DataRegionGroups that are not overloaded
+   */
+  private List<Pair<Long, TConsensusGroupId>> filterOverloadedRegionGroups(
+      List<Pair<Long, TConsensusGroupId>> regionSlotsCounter) {
+    Set<Integer> overloadedDataNodes =
+        getNodeManager().getDataNodeLoadRatioMap().entrySet().stream()
+            .filter(entry -> entry.getValue() > DATA_NODE_OVERLOAD_THRESHOLD)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    if (overloadedDataNodes.isEmpty()) {
+      return regionSlotsCounter;
+    }
+
+    Map<TConsensusGroupId, TRegionReplicaSet> replicaSetMap =
+        getPartitionManager().getAllReplicaSetsMap(TConsensusGroupType.DataRegion);
+    List<Pair<Long, TConsensusGroupId>> result = new ArrayList<>();
+    for (Pair<Long, TConsensusGroupId> slotsCounter : regionSlotsCounter) {
+      TRegionReplicaSet replicaSet = replicaSetMap.get(slotsCounter.getRight());
+      if (replicaSet == null
+          || replicaSet.getDataNodeLocations().stream()
+              .noneMatch(location -> overloadedDataNodes.contains(location.getDataNodeId()))) {
+        result.add(slotsCounter);
+      }
+    }
+    return result.isEmpty() ? regionSlotsCounter : result;
+  }
+
   /**
    * Bubble sort the regionSlotsCounter from the specified consensus group
    *
@@ -177,13 +217,17 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
   private void bubbleSort(
       TConsensusGroupId consensusGroupId, List<Pair<Long, TConsensusGroupId>> regionSlotsCounter) {
     // Find the corresponding consensus group
-    int index = 0;
+    int index = -1;
     for (int i = 0; i < regionSlotsCounter.size(); i++) {
       if (regionSlotsCounter.get(i).getRight().equals(consensusGroupId)) {
         index = i;
         break;
       }
     }
+    if (index == -1) {
+      // The consensus group is filtered out, e.g. it's overloaded
+      return;
+    }
 
     // Do bubble sort
     regionSlotsCounter.get(index).setLeft(regionSlotsCounter.get(index).getLeft() + 1);
@@ -194,6 +238,10 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
     }
   }
 
+  private NodeManager getNodeManager() {
+    return configManager.getNodeManager();
+  }
+
   private PartitionManager getPartitionManager() {
     return configManager.getPartitionManager();
   }
@@ -24,6 +24,7 @@ import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.tsfile.utils.Pair;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,9 +50,27 @@ public class GreedyRegionGroupAllocator implements IRegionGroupAllocator {
       List<TRegionReplicaSet> allocatedRegionGroups,
       int replicationFactor,
       TConsensusGroupId consensusGroupId) {
-    // Build weightList order by number of regions allocated asc
+    return generateOptimalRegionReplicasDistribution(
+        availableDataNodeMap,
+        freeDiskSpaceMap,
+        Collections.emptyMap(),
+        allocatedRegionGroups,
+        replicationFactor,
+        consensusGroupId);
+  }
+
+  @Override
+  public TRegionReplicaSet generateOptimalRegionReplicasDistribution(
+      Map<Integer, TDataNodeConfiguration> availableDataNodeMap,
+      Map<Integer, Long> freeDiskSpaceMap,
+      Map<Integer, Double> dataNodeLoadRatioMap,
+      List<TRegionReplicaSet> allocatedRegionGroups,
+      int replicationFactor,
+      TConsensusGroupId consensusGroupId) {
+    // Build weightList order by the load-weighted number of regions allocated asc
     List<TDataNodeLocation> weightList =
-        buildWeightList(availableDataNodeMap, freeDiskSpaceMap, allocatedRegionGroups);
+        buildWeightList(
+            availableDataNodeMap, freeDiskSpaceMap, dataNodeLoadRatioMap, allocatedRegionGroups);
     return new TRegionReplicaSet(
         consensusGroupId,
         weightList.stream().limit(replicationFactor).collect(Collectors.toList()));
@@ -60,6 +79,7 @@ public class GreedyRegionGroupAllocator implements IRegionGroupAllocator {
   private List<TDataNodeLocation> buildWeightList(
       Map<Integer, TDataNodeConfiguration> availableDataNodeMap,
       Map<Integer, Long> freeDiskSpaceMap,
+      Map<Integer, Double> dataNodeLoadRatioMap,
       List<TRegionReplicaSet> allocatedRegionGroups) {
     // Map<DataNodeId, Region count>
     Map<Integer, AtomicInteger> regionCounter = new ConcurrentHashMap<>();
@@ -75,7 +95,9 @@ public class GreedyRegionGroupAllocator implements IRegionGroupAllocator {
                             .getAndIncrement()));
 
     /* Construct priority map */
-    Map<TDataNodeLocation, Pair<Integer, Long>> priorityMap = new ConcurrentHashMap<>();
+    // A busy DataNode is treated as if it holds more Regions, so that the DataNodes
+    // with the same number of Regions are not equally preferred when their loads are skewed
+    Map<TDataNodeLocation, Pair<Double, Long>> priorityMap = new ConcurrentHashMap<>();
     availableDataNodeMap
         .keySet()
         .forEach(
@@ -83,7 +105,8 @@ public class GreedyRegionGroupAllocator implements IRegionGroupAllocator {
                 priorityMap.put(
                     availableDataNodeMap.get(dataNodeId).getLocation(),
                     new Pair<>(
-                        regionCounter.getOrDefault(dataNodeId, ZERO).get(),
+                        (regionCounter.getOrDefault(dataNodeId, ZERO).get() + 1)
+                            * (1 + dataNodeLoadRatioMap.getOrDefault(dataNodeId, 0d)),
                         freeDiskSpaceMap.getOrDefault(dataNodeId, 0L))));
 
     return priorityMap.entrySet().stream()
@@ -91,10 +114,10 @@ public class GreedyRegionGroupAllocator implements IRegionGroupAllocator {
             comparingByValue(
                 (o1, o2) ->
                     !Objects.equals(o1.getLeft(), o2.getLeft())
-                        // Compare the first key(The number of Regions) by ascending order
-                        ? o1.getLeft() - o2.getLeft()
+                        // Compare the first key(The weighted number of Regions) by ascending order
+                        ? Double.compare(o1.getLeft(), o2.getLeft())
                         // Compare the second key(The free disk space) by descending order
-                        : (int) (o2.getRight() - o1.getRight())))
+                        : Long.compare(o2.getRight(), o1.getRight())))
         .map(entry -> entry.getKey().deepCopy())
         .collect(Collectors.toList());
   }
@@ -43,4 +43,31 @@ public interface IRegionGroupAllocator {
       List<TRegionReplicaSet> allocatedRegionGroups,
       int replicationFactor,
       TConsensusGroupId consensusGroupId);
+
+  /**
+   * Generate an optimal RegionReplicas' distribution for a new RegionGroup with respect to the load
+   * of the DataNodes. The load is ignored by default
+   *
+   * @param availableDataNodeMap DataNodes that can be used for allocation
+   * @param freeDiskSpaceMap The free disk space of the DataNodes
+   * @param dataNodeLoadRatioMap The load ratio in [0, 1] of the DataNodes
+   * @param allocatedRegionGroups Allocated RegionGroups
+   * @param replicationFactor Replication factor of TRegionReplicaSet
+   * @param consensusGroupId TConsensusGroupId of result TRegionReplicaSet
+   * @return The optimal TRegionReplicaSet derived by the specified algorithm
+   */
+  default TRegionReplicaSet generateOptimalRegionReplicasDistribution(
+      Map<Integer, TDataNodeConfiguration> availableDataNodeMap,
+      Map<Integer, Long> freeDiskSpaceMap,
+      Map<Integer, Double> dataNodeLoadRatioMap,
+      List<TRegionReplicaSet> allocatedRegionGroups,
+      int replicationFactor,
+      TConsensusGroupId consensusGroupId) {
+    return generateOptimalRegionReplicasDistribution(
+        availableDataNodeMap,
+        freeDiskSpaceMap,
+        allocatedRegionGroups,
+        replicationFactor,
+        consensusGroupId);
+  }
 }
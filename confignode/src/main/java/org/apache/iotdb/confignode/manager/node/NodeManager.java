@@ -19,6 +19,7 @@
 package org.apache.iotdb.confignode.manager.node;
 
 import org.apache.iotdb.common.rpc.thrift.TConfigNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TDataNodeConfiguration;
 import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
 import org.apache.iotdb.common.rpc.thrift.TFlushReq;
@@ -74,6 +75,7 @@ import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.common.response.ConsensusGenericResponse;
 import org.apache.iotdb.mpp.rpc.thrift.THeartbeatReq;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoad;
 import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.slf4j.Logger;
@@ -81,6 +83,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -943,6 +946,41 @@ public class NodeManager {
     return dataNodeHeartbeatCache == null ? 0 : dataNodeHeartbeatCache.getFreeDiskSpace();
   }
 
+  /**
+   * Get the load ratio of each Running DataNode
+   *
+   * @return Map<DataNodeId, The load ratio in [0, 1] that sample through heartbeat>
+   */
+  public Map<Integer, Double> getDataNodeLoadRatioMap() {
+    Map<Integer, Double> result = new ConcurrentHashMap<>();
+    filterDataNodeThroughStatus(NodeStatus.Running)
+        .forEach(
+            dataNodeConfiguration -> {
+              int dataNodeId = dataNodeConfiguration.getLocation().getDataNodeId();
+              DataNodeHeartbeatCache dataNodeHeartbeatCache =
+                  (DataNodeHeartbeatCache) nodeCacheMap.get(dataNodeId);
+              if (dataNodeHeartbeatCache != null) {
+                result.put(dataNodeId, dataNodeHeartbeatCache.getLoadRatio());
+              }
+            });
+    return result;
+  }
+
+  /**
+   * Get the load of the DataRegions on the specified DataNode
+   *
+   * @param dataNodeId The index of the specified DataNode
+   * @return Map<DataRegionGroupId, TRegionLoad> that sample through heartbeat, empty if no
+   *     heartbeat received
+   */
+  public Map<TConsensusGroupId, TRegionLoad> getRegionLoads(int dataNodeId) {
+    DataNodeHeartbeatCache dataNodeHeartbeatCache =
+        (DataNodeHeartbeatCache) nodeCacheMap.get(dataNodeId);
+    return dataNodeHeartbeatCache == null
+        ? Collections.emptyMap()
+        : dataNodeHeartbeatCache.getRegionLoads();
+  }
+
   /**
    * Get the DataNodeLocation of the DataNode which has the lowest loadScore
    *
@@ -18,8 +18,13 @@
  */
 package org.apache.iotdb.confignode.manager.node.heartbeat;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.commons.cluster.NodeStatus;
 import org.apache.iotdb.mpp.rpc.thrift.TLoadSample;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoad;
+
+import java.util.Collections;
+import java.util.Map;
 
 /** DataNodeHeartbeatCache caches and maintains all the heartbeat data */
 public class DataNodeHeartbeatCache extends BaseNodeCache {
@@ -73,4 +78,23 @@ public class DataNodeHeartbeatCache extends BaseNodeCache {
   public long getFreeDiskSpace() {
     return latestLoadSample.getFreeDiskSpace();
   }
+
+  /**
+   * @return The load of the DataNode in [0, 1], which is the higher one of the cpu usage and the
+   *     memtable usage. The higher the busier
+   */
+  public double getLoadRatio() {
+    TLoadSample loadSample = latestLoadSample;
+    double loadRatio = loadSample.getCpuUsageRate() / 100d;
+    if (loadSample.isSetMemTableUsageRate()) {
+      loadRatio = Math.max(loadRatio, loadSample.getMemTableUsageRate() / 100d);
+    }
+    return Math.min(loadRatio, 1d);
+  }
+
+  /** @return Map<DataRegionGroupId, TRegionLoad> sampled through the latest heartbeat */
+  public Map<TConsensusGroupId, TRegionLoad> getRegionLoads() {
+    TLoadSample loadSample = latestLoadSample;
+    return loadSample.isSetRegionLoads() ? loadSample.getRegionLoads() : Collections.emptyMap();
+  }
 }
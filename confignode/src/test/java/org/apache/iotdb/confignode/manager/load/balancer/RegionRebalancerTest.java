@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoad;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class RegionRebalancerTest {
+
+  private static final double OVERLOAD_THRESHOLD = 0.8;
+
+  private final Map<Integer, Double> loadRatioMap = new HashMap<>();
+  private final Map<Integer, Map<TConsensusGroupId, TRegionLoad>> regionLoadMap = new HashMap<>();
+  private final Map<TConsensusGroupId, TRegionReplicaSet> replicaSetMap = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    // DataNode-0 holds the hot Region-0, the warm Region-1 and the cold Region-2
+    // DataNode-1 holds Region-3, and DataNode-2 holds Region-0 and Region-4
+    addRegion(0, 0, 2);
+    addRegion(1, 0);
+    addRegion(2, 0);
+    addRegion(3, 1);
+    addRegion(4, 2);
+    regionLoadMap.computeIfAbsent(0, empty -> new HashMap<>()).put(regionId(0), load(600, 60));
+    regionLoadMap.get(0).put(regionId(1), load(300, 30));
+    regionLoadMap.get(0).put(regionId(2), load(100, 10));
+  }
+
+  @Test
+  public void testMigrateFromOverloadedDataNode() {
+    loadRatioMap.put(0, 0.9);
+    loadRatioMap.put(1, 0.2);
+    loadRatioMap.put(2, 0.1);
+
+    Optional<RegionRebalancer.RegionMigration> migration =
+        RegionRebalancer.generateRegionMigration(
+            loadRatioMap, regionLoadMap, replicaSetMap, OVERLOAD_THRESHOLD);
+    Assert.assertTrue(migration.isPresent());
+    Assert.assertEquals(0, migration.get().getOriginalDataNodeId());
+    // The hottest Region-0 takes 60% of the load of DataNode-0, which exceeds half of the load gap,
+    // so the warm Region-1 is migrated to the least loaded DataNode-2
+    Assert.assertEquals(regionId(1), migration.get().getRegionId());
+    Assert.assertEquals(2, migration.get().getDestDataNodeId());
+  }
+
+  @Test
+  public void testNoMigration() {
+    // No DataNode is overloaded
+    loadRatioMap.put(0, 0.7);
+    loadRatioMap.put(1, 0.2);
+    loadRatioMap.put(2, 0.1);
+    Assert.assertFalse(
+        RegionRebalancer.generateRegionMigration(
+                loadRatioMap, regionLoadMap, replicaSetMap, OVERLOAD_THRESHOLD)
+            .isPresent());
+
+    // All DataNodes are overloaded
+    loadRatioMap.put(0, 0.95);
+    loadRatioMap.put(1, 0.9);
+    loadRatioMap.put(2, 0.9);
+    Assert.assertFalse(
+        RegionRebalancer.generateRegionMigration(
+                loadRatioMap, regionLoadMap, replicaSetMap, OVERLOAD_THRESHOLD)
+            .isPresent());
+
+    // The load gap is too small to move any Region
+    loadRatioMap.put(0, 0.85);
+    loadRatioMap.put(1, 0.8);
+    loadRatioMap.put(2, 0.79);
+    Assert.assertFalse(
+        RegionRebalancer.generateRegionMigration(
+                loadRatioMap, regionLoadMap, replicaSetMap, OVERLOAD_THRESHOLD)
+            .isPresent());
+  }
+
+  private void addRegion(int regionId, Integer... dataNodeIds) {
+    TRegionReplicaSet replicaSet = new TRegionReplicaSet();
+    replicaSet.setRegionId(regionId(regionId));
+    Arrays.stream(dataNodeIds)
+        .forEach(
+            dataNodeId ->
+                replicaSet.addToDataNodeLocations(
+                    new TDataNodeLocation().setDataNodeId(dataNodeId)));
+    replicaSetMap.put(regionId(regionId), replicaSet);
+  }
+
+  private static TConsensusGroupId regionId(int id) {
+    return new TConsensusGroupId(TConsensusGroupType.DataRegion, id);
+  }
+
+  private static TRegionLoad load(double writeRate, double queryCpuRate) {
+    return new TRegionLoad(writeRate, queryCpuRate, 0, 0);
+  }
+}
@@ -137,4 +137,53 @@ public class GreedyRegionGroupAllocatorTest {
     Assert.assertTrue(dataNodeIdSet.contains(1));
     Assert.assertTrue(dataNodeIdSet.contains(2));
   }
+
+  @Test
+  public void testLoadAwareDistribution() {
+    /* Construct input data */
+    Map<Integer, TDataNodeConfiguration> availableDataNodeMap = new ConcurrentHashMap<>();
+    Map<Integer, Long> freeSpaceMap = new ConcurrentHashMap<>();
+    Map<Integer, Double> loadRatioMap = new ConcurrentHashMap<>();
+    // Set 4 DataNodes, the DataNode-0 is the busiest one though it has the most free disk space
+    for (int i = 0; i < 4; i++) {
+      availableDataNodeMap.put(
+          i, new TDataNodeConfiguration().setLocation(new TDataNodeLocation().setDataNodeId(i)));
+      freeSpaceMap.put(i, 1000L - i);
+      loadRatioMap.put(i, i == 0 ? 0.9 : 0.1);
+    }
+
+    /* Allocate the first RegionGroup */
+    List<TRegionReplicaSet> allocatedRegionGroups = new ArrayList<>();
+    TRegionReplicaSet newRegionGroup =
+        ALLOCATOR.generateOptimalRegionReplicasDistribution(
+            availableDataNodeMap,
+            freeSpaceMap,
+            loadRatioMap,
+            allocatedRegionGroups,
+            TEST_REPLICATION_FACTOR,
+            new TConsensusGroupId(TConsensusGroupType.DataRegion, 0));
+    allocatedRegionGroups.add(newRegionGroup);
+    Set<Integer> dataNodeIdSet = new HashSet<>();
+    newRegionGroup
+        .getDataNodeLocations()
+        .forEach(dataNodeLocation -> dataNodeIdSet.add(dataNodeLocation.getDataNodeId()));
+    // The busy DataNode-0 should be avoided
+    Assert.assertFalse(dataNodeIdSet.contains(0));
+    dataNodeIdSet.clear();
+
+    /* Allocate the second RegionGroup */
+    newRegionGroup =
+        ALLOCATOR.generateOptimalRegionReplicasDistribution(
+            availableDataNodeMap,
+            freeSpaceMap,
+            loadRatioMap,
+            allocatedRegionGroups,
+            TEST_REPLICATION_FACTOR,
+            new TConsensusGroupId(TConsensusGroupType.DataRegion, 1));
+    newRegionGroup
+        .getDataNodeLocations()
+        .forEach(dataNodeLocation -> dataNodeIdSet.add(dataNodeLocation.getDataNodeId()));
+    // The DataNode-0 is used when the other DataNodes hold more Regions
+    Assert.assertTrue(dataNodeIdSet.contains(0));
+  }
 }
@@ -23,24 +23,104 @@ import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.Session;
 import org.apache.iotdb.session.SessionDataSet;
+import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
 
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.configuration.Configuration;
-import org.apache.flink.streaming.api.functions.source.RichSourceFunction;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class IoTDBSource<T> extends RichSourceFunction<T> {
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The `IoTDBSource` reads the result of a query from IoTDB.
+ *
+ * <p>By default the whole query is read by the first subtask. With {@link
+ * IoTDBSourceOptions#setSplitByPartition(boolean)}, the query is split by the DataRegions and the
+ * time partitions of its devices, and the splits are read by all the subtasks in parallel. The
+ * splits are enumerated once when the source is created, and the list is shipped with the source to
+ * all the subtasks, so that they pick up their own splits from the same list, which doesn't change
+ * after restoring either. The finished splits are recorded in the checkpoints, so they are not read
+ * again after restoring, while the split in progress is read again from the beginning.
+ *
+ * @param <T> the output data type
+ */
+public abstract class IoTDBSource<T> extends RichParallelSourceFunction<T>
+    implements CheckpointedFunction {
 
   private static final Logger LOG = LoggerFactory.getLogger(IoTDBSource.class);
   private static final long serialVersionUID = 1L;
   private IoTDBSourceOptions sourceOptions;
+  // enumerated once when the source is created, and shared by all the subtasks
+  private final List<IoTDBSourceSplit> splits;
 
   private transient Session session;
   private transient SessionDataSet dataSet;
+  private transient volatile boolean running;
+
+  // the ids of the splits read by all the subtasks, shared by them in the union state
+  private transient ListState<String> finishedSplitState;
+  private transient Set<String> finishedSplitIds;
 
+  /**
+   * @throws IllegalStateException if the query should be split by partition but the splits can't be
+   *     enumerated
+   */
   protected IoTDBSource(IoTDBSourceOptions ioTDBSourceOptions) {
     this.sourceOptions = ioTDBSourceOptions;
+    this.splits = enumerateSplits(ioTDBSourceOptions);
+  }
+
+  private static List<IoTDBSourceSplit> enumerateSplits(IoTDBSourceOptions options) {
+    if (!options.isSplitByPartition()) {
+      return Collections.singletonList(new IoTDBSourceSplit("all", options.getSql()));
+    }
+    Session session =
+        new Session(options.getHost(), options.getPort(), options.getUser(), options.getPassword());
+    try {
+      session.open();
+      try {
+        return new ArrayList<>(IoTDBSplitEnumerator.enumerate(session, options));
+      } finally {
+        session.close();
+      }
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      throw new IllegalStateException("Failed to enumerate the splits of the query", e);
+    }
+  }
+
+  @Override
+  public void initializeState(FunctionInitializationContext context) throws Exception {
+    finishedSplitState =
+        context
+            .getOperatorStateStore()
+            .getUnionListState(new ListStateDescriptor<>("finished-splits", String.class));
+    finishedSplitIds = new HashSet<>();
+    if (context.isRestored()) {
+      for (String splitId : finishedSplitState.get()) {
+        finishedSplitIds.add(splitId);
+      }
+    }
+  }
+
+  @Override
+  public void snapshotState(FunctionSnapshotContext context) throws Exception {
+    finishedSplitState.clear();
+    for (String splitId : finishedSplitIds) {
+      finishedSplitState.add(splitId);
+    }
   }
 
   @Override
@@ -57,18 +137,101 @@ public abstract class IoTDBSource<T> extends RichSourceFunction<T> {
    */
   public abstract T convert(RowRecord rowRecord);
 
+  /**
+   * Whether to consume the result block by block through {@link #convertBatch(TsBlock,
+   * SessionDataSet)} instead of row by row through {@link #convert(RowRecord)}.
+   */
+  protected boolean isBatchConversionEnabled() {
+    return false;
+  }
+
+  /**
+   * Convert a block of rows extracted from IoTDB to user-defined data type. The values are
+   * organized by column, and the value column of a result column is given by {@link
+   * SessionDataSet#getValueColumnIndex(String)}. By default, the rows are converted one by one
+   * through {@link #convert(RowRecord)}, override it to convert the columns directly.
+   *
+   * @param tsBlock block of rows from IoTDB
+   * @param dataSet the result set the block belongs to
+   * @return objects in user-defined form
+   * @throws StatementExecutionException if a result column can't be found in the block
+   */
+  protected List<T> convertBatch(TsBlock tsBlock, SessionDataSet dataSet)
+      throws StatementExecutionException {
+    // the value columns in the order of the fields of RowRecord
+    List<Column> valueColumns = new ArrayList<>();
+    for (String columnName : dataSet.getColumnNames()) {
+      int valueColumnIndex = dataSet.getValueColumnIndex(columnName);
+      if (valueColumnIndex >= 0) {
+        valueColumns.add(tsBlock.getColumn(valueColumnIndex));
+      }
+    }
+    List<T> records = new ArrayList<>(tsBlock.getPositionCount());
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      List<Field> fields = new ArrayList<>(valueColumns.size());
+      for (Column column : valueColumns) {
+        fields.add(
+            column.isNull(i)
+                ? new Field(null)
+                : Field.getField(column.getObject(i), column.getDataType()));
+      }
+      records.add(convert(new RowRecord(tsBlock.getTimeByIndex(i), fields)));
+    }
+    return records;
+  }
+
   @Override
   public void run(SourceContext<T> sourceContext) throws Exception {
-    dataSet = session.executeQueryStatement(sourceOptions.getSql());
+    running = true;
+    if (finishedSplitIds == null) {
+      finishedSplitIds = new HashSet<>();
+    }
+    int subtaskIndex = getRuntimeContext().getIndexOfThisSubtask();
+    int subtaskNum = getRuntimeContext().getNumberOfParallelSubtasks();
+    for (int i = subtaskIndex; i < splits.size() && running; i += subtaskNum) {
+      IoTDBSourceSplit split = splits.get(i);
+      if (finishedSplitIds.contains(split.getSplitId())) {
+        continue;
+      }
+      LOG.debug("Read split {}", split);
+      readSplit(split, sourceContext);
+      synchronized (sourceContext.getCheckpointLock()) {
+        finishedSplitIds.add(split.getSplitId());
+      }
+    }
+  }
+
+  private void readSplit(IoTDBSourceSplit split, SourceContext<T> sourceContext)
+      throws StatementExecutionException, IoTDBConnectionException {
+    dataSet = session.executeQueryStatement(split.getSql());
     dataSet.setFetchSize(sourceOptions.getFetchSize());
-    while (dataSet.hasNext()) {
-      sourceContext.collect(convert(dataSet.next()));
+    if (isBatchConversionEnabled()) {
+      TsBlock tsBlock;
+      while (running && (tsBlock = dataSet.nextBatch()) != null) {
+        List<T> records = convertBatch(tsBlock, dataSet);
+        synchronized (sourceContext.getCheckpointLock()) {
+          for (T record : records) {
+            sourceContext.collect(record);
+          }
+        }
+      }
+    } else {
+      while (running && dataSet.hasNext()) {
+        T record = convert(dataSet.next());
+        synchronized (sourceContext.getCheckpointLock()) {
+          sourceContext.collect(record);
+        }
+      }
     }
     dataSet.closeOperationHandle();
   }
 
   @Override
   public void cancel() {
+    running = false;
+    if (dataSet == null) {
+      return;
+    }
     try {
       dataSet.closeOperationHandle();
     } catch (StatementExecutionException | IoTDBConnectionException e) {
@@ -80,11 +243,15 @@ public abstract class IoTDBSource<T> extends RichSourceFunction<T> {
   public void close() throws Exception {
     super.close();
     try {
-      dataSet.closeOperationHandle();
+      if (dataSet != null) {
+        dataSet.closeOperationHandle();
+      }
     } catch (StatementExecutionException | IoTDBConnectionException e) {
       throw e;
     } finally {
-      session.close();
+      if (session != null) {
+        session.close();
+      }
     }
   }
 
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import java.io.Serializable;
+
+/** A part of the query of {@link IoTDBSource}, which is read by one subtask of the source. */
+public class IoTDBSourceSplit implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String splitId;
+  private final String sql;
+
+  public IoTDBSourceSplit(String splitId, String sql) {
+    this.splitId = splitId;
+    this.sql = sql;
+  }
+
+  /** @return the id of the split, which is the same in all the subtasks and after restarting */
+  public String getSplitId() {
+    return splitId;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  @Override
+  public String toString() {
+    return "IoTDBSourceSplit{" + "splitId='" + splitId + '\'' + ", sql='" + sql + '\'' + '}';
+  }
+}
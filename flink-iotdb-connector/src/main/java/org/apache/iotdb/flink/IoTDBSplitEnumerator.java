@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.flink.options.IoTDBSourceOptions;
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.session.Session;
+import org.apache.iotdb.session.SessionDataSet;
+import org.apache.iotdb.session.util.QuerySqlRewriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Enumerate the splits of the query of {@link IoTDBSource} by the DataRegions and the time
+ * partitions that the devices of the query belong to.
+ *
+ * <p>The rows of an ALIGN BY DEVICE query are split by DataRegion and time partition, i.e. each
+ * split reads the devices of one DataRegion in one time partition. The rows of other queries are
+ * only split by time partition, because the devices of a row can't be separated.
+ *
+ * <p>The splits are enumerated once by {@link IoTDBSource} when it is created, and are sorted by
+ * their ids.
+ */
+class IoTDBSplitEnumerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IoTDBSplitEnumerator.class);
+
+  private IoTDBSplitEnumerator() {}
+
+  static List<IoTDBSourceSplit> enumerate(Session session, IoTDBSourceOptions options)
+      throws IoTDBConnectionException, StatementExecutionException {
+    String sql = options.getSql();
+    IoTDBSourceSplit wholeQuery = new IoTDBSourceSplit("all", sql);
+    if (!options.isSplitByPartition()) {
+      return Collections.singletonList(wholeQuery);
+    }
+    if (!QuerySqlRewriter.isSplittable(sql)) {
+      LOG.warn("The query can't be split because its result depends on all the rows: {}", sql);
+      return Collections.singletonList(wholeQuery);
+    }
+    List<String> fromPaths = QuerySqlRewriter.getFromPaths(sql);
+    if (fromPaths.isEmpty()) {
+      return Collections.singletonList(wholeQuery);
+    }
+
+    // the devices of the query and their database
+    Map<String, String> deviceToDatabase = new LinkedHashMap<>();
+    for (String fromPath : fromPaths) {
+      String devicePath = fromPath.startsWith("root.") ? fromPath : "root." + fromPath;
+      try (SessionDataSet dataSet =
+          session.executeQueryStatement("show devices " + devicePath + " with database")) {
+        SessionDataSet.DataIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+          deviceToDatabase.put(iterator.getString("Device"), iterator.getString("Database"));
+        }
+      }
+    }
+
+    // group the devices by the DataRegion and the time partition they belong to
+    SeriesPartitionExecutor executor =
+        SeriesPartitionExecutor.getSeriesPartitionExecutor(
+            options.getSeriesPartitionExecutorClass(), options.getSeriesSlotNum());
+    Map<String, Map<Long, Integer>> slotToTimeSlotRegions = new HashMap<>();
+    TreeMap<String, List<String>> splitToDevices = new TreeMap<>();
+    TreeMap<String, Long> splitToTimeSlot = new TreeMap<>();
+    for (Map.Entry<String, String> entry : deviceToDatabase.entrySet()) {
+      String device = entry.getKey();
+      String database = entry.getValue();
+      int seriesSlot = executor.getSeriesPartitionSlot(device).getSlotId();
+      Map<Long, Integer> timeSlotRegions = slotToTimeSlotRegions.get(database + ":" + seriesSlot);
+      if (timeSlotRegions == null) {
+        timeSlotRegions = getTimeSlotRegions(session, database, seriesSlot);
+        slotToTimeSlotRegions.put(database + ":" + seriesSlot, timeSlotRegions);
+      }
+      for (Map.Entry<Long, Integer> timeSlotRegion : timeSlotRegions.entrySet()) {
+        String splitId =
+            QuerySqlRewriter.isAlignByDevice(sql)
+                ? String.format(
+                    "region-%d-time-%d", timeSlotRegion.getValue(), timeSlotRegion.getKey())
+                : String.format("time-%d", timeSlotRegion.getKey());
+        splitToDevices.computeIfAbsent(splitId, k -> new ArrayList<>()).add(device);
+        splitToTimeSlot.put(splitId, timeSlotRegion.getKey());
+      }
+    }
+    if (splitToDevices.isEmpty()) {
+      return Collections.singletonList(wholeQuery);
+    }
+
+    List<IoTDBSourceSplit> splits = new ArrayList<>(splitToDevices.size());
+    long timePartitionInterval = options.getTimePartitionInterval();
+    for (Map.Entry<String, List<String>> entry : splitToDevices.entrySet()) {
+      long startTime = splitToTimeSlot.get(entry.getKey());
+      String splitSql =
+          QuerySqlRewriter.addPredicate(
+              QuerySqlRewriter.isAlignByDevice(sql)
+                  ? QuerySqlRewriter.replaceFromPaths(sql, entry.getValue())
+                  : sql,
+              String.format(
+                  "time >= %d and time < %d", startTime, startTime + timePartitionInterval));
+      splits.add(new IoTDBSourceSplit(entry.getKey(), splitSql));
+    }
+    return splits;
+  }
+
+  /** @return the DataRegion of each time partition of the series slot */
+  private static Map<Long, Integer> getTimeSlotRegions(
+      Session session, String database, int seriesSlot)
+      throws IoTDBConnectionException, StatementExecutionException {
+    TreeSet<Long> timeSlots = new TreeSet<>();
+    try (SessionDataSet dataSet =
+        session.executeQueryStatement(
+            String.format("show timeslotid of %s where seriesslotid = %d", database, seriesSlot))) {
+      SessionDataSet.DataIterator iterator = dataSet.iterator();
+      while (iterator.next()) {
+        timeSlots.add(iterator.getLong("TimeSlotId"));
+      }
+    }
+    Map<Long, Integer> timeSlotRegions = new LinkedHashMap<>();
+    for (long timeSlot : timeSlots) {
+      try (SessionDataSet dataSet =
+          session.executeQueryStatement(
+              String.format(
+                  "show data regionid of %s where seriesslotid = %d and timeslotid = %d",
+                  database, seriesSlot, timeSlot))) {
+        SessionDataSet.DataIterator iterator = dataSet.iterator();
+        if (iterator.next()) {
+          timeSlotRegions.put(timeSlot, iterator.getInt("RegionId"));
+        }
+      }
+    }
+    return timeSlotRegions;
+  }
+}
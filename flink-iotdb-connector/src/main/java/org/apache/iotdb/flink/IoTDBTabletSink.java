@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.flink.options.IoTDBSinkOptions;
+import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import com.google.common.base.Preconditions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The `IoTDBTabletSink` writes events into IoTDB by Tablets. The events are accumulated into one
+ * Tablet per device, and the Tablets are written by `insertTablets` asynchronously once `batchSize`
+ * rows are buffered, so that serializing the events and writing them overlap.
+ *
+ * <p>All the buffered rows are written, and all the writes are waited for, before a checkpoint is
+ * taken. A failed write fails the checkpoint. After restoring, the events since the last checkpoint
+ * are replayed and written again, which overwrites the same points because the points are keyed by
+ * the timeseries and the timestamp. So each point is written into IoTDB exactly once in effect, as
+ * long as the events replayed are the same.
+ *
+ * @param <IN> the input data type
+ */
+public class IoTDBTabletSink<IN> extends RichSinkFunction<IN> implements CheckpointedFunction {
+
+  private static final long serialVersionUID = 1L;
+  private static final Logger LOG = LoggerFactory.getLogger(IoTDBTabletSink.class);
+
+  private final IoTDBSinkOptions options;
+  private final IoTSerializationSchema<IN> serializationSchema;
+
+  private int batchSize = 1024;
+  private int flushIntervalMs = 3000;
+  private int sessionPoolSize = 2;
+  // the max number of writes in progress, the sink is blocked when there are more
+  private int maxConcurrentWrites = 2;
+  private boolean aligned = false;
+
+  private transient SessionPool pool;
+  private transient ExecutorService writeExecutor;
+  private transient ScheduledExecutorService scheduledExecutor;
+  private transient Semaphore writePermits;
+  // the Tablet being filled of each device
+  private transient Map<String, Tablet> tablets;
+  private transient int bufferedRowNum;
+  private transient volatile Exception writeFailure;
+
+  public IoTDBTabletSink(IoTDBSinkOptions options, IoTSerializationSchema<IN> schema) {
+    this.options = options;
+    this.serializationSchema = schema;
+  }
+
+  @Override
+  public void open(Configuration parameters) throws Exception {
+    if (pool == null) {
+      pool =
+          new SessionPool(
+              options.getHost(),
+              options.getPort(),
+              options.getUser(),
+              options.getPassword(),
+              sessionPoolSize);
+    }
+    initBuffer();
+    scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    scheduledExecutor.scheduleAtFixedRate(
+        () -> {
+          try {
+            flush();
+          } catch (Exception e) {
+            LOG.error("flush error", e);
+          }
+        },
+        flushIntervalMs,
+        flushIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  void initBuffer() {
+    writeExecutor = Executors.newFixedThreadPool(maxConcurrentWrites);
+    writePermits = new Semaphore(maxConcurrentWrites);
+    tablets = new HashMap<>();
+    bufferedRowNum = 0;
+  }
+
+  //  for testing
+  void setSessionPool(SessionPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void initializeState(FunctionInitializationContext context) {
+    // nothing is kept in the state, because all the events are written before the checkpoint
+  }
+
+  @Override
+  public void snapshotState(FunctionSnapshotContext context) throws Exception {
+    flush();
+    waitForWrites();
+  }
+
+  @Override
+  public void invoke(IN input, Context context) throws Exception {
+    checkWriteFailure();
+    Event event = serializationSchema.serialize(input);
+    if (event == null) {
+      return;
+    }
+    synchronized (this) {
+      Tablet tablet = tablets.get(event.getDevice());
+      if (tablet != null && !hasSameSchemas(tablet, event)) {
+        // the measurements of the device are changed, write the rows of the former ones
+        flush();
+        tablet = null;
+      }
+      if (tablet == null) {
+        tablet = createTablet(event);
+        tablets.put(event.getDevice(), tablet);
+      }
+      int rowIndex = tablet.rowSize++;
+      tablet.addTimestamp(rowIndex, event.getTimestamp());
+      List<String> measurements = event.getMeasurements();
+      List<Object> values = event.getValues();
+      for (int i = 0; i < measurements.size(); i++) {
+        tablet.addValue(measurements.get(i), rowIndex, values.get(i));
+      }
+      bufferedRowNum++;
+      if (bufferedRowNum >= batchSize) {
+        flush();
+      }
+    }
+  }
+
+  public IoTDBTabletSink<IN> withBatchSize(int batchSize) {
+    Preconditions.checkArgument(batchSize > 0);
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public IoTDBTabletSink<IN> withFlushIntervalMs(int flushIntervalMs) {
+    Preconditions.checkArgument(flushIntervalMs > 0);
+    this.flushIntervalMs = flushIntervalMs;
+    return this;
+  }
+
+  public IoTDBTabletSink<IN> withSessionPoolSize(int sessionPoolSize) {
+    Preconditions.checkArgument(sessionPoolSize > 0);
+    this.sessionPoolSize = sessionPoolSize;
+    return this;
+  }
+
+  public IoTDBTabletSink<IN> withMaxConcurrentWrites(int maxConcurrentWrites) {
+    Preconditions.checkArgument(maxConcurrentWrites > 0);
+    this.maxConcurrentWrites = maxConcurrentWrites;
+    return this;
+  }
+
+  /** Write the devices as aligned devices. */
+  public IoTDBTabletSink<IN> withAligned(boolean aligned) {
+    this.aligned = aligned;
+    return this;
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (scheduledExecutor != null) {
+      scheduledExecutor.shutdown();
+    }
+    if (pool != null) {
+      try {
+        flush();
+        waitForWrites();
+      } catch (Exception e) {
+        LOG.error("flush error", e);
+      }
+      pool.close();
+    }
+    if (writeExecutor != null) {
+      writeExecutor.shutdown();
+    }
+  }
+
+  private Tablet createTablet(Event event) {
+    List<MeasurementSchema> schemas = new ArrayList<>(event.getMeasurements().size());
+    for (int i = 0; i < event.getMeasurements().size(); i++) {
+      schemas.add(new MeasurementSchema(event.getMeasurements().get(i), event.getTypes().get(i)));
+    }
+    return new Tablet(event.getDevice(), schemas, batchSize);
+  }
+
+  private boolean hasSameSchemas(Tablet tablet, Event event) {
+    List<MeasurementSchema> schemas = tablet.getSchemas();
+    if (schemas.size() != event.getMeasurements().size()) {
+      return false;
+    }
+    for (int i = 0; i < schemas.size(); i++) {
+      if (!schemas.get(i).getMeasurementId().equals(event.getMeasurements().get(i))
+          || schemas.get(i).getType() != event.getTypes().get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Hand over the buffered Tablets to a writer, blocked if there are too many writes. */
+  private synchronized void flush() throws Exception {
+    if (tablets.isEmpty()) {
+      return;
+    }
+    Map<String, Tablet> batch = tablets;
+    tablets = new HashMap<>();
+    bufferedRowNum = 0;
+    writePermits.acquire();
+    try {
+      writeExecutor.execute(() -> write(batch));
+    } catch (Exception e) {
+      writePermits.release();
+      throw e;
+    }
+  }
+
+  private void write(Map<String, Tablet> batch) {
+    try {
+      if (aligned) {
+        pool.insertAlignedTablets(batch, false);
+      } else {
+        pool.insertTablets(batch, false);
+      }
+      LOG.debug("send {} tablets successfully", batch.size());
+    } catch (Exception e) {
+      LOG.error("Failed to write tablets", e);
+      if (writeFailure == null) {
+        writeFailure = e;
+      }
+    } finally {
+      writePermits.release();
+    }
+  }
+
+  private void waitForWrites() throws Exception {
+    writePermits.acquire(maxConcurrentWrites);
+    writePermits.release(maxConcurrentWrites);
+    checkWriteFailure();
+  }
+
+  private void checkWriteFailure() throws IOException {
+    Exception failure = writeFailure;
+    if (failure != null) {
+      throw new IOException("Failed to write tablets into IoTDB", failure);
+    }
+  }
+}
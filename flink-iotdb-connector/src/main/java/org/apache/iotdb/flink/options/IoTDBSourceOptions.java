@@ -22,6 +22,14 @@ public class IoTDBSourceOptions extends IoTDBOptions {
   private String sql;
   private int fetchSize;
 
+  // split the query by the DataRegions and the time partitions of its devices
+  private boolean splitByPartition = false;
+  // the following ones should be the same as the cluster to find the partitions of the devices
+  private long timePartitionInterval = 604800000L;
+  private int seriesSlotNum = 10000;
+  private String seriesPartitionExecutorClass =
+      "org.apache.iotdb.commons.partition.executor.hash.BKDRHashExecutor";
+
   public IoTDBSourceOptions(String host, int port, String user, String password, String sql) {
     this(host, port, user, password, sql, 1024);
   }
@@ -48,4 +56,36 @@ public class IoTDBSourceOptions extends IoTDBOptions {
   public void setFetchSize(int fetchSize) {
     this.fetchSize = fetchSize;
   }
+
+  public boolean isSplitByPartition() {
+    return splitByPartition;
+  }
+
+  public void setSplitByPartition(boolean splitByPartition) {
+    this.splitByPartition = splitByPartition;
+  }
+
+  public long getTimePartitionInterval() {
+    return timePartitionInterval;
+  }
+
+  public void setTimePartitionInterval(long timePartitionInterval) {
+    this.timePartitionInterval = timePartitionInterval;
+  }
+
+  public int getSeriesSlotNum() {
+    return seriesSlotNum;
+  }
+
+  public void setSeriesSlotNum(int seriesSlotNum) {
+    this.seriesSlotNum = seriesSlotNum;
+  }
+
+  public String getSeriesPartitionExecutorClass() {
+    return seriesPartitionExecutorClass;
+  }
+
+  public void setSeriesPartitionExecutorClass(String seriesPartitionExecutorClass) {
+    this.seriesPartitionExecutorClass = seriesPartitionExecutorClass;
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.flink.options.IoTDBSourceOptions;
+import org.apache.iotdb.session.Session;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IoTDBSplitEnumeratorTest {
+
+  @Test
+  public void testUnsplittableQuery() throws Exception {
+    for (String sql :
+        new String[] {
+          "select count(s1) from root.sg.d1",
+          "select last s1 from root.sg.d1",
+          "select s1 from root.sg.d1 limit 10"
+        }) {
+      IoTDBSourceOptions options = new IoTDBSourceOptions("127.0.0.1", 6667, "root", "root", sql);
+      options.setSplitByPartition(true);
+      Session session = Mockito.mock(Session.class);
+
+      // the whole query is read by one split, without looking up the partitions
+      List<IoTDBSourceSplit> splits = IoTDBSplitEnumerator.enumerate(session, options);
+      assertEquals(1, splits.size());
+      assertEquals("all", splits.get(0).getSplitId());
+      assertEquals(sql, splits.get(0).getSql());
+      Mockito.verifyZeroInteractions(session);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.flink;
+
+import org.apache.iotdb.flink.options.IoTDBSinkOptions;
+import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class IoTDBTabletSinkTest {
+
+  private IoTDBTabletSink<Map<String, String>> sink;
+  private SessionPool pool;
+
+  @Before
+  public void setUp() {
+    sink = new IoTDBTabletSink<>(new IoTDBSinkOptions(), new DefaultIoTSerializationSchema());
+    sink.withBatchSize(3);
+    pool = mock(SessionPool.class);
+    sink.setSessionPool(pool);
+    sink.initBuffer();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchInsert() throws Exception {
+    sink.invoke(tuple("root.sg.D01", 1, "36.5"), null);
+    sink.invoke(tuple("root.sg.D02", 1, "37.2"), null);
+    verifyZeroInteractions(pool);
+
+    sink.invoke(tuple("root.sg.D01", 2, "37.1"), null);
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    verify(pool, timeout(10000)).insertTablets(captor.capture(), anyBoolean());
+    Map<String, Tablet> tablets = captor.getValue();
+    assertEquals(2, tablets.size());
+    assertEquals(2, tablets.get("root.sg.D01").rowSize);
+    assertEquals(1, tablets.get("root.sg.D02").rowSize);
+    assertEquals(37.1, ((double[]) tablets.get("root.sg.D01").values[0])[1], 0);
+  }
+
+  @Test
+  public void testFlushOnCheckpoint() throws Exception {
+    sink.invoke(tuple("root.sg.D01", 1, "36.5"), null);
+    verifyZeroInteractions(pool);
+
+    sink.snapshotState(null);
+    verify(pool).insertTablets(anyMap(), anyBoolean());
+  }
+
+  @Test
+  public void testFailedWriteFailsCheckpoint() throws Exception {
+    doThrow(new RuntimeException("IoTDB is unavailable"))
+        .when(pool)
+        .insertTablets(any(Map.class), anyBoolean());
+    sink.invoke(tuple("root.sg.D01", 1, "36.5"), null);
+    try {
+      sink.snapshotState(null);
+      fail();
+    } catch (Exception e) {
+      assertEquals("IoTDB is unavailable", e.getCause().getMessage());
+    }
+  }
+
+  private static Map<String, String> tuple(String device, long timestamp, String value) {
+    Map<String, String> tuple = new HashMap<>();
+    tuple.put("device", device);
+    tuple.put("timestamp", String.valueOf(timestamp));
+    tuple.put("measurements", "temperature");
+    tuple.put("types", "DOUBLE");
+    tuple.put("values", value);
+    return tuple;
+  }
+}
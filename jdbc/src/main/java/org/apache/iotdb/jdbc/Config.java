@@ -64,4 +64,10 @@ public class Config {
 
   /** key of connection's time zone */
   public static final String TIME_ZONE = "time_zone";
+
+  /** key of the max number of result batches the server prepares ahead of the next fetch */
+  public static final String PREFETCH_BATCH_NUM = "prefetch_batch_num";
+
+  /** key of the expected bytes of each fetch, which adapts the fetch size to the row width */
+  public static final String FETCH_SIZE_IN_BYTES = "fetch_size_in_bytes";
 }
@@ -287,6 +287,14 @@ public class IoTDBConnection implements Connection {
     return networkTimeout;
   }
 
+  public int getPrefetchBatchNum() {
+    return params.getPrefetchBatchNum();
+  }
+
+  public long getFetchSizeInBytes() {
+    return params.getFetchSizeInBytes();
+  }
+
   @Override
   public String getSchema() throws SQLException {
     throw new SQLException("Does not support getSchema");
@@ -40,6 +40,9 @@ public class IoTDBConnectionParams {
 
   private String timeZone = ZoneId.systemDefault().toString();
 
+  private int prefetchBatchNum = 0;
+  private long fetchSizeInBytes = 0;
+
   public IoTDBConnectionParams(String url) {
     this.jdbcUriString = url;
   }
@@ -135,4 +138,20 @@ public class IoTDBConnectionParams {
   public String getTimeZone() {
     return this.timeZone;
   }
+
+  public int getPrefetchBatchNum() {
+    return prefetchBatchNum;
+  }
+
+  public void setPrefetchBatchNum(int prefetchBatchNum) {
+    this.prefetchBatchNum = Math.max(0, prefetchBatchNum);
+  }
+
+  public long getFetchSizeInBytes() {
+    return fetchSizeInBytes;
+  }
+
+  public void setFetchSizeInBytes(long fetchSizeInBytes) {
+    this.fetchSizeInBytes = Math.max(0, fetchSizeInBytes);
+  }
 }
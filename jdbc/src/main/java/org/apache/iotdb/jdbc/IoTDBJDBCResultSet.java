@@ -24,6 +24,7 @@ import org.apache.iotdb.rpc.IoTDBRpcDataSet;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
 import org.apache.iotdb.service.rpc.thrift.TSTracingInfo;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 
 import org.apache.thrift.TException;
 
@@ -101,6 +102,7 @@ public class IoTDBJDBCResultSet implements ResultSet {
             sgColumns,
             aliasColumnMap);
     this.statement = statement;
+    applyFetchOptions((IoTDBStatement) statement);
     this.columnTypeList = columnTypeList;
     if (tracingInfo != null) {
       ioTDBRpcTracingInfo = new IoTDBTracingInfo();
@@ -142,6 +144,7 @@ public class IoTDBJDBCResultSet implements ResultSet {
             statement.getFetchSize(),
             timeout);
     this.statement = statement;
+    applyFetchOptions((IoTDBStatement) statement);
     this.columnTypeList = columnTypeList;
     if (tracingInfo != null) {
       ioTDBRpcTracingInfo = new IoTDBTracingInfo();
@@ -149,6 +152,11 @@ public class IoTDBJDBCResultSet implements ResultSet {
     }
   }
 
+  private void applyFetchOptions(IoTDBStatement statement) {
+    ioTDBRpcDataSet.prefetchBatchNum = statement.getPrefetchBatchNum();
+    ioTDBRpcDataSet.fetchSizeInBytes = statement.getFetchSizeInBytes();
+  }
+
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
     throw new SQLException(Constant.METHOD_NOT_SUPPORTED);
@@ -738,6 +746,33 @@ public class IoTDBJDBCResultSet implements ResultSet {
     }
   }
 
+  /**
+   * Get the unread rows block by block, whose values are organized by column. The value column of a
+   * result column is given by {@link #getValueColumnIndex(String)}.
+   *
+   * @return the next TsBlock, or null if there is no more result
+   */
+  public TsBlock nextBatch() throws SQLException {
+    try {
+      return ioTDBRpcDataSet.nextTsBlock();
+    } catch (StatementExecutionException | IoTDBConnectionException e) {
+      throw new SQLException(e.getMessage());
+    }
+  }
+
+  /**
+   * @return the index of the value column in the TsBlock returned by {@link #nextBatch()}, or -1
+   *     for the time column
+   * @throws SQLException if the column is not in the result
+   */
+  public int getValueColumnIndex(String columnName) throws SQLException {
+    try {
+      return ioTDBRpcDataSet.getValueColumnIndex(columnName);
+    } catch (StatementExecutionException e) {
+      throw new SQLException(e.getMessage());
+    }
+  }
+
   private boolean fetchResults() throws SQLException {
     try {
       return ioTDBRpcDataSet.fetchResults();
@@ -18,9 +18,12 @@
  */
 package org.apache.iotdb.jdbc;
 
+import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService.Iface;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.tsfile.utils.Binary;
 
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +72,18 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
   /** save the SQL parameters as (paramLoc,paramValue) pairs. */
   private final Map<Integer, String> parameters = new HashMap<>();
 
+  /** id of the statement prepared on the server, null if it is not prepared yet */
+  private Long preparedStatementId;
+
+  /** the session of the connection where the statement is prepared, which holds the statement */
+  private long preparedSessionId;
+
+  /**
+   * queries are prepared on the server, so that the server does not parse the sql again, until the
+   * server turns out not to support it
+   */
+  private boolean prepareOnServer = true;
+
   IoTDBPreparedStatement(
       IoTDBConnection connection, Iface client, Long sessionId, String sql, ZoneId zoneId)
       throws SQLException {
@@ -93,7 +108,68 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   @Override
   public ResultSet executeQuery() throws SQLException {
-    return super.executeQuery(createCompleteSql(sql, parameters));
+    String completeSql = createCompleteSql(sql, parameters);
+    if (prepareOnServer) {
+      ResultSet resultSet = executePreparedQuery(completeSql);
+      if (resultSet != null) {
+        return resultSet;
+      }
+    }
+    return super.executeQuery(completeSql);
+  }
+
+  /**
+   * Execute the query with the statement prepared on the server. The prepared statement is lost
+   * when the connection reconnects or the server releases it, in which case it is prepared again
+   * once.
+   *
+   * @return the result, or null if the query should be executed as sql
+   */
+  private ResultSet executePreparedQuery(String completeSql) throws SQLException {
+    boolean retried = false;
+    while (true) {
+      try {
+        if (preparedStatementId != null && preparedSessionId != getConnectionSessionId()) {
+          // another statement of the connection has reconnected
+          preparedStatementId = null;
+        }
+        if (preparedStatementId == null) {
+          TSPrepareStatementResp resp = prepareStatement(sql);
+          if (resp.getStatus().getCode() == TSStatusCode.UNSUPPORTED_OPERATION.getStatusCode()) {
+            prepareOnServer = false;
+            return null;
+          }
+          if (resp.getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+              || !resp.isSetPreparedStatementId()) {
+            // the error, if any, is reported by executing the sql
+            return null;
+          }
+          preparedStatementId = resp.getPreparedStatementId();
+          preparedSessionId = getConnectionSessionId();
+        }
+        return executePreparedQuery(preparedStatementId, getParameterList(), completeSql);
+      } catch (TApplicationException e) {
+        if (e.getType() != TApplicationException.UNKNOWN_METHOD) {
+          throw new SQLException("Fail to execute prepared statement " + sql, e);
+        }
+        // the server is too old to know prepared statements
+        prepareOnServer = false;
+        return null;
+      } catch (TException e) {
+        preparedStatementId = null;
+        if (retried || !reConnect()) {
+          throw new SQLException(
+              "Fail to execute prepared statement " + sql + ". please check server status", e);
+        }
+      } catch (IoTDBSQLException e) {
+        if (retried
+            || e.getErrorCode() != TSStatusCode.PREPARED_STATEMENT_NOT_EXIST.getStatusCode()) {
+          throw e;
+        }
+        preparedStatementId = null;
+      }
+      retried = true;
+    }
   }
 
   @Override
@@ -101,6 +177,19 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
     return super.executeUpdate(createCompleteSql(sql, parameters));
   }
 
+  @Override
+  public void close() throws SQLException {
+    if (preparedStatementId != null && preparedSessionId == getConnectionSessionId()) {
+      try {
+        deallocatePreparedStatement(preparedStatementId);
+      } catch (TException e) {
+        logger.warn("Failed to deallocate prepared statement {}", preparedStatementId, e);
+      }
+      preparedStatementId = null;
+    }
+    super.close();
+  }
+
   @Override
   public ResultSetMetaData getMetaData() throws SQLException {
     throw new SQLException(METHOD_NOT_SUPPORTED_STRING);
@@ -968,6 +1057,15 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
     return newSql.toString();
   }
 
+  private List<String> getParameterList() {
+    int parameterCount = splitSqlStatement(sql).size() - 1;
+    List<String> parameterList = new ArrayList<>(parameterCount);
+    for (int i = 1; i <= parameterCount; i++) {
+      parameterList.add(parameters.get(i));
+    }
+    return parameterList;
+  }
+
   private List<String> splitSqlStatement(final String sql) {
     List<String> parts = new ArrayList<>();
     int apCount = 0;
@@ -26,9 +26,13 @@ import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
 import org.apache.iotdb.service.rpc.thrift.TSCancelOperationReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
+import org.apache.iotdb.service.rpc.thrift.TSDeallocatePreparedStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSQueryNonAlignDataSet;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -56,6 +60,8 @@ public class IoTDBStatement implements Statement {
   private IoTDBConnection connection;
   private int fetchSize;
   private int maxRows = 0;
+  private int prefetchBatchNum;
+  private long fetchSizeInBytes;
 
   /**
    * Timeout of query can be set by users. Unit: s. A negative number means using the default
@@ -93,6 +99,8 @@ public class IoTDBStatement implements Statement {
     this.client = client;
     this.sessionId = sessionId;
     this.fetchSize = fetchSize;
+    this.prefetchBatchNum = connection.getPrefetchBatchNum();
+    this.fetchSizeInBytes = connection.getFetchSizeInBytes();
     this.batchSQLList = new ArrayList<>();
     this.zoneId = zoneId;
     this.queryTimeout = seconds;
@@ -399,14 +407,53 @@ public class IoTDBStatement implements Statement {
   private ResultSet executeQuerySQL(String sql, long timeoutInMS) throws TException, SQLException {
     isCancelled = false;
     TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionId, sql, stmtId);
-    int rows = fetchSize;
-    if (maxRows != 0 && fetchSize > maxRows) {
-      rows = maxRows;
-    }
-    execReq.setFetchSize(rows);
+    execReq.setFetchSize(getRowsToFetch());
     execReq.setTimeout(timeoutInMS);
     execReq.setJdbcQuery(true);
     TSExecuteStatementResp execResp = client.executeQueryStatementV2(execReq);
+    return createResultSet(sql, execResp, execReq.timeout);
+  }
+
+  /**
+   * Prepare the sql on the server.
+   *
+   * @return the response of the server, whose status is UNSUPPORTED_OPERATION if the server does
+   *     not support prepared statements
+   */
+  TSPrepareStatementResp prepareStatement(String sql) throws TException, SQLException {
+    checkConnection("prepare statement");
+    return client.prepareStatement(new TSPrepareStatementReq(sessionId, sql));
+  }
+
+  /** Execute the query prepared on the server with the given parameters. */
+  ResultSet executePreparedQuery(long preparedStatementId, List<String> parameters, String sql)
+      throws TException, SQLException {
+    checkConnection("execute query");
+    isClosed = false;
+    isCancelled = false;
+    TSExecutePreparedStatementReq execReq =
+        new TSExecutePreparedStatementReq(sessionId, preparedStatementId, parameters, stmtId);
+    execReq.setFetchSize(getRowsToFetch());
+    execReq.setTimeout((long) queryTimeout * 1000);
+    execReq.setJdbcQuery(true);
+    TSExecuteStatementResp execResp = client.executePreparedStatement(execReq);
+    return createResultSet(sql, execResp, execReq.timeout);
+  }
+
+  void deallocatePreparedStatement(long preparedStatementId) throws TException {
+    client.deallocatePreparedStatement(
+        new TSDeallocatePreparedStatementReq(sessionId, preparedStatementId));
+  }
+
+  private int getRowsToFetch() {
+    if (maxRows != 0 && fetchSize > maxRows) {
+      return maxRows;
+    }
+    return fetchSize;
+  }
+
+  private ResultSet createResultSet(String sql, TSExecuteStatementResp execResp, long timeout)
+      throws SQLException {
     queryId = execResp.getQueryId();
     try {
       RpcUtils.verifySuccess(execResp.getStatus());
@@ -435,7 +482,7 @@ public class IoTDBStatement implements Statement {
               sessionId,
               execResp.nonAlignQueryDataSet,
               execResp.tracingInfo,
-              execReq.timeout,
+              timeout,
               execResp.operationType,
               execResp.sgColumns,
               aliasColumn);
@@ -453,7 +500,7 @@ public class IoTDBStatement implements Statement {
               sessionId,
               execResp.queryResult,
               execResp.tracingInfo,
-              execReq.timeout,
+              timeout,
               execResp.operationType,
               execResp.columns,
               execResp.sgColumns,
@@ -614,6 +661,38 @@ public class IoTDBStatement implements Statement {
     this.fetchSize = fetchSize == 0 ? Config.DEFAULT_FETCH_SIZE : fetchSize;
   }
 
+  public int getPrefetchBatchNum() {
+    return prefetchBatchNum;
+  }
+
+  /**
+   * Let the server prepare at most prefetchBatchNum batches ahead of the next fetch of the result
+   * sets created afterwards. 0 disables it.
+   */
+  public void setPrefetchBatchNum(int prefetchBatchNum) throws SQLException {
+    checkConnection("setPrefetchBatchNum");
+    if (prefetchBatchNum < 0) {
+      throw new SQLException(String.format("prefetchBatchNum %d must be >= 0!", prefetchBatchNum));
+    }
+    this.prefetchBatchNum = prefetchBatchNum;
+  }
+
+  public long getFetchSizeInBytes() {
+    return fetchSizeInBytes;
+  }
+
+  /**
+   * Adapt the fetch size of the result sets created afterwards to the width of the fetched rows, so
+   * that each fetch carries about fetchSizeInBytes bytes. 0 keeps the fetch size unchanged.
+   */
+  public void setFetchSizeInBytes(long fetchSizeInBytes) throws SQLException {
+    checkConnection("setFetchSizeInBytes");
+    if (fetchSizeInBytes < 0) {
+      throw new SQLException(String.format("fetchSizeInBytes %d must be >= 0!", fetchSizeInBytes));
+    }
+    this.fetchSizeInBytes = fetchSizeInBytes;
+  }
+
   @Override
   public ResultSet getGeneratedKeys() throws SQLException {
     throw new SQLException("Not support getGeneratedKeys");
@@ -755,7 +834,7 @@ public class IoTDBStatement implements Statement {
     }
   }
 
-  private boolean reConnect() {
+  boolean reConnect() {
     boolean flag = connection.reconnect();
     reInit();
     return flag;
@@ -765,6 +844,11 @@ public class IoTDBStatement implements Statement {
     return sessionId;
   }
 
+  /** @return the id of the current session of the connection, which changes after reconnecting */
+  long getConnectionSessionId() {
+    return connection.getSessionId();
+  }
+
   public long getStmtId() {
     return stmtId;
   }
@@ -82,6 +82,12 @@ public class Utils {
     if (info.containsKey(Config.TIME_ZONE)) {
       params.setTimeZone(info.getProperty(Config.TIME_ZONE));
     }
+    if (info.containsKey(Config.PREFETCH_BATCH_NUM)) {
+      params.setPrefetchBatchNum(Integer.parseInt(info.getProperty(Config.PREFETCH_BATCH_NUM)));
+    }
+    if (info.containsKey(Config.FETCH_SIZE_IN_BYTES)) {
+      params.setFetchSizeInBytes(Long.parseLong(info.getProperty(Config.FETCH_SIZE_IN_BYTES)));
+    }
 
     return params;
   }
@@ -128,6 +134,15 @@ public class Utils {
           }
           info.put(key, value);
           break;
+        case Config.PREFETCH_BATCH_NUM:
+        case Config.FETCH_SIZE_IN_BYTES:
+          try {
+            Long.parseLong(value);
+          } catch (NumberFormatException e) {
+            return false;
+          }
+          info.put(key, value);
+          break;
         default:
           return false;
       }
@@ -29,6 +29,7 @@ import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
 import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
 
@@ -42,6 +43,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.time.ZoneId;
@@ -150,32 +152,7 @@ public class IoTDBJDBCResultSetTest {
     /*
      * step 1: execute statement
      */
-    List<String> columns = new ArrayList<>();
-    columns.add("root.vehicle.d0.s2");
-    columns.add("root.vehicle.d0.s1");
-    columns.add("root.vehicle.d0.s0");
-    columns.add("root.vehicle.d0.s2");
-
-    List<String> dataTypeList = new ArrayList<>();
-    dataTypeList.add("FLOAT");
-    dataTypeList.add("INT64");
-    dataTypeList.add("INT32");
-    dataTypeList.add("FLOAT");
-
-    when(execResp.isSetColumns()).thenReturn(true);
-    when(execResp.getColumns()).thenReturn(columns);
-    when(execResp.isSetDataTypeList()).thenReturn(true);
-    when(execResp.getDataTypeList()).thenReturn(dataTypeList);
-    when(execResp.isSetOperationType()).thenReturn(true);
-    when(execResp.getOperationType()).thenReturn("QUERY");
-    when(execResp.isSetQueryId()).thenReturn(true);
-    when(execResp.getQueryId()).thenReturn(queryId);
-    doReturn("FLOAT")
-        .doReturn("INT64")
-        .doReturn("INT32")
-        .doReturn("FLOAT")
-        .when(fetchMetadataResp)
-        .getDataType();
+    mockQueryResp();
 
     boolean hasResultSet = statement.execute(testSql);
     Assert.assertTrue(hasResultSet);
@@ -247,6 +224,70 @@ public class IoTDBJDBCResultSetTest {
     verify(fetchResultsResp, times(0)).getStatus();
   }
 
+  private void mockQueryResp() {
+    List<String> columns = new ArrayList<>();
+    columns.add("root.vehicle.d0.s2");
+    columns.add("root.vehicle.d0.s1");
+    columns.add("root.vehicle.d0.s0");
+    columns.add("root.vehicle.d0.s2");
+
+    List<String> dataTypeList = new ArrayList<>();
+    dataTypeList.add("FLOAT");
+    dataTypeList.add("INT64");
+    dataTypeList.add("INT32");
+    dataTypeList.add("FLOAT");
+
+    when(execResp.isSetColumns()).thenReturn(true);
+    when(execResp.getColumns()).thenReturn(columns);
+    when(execResp.isSetDataTypeList()).thenReturn(true);
+    when(execResp.getDataTypeList()).thenReturn(dataTypeList);
+    when(execResp.isSetOperationType()).thenReturn(true);
+    when(execResp.getOperationType()).thenReturn("QUERY");
+    when(execResp.isSetQueryId()).thenReturn(true);
+    when(execResp.getQueryId()).thenReturn(queryId);
+    doReturn("FLOAT")
+        .doReturn("INT64")
+        .doReturn("INT32")
+        .doReturn("FLOAT")
+        .when(fetchMetadataResp)
+        .getDataType();
+  }
+
+  @Test
+  public void testQueryInBatch() throws Exception {
+    String testSql =
+        "select *,s1,s0,s2 from root.vehicle.d0 where s1 > 190 or s2 < 10.0 "
+            + "limit 20 slimit 4 soffset 2";
+    mockQueryResp();
+    Assert.assertTrue(statement.execute(testSql));
+
+    try (IoTDBJDBCResultSet resultSet = (IoTDBJDBCResultSet) statement.getResultSet()) {
+      Assert.assertEquals(-1, resultSet.getValueColumnIndex("Time"));
+      Assert.assertEquals(0, resultSet.getValueColumnIndex("root.vehicle.d0.s2"));
+      Assert.assertEquals(1, resultSet.getValueColumnIndex("root.vehicle.d0.s1"));
+      Assert.assertEquals(2, resultSet.getValueColumnIndex("root.vehicle.d0.s0"));
+      try {
+        resultSet.getValueColumnIndex("root.vehicle.d0.s9");
+        Assert.fail();
+      } catch (SQLException e) {
+        Assert.assertTrue(e.getMessage().contains("root.vehicle.d0.s9"));
+      }
+
+      // the row read by next() is still included in the batch
+      Assert.assertTrue(resultSet.next());
+      Assert.assertEquals(2L, resultSet.getLong(1));
+      TsBlock tsBlock = resultSet.nextBatch();
+      Assert.assertEquals(9, tsBlock.getPositionCount());
+      Assert.assertEquals(2L, tsBlock.getTimeByIndex(0));
+      Assert.assertEquals(1000L, tsBlock.getTimeByIndex(8));
+      Assert.assertEquals(2.22F, tsBlock.getColumn(0).getFloat(0), 0.001F);
+      Assert.assertTrue(tsBlock.getColumn(1).isNull(1));
+      Assert.assertEquals(22222, tsBlock.getColumn(2).getInt(8));
+
+      Assert.assertNull(resultSet.nextBatch());
+    }
+  }
+
   private void constructObjectList(List<Object> standardObject) {
     Object[][] input = {
       {
@@ -21,8 +21,11 @@ package org.apache.iotdb.jdbc;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService.Iface;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -36,7 +39,10 @@ import java.sql.Types;
 import java.time.ZoneId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -372,4 +378,66 @@ public class IoTDBPreparedStatementTest {
         "INSERT INTO root.ln.wf01.wt02(time,a,b,c,d,e,f) VALUES(2020-01-01T10:10:10,false,123,123234345,123.423,-1323.0,\"abc\")",
         argument.getValue().getStatement());
   }
+
+  @Test
+  public void testPrepareAgainWhenPreparedStatementLost() throws Exception {
+    String sql = "SELECT status FROM root.ln.wf01.wt01 WHERE temperature < ?";
+    TSPrepareStatementResp prepareResp = new TSPrepareStatementResp(Status_SUCCESS);
+    prepareResp.setPreparedStatementId(1);
+    when(client.prepareStatement(any(TSPrepareStatementReq.class))).thenReturn(prepareResp);
+    when(client.executePreparedStatement(any(TSExecutePreparedStatementReq.class)))
+        .thenReturn(
+            new TSExecuteStatementResp(
+                new TSStatus(TSStatusCode.PREPARED_STATEMENT_NOT_EXIST.getStatusCode())))
+        .thenReturn(
+            new TSExecuteStatementResp(
+                new TSStatus(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode())));
+
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    ps.setInt(1, 123);
+    try {
+      ps.executeQuery();
+      fail();
+    } catch (IoTDBSQLException e) {
+      // the error of the execution after preparing again
+      assertEquals(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode(), e.getErrorCode());
+    }
+    verify(client, times(2)).prepareStatement(any(TSPrepareStatementReq.class));
+    verify(client, times(2)).executePreparedStatement(any(TSExecutePreparedStatementReq.class));
+    verify(client, never()).executeQueryStatementV2(any(TSExecuteStatementReq.class));
+  }
+
+  @Test
+  public void testFallBackToSqlWhenUnsupported() throws Exception {
+    String sql = "SELECT status FROM root.ln.wf01.wt01 WHERE temperature < ?";
+    when(client.prepareStatement(any(TSPrepareStatementReq.class)))
+        .thenReturn(
+            new TSPrepareStatementResp(
+                new TSStatus(TSStatusCode.UNSUPPORTED_OPERATION.getStatusCode())));
+    when(client.executeQueryStatementV2(any(TSExecuteStatementReq.class)))
+        .thenReturn(
+            new TSExecuteStatementResp(
+                new TSStatus(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode())));
+
+    IoTDBPreparedStatement ps =
+        new IoTDBPreparedStatement(connection, client, sessionId, sql, zoneId);
+    ps.setInt(1, 123);
+    for (int i = 0; i < 2; i++) {
+      try {
+        ps.executeQuery();
+        fail();
+      } catch (IoTDBSQLException e) {
+        assertEquals(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode(), e.getErrorCode());
+      }
+    }
+    // the statement is not prepared again once the server turns out not to support it
+    verify(client, times(1)).prepareStatement(any(TSPrepareStatementReq.class));
+    ArgumentCaptor<TSExecuteStatementReq> argument =
+        ArgumentCaptor.forClass(TSExecuteStatementReq.class);
+    verify(client, times(2)).executeQueryStatementV2(argument.capture());
+    assertEquals(
+        "SELECT status FROM root.ln.wf01.wt01 WHERE temperature < 123",
+        argument.getValue().getStatement());
+  }
 }
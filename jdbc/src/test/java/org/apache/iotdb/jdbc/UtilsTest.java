@@ -97,6 +97,23 @@ public class UtilsTest {
     Utils.parseUrl("jdbc:iotdb//6667?rpc_compress=true&aaa=bbb", properties);
   }
 
+  @Test
+  public void testParseFetchOptions() throws IoTDBURLException {
+    Properties properties = new Properties();
+    final IoTDBConnectionParams params =
+        Utils.parseUrl(
+            "jdbc:iotdb://test:6667?prefetch_batch_num=2&fetch_size_in_bytes=4194304", properties);
+
+    assertEquals(2, params.getPrefetchBatchNum());
+    assertEquals(4194304, params.getFetchSizeInBytes());
+  }
+
+  @Test(expected = IoTDBURLException.class)
+  public void testParseWrongFetchOptions() throws IoTDBURLException {
+    Properties properties = new Properties();
+    Utils.parseUrl("jdbc:iotdb://test:6667?prefetch_batch_num=two", properties);
+  }
+
   @Test(expected = IoTDBURLException.class)
   public void testParseWrongPort() throws IoTDBURLException {
     String userName = "test";
@@ -29,6 +29,7 @@ import org.apache.iotdb.db.engine.compaction.constant.InnerSeqCompactionPerforme
 import org.apache.iotdb.db.engine.compaction.constant.InnerSequenceCompactionSelector;
 import org.apache.iotdb.db.engine.compaction.constant.InnerUnseqCompactionPerformer;
 import org.apache.iotdb.db.engine.compaction.constant.InnerUnsequenceCompactionSelector;
+import org.apache.iotdb.db.engine.rollup.RollupLevels;
 import org.apache.iotdb.db.engine.storagegroup.timeindex.TimeIndexLevel;
 import org.apache.iotdb.db.exception.LoadConfigurationException;
 import org.apache.iotdb.db.metadata.LocalSchemaProcessor;
@@ -322,6 +323,30 @@ public class IoTDBConfig {
   /** How many queries can be concurrently executed. When <= 0, use 1000. */
   private int maxAllowedConcurrentQueries = 1000;
 
+  /**
+   * The max number of prepared statements kept by each client session. The least recently used one
+   * is released when there are more.
+   */
+  private int maxPreparedStatementNumPerSession = 256;
+
+  /**
+   * The max number of pipelines a fragment instance of data query is split into, which run
+   * concurrently in the query threads. When <= 0, use half of query_thread_count.
+   */
+  private int degreeOfQueryParallelism = Math.max(1, queryThreadCount / 2);
+
+  /**
+   * Whether the concurrent raw data queries of the same series and overlapping time ranges share
+   * one scan, so that the data is read and decoded only once.
+   */
+  private boolean enableSharedSeriesScan = false;
+
+  /**
+   * The max number of TsBlocks buffered by a shared series scan for its slow consumers. The slowest
+   * consumer leaves the shared scan and reads by itself when there are more.
+   */
+  private int sharedSeriesScanMaxBufferedBlockNum = 32;
+
   /**
    * How many threads can concurrently read data for raw data query. When <= 0, use CPU core number.
    */
@@ -396,6 +421,18 @@ public class IoTDBConfig {
   /** When average series point number reaches this, flush the memtable to disk */
   private int avgSeriesPointNumberThreshold = 100000;
 
+  /**
+   * The point number of each bucket whose statistics are maintained while writing a memtable
+   * series, which are used by the aggregation queries as page statistics. 0 means disabled.
+   */
+  private int memChunkStatisticsBucketSize = 1024;
+
+  /**
+   * The rollup levels of the series, whose rollup windows are written into the rollup file of each
+   * TsFile when it is closed or generated by compaction.
+   */
+  private RollupLevels rollupLevels = RollupLevels.EMPTY;
+
   /** Enable inner space compaction for sequence files */
   private boolean enableSeqSpaceCompaction = true;
 
@@ -489,6 +526,12 @@ public class IoTDBConfig {
 
   private boolean enableCompactionValidation = true;
 
+  /**
+   * Whether compaction selects the encoding of each target chunk by AUTO encoding instead of using
+   * the encoding of the source chunks.
+   */
+  private boolean enableAutoEncodingInCompaction = false;
+
   /** whether to cache meta data(ChunkMetaData and TsFileMetaData) or not. */
   private boolean metaDataCacheEnable = true;
 
@@ -936,6 +979,12 @@ public class IoTDBConfig {
    */
   private int partitionCacheSize = 1000;
 
+  /**
+   * The data partitions of the next time partition are created in advance for the devices being
+   * written within this time before the end of the current time partition. 0 means disabled.
+   */
+  private long dataPartitionPrefetchAheadTimeInMs = 60_000L;
+
   /** Cache size of user and role */
   private int authorCacheSize = 100;
 
@@ -1484,6 +1533,38 @@ public class IoTDBConfig {
     this.maxAllowedConcurrentQueries = maxAllowedConcurrentQueries;
   }
 
+  public int getMaxPreparedStatementNumPerSession() {
+    return maxPreparedStatementNumPerSession;
+  }
+
+  public void setMaxPreparedStatementNumPerSession(int maxPreparedStatementNumPerSession) {
+    this.maxPreparedStatementNumPerSession = maxPreparedStatementNumPerSession;
+  }
+
+  public int getDegreeOfQueryParallelism() {
+    return degreeOfQueryParallelism;
+  }
+
+  public void setDegreeOfQueryParallelism(int degreeOfQueryParallelism) {
+    this.degreeOfQueryParallelism = degreeOfQueryParallelism;
+  }
+
+  public boolean isEnableSharedSeriesScan() {
+    return enableSharedSeriesScan;
+  }
+
+  public void setEnableSharedSeriesScan(boolean enableSharedSeriesScan) {
+    this.enableSharedSeriesScan = enableSharedSeriesScan;
+  }
+
+  public int getSharedSeriesScanMaxBufferedBlockNum() {
+    return sharedSeriesScanMaxBufferedBlockNum;
+  }
+
+  public void setSharedSeriesScanMaxBufferedBlockNum(int sharedSeriesScanMaxBufferedBlockNum) {
+    this.sharedSeriesScanMaxBufferedBlockNum = sharedSeriesScanMaxBufferedBlockNum;
+  }
+
   public int getSubRawQueryThreadCount() {
     return subRawQueryThreadCount;
   }
@@ -1990,6 +2071,22 @@ public class IoTDBConfig {
     this.avgSeriesPointNumberThreshold = avgSeriesPointNumberThreshold;
   }
 
+  public int getMemChunkStatisticsBucketSize() {
+    return memChunkStatisticsBucketSize;
+  }
+
+  public void setMemChunkStatisticsBucketSize(int memChunkStatisticsBucketSize) {
+    this.memChunkStatisticsBucketSize = memChunkStatisticsBucketSize;
+  }
+
+  public RollupLevels getRollupLevels() {
+    return rollupLevels;
+  }
+
+  public void setRollupLevels(RollupLevels rollupLevels) {
+    this.rollupLevels = rollupLevels;
+  }
+
   public long getCrossCompactionFileSelectionTimeBudget() {
     return crossCompactionFileSelectionTimeBudget;
   }
@@ -3084,6 +3181,14 @@ public class IoTDBConfig {
     this.partitionCacheSize = partitionCacheSize;
   }
 
+  public long getDataPartitionPrefetchAheadTimeInMs() {
+    return dataPartitionPrefetchAheadTimeInMs;
+  }
+
+  public void setDataPartitionPrefetchAheadTimeInMs(long dataPartitionPrefetchAheadTimeInMs) {
+    this.dataPartitionPrefetchAheadTimeInMs = dataPartitionPrefetchAheadTimeInMs;
+  }
+
   public int getAuthorCacheSize() {
     return authorCacheSize;
   }
@@ -3587,4 +3692,12 @@ public class IoTDBConfig {
   public void setEnableCompactionValidation(boolean enableCompactionValidation) {
     this.enableCompactionValidation = enableCompactionValidation;
   }
+
+  public boolean isEnableAutoEncodingInCompaction() {
+    return enableAutoEncodingInCompaction;
+  }
+
+  public void setEnableAutoEncodingInCompaction(boolean enableAutoEncodingInCompaction) {
+    this.enableAutoEncodingInCompaction = enableAutoEncodingInCompaction;
+  }
 }
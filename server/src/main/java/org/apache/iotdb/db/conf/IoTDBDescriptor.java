@@ -37,6 +37,7 @@ import org.apache.iotdb.db.engine.compaction.constant.InnerSeqCompactionPerforme
 import org.apache.iotdb.db.engine.compaction.constant.InnerSequenceCompactionSelector;
 import org.apache.iotdb.db.engine.compaction.constant.InnerUnseqCompactionPerformer;
 import org.apache.iotdb.db.engine.compaction.constant.InnerUnsequenceCompactionSelector;
+import org.apache.iotdb.db.engine.rollup.RollupLevels;
 import org.apache.iotdb.db.exception.BadNodeUrlFormatException;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.qp.utils.DateTimeUtils;
@@ -402,6 +403,16 @@ public class IoTDBDescriptor {
                 "avg_series_point_number_threshold",
                 Integer.toString(conf.getAvgSeriesPointNumberThreshold()))));
 
+    conf.setMemChunkStatisticsBucketSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "mem_chunk_statistics_bucket_size",
+                Integer.toString(conf.getMemChunkStatisticsBucketSize()))));
+
+    conf.setRollupLevels(
+        RollupLevels.parse(
+            properties.getProperty("rollup_levels", ""), conf.getTimestampPrecision()));
+
     conf.setCheckPeriodWhenInsertBlocked(
         Integer.parseInt(
             properties.getProperty(
@@ -562,6 +573,33 @@ public class IoTDBDescriptor {
       conf.setMaxAllowedConcurrentQueries(1000);
     }
 
+    conf.setMaxPreparedStatementNumPerSession(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_prepared_statement_num_per_session",
+                Integer.toString(conf.getMaxPreparedStatementNumPerSession()))));
+
+    conf.setEnableSharedSeriesScan(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_shared_series_scan", Boolean.toString(conf.isEnableSharedSeriesScan()))));
+
+    conf.setSharedSeriesScanMaxBufferedBlockNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "shared_series_scan_max_buffered_block_num",
+                Integer.toString(conf.getSharedSeriesScanMaxBufferedBlockNum()))));
+
+    conf.setDegreeOfQueryParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "degree_of_query_parallelism",
+                Integer.toString(conf.getDegreeOfQueryParallelism()))));
+
+    if (conf.getDegreeOfQueryParallelism() <= 0) {
+      conf.setDegreeOfQueryParallelism(Math.max(1, conf.getQueryThreadCount() / 2));
+    }
+
     conf.setSubRawQueryThreadCount(
         Integer.parseInt(
             properties.getProperty(
@@ -679,6 +717,12 @@ public class IoTDBDescriptor {
                 "enable_compaction_validation",
                 Boolean.toString(conf.isEnableCompactionValidation()))));
 
+    conf.setEnableAutoEncodingInCompaction(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_auto_encoding_in_compaction",
+                Boolean.toString(conf.isEnableAutoEncodingInCompaction()))));
+
     conf.setEnablePartialInsert(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -1260,6 +1304,16 @@ public class IoTDBDescriptor {
                     "bloom_filter_error_rate",
                     Double.toString(
                         TSFileDescriptor.getInstance().getConfig().getBloomFilterErrorRate()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setValueBloomFilterMaxDistinctCount(
+            Integer.parseInt(
+                properties.getProperty(
+                    "value_bloom_filter_max_distinct_count",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance()
+                            .getConfig()
+                            .getValueBloomFilterMaxDistinctCount()))));
     TSFileDescriptor.getInstance()
         .getConfig()
         .setFloatPrecision(
@@ -1901,6 +1955,11 @@ public class IoTDBDescriptor {
         Integer.parseInt(
             properties.getProperty(
                 "partition_cache_size", Integer.toString(conf.getPartitionCacheSize()))));
+    conf.setDataPartitionPrefetchAheadTimeInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "data_partition_prefetch_ahead_time_in_ms",
+                Long.toString(conf.getDataPartitionPrefetchAheadTimeInMs()))));
 
     conf.setDriverTaskExecutionTimeSliceInMs(
         Integer.parseInt(
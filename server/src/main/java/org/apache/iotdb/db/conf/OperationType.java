@@ -48,6 +48,8 @@ public enum OperationType {
   CREATE_SCHEMA_TEMPLATE("createSchemaTemplate"),
   CHECK_AUTHORITY("checkAuthority"),
   EXECUTE_NON_QUERY_PLAN("executeNonQueryPlan"),
+  PREPARE_STATEMENT("prepareStatement"),
+  EXECUTE_PREPARED_STATEMENT("executePreparedStatement"),
   ;
   private final String name;
 
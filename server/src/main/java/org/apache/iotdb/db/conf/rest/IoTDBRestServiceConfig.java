@@ -61,6 +61,50 @@ public class IoTDBRestServiceConfig {
   /** Is client authentication required */
   private boolean clientAuth = false;
 
+  /** whether to cache the window results of GROUP BY TIME queries sent by grafana */
+  private boolean enableGrafanaResultCache = false;
+
+  /** memory budget of the grafana result cache */
+  private long grafanaResultCacheMemoryInBytes = 64 * 1024 * 1024L;
+
+  /** the longest time a cached window result can be reused */
+  private long grafanaResultCacheTtlInMs = 60_000L;
+
+  /** a window is cached only when it has ended for this long, so that delayed writes land in it */
+  private long grafanaResultCacheSealDelayInMs = 10_000L;
+
+  public boolean isEnableGrafanaResultCache() {
+    return enableGrafanaResultCache;
+  }
+
+  public void setEnableGrafanaResultCache(boolean enableGrafanaResultCache) {
+    this.enableGrafanaResultCache = enableGrafanaResultCache;
+  }
+
+  public long getGrafanaResultCacheMemoryInBytes() {
+    return grafanaResultCacheMemoryInBytes;
+  }
+
+  public void setGrafanaResultCacheMemoryInBytes(long grafanaResultCacheMemoryInBytes) {
+    this.grafanaResultCacheMemoryInBytes = grafanaResultCacheMemoryInBytes;
+  }
+
+  public long getGrafanaResultCacheTtlInMs() {
+    return grafanaResultCacheTtlInMs;
+  }
+
+  public void setGrafanaResultCacheTtlInMs(long grafanaResultCacheTtlInMs) {
+    this.grafanaResultCacheTtlInMs = grafanaResultCacheTtlInMs;
+  }
+
+  public long getGrafanaResultCacheSealDelayInMs() {
+    return grafanaResultCacheSealDelayInMs;
+  }
+
+  public void setGrafanaResultCacheSealDelayInMs(long grafanaResultCacheSealDelayInMs) {
+    this.grafanaResultCacheSealDelayInMs = grafanaResultCacheSealDelayInMs;
+  }
+
   public boolean isClientAuth() {
     return clientAuth;
   }
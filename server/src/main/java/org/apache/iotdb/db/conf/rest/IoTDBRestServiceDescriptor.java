@@ -98,6 +98,26 @@ public class IoTDBRestServiceDescriptor {
       conf.setCacheMaxNum(
           Integer.parseInt(
               properties.getProperty("cache_max_num", Integer.toString(conf.getCacheMaxNum()))));
+      conf.setEnableGrafanaResultCache(
+          Boolean.parseBoolean(
+              properties.getProperty(
+                  "enable_grafana_result_cache",
+                  Boolean.toString(conf.isEnableGrafanaResultCache()))));
+      conf.setGrafanaResultCacheMemoryInBytes(
+          Long.parseLong(
+              properties.getProperty(
+                  "grafana_result_cache_memory_in_bytes",
+                  Long.toString(conf.getGrafanaResultCacheMemoryInBytes()))));
+      conf.setGrafanaResultCacheTtlInMs(
+          Long.parseLong(
+              properties.getProperty(
+                  "grafana_result_cache_ttl_in_ms",
+                  Long.toString(conf.getGrafanaResultCacheTtlInMs()))));
+      conf.setGrafanaResultCacheSealDelayInMs(
+          Long.parseLong(
+              properties.getProperty(
+                  "grafana_result_cache_seal_delay_in_ms",
+                  Long.toString(conf.getGrafanaResultCacheSealDelayInMs()))));
 
     } catch (FileNotFoundException e) {
       logger.warn("REST service fail to find config file {}", url, e);
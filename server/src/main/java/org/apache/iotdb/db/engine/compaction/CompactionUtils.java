@@ -19,15 +19,19 @@
 package org.apache.iotdb.db.engine.compaction;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
 
 import org.slf4j.Logger;
@@ -88,8 +92,10 @@ public class CompactionUtils {
       FSFactoryProducer.getFSFactory().moveFile(targetResource.getTsFile(), newFile);
     }
 
-    // serialize xxx.tsfile.resource
     targetResource.setFile(newFile);
+    RollupFileGenerator.generate(targetResource);
+
+    // serialize xxx.tsfile.resource
     targetResource.serialize();
     targetResource.close();
   }
@@ -296,4 +302,20 @@ public class CompactionUtils {
     }
     return true;
   }
+
+  /**
+   * Get the schema of the target chunks of a series. If enable_auto_encoding_in_compaction is true,
+   * the encoding of each target chunk is selected by AUTO encoding, otherwise the encoding of the
+   * source chunks is kept.
+   */
+  public static MeasurementSchema getTargetSchema(MeasurementSchema sourceSchema) {
+    if (!IoTDBDescriptor.getInstance().getConfig().isEnableAutoEncodingInCompaction()) {
+      return sourceSchema;
+    }
+    return new MeasurementSchema(
+        sourceSchema.getMeasurementId(),
+        sourceSchema.getType(),
+        TSEncoding.AUTO,
+        sourceSchema.getCompressor());
+  }
 }
@@ -19,15 +19,19 @@
 package org.apache.iotdb.db.engine.compaction.constant;
 
 import org.apache.iotdb.db.engine.compaction.cross.ICrossSpaceSelector;
+import org.apache.iotdb.db.engine.compaction.cross.rewrite.ReadAmplificationCrossSpaceCompactionSelector;
 import org.apache.iotdb.db.engine.compaction.cross.rewrite.RewriteCrossSpaceCompactionSelector;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 
 public enum CrossCompactionSelector {
-  REWRITE;
+  REWRITE,
+  READ_AMPLIFICATION;
 
   public static CrossCompactionSelector getCrossCompactionSelector(String name) {
     if (REWRITE.toString().equalsIgnoreCase(name)) {
       return REWRITE;
+    } else if (READ_AMPLIFICATION.toString().equalsIgnoreCase(name)) {
+      return READ_AMPLIFICATION;
     }
     throw new RuntimeException("Illegal Cross Compaction Selector " + name);
   }
@@ -38,6 +42,9 @@ public enum CrossCompactionSelector {
       long timePartition,
       TsFileManager tsFileManager) {
     switch (this) {
+      case READ_AMPLIFICATION:
+        return new ReadAmplificationCrossSpaceCompactionSelector(
+            logicalStorageGroupName, virtualGroupId, timePartition, tsFileManager);
       case REWRITE:
       default:
         return new RewriteCrossSpaceCompactionSelector(
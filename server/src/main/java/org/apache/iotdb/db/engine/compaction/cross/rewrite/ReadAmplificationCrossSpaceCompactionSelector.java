@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.cross.rewrite;
+
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.db.engine.compaction.cross.utils.ReadAmplificationTracker;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * ReadAmplificationCrossSpaceCompactionSelector selects candidates in the same way as {@link
+ * RewriteCrossSpaceCompactionSelector}, but among the candidate unseq file prefixes it only
+ * compacts the one that removes the most read amplification per byte rewritten. The read
+ * amplification of an unseq file is the number of its pages that queries had to merge with
+ * overlapped data, which is collected by {@link ReadAmplificationTracker}. If no query has met
+ * overlapped pages in any candidate, all the candidates are compacted as the rewrite selector does.
+ */
+public class ReadAmplificationCrossSpaceCompactionSelector
+    extends RewriteCrossSpaceCompactionSelector {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBConstant.COMPACTION_LOGGER_NAME);
+
+  public ReadAmplificationCrossSpaceCompactionSelector(
+      String logicalStorageGroupName,
+      String dataRegionId,
+      long timePartition,
+      TsFileManager tsFileManager) {
+    super(logicalStorageGroupName, dataRegionId, timePartition, tsFileManager);
+  }
+
+  @Override
+  protected int selectUnseqFileNum(
+      List<TsFileResource> candidateUnseqFiles, List<List<TsFileResource>> newlySelectedSeqFiles) {
+    ReadAmplificationTracker tracker = ReadAmplificationTracker.getInstance();
+    long readCostReduction = 0;
+    long rewrittenSize = 0;
+    int bestUnseqFileNum = candidateUnseqFiles.size();
+    double bestBenefit = 0;
+    for (int i = 0; i < candidateUnseqFiles.size(); i++) {
+      TsFileResource unseqFile = candidateUnseqFiles.get(i);
+      readCostReduction += tracker.getOverlappedPageCount(unseqFile);
+      rewrittenSize += unseqFile.getTsFileSize();
+      for (TsFileResource seqFile : newlySelectedSeqFiles.get(i)) {
+        rewrittenSize += seqFile.getTsFileSize();
+      }
+      // prefer the longer prefix when the benefits are equal
+      double benefit = (double) readCostReduction / Math.max(1, rewrittenSize);
+      if (benefit > 0 && benefit >= bestBenefit) {
+        bestBenefit = benefit;
+        bestUnseqFileNum = i + 1;
+      }
+    }
+    LOGGER.debug(
+        "{}-{} [Compaction] select {} of {} candidate unseq files by read amplification, "
+            + "read cost reduction per byte {}",
+        logicalStorageGroupName,
+        dataRegionId,
+        bestUnseqFileNum,
+        candidateUnseqFiles.size(),
+        bestBenefit);
+    return bestUnseqFileNum;
+  }
+}
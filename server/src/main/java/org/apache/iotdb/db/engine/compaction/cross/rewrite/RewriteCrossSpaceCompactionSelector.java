@@ -72,6 +72,11 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
   private boolean[] seqSelected;
   private int seqSelectedNum;
 
+  // the indexes of seq files newly selected along with each selected unseq file, and the cost of
+  // each selected unseq file
+  private List<List<Integer>> newlySelectedSeqFileIndexes;
+  private List<Long> unseqFileCosts;
+
   private AbstractCompactionEstimator compactionEstimator;
 
   public RewriteCrossSpaceCompactionSelector(
@@ -167,6 +172,8 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
     seqSelectedNum = 0;
     selectedSeqFiles = new ArrayList<>();
     selectedUnseqFiles = new ArrayList<>();
+    newlySelectedSeqFileIndexes = new ArrayList<>();
+    unseqFileCosts = new ArrayList<>();
 
     totalCost = 0;
     totalSize = 0;
@@ -221,6 +228,7 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
       unseqIndex++;
       timeConsumption = System.currentTimeMillis() - startTime;
     }
+    retainSelectedUnseqFiles(selectUnseqFileNum(selectedUnseqFiles, getNewlySelectedSeqFiles()));
     for (int i = 0; i < seqSelected.length; i++) {
       if (seqSelected[i]) {
         selectedSeqFiles.add(resource.getSeqFiles().get(i));
@@ -236,12 +244,16 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
             && totalCost + newCost < memoryBudget)) {
       selectedUnseqFiles.add(unseqFile);
 
+      List<Integer> newlySelectedSeqFileIndex = new ArrayList<>();
       for (Integer seqIdx : tmpSelectedSeqFiles) {
         if (!seqSelected[seqIdx]) {
           seqSelectedNum++;
           seqSelected[seqIdx] = true;
+          newlySelectedSeqFileIndex.add(seqIdx);
         }
       }
+      newlySelectedSeqFileIndexes.add(newlySelectedSeqFileIndex);
+      unseqFileCosts.add(newCost);
       totalCost += newCost;
       LOGGER.debug(
           "Adding a new unseqFile {} and seqFiles {} as candidates, new cost {}, total"
@@ -255,6 +267,52 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
     return false;
   }
 
+  /**
+   * Decide how many of the candidate unseq files are actually compacted. Because older unseq files
+   * must be merged before newer ones, only a prefix of the candidates can be chosen. By default all
+   * the candidates are compacted.
+   *
+   * @param candidateUnseqFiles unseq files that fit the file num, file size and memory limits, in
+   *     the order they must be merged
+   * @param newlySelectedSeqFiles for each candidate unseq file, the seq files that are selected
+   *     because of it and are not selected by any former candidate
+   * @return the number of candidate unseq files to compact, in [1, candidateUnseqFiles.size()]
+   */
+  protected int selectUnseqFileNum(
+      List<TsFileResource> candidateUnseqFiles, List<List<TsFileResource>> newlySelectedSeqFiles) {
+    return candidateUnseqFiles.size();
+  }
+
+  private List<List<TsFileResource>> getNewlySelectedSeqFiles() {
+    List<List<TsFileResource>> newlySelectedSeqFiles = new ArrayList<>();
+    for (List<Integer> seqIndexes : newlySelectedSeqFileIndexes) {
+      List<TsFileResource> seqFiles = new ArrayList<>();
+      for (int seqIndex : seqIndexes) {
+        seqFiles.add(resource.getSeqFiles().get(seqIndex));
+      }
+      newlySelectedSeqFiles.add(seqFiles);
+    }
+    return newlySelectedSeqFiles;
+  }
+
+  /** Drop the selected unseq files after the first unseqFileNum ones and their seq files. */
+  private void retainSelectedUnseqFiles(int unseqFileNum) {
+    if (selectedUnseqFiles.isEmpty()) {
+      return;
+    }
+    unseqFileNum = Math.max(1, Math.min(unseqFileNum, selectedUnseqFiles.size()));
+    for (int i = selectedUnseqFiles.size() - 1; i >= unseqFileNum; i--) {
+      for (int seqIdx : newlySelectedSeqFileIndexes.get(i)) {
+        seqSelected[seqIdx] = false;
+        seqSelectedNum--;
+      }
+      totalCost -= unseqFileCosts.get(i);
+      selectedUnseqFiles.remove(i);
+      newlySelectedSeqFileIndexes.remove(i);
+      unseqFileCosts.remove(i);
+    }
+  }
+
   /**
    * To avoid redundant data in seq files, cross space compaction should select all the seq files
    * which have overlap with unseq files whether they are compacting or not. Therefore, before
@@ -20,6 +20,7 @@ package org.apache.iotdb.db.engine.compaction.cross.utils;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.compaction.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.task.SubCompactionTaskSummary;
 import org.apache.iotdb.db.engine.compaction.writer.AbstractCompactionWriter;
 import org.apache.iotdb.db.engine.modification.Modification;
@@ -184,11 +185,12 @@ public class NonAlignedSeriesCompactionExecutor extends SeriesCompactionExecutor
       // to read a batch of overlapped files each time, which may not contain all the sensors.
       ChunkHeader header = chunkMetadataElement.chunk.getHeader();
       MeasurementSchema schema =
-          new MeasurementSchema(
-              header.getMeasurementID(),
-              header.getDataType(),
-              header.getEncodingType(),
-              header.getCompressionType());
+          CompactionUtils.getTargetSchema(
+              new MeasurementSchema(
+                  header.getMeasurementID(),
+                  header.getDataType(),
+                  header.getEncodingType(),
+                  header.getCompressionType()));
       compactionWriter.startMeasurement(Collections.singletonList(schema), subTaskId);
       hasStartMeasurement = true;
     }
@@ -18,7 +18,9 @@
  */
 package org.apache.iotdb.db.engine.compaction.cross.utils;
 
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.reader.IChunkReader;
 import org.apache.iotdb.tsfile.read.reader.chunk.AlignedChunkReader;
@@ -26,6 +28,8 @@ import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class PageElement {
@@ -89,6 +93,23 @@ public class PageElement {
     this.isLastPage = isLastPage;
   }
 
+  /**
+   * @return the encodings of the value pages, which are the encodings of their chunks. Null if the
+   *     value page doesn't exist.
+   */
+  public List<TSEncoding> getValueEncodings() {
+    if (iChunkReader instanceof AlignedChunkReader) {
+      List<TSEncoding> encodings = new ArrayList<>();
+      for (ChunkHeader header : ((AlignedChunkReader) iChunkReader).getValueChunkHeaderList()) {
+        encodings.add(header == null ? null : header.getEncodingType());
+      }
+      return encodings;
+    } else {
+      return Collections.singletonList(
+          ((ChunkReader) iChunkReader).getChunkHeader().getEncodingType());
+    }
+  }
+
   public void deserializePage() throws IOException {
     if (iChunkReader instanceof AlignedChunkReader) {
       this.batchData =
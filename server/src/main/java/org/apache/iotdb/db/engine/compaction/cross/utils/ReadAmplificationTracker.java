@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.cross.utils;
+
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReadAmplificationTracker records, for each unsequence TsFile, how many of its pages had to be
+ * merged with overlapped data by queries (e.g. in SeriesScanUtil). The counters are the read cost
+ * that a cross space compaction of the file would remove, and are dropped once the file is removed.
+ */
+public class ReadAmplificationTracker {
+
+  private final Map<String, AtomicLong> overlappedPageCountMap = new ConcurrentHashMap<>();
+
+  private ReadAmplificationTracker() {}
+
+  public static ReadAmplificationTracker getInstance() {
+    return ReadAmplificationTrackerHolder.INSTANCE;
+  }
+
+  /** Record that one page of the given file is merged with overlapped data by a query. */
+  public void recordOverlappedPage(String tsFilePath) {
+    if (tsFilePath == null) {
+      return;
+    }
+    overlappedPageCountMap.computeIfAbsent(tsFilePath, k -> new AtomicLong()).incrementAndGet();
+  }
+
+  public long getOverlappedPageCount(TsFileResource resource) {
+    AtomicLong count = overlappedPageCountMap.get(resource.getTsFilePath());
+    return count == null ? 0 : count.get();
+  }
+
+  public void remove(String tsFilePath) {
+    overlappedPageCountMap.remove(tsFilePath);
+  }
+
+  public void clear() {
+    overlappedPageCountMap.clear();
+  }
+
+  private static class ReadAmplificationTrackerHolder {
+    private static final ReadAmplificationTracker INSTANCE = new ReadAmplificationTracker();
+
+    private ReadAmplificationTrackerHolder() {}
+  }
+}
@@ -233,7 +233,10 @@ public abstract class SeriesCompactionExecutor {
   private void compactWithNonOverlapPage(PageElement pageElement)
       throws PageException, IOException, WriteProcessException, IllegalPathException {
     boolean success;
-    if (pageElement.iChunkReader instanceof AlignedChunkReader) {
+    if (!compactionWriter.isEncodedBy(pageElement.getValueEncodings(), subTaskId)) {
+      // the page is encoded by another encoding than the chunk writer, then deserialize it
+      success = false;
+    } else if (pageElement.iChunkReader instanceof AlignedChunkReader) {
       success =
           compactionWriter.flushAlignedPage(
               pageElement.pageData,
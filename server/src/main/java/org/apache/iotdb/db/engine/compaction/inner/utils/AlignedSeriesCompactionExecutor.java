@@ -21,6 +21,7 @@ package org.apache.iotdb.db.engine.compaction.inner.utils;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.engine.compaction.CompactionTaskManager;
+import org.apache.iotdb.db.engine.compaction.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.constant.CompactionType;
 import org.apache.iotdb.db.engine.compaction.constant.ProcessChunkType;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -113,11 +114,12 @@ public class AlignedSeriesCompactionExecutor {
           Chunk chunk = ChunkCache.getInstance().get((ChunkMetadata) chunkMetadata);
           ChunkHeader header = chunk.getHeader();
           schemaSet.add(
-              new MeasurementSchema(
-                  header.getMeasurementID(),
-                  header.getDataType(),
-                  header.getEncodingType(),
-                  header.getCompressionType()));
+              CompactionUtils.getTargetSchema(
+                  new MeasurementSchema(
+                      header.getMeasurementID(),
+                      header.getDataType(),
+                      header.getEncodingType(),
+                      header.getCompressionType())));
         }
       }
     }
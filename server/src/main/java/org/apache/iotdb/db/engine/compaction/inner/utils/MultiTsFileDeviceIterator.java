@@ -20,6 +20,7 @@ package org.apache.iotdb.db.engine.compaction.inner.utils;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.compaction.CompactionUtils;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -177,7 +178,8 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
             && !timeseriesMetadata.getChunkMetadataList().isEmpty()) {
           schemaMap.put(
               timeseriesMetadata.getMeasurementId(),
-              reader.getMeasurementSchema(timeseriesMetadata.getChunkMetadataList()));
+              CompactionUtils.getTargetSchema(
+                  reader.getMeasurementSchema(timeseriesMetadata.getChunkMetadataList())));
         }
       }
     }
@@ -250,7 +252,9 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
               .entrySet()) {
         String measurementId = entrySet.getKey();
         if (!timeseriesMetadataOffsetMap.containsKey(measurementId)) {
-          MeasurementSchema schema = reader.getMeasurementSchema(entrySet.getValue().left);
+          MeasurementSchema schema =
+              CompactionUtils.getTargetSchema(
+                  reader.getMeasurementSchema(entrySet.getValue().left));
           timeseriesMetadataOffsetMap.put(measurementId, new Pair<>(schema, new HashMap<>()));
         }
         timeseriesMetadataOffsetMap
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.engine.compaction.inner.utils;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.compaction.CompactionTaskManager;
+import org.apache.iotdb.db.engine.compaction.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.constant.CompactionType;
 import org.apache.iotdb.db.engine.compaction.constant.ProcessChunkType;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -159,11 +160,12 @@ public class SingleSeriesCompactionExecutor {
   private void constructChunkWriterFromReadChunk(Chunk chunk) {
     ChunkHeader chunkHeader = chunk.getHeader();
     this.schema =
-        new MeasurementSchema(
-            series.getMeasurement(),
-            chunkHeader.getDataType(),
-            chunkHeader.getEncodingType(),
-            chunkHeader.getCompressionType());
+        CompactionUtils.getTargetSchema(
+            new MeasurementSchema(
+                series.getMeasurement(),
+                chunkHeader.getDataType(),
+                chunkHeader.getEncodingType(),
+                chunkHeader.getCompressionType()));
     this.chunkWriter = new ChunkWriterImpl(this.schema);
   }
 
@@ -182,6 +184,10 @@ public class SingleSeriesCompactionExecutor {
   }
 
   private void processLargeChunk(Chunk chunk, ChunkMetadata chunkMetadata) throws IOException {
+    if (cachedChunk != null && !isEncodedSameAsCachedChunk(chunk)) {
+      // the pages of chunks with different encodings can't be merged, deserialize the cached chunk
+      writeCachedChunkIntoChunkWriter();
+    }
     if (pointCountInChunkWriter != 0L) {
       // if there are points remaining in ChunkWriter
       // deserialize current chunk and write to ChunkWriter, then flush the ChunkWriter
@@ -199,6 +205,10 @@ public class SingleSeriesCompactionExecutor {
   }
 
   private void processMiddleChunk(Chunk chunk, ChunkMetadata chunkMetadata) throws IOException {
+    if (cachedChunk != null && !isEncodedSameAsCachedChunk(chunk)) {
+      // the pages of chunks with different encodings can't be merged, deserialize the cached chunk
+      writeCachedChunkIntoChunkWriter();
+    }
     // the chunk is not too large either too small
     if (pointCountInChunkWriter != 0L) {
       // if there are points remaining in ChunkWriter
@@ -271,6 +281,10 @@ public class SingleSeriesCompactionExecutor {
     cachedChunkMetadata.mergeChunkMetadata(currentChunkMetadata);
   }
 
+  private boolean isEncodedSameAsCachedChunk(Chunk chunk) {
+    return cachedChunk.getHeader().getEncodingType() == chunk.getHeader().getEncodingType();
+  }
+
   private void writeTimeAndValueToChunkWriter(TimeValuePair timeValuePair) {
     switch (chunkWriter.getDataType()) {
       case TEXT:
@@ -27,6 +27,7 @@ import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
@@ -236,6 +237,27 @@ public abstract class AbstractCompactionWriter implements AutoCloseable {
       ByteBuffer compressedPageData, PageHeader pageHeader, int subTaskId)
       throws IOException, PageException;
 
+  /**
+   * Whether the pages encoded by the given value encodings can be flushed into the chunk writer
+   * directly, which is false if the chunk writer encodes the values by another encoding, e.g. the
+   * encodings of the chunks are selected by AUTO.
+   *
+   * @param valueEncodings the encodings of the value pages, null if the value page doesn't exist
+   */
+  public boolean isEncodedBy(List<TSEncoding> valueEncodings, int subTaskId) {
+    if (chunkWriters[subTaskId] instanceof ChunkWriterImpl) {
+      return ((ChunkWriterImpl) chunkWriters[subTaskId]).isEncodedBy(valueEncodings.get(0));
+    }
+    AlignedChunkWriterImpl alignedChunkWriter = (AlignedChunkWriterImpl) chunkWriters[subTaskId];
+    for (int i = 0; i < valueEncodings.size(); i++) {
+      if (valueEncodings.get(i) != null
+          && !alignedChunkWriter.getValueChunkWriterByIndex(i).isEncodedBy(valueEncodings.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   protected void flushNonAlignedPageToChunkWriter(
       ChunkWriterImpl chunkWriter,
       ByteBuffer compressedPageData,
@@ -42,7 +42,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -99,24 +98,26 @@ public class LoadTsFileManager {
 
   public void writeToDataRegion(DataRegion dataRegion, LoadTsFilePieceNode pieceNode, String uuid)
       throws PageException, IOException {
-    if (!uuid2WriterManager.containsKey(uuid)) {
-      uuid2Future.put(
-          uuid,
-          cleanupExecutors.schedule(
-              () -> forceCloseWriterManager(uuid),
-              LoadTsFileScheduler.LOAD_TASK_MAX_TIME_IN_SECOND,
-              TimeUnit.SECONDS));
-    }
+    // pieces of different data regions in one load task may arrive concurrently
     TsFileWriterManager writerManager =
         uuid2WriterManager.computeIfAbsent(
-            uuid, o -> new TsFileWriterManager(SystemFileFactory.INSTANCE.getFile(loadDir, uuid)));
+            uuid,
+            o -> {
+              uuid2Future.put(
+                  uuid,
+                  cleanupExecutors.schedule(
+                      () -> forceCloseWriterManager(uuid),
+                      LoadTsFileScheduler.LOAD_TASK_MAX_TIME_IN_SECOND,
+                      TimeUnit.SECONDS));
+              return new TsFileWriterManager(SystemFileFactory.INSTANCE.getFile(loadDir, uuid));
+            });
     for (TsFileData tsFileData : pieceNode.getAllTsFileData()) {
       if (!tsFileData.isModification()) {
         ChunkData chunkData = (ChunkData) tsFileData;
         writerManager.write(
             new DataPartitionInfo(dataRegion, chunkData.getTimePartitionSlot()), chunkData);
       } else {
-        writerManager.writeDeletion(tsFileData);
+        writerManager.writeDeletion(dataRegion, tsFileData);
       }
     }
   }
@@ -167,8 +168,8 @@ public class LoadTsFileManager {
 
     private TsFileWriterManager(File taskDir) {
       this.taskDir = taskDir;
-      this.dataPartition2Writer = new HashMap<>();
-      this.dataPartition2LastDevice = new HashMap<>();
+      this.dataPartition2Writer = new ConcurrentHashMap<>();
+      this.dataPartition2LastDevice = new ConcurrentHashMap<>();
       this.isClosed = false;
 
       clearDir(taskDir);
@@ -209,12 +210,18 @@ public class LoadTsFileManager {
       chunkData.writeToFileWriter(writer);
     }
 
-    private void writeDeletion(TsFileData deletionData) throws IOException {
+    /**
+     * The deletion is sent along with the pieces of every data region, so it is only written to the
+     * writers of the given data region, which are not shared with pieces of other regions.
+     */
+    private void writeDeletion(DataRegion dataRegion, TsFileData deletionData) throws IOException {
       if (isClosed) {
         throw new IOException(String.format("%s TsFileWriterManager has been closed.", taskDir));
       }
       for (Map.Entry<DataPartitionInfo, TsFileIOWriter> entry : dataPartition2Writer.entrySet()) {
-        deletionData.writeToFileWriter(entry.getValue());
+        if (entry.getKey().getDataRegion().equals(dataRegion)) {
+          deletionData.writeToFileWriter(entry.getValue());
+        }
       }
     }
 
@@ -21,11 +21,13 @@ package org.apache.iotdb.db.engine.memtable;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.db.wal.buffer.WALEntryValue;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.write.chunk.IChunkWriter;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
+import java.io.Serializable;
 import java.util.List;
 
 public interface IWritableMemChunk extends WALEntryValue {
@@ -101,6 +103,16 @@ public interface IWritableMemChunk extends WALEntryValue {
    */
   TVList getSortedTvListForQuery();
 
+  /**
+   * served for query requests together with getSortedTvListForQuery.
+   *
+   * @return the statistics of the buckets of the chunk whose points are written in time order, or
+   *     null if they are not maintained
+   */
+  default List<Statistics<? extends Serializable>> getBucketStatisticsForQuery() {
+    return null;
+  }
+
   /**
    * served for vector query requests.
    *
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.memtable;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MemChunkStatistics maintains the statistics of the points of a {@link WritableMemChunk} while
+ * they are written, in buckets of bucketSize points, so that a query can use them as the page
+ * statistics of the memtable instead of reading every point.
+ *
+ * <p>The statistics of a bucket are only valid if its points are written in time order, since the
+ * first and last values are updated in time order, and a point overwriting an earlier one would be
+ * counted twice. So a point not later than all written points invalidates the buckets that may
+ * contain it, and a deletion invalidates the buckets it overlaps.
+ */
+public class MemChunkStatistics {
+
+  private final TSDataType dataType;
+  private final int bucketSize;
+
+  // in time order, the time ranges of different buckets don't overlap
+  private final List<Bucket> buckets = new ArrayList<>();
+  private long maxTime = Long.MIN_VALUE;
+
+  public MemChunkStatistics(TSDataType dataType, int bucketSize) {
+    this.dataType = dataType;
+    this.bucketSize = bucketSize;
+  }
+
+  public void update(long time, boolean value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long time, int value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long time, long value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long time, float value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long time, double value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long time, Binary value) {
+    Statistics<? extends Serializable> statistics = prepare(time);
+    if (statistics != null) {
+      statistics.update(time, value);
+    }
+  }
+
+  public void update(long[] times, boolean[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  public void update(long[] times, int[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  public void update(long[] times, long[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  public void update(long[] times, float[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  public void update(long[] times, double[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  public void update(long[] times, Binary[] values, BitMap bitMap, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bitMap == null || !bitMap.isMarked(i)) {
+        update(times[i], values[i]);
+      }
+    }
+  }
+
+  /**
+   * Get the statistics to update with the point of the given time.
+   *
+   * @return null if the point is out of order
+   */
+  private Statistics<? extends Serializable> prepare(long time) {
+    if (time <= maxTime) {
+      invalidate(time, maxTime);
+      return null;
+    }
+    maxTime = time;
+    Bucket lastBucket = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+    if (lastBucket == null
+        || lastBucket.statistics == null
+        || lastBucket.statistics.getCount() >= bucketSize) {
+      lastBucket = new Bucket(time, Statistics.getStatsByType(dataType));
+      buckets.add(lastBucket);
+    }
+    lastBucket.endTime = time;
+    return lastBucket.statistics;
+  }
+
+  /** Invalidate the buckets overlapping the given time range, which is inclusive. */
+  public void invalidate(long lowerBound, long upperBound) {
+    for (int i = buckets.size() - 1; i >= 0; i--) {
+      Bucket bucket = buckets.get(i);
+      if (bucket.endTime < lowerBound) {
+        break;
+      }
+      if (bucket.startTime <= upperBound) {
+        bucket.statistics = null;
+      }
+    }
+  }
+
+  /**
+   * Served for query requests, should be called together with getSortedTvListForQuery.
+   *
+   * @return the statistics of the valid buckets in time order, which won't be changed by the
+   *     following writes
+   */
+  public List<Statistics<? extends Serializable>> getValidStatistics() {
+    List<Statistics<? extends Serializable>> statisticsList = new ArrayList<>();
+    for (int i = 0; i < buckets.size(); i++) {
+      Statistics<? extends Serializable> statistics = buckets.get(i).statistics;
+      if (statistics == null) {
+        continue;
+      }
+      if (i == buckets.size() - 1) {
+        // the last bucket may be updated by the following writes
+        Statistics<? extends Serializable> copy = Statistics.getStatsByType(dataType);
+        copy.mergeStatistics(statistics);
+        statistics = copy;
+      }
+      statisticsList.add(statistics);
+    }
+    return statisticsList;
+  }
+
+  private static class Bucket {
+
+    private final long startTime;
+    private long endTime;
+    // null if the bucket is invalidated
+    private Statistics<? extends Serializable> statistics;
+
+    private Bucket(long startTime, Statistics<? extends Serializable> statistics) {
+      this.startTime = startTime;
+      this.endTime = startTime;
+      this.statistics = statistics;
+    }
+  }
+}
@@ -18,10 +18,12 @@
  */
 package org.apache.iotdb.db.engine.memtable;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.db.wal.buffer.IWALByteBufferView;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.BitMap;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
@@ -34,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.List;
 
@@ -41,12 +44,18 @@ public class WritableMemChunk implements IWritableMemChunk {
 
   private IMeasurementSchema schema;
   private TVList list;
+  // null if disabled, or the chunk is recovered from WAL
+  private MemChunkStatistics statistics;
   private static final String UNSUPPORTED_TYPE = "Unsupported data type:";
   private static final Logger LOGGER = LoggerFactory.getLogger(WritableMemChunk.class);
 
   public WritableMemChunk(IMeasurementSchema schema) {
     this.schema = schema;
     this.list = TVList.newList(schema.getType());
+    int bucketSize = IoTDBDescriptor.getInstance().getConfig().getMemChunkStatisticsBucketSize();
+    if (bucketSize > 0) {
+      this.statistics = new MemChunkStatistics(schema.getType(), bucketSize);
+    }
   }
 
   private WritableMemChunk() {}
@@ -130,32 +139,50 @@ public class WritableMemChunk implements IWritableMemChunk {
   @Override
   public void putLong(long t, long v) {
     list.putLong(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
   }
 
   @Override
   public void putInt(long t, int v) {
     list.putInt(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
   }
 
   @Override
   public void putFloat(long t, float v) {
     list.putFloat(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
   }
 
   @Override
   public void putDouble(long t, double v) {
     list.putDouble(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
   }
 
   @Override
   public boolean putBinaryWithFlushCheck(long t, Binary v) {
     list.putBinary(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
     return list.reachMaxChunkSizeThreshold();
   }
 
   @Override
   public void putBoolean(long t, boolean v) {
     list.putBoolean(t, v);
+    if (statistics != null) {
+      statistics.update(t, v);
+    }
   }
 
   @Override
@@ -166,33 +193,51 @@ public class WritableMemChunk implements IWritableMemChunk {
   @Override
   public void putLongs(long[] t, long[] v, BitMap bitMap, int start, int end) {
     list.putLongs(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
   }
 
   @Override
   public void putInts(long[] t, int[] v, BitMap bitMap, int start, int end) {
     list.putInts(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
   }
 
   @Override
   public void putFloats(long[] t, float[] v, BitMap bitMap, int start, int end) {
     list.putFloats(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
   }
 
   @Override
   public void putDoubles(long[] t, double[] v, BitMap bitMap, int start, int end) {
     list.putDoubles(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
   }
 
   @Override
   public boolean putBinariesWithFlushCheck(
       long[] t, Binary[] v, BitMap bitMap, int start, int end) {
     list.putBinaries(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
     return list.reachMaxChunkSizeThreshold();
   }
 
   @Override
   public void putBooleans(long[] t, boolean[] v, BitMap bitMap, int start, int end) {
     list.putBooleans(t, v, bitMap, start, end);
+    if (statistics != null) {
+      statistics.update(t, v, bitMap, start, end);
+    }
   }
 
   @Override
@@ -209,6 +254,11 @@ public class WritableMemChunk implements IWritableMemChunk {
     return list;
   }
 
+  @Override
+  public synchronized List<Statistics<? extends Serializable>> getBucketStatisticsForQuery() {
+    return statistics == null ? null : statistics.getValidStatistics();
+  }
+
   @Override
   public synchronized TVList getSortedTvListForQuery(List<IMeasurementSchema> measurementSchema) {
     throw new UnSupportedDataTypeException(UNSUPPORTED_TYPE + list.getDataType());
@@ -275,6 +325,9 @@ public class WritableMemChunk implements IWritableMemChunk {
 
   @Override
   public int delete(long lowerBound, long upperBound) {
+    if (statistics != null) {
+      statistics.invalidate(lowerBound, upperBound);
+    }
     return list.delete(lowerBound, upperBound);
   }
 
@@ -49,6 +49,9 @@ public class QueryDataSource {
   /** data older than currentTime - dataTTL should be ignored. */
   private long dataTTL = Long.MAX_VALUE;
 
+  /** the data version of the DataRegion when the resources are collected, see DataRegion */
+  private long dataVersion = 0;
+
   public QueryDataSource(List<TsFileResource> seqResources, List<TsFileResource> unseqResources) {
     this.seqResources = seqResources;
     this.unseqResources = unseqResources;
@@ -74,6 +77,14 @@ public class QueryDataSource {
     this.dataTTL = dataTTL;
   }
 
+  public long getDataVersion() {
+    return dataVersion;
+  }
+
+  public void setDataVersion(long dataVersion) {
+    this.dataVersion = dataVersion;
+  }
+
   /** @return an updated filter concerning TTL */
   public Filter updateFilterUsingTTL(Filter filter) {
     return updateFilterUsingTTL(filter, dataTTL);
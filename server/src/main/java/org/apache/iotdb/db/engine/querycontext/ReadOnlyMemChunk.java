@@ -30,12 +30,15 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +58,12 @@ public class ReadOnlyMemChunk {
 
   protected TsBlock tsBlock;
 
+  // the offsets of the pages in tsBlock, the i-th page is [pageOffsets[i], pageOffsets[i + 1]),
+  // null if tsBlock is one page
+  protected int[] pageOffsets;
+
+  protected List<Statistics<? extends Serializable>> pageStatisticsList;
+
   protected ReadOnlyMemChunk() {}
 
   public ReadOnlyMemChunk(
@@ -65,6 +74,23 @@ public class ReadOnlyMemChunk {
       Map<String, String> props,
       List<TimeRange> deletionList)
       throws IOException, QueryProcessException {
+    this(measurementUid, dataType, encoding, tvList, props, deletionList, null);
+  }
+
+  /**
+   * @param bucketStatistics the statistics of the buckets of tvList whose points are written in
+   *     time order, which are used as page statistics, so that the points covered by them are not
+   *     read to compute the statistics
+   */
+  public ReadOnlyMemChunk(
+      String measurementUid,
+      TSDataType dataType,
+      TSEncoding encoding,
+      TVList tvList,
+      Map<String, String> props,
+      List<TimeRange> deletionList,
+      List<Statistics<? extends Serializable>> bucketStatistics)
+      throws IOException, QueryProcessException {
     this.measurementUid = measurementUid;
     this.dataType = dataType;
     int floatPrecision = TSFileDescriptor.getInstance().getConfig().getFloatPrecision();
@@ -85,46 +111,25 @@ public class ReadOnlyMemChunk {
       }
     }
     this.tsBlock = tvList.buildTsBlock(floatPrecision, encoding, deletionList);
-    initChunkMetaFromTsBlock();
+    // the values in tsBlock are rounded in this case, which differ from the statistics
+    boolean isValueRounded =
+        (dataType == TSDataType.FLOAT || dataType == TSDataType.DOUBLE)
+            && (encoding == TSEncoding.RLE || encoding == TSEncoding.TS_2DIFF);
+    initChunkMetaFromTsBlock(isValueRounded ? null : bucketStatistics);
   }
 
-  private void initChunkMetaFromTsBlock() throws IOException, QueryProcessException {
+  private void initChunkMetaFromTsBlock(List<Statistics<? extends Serializable>> bucketStatistics)
+      throws IOException, QueryProcessException {
     Statistics statsByType = Statistics.getStatsByType(dataType);
     IChunkMetadata metaData = new ChunkMetadata(measurementUid, dataType, 0, statsByType);
     if (!isEmpty()) {
-      switch (dataType) {
-        case BOOLEAN:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getBoolean(i));
-          }
-          break;
-        case TEXT:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getBinary(i));
-          }
-          break;
-        case FLOAT:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getFloat(i));
-          }
-          break;
-        case INT32:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getInt(i));
-          }
-          break;
-        case INT64:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getLong(i));
-          }
-          break;
-        case DOUBLE:
-          for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-            statsByType.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getDouble(i));
-          }
-          break;
-        default:
-          throw new QueryProcessException("Unsupported data type:" + dataType);
+      if (bucketStatistics == null) {
+        updateStatistics(statsByType, 0, tsBlock.getPositionCount());
+      } else {
+        splitPages(bucketStatistics);
+        for (Statistics<? extends Serializable> pageStatistics : pageStatisticsList) {
+          statsByType.mergeStatistics(pageStatistics);
+        }
       }
     }
     statsByType.setEmpty(isEmpty());
@@ -133,6 +138,102 @@ public class ReadOnlyMemChunk {
     cachedMetaData = metaData;
   }
 
+  /**
+   * Split tsBlock into pages by the buckets, the points between the buckets are put into the pages
+   * whose statistics are computed.
+   */
+  private void splitPages(List<Statistics<? extends Serializable>> bucketStatistics)
+      throws QueryProcessException {
+    List<Integer> offsetList = new ArrayList<>();
+    pageStatisticsList = new ArrayList<>();
+    TimeColumn timeColumn = tsBlock.getTimeColumn();
+    int positionCount = tsBlock.getPositionCount();
+    int offset = 0;
+    for (Statistics<? extends Serializable> bucket : bucketStatistics) {
+      int from = lowerBound(timeColumn, offset, positionCount, bucket.getStartTime());
+      int to = from + (int) bucket.getCount();
+      // the times are distinct and in order, so all points of the bucket are in tsBlock only if
+      // there are count points from its start time to its end time, otherwise some are deleted
+      if (to > positionCount
+          || timeColumn.getLong(from) != bucket.getStartTime()
+          || timeColumn.getLong(to - 1) != bucket.getEndTime()) {
+        continue;
+      }
+      if (from > offset) {
+        addComputedPage(offsetList, offset, from);
+      }
+      offsetList.add(from);
+      pageStatisticsList.add(bucket);
+      offset = to;
+    }
+    if (offset < positionCount) {
+      addComputedPage(offsetList, offset, positionCount);
+    }
+    offsetList.add(positionCount);
+    pageOffsets = offsetList.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private void addComputedPage(List<Integer> offsetList, int from, int to)
+      throws QueryProcessException {
+    Statistics<? extends Serializable> statistics = Statistics.getStatsByType(dataType);
+    updateStatistics(statistics, from, to);
+    offsetList.add(from);
+    pageStatisticsList.add(statistics);
+  }
+
+  /** @return the index of the first point not earlier than the given time in [from, to) */
+  private static int lowerBound(TimeColumn timeColumn, int from, int to, long time) {
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timeColumn.getLong(mid) < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void updateStatistics(Statistics statistics, int from, int to)
+      throws QueryProcessException {
+    switch (dataType) {
+      case BOOLEAN:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getBoolean(i));
+        }
+        break;
+      case TEXT:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getBinary(i));
+        }
+        break;
+      case FLOAT:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getFloat(i));
+        }
+        break;
+      case INT32:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getInt(i));
+        }
+        break;
+      case INT64:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getLong(i));
+        }
+        break;
+      case DOUBLE:
+        for (int i = from; i < to; i++) {
+          statistics.update(tsBlock.getTimeByIndex(i), tsBlock.getColumn(0).getDouble(i));
+        }
+        break;
+      default:
+        throw new QueryProcessException("Unsupported data type:" + dataType);
+    }
+  }
+
   public TSDataType getDataType() {
     return dataType;
   }
@@ -152,4 +253,13 @@ public class ReadOnlyMemChunk {
   public TsBlock getTsBlock() {
     return tsBlock;
   }
+
+  /** @return the page offsets in tsBlock, or null if tsBlock is one page */
+  public int[] getPageOffsets() {
+    return pageOffsets;
+  }
+
+  public List<Statistics<? extends Serializable>> getPageStatisticsList() {
+    return pageStatisticsList;
+  }
 }
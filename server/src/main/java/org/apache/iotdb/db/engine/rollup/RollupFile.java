@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The rollup file of a TsFile, xxx.tsfile.rollup, keeps the rollup windows of the series in the
+ * TsFile which have rollup levels. It consists of the serialized {@link SeriesRollup} of each
+ * series, followed by the index of the series and the offset of the index:
+ *
+ * <p>[series rollup]* [series number (int)] [device, measurement, offset (long), length (int)]*
+ * [index offset (long)]
+ */
+public class RollupFile {
+
+  public static final String FILE_SUFFIX = ".rollup";
+  private static final String TEMP_SUFFIX = ".temp";
+
+  private RollupFile() {}
+
+  public static File getRollupFile(File tsFile) {
+    return new File(tsFile.getPath() + FILE_SUFFIX);
+  }
+
+  /** Write the rollup file, which is renamed from a temp file so that it is never half written. */
+  static void write(File rollupFile, List<SeriesRollup> seriesRollups) throws IOException {
+    File tempFile = new File(rollupFile.getPath() + TEMP_SUFFIX);
+    long[] offsets = new long[seriesRollups.size()];
+    int[] lengths = new int[seriesRollups.size()];
+    try (OutputStream outputStream =
+        new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+      PublicBAOS buffer = new PublicBAOS();
+      long offset = 0;
+      for (int i = 0; i < seriesRollups.size(); i++) {
+        buffer.reset();
+        seriesRollups.get(i).serialize(buffer);
+        buffer.writeTo(outputStream);
+        offsets[i] = offset;
+        lengths[i] = buffer.size();
+        offset += buffer.size();
+      }
+
+      ReadWriteIOUtils.write(seriesRollups.size(), outputStream);
+      for (int i = 0; i < seriesRollups.size(); i++) {
+        ReadWriteIOUtils.write(seriesRollups.get(i).getDevice(), outputStream);
+        ReadWriteIOUtils.write(seriesRollups.get(i).getMeasurement(), outputStream);
+        ReadWriteIOUtils.write(offsets[i], outputStream);
+        ReadWriteIOUtils.write(lengths[i], outputStream);
+      }
+      ReadWriteIOUtils.write(offset, outputStream);
+    }
+    Files.move(tempFile.toPath(), rollupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Read the rollup windows of a series of the TsFile, see {@link SeriesRollup#select}.
+   *
+   * @return null if the TsFile has no rollup file or no rollup windows of the series, or no level
+   *     of the series fits the filter
+   */
+  public static List<Statistics<? extends Serializable>> read(
+      File tsFile, String device, String measurement, Filter filter, boolean ascending)
+      throws IOException {
+    File rollupFile = getRollupFile(tsFile);
+    if (!rollupFile.exists()) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(rollupFile.toPath(), StandardOpenOption.READ)) {
+      long indexEnd = channel.size() - Long.BYTES;
+      long indexOffset = read(channel, indexEnd, Long.BYTES).getLong();
+      ByteBuffer index = read(channel, indexOffset, (int) (indexEnd - indexOffset));
+      int seriesNum = ReadWriteIOUtils.readInt(index);
+      for (int i = 0; i < seriesNum; i++) {
+        String seriesDevice = ReadWriteIOUtils.readString(index);
+        String seriesMeasurement = ReadWriteIOUtils.readString(index);
+        long offset = ReadWriteIOUtils.readLong(index);
+        int length = ReadWriteIOUtils.readInt(index);
+        if (device.equals(seriesDevice) && measurement.equals(seriesMeasurement)) {
+          return SeriesRollup.select(read(channel, offset, length), filter, ascending);
+        }
+      }
+      return null;
+    }
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of the rollup file");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.reader.IPageReader;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RollupFileGenerator generates the rollup file of a sealed TsFile from its chunks, when the TsFile
+ * is closed after flushing or generated by compaction. The statistics of a chunk or a page are used
+ * directly if its points are in a single window of every level, otherwise its points are read.
+ *
+ * <p>The series of aligned devices are not covered, nor are the series whose chunks overlap in an
+ * unsequence file, since the later points overwrite the earlier ones.
+ */
+public class RollupFileGenerator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollupFileGenerator.class);
+
+  private RollupFileGenerator() {}
+
+  /**
+   * Generate the rollup file of the TsFile by the configured rollup levels. Errors are logged
+   * instead of thrown, since the queries work without rollup files.
+   */
+  public static void generate(TsFileResource resource) {
+    generate(resource.getTsFile(), IoTDBDescriptor.getInstance().getConfig().getRollupLevels());
+  }
+
+  static void generate(File tsFile, RollupLevels levels) {
+    if (levels.isEmpty()) {
+      return;
+    }
+    File rollupFile = RollupFile.getRollupFile(tsFile);
+    try {
+      List<SeriesRollup> seriesRollups = rollup(tsFile, levels);
+      if (seriesRollups.isEmpty()) {
+        Files.deleteIfExists(rollupFile.toPath());
+      } else {
+        RollupFile.write(rollupFile, seriesRollups);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Failed to generate the rollup file of {}", tsFile, e);
+      try {
+        Files.deleteIfExists(rollupFile.toPath());
+      } catch (IOException e1) {
+        LOGGER.warn("Failed to delete the rollup file {}", rollupFile, e1);
+      }
+    }
+  }
+
+  private static List<SeriesRollup> rollup(File tsFile, RollupLevels levels) throws IOException {
+    List<SeriesRollup> seriesRollups = new ArrayList<>();
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFile.getPath())) {
+      for (String device : reader.getAllDevices()) {
+        Map<String, List<ChunkMetadata>> measurementChunkMetadata =
+            reader.readChunkMetadataInDevice(device);
+        // the time column of an aligned device
+        if (measurementChunkMetadata.containsKey("")) {
+          continue;
+        }
+        for (Map.Entry<String, List<ChunkMetadata>> entry : measurementChunkMetadata.entrySet()) {
+          long[] intervals;
+          try {
+            intervals = levels.getIntervals(new PartialPath(device, entry.getKey()));
+          } catch (IllegalPathException e) {
+            LOGGER.warn("Skip the rollup of {}.{}: {}", device, entry.getKey(), e.getMessage());
+            continue;
+          }
+          if (intervals.length == 0 || entry.getValue().isEmpty()) {
+            continue;
+          }
+          SeriesRollup seriesRollup =
+              rollup(reader, device, entry.getKey(), intervals, entry.getValue());
+          if (seriesRollup != null) {
+            seriesRollups.add(seriesRollup);
+          }
+        }
+      }
+    }
+    return seriesRollups;
+  }
+
+  private static SeriesRollup rollup(
+      TsFileSequenceReader reader,
+      String device,
+      String measurement,
+      long[] intervals,
+      List<ChunkMetadata> chunkMetadataList)
+      throws IOException {
+    List<ChunkMetadata> sortedChunkMetadataList = new ArrayList<>(chunkMetadataList);
+    sortedChunkMetadataList.sort(Comparator.comparingLong(ChunkMetadata::getStartTime));
+    for (int i = 1; i < sortedChunkMetadataList.size(); i++) {
+      if (sortedChunkMetadataList.get(i).getStartTime()
+              <= sortedChunkMetadataList.get(i - 1).getEndTime()
+          || sortedChunkMetadataList.get(i).getDataType()
+              != sortedChunkMetadataList.get(0).getDataType()) {
+        return null;
+      }
+    }
+
+    SeriesRollup seriesRollup =
+        new SeriesRollup(
+            device, measurement, sortedChunkMetadataList.get(0).getDataType(), intervals);
+    for (ChunkMetadata chunkMetadata : sortedChunkMetadataList) {
+      if (seriesRollup.add(chunkMetadata.getStatistics())) {
+        continue;
+      }
+      ChunkReader chunkReader = new ChunkReader(reader.readMemChunk(chunkMetadata), null);
+      for (IPageReader pageReader : chunkReader.loadPageReaderList()) {
+        if (!seriesRollup.add(pageReader.getStatistics())) {
+          seriesRollup.add(pageReader.getAllSatisfiedPageData());
+        }
+      }
+    }
+    return seriesRollup;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.qp.utils.DateTimeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The rollup levels declared by rollup_levels, which is a list of path patterns separated by ';',
+ * each followed by ':' and the intervals of its levels separated by ',', e.g.
+ * "root.sg.**:1m,1h,1d;root.ln.**:1h".
+ */
+public class RollupLevels {
+
+  public static final RollupLevels EMPTY =
+      new RollupLevels(Collections.emptyList(), Collections.emptyList());
+
+  private static final long[] NO_INTERVAL = new long[0];
+
+  private final List<PartialPath> patterns;
+  // intervals of the levels of each pattern
+  private final List<long[]> intervals;
+
+  private RollupLevels(List<PartialPath> patterns, List<long[]> intervals) {
+    this.patterns = patterns;
+    this.intervals = intervals;
+  }
+
+  /**
+   * @param value the value of rollup_levels
+   * @param timestampPrecision the intervals are converted to this precision
+   * @throws IllegalArgumentException if the value is malformed
+   */
+  public static RollupLevels parse(String value, String timestampPrecision) {
+    if (value == null || value.trim().isEmpty()) {
+      return EMPTY;
+    }
+    List<PartialPath> patterns = new ArrayList<>();
+    List<long[]> intervals = new ArrayList<>();
+    for (String level : value.split(";")) {
+      if (level.trim().isEmpty()) {
+        continue;
+      }
+      int separator = level.lastIndexOf(':');
+      if (separator < 0) {
+        throw new IllegalArgumentException("No interval of the rollup levels of " + level);
+      }
+      try {
+        patterns.add(new PartialPath(level.substring(0, separator).trim()));
+      } catch (IllegalPathException e) {
+        throw new IllegalArgumentException(e.getMessage(), e);
+      }
+      String[] durations = level.substring(separator + 1).split(",");
+      long[] levelIntervals = new long[durations.length];
+      for (int i = 0; i < durations.length; i++) {
+        String duration = durations[i].trim();
+        if (duration.contains("mo") || duration.contains("y")) {
+          throw new IllegalArgumentException(
+              "The interval of a rollup level can not be by month or year: " + duration);
+        }
+        levelIntervals[i] = DateTimeUtils.convertDurationStrToLong(duration, timestampPrecision);
+        if (levelIntervals[i] <= 0) {
+          throw new IllegalArgumentException("Illegal interval of a rollup level: " + duration);
+        }
+      }
+      intervals.add(levelIntervals);
+    }
+    return patterns.isEmpty() ? EMPTY : new RollupLevels(patterns, intervals);
+  }
+
+  public boolean isEmpty() {
+    return patterns.isEmpty();
+  }
+
+  /**
+   * @return the distinct intervals of the levels of all the patterns matching the series, in
+   *     descending order, empty if there is no matched pattern
+   */
+  public long[] getIntervals(PartialPath seriesPath) {
+    TreeSet<Long> result = new TreeSet<>(Collections.reverseOrder());
+    for (int i = 0; i < patterns.size(); i++) {
+      if (patterns.get(i).matchFullPath(seriesPath)) {
+        Arrays.stream(intervals.get(i)).forEach(result::add);
+      }
+    }
+    return result.isEmpty() ? NO_INTERVAL : result.stream().mapToLong(Long::longValue).toArray();
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rollup windows of a series in a TsFile for each of its rollup levels. The windows of a level
+ * with interval L are [k * L, (k + 1) * L), and the statistics of a window cover the points of the
+ * series in it. Windows without points are not kept.
+ *
+ * <p>Points and statistics must be added in time order.
+ */
+class SeriesRollup {
+
+  private final String device;
+  private final String measurement;
+  private final TSDataType dataType;
+  // in descending order, so that the coarsest level is read first
+  private final long[] intervals;
+  private final List<List<Statistics<? extends Serializable>>> windows;
+  // k of the last window [k * L, (k + 1) * L) of each level
+  private final long[] lastWindows;
+
+  SeriesRollup(String device, String measurement, TSDataType dataType, long[] intervals) {
+    this.device = device;
+    this.measurement = measurement;
+    this.dataType = dataType;
+    this.intervals = intervals;
+    this.windows = new ArrayList<>(intervals.length);
+    this.lastWindows = new long[intervals.length];
+    for (int i = 0; i < intervals.length; i++) {
+      windows.add(new ArrayList<>());
+      lastWindows[i] = Long.MIN_VALUE;
+    }
+  }
+
+  String getDevice() {
+    return device;
+  }
+
+  String getMeasurement() {
+    return measurement;
+  }
+
+  TSDataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Merge the statistics of a chunk or a page into the windows if its points are in a single window
+   * of every level.
+   *
+   * @return false if the points should be added one by one instead
+   */
+  boolean add(Statistics<? extends Serializable> statistics) {
+    for (long interval : intervals) {
+      if (Math.floorDiv(statistics.getStartTime(), interval)
+          != Math.floorDiv(statistics.getEndTime(), interval)) {
+        return false;
+      }
+    }
+    for (int i = 0; i < intervals.length; i++) {
+      getWindow(i, statistics.getStartTime()).mergeStatistics(statistics);
+    }
+    return true;
+  }
+
+  void add(BatchData batchData) {
+    while (batchData.hasCurrent()) {
+      long time = batchData.currentTime();
+      for (int i = 0; i < intervals.length; i++) {
+        Statistics<? extends Serializable> window = getWindow(i, time);
+        switch (dataType) {
+          case BOOLEAN:
+            window.update(time, batchData.getBoolean());
+            break;
+          case INT32:
+            window.update(time, batchData.getInt());
+            break;
+          case INT64:
+            window.update(time, batchData.getLong());
+            break;
+          case FLOAT:
+            window.update(time, batchData.getFloat());
+            break;
+          case DOUBLE:
+            window.update(time, batchData.getDouble());
+            break;
+          case TEXT:
+            window.update(time, batchData.getBinary());
+            break;
+          default:
+            throw new UnsupportedOperationException("Unsupported data type " + dataType);
+        }
+      }
+      batchData.next();
+    }
+  }
+
+  private Statistics<? extends Serializable> getWindow(int level, long time) {
+    long window = Math.floorDiv(time, intervals[level]);
+    List<Statistics<? extends Serializable>> levelWindows = windows.get(level);
+    if (window != lastWindows[level]) {
+      levelWindows.add(Statistics.getStatsByType(dataType));
+      lastWindows[level] = window;
+    }
+    return levelWindows.get(levelWindows.size() - 1);
+  }
+
+  /**
+   * Serialize the windows as the data type, the level number, and then the interval, the window
+   * number and the statistics of the windows of each level.
+   */
+  void serialize(OutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(dataType.serialize(), outputStream);
+    ReadWriteIOUtils.write(intervals.length, outputStream);
+    for (int i = 0; i < intervals.length; i++) {
+      ReadWriteIOUtils.write(intervals[i], outputStream);
+      ReadWriteIOUtils.write(windows.get(i).size(), outputStream);
+      for (Statistics<? extends Serializable> window : windows.get(i)) {
+        window.serialize(outputStream);
+      }
+    }
+  }
+
+  /**
+   * Select the windows of the coarsest level whose windows are all either contained by or disjoint
+   * from the filter.
+   *
+   * @param buffer the serialized windows of a series
+   * @param filter null if there is no filter
+   * @return the windows satisfying the filter in the given order, null if no level fits
+   */
+  static List<Statistics<? extends Serializable>> select(
+      ByteBuffer buffer, Filter filter, boolean ascending) {
+    TSDataType dataType = TSDataType.deserialize(buffer.get());
+    int levelNum = buffer.getInt();
+    for (int i = 0; i < levelNum; i++) {
+      // interval of the level
+      buffer.getLong();
+      int windowNum = buffer.getInt();
+      List<Statistics<? extends Serializable>> selected = new ArrayList<>(windowNum);
+      boolean fit = true;
+      for (int j = 0; j < windowNum; j++) {
+        Statistics<? extends Serializable> window = Statistics.deserialize(buffer, dataType);
+        if (!fit) {
+          continue;
+        }
+        if (window.containedByTimeFilter(filter)) {
+          selected.add(window);
+        } else if (filter.satisfyStartEndTime(window.getStartTime(), window.getEndTime())) {
+          fit = false;
+        }
+      }
+      if (fit) {
+        if (!ascending) {
+          Collections.reverse(selected);
+        }
+        return selected;
+      }
+    }
+    return null;
+  }
+}
@@ -252,6 +252,19 @@ public class DataRegion {
   private List<CloseFileListener> customCloseFileListeners = Collections.emptyList();
   /** flush listeners */
   private List<FlushListener> customFlushListeners = Collections.emptyList();
+  /** the data in memory is moved to disk when a memtable is flushed */
+  private final FlushListener dataVersionFlushListener =
+      new FlushListener() {
+        @Override
+        public void onMemTableFlushStarted(IMemTable memTable) {
+          tsFileManager.increaseDataVersion();
+        }
+
+        @Override
+        public void onMemTableFlushed(IMemTable memTable) {
+          tsFileManager.increaseDataVersion();
+        }
+      };
 
   private ILastFlushTimeMap lastFlushTimeMap;
 
@@ -916,6 +929,7 @@ public class DataRegion {
       insertToTsFileProcessor(insertRowNode, isSequence, timePartitionId);
     } finally {
       writeUnlock();
+      WriteVersionTracker.getInstance().onWrite(storageGroupName, insertRowNode.getTime());
     }
   }
 
@@ -1028,6 +1042,7 @@ public class DataRegion {
       }
     } finally {
       writeUnlock();
+      WriteVersionTracker.getInstance().onWrite(storageGroupName, insertTabletNode.getMinTime());
     }
   }
 
@@ -1078,6 +1093,8 @@ public class DataRegion {
 
     try {
       tsFileProcessor.insertTablet(insertTabletNode, start, end, results);
+      dataRegionInfo.addWrittenPointCount(
+          (long) (end - start) * countPoints(insertTabletNode.getMeasurements()));
     } catch (WriteProcessRejectException e) {
       logger.warn("insert to TsFileProcessor rejected, {}", e.getMessage());
       return false;
@@ -1093,6 +1110,17 @@ public class DataRegion {
     return true;
   }
 
+  /** @return the number of measurements that are not failed */
+  private static int countPoints(String[] measurements) {
+    int count = 0;
+    for (String measurement : measurements) {
+      if (measurement != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   private void tryToUpdateBatchInsertLastCache(InsertTabletNode node, long latestFlushedTime) {
     if (!IoTDBDescriptor.getInstance().getConfig().isLastCacheEnabled()) {
       return;
@@ -1120,6 +1148,7 @@ public class DataRegion {
     }
 
     tsFileProcessor.insert(insertRowNode);
+    dataRegionInfo.addWrittenPointCount(countPoints(insertRowNode.getMeasurements()));
 
     long globalLatestFlushTime =
         lastFlushTimeMap.getGlobalFlushedTime(insertRowNode.getDevicePath().getFullPath());
@@ -1306,6 +1335,7 @@ public class DataRegion {
 
     tsFileProcessor.addCloseFileListeners(customCloseFileListeners);
     tsFileProcessor.addFlushListeners(customFlushListeners);
+    tsFileProcessor.addFlushListener(dataVersionFlushListener);
     tsFileProcessor.setTimeRangeId(timePartitionId);
 
     return tsFileProcessor;
@@ -1375,6 +1405,7 @@ public class DataRegion {
     logger.info(
         "Async close tsfile: {}",
         tsFileProcessor.getTsFileResource().getTsFile().getAbsolutePath());
+    tsFileManager.increaseDataVersion();
 
     if (sequence) {
       closingSequenceTsFileProcessor.add(tsFileProcessor);
@@ -1714,6 +1745,7 @@ public class DataRegion {
               false);
       QueryDataSource dataSource = new QueryDataSource(seqResources, unseqResources);
       dataSource.setDataTTL(dataTTL);
+      dataSource.setDataVersion(tsFileManager.getDataVersion());
       return dataSource;
     } catch (MetadataException e) {
       throw new QueryProcessException(e);
@@ -1863,6 +1895,7 @@ public class DataRegion {
     // FIXME: notice that if we may remove a SGProcessor out of memory, we need to close all opened
     // mod files in mergingModification, sequenceFileList, and unsequenceFileList
     writeLock("delete");
+    tsFileManager.increaseDataVersion();
 
     // record files which are updated so that we can roll back them in case of exception
     List<ModificationFile> updatedModFiles = new ArrayList<>();
@@ -1913,6 +1946,7 @@ public class DataRegion {
       if (!hasReleasedLock) {
         writeUnlock();
       }
+      WriteVersionTracker.getInstance().onDelete(storageGroupName, startTime);
     }
   }
 
@@ -3126,6 +3160,11 @@ public class DataRegion {
       }
     } finally {
       writeUnlock();
+      long minTime = Long.MAX_VALUE;
+      for (InsertRowNode insertRowNode : insertRowsOfOneDeviceNode.getInsertRowNodeList()) {
+        minTime = Math.min(minTime, insertRowNode.getTime());
+      }
+      WriteVersionTracker.getInstance().onWrite(storageGroupName, minTime);
     }
     if (!insertRowsOfOneDeviceNode.getResults().isEmpty()) {
       throw new BatchProcessException("Partial failed inserting rows of one device");
@@ -3363,6 +3402,33 @@ public class DataRegion {
     return dataRegionInfo.getMemCost();
   }
 
+  /** @return the number of points written into this DataRegion since it is created */
+  public long getWrittenPointCount() {
+    return dataRegionInfo.getWrittenPointCount();
+  }
+
+  /** Record the cpu time spent by a query on this DataRegion */
+  public void addQueryCpuTime(long cpuTimeInNanos) {
+    dataRegionInfo.addQueryCpuTime(cpuTimeInNanos);
+  }
+
+  /** @return the cpu time in nanoseconds spent by the queries on this DataRegion */
+  public long getQueryCpuTime() {
+    return dataRegionInfo.getQueryCpuTime();
+  }
+
+  /** @return the total size of the sequence and unsequence TsFiles of this DataRegion */
+  public long getDiskUsage() {
+    long diskUsage = 0;
+    for (TsFileResource resource : tsFileManager.getTsFileList(true)) {
+      diskUsage += resource.getTsFileSize();
+    }
+    for (TsFileResource resource : tsFileManager.getTsFileList(false)) {
+      diskUsage += resource.getTsFileSize();
+    }
+    return diskUsage;
+  }
+
   public long getDataTTL() {
     return dataTTL;
   }
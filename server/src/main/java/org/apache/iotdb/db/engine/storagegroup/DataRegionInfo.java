@@ -48,6 +48,12 @@ public class DataRegionInfo {
   /** A set of all unclosed TsFileProcessors in this SG */
   private final List<TsFileProcessor> reportedTsps = new CopyOnWriteArrayList<>();
 
+  /** The number of points written into this DataRegion, used to sample the write load */
+  private final AtomicLong writtenPointCount = new AtomicLong();
+
+  /** The cpu time in nanoseconds spent by the queries on this DataRegion */
+  private final AtomicLong queryCpuTime = new AtomicLong();
+
   public DataRegionInfo(DataRegion dataRegion) {
     this.dataRegion = dataRegion;
     memoryCost = new AtomicLong();
@@ -74,6 +80,22 @@ public class DataRegionInfo {
     return memoryCost.get();
   }
 
+  public void addWrittenPointCount(long pointCount) {
+    writtenPointCount.getAndAdd(pointCount);
+  }
+
+  public long getWrittenPointCount() {
+    return writtenPointCount.get();
+  }
+
+  public void addQueryCpuTime(long cpuTimeInNanos) {
+    queryCpuTime.getAndAdd(cpuTimeInNanos);
+  }
+
+  public long getQueryCpuTime() {
+    return queryCpuTime.get();
+  }
+
   public List<TsFileProcessor> getAllReportedTsp() {
     return reportedTsps;
   }
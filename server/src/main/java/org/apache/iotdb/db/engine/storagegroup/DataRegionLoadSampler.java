@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.engine.storagegroup;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.db.engine.StorageEngineV2;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoad;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sample the load of each DataRegion for the heartbeat of ConfigNode. The write rate and the query
+ * cpu rate are computed by the increments of the counters of {@link DataRegionInfo} since the last
+ * sampling.
+ */
+public class DataRegionLoadSampler {
+
+  /** The counters of each DataRegion when it is sampled last time */
+  private final Map<String, RegionCounter> lastCounters = new HashMap<>();
+
+  private DataRegionLoadSampler() {
+    // Empty constructor
+  }
+
+  public synchronized Map<TConsensusGroupId, TRegionLoad> sampleRegionLoads() {
+    Map<TConsensusGroupId, TRegionLoad> regionLoads = new HashMap<>();
+    Map<String, RegionCounter> currentCounters = new HashMap<>();
+    long currentTime = System.nanoTime();
+    for (DataRegion dataRegion : StorageEngineV2.getInstance().getAllDataRegions()) {
+      if (dataRegion == null) {
+        continue;
+      }
+      String regionId = dataRegion.getDataRegionId();
+      RegionCounter currentCounter =
+          new RegionCounter(
+              currentTime, dataRegion.getWrittenPointCount(), dataRegion.getQueryCpuTime());
+      currentCounters.put(regionId, currentCounter);
+
+      RegionCounter lastCounter = lastCounters.get(regionId);
+      double writeRate = 0;
+      double queryCpuRate = 0;
+      if (lastCounter != null && currentTime > lastCounter.timestamp) {
+        double seconds = (currentTime - lastCounter.timestamp) / 1_000_000_000d;
+        writeRate = (currentCounter.writtenPointCount - lastCounter.writtenPointCount) / seconds;
+        queryCpuRate =
+            (currentCounter.queryCpuTime - lastCounter.queryCpuTime) / 1_000_000d / seconds;
+      }
+
+      regionLoads.put(
+          new TConsensusGroupId(TConsensusGroupType.DataRegion, Integer.parseInt(regionId)),
+          new TRegionLoad(
+              writeRate, queryCpuRate, dataRegion.getDiskUsage(), dataRegion.getMemCost()));
+    }
+
+    // Deleted DataRegions are removed as well
+    lastCounters.clear();
+    lastCounters.putAll(currentCounters);
+    return regionLoads;
+  }
+
+  private static class RegionCounter {
+
+    private final long timestamp;
+    private final long writtenPointCount;
+    private final long queryCpuTime;
+
+    private RegionCounter(long timestamp, long writtenPointCount, long queryCpuTime) {
+      this.timestamp = timestamp;
+      this.writtenPointCount = writtenPointCount;
+      this.queryCpuTime = queryCpuTime;
+    }
+  }
+
+  public static DataRegionLoadSampler getInstance() {
+    return DataRegionLoadSamplerHolder.INSTANCE;
+  }
+
+  private static class DataRegionLoadSamplerHolder {
+
+    private static final DataRegionLoadSampler INSTANCE = new DataRegionLoadSampler();
+
+    private DataRegionLoadSamplerHolder() {
+      // Empty constructor
+    }
+  }
+}
@@ -53,6 +53,13 @@ public class TsFileManager {
   private final ReadWriteLock resourceListLock = new ReentrantReadWriteLock();
 
   private String writeLockHolder;
+  /**
+   * increased whenever the data of the DataRegion may be changed for the in-flight queries, that is
+   * when the file list is locked to be changed (e.g. replaced by compaction), a memtable is
+   * flushed, a file is closed, or data is deleted. Two QueryDataSources taken with the same version
+   * see the same data except for the data inserted between them.
+   */
+  private final AtomicLong dataVersion = new AtomicLong(0);
   // time partition -> double linked list of tsfiles
   private TreeMap<Long, TsFileResourceList> sequenceFiles = new TreeMap<>();
   private TreeMap<Long, TsFileResourceList> unsequenceFiles = new TreeMap<>();
@@ -304,6 +311,7 @@ public class TsFileManager {
   public void writeLock(String holder) {
     resourceListLock.writeLock().lock();
     writeLockHolder = holder;
+    dataVersion.incrementAndGet();
   }
 
   /**
@@ -314,6 +322,7 @@ public class TsFileManager {
     try {
       if (resourceListLock.writeLock().tryLock(timeout, TimeUnit.MILLISECONDS)) {
         writeLockHolder = holder;
+        dataVersion.incrementAndGet();
       } else {
         throw new WriteLockFailedException(
             String.format("cannot get write lock in %d ms", timeout));
@@ -325,6 +334,14 @@ public class TsFileManager {
     }
   }
 
+  public long getDataVersion() {
+    return dataVersion.get();
+  }
+
+  public void increaseDataVersion() {
+    dataVersion.incrementAndGet();
+  }
+
   public void writeUnlock() {
     resourceListLock.writeLock().unlock();
     writeLockHolder = "";
@@ -22,8 +22,10 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.cross.utils.ReadAmplificationTracker;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
+import org.apache.iotdb.db.engine.rollup.RollupFile;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion.SettleTsFileCallBack;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion.UpgradeTsFileResourceCallBack;
 import org.apache.iotdb.db.engine.storagegroup.TsFileNameGenerator.TsFileName;
@@ -506,11 +508,12 @@ public class TsFileResource {
   }
 
   /**
-   * Remove the data file, its resource file, its chunk metadata temp file, and its modification
-   * file physically.
+   * Remove the data file, its resource file, its chunk metadata temp file, its modification file
+   * and its rollup file physically.
    */
   public boolean remove() {
     this.status = TsFileResourceStatus.DELETED;
+    ReadAmplificationTracker.getInstance().remove(getTsFilePath());
     try {
       fsFactory.deleteIfExists(file);
       fsFactory.deleteIfExists(
@@ -528,6 +531,12 @@ public class TsFileResource {
       LOGGER.error("ModificationFile {} cannot be deleted: {}", file, e.getMessage());
       return false;
     }
+    try {
+      fsFactory.deleteIfExists(fsFactory.getFile(file.getPath() + RollupFile.FILE_SUFFIX));
+    } catch (IOException e) {
+      LOGGER.error("RollupFile {} cannot be deleted: {}", file, e.getMessage());
+      return false;
+    }
     return true;
   }
 
@@ -553,6 +562,11 @@ public class TsFileResource {
           originModFile,
           fsFactory.getFile(targetDir, file.getName() + ModificationFile.FILE_SUFFIX));
     }
+    File originRollupFile = fsFactory.getFile(file.getPath() + RollupFile.FILE_SUFFIX);
+    if (originRollupFile.exists()) {
+      fsFactory.moveFile(
+          originRollupFile, fsFactory.getFile(targetDir, file.getName() + RollupFile.FILE_SUFFIX));
+    }
   }
 
   @Override
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.storagegroup;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.iotdb.commons.conf.IoTDBConstant.MULTI_LEVEL_PATH_WILDCARD;
+
+/**
+ * WriteVersionTracker keeps a version for each database, which is increased whenever the data
+ * regions of the database execute a deletion or a write that is older than the sealed time. The
+ * sealed time is raised by query result caches before they compute results that will be reused, so
+ * that a cached result is valid as long as the versions of the databases it reads are not changed.
+ * Writes of the newest data, which are the most common ones, do not change the version.
+ */
+public class WriteVersionTracker {
+
+  private static final Logger logger = LoggerFactory.getLogger(WriteVersionTracker.class);
+
+  private final Map<PartialPath, AtomicLong> databaseVersionMap = new ConcurrentHashMap<>();
+
+  /** writes with time smaller than it may change cached results */
+  private volatile long sealedTime = Long.MIN_VALUE;
+
+  private WriteVersionTracker() {}
+
+  public static WriteVersionTracker getInstance() {
+    return WriteVersionTrackerHolder.INSTANCE;
+  }
+
+  public void raiseSealedTime(long time) {
+    if (time <= sealedTime) {
+      return;
+    }
+    synchronized (this) {
+      if (time > sealedTime) {
+        sealedTime = time;
+      }
+    }
+  }
+
+  /** Record a write of the database whose smallest timestamp is minTime. */
+  public void onWrite(String database, long minTime) {
+    if (minTime < sealedTime) {
+      increaseVersion(database);
+    }
+  }
+
+  public void onDelete(String database, long startTime) {
+    if (startTime < sealedTime) {
+      increaseVersion(database);
+    }
+  }
+
+  private void increaseVersion(String database) {
+    try {
+      databaseVersionMap
+          .computeIfAbsent(
+              new PartialPath(database).concatNode(MULTI_LEVEL_PATH_WILDCARD),
+              k -> new AtomicLong())
+          .incrementAndGet();
+    } catch (IllegalPathException e) {
+      logger.warn("Illegal database name {}", database, e);
+    }
+  }
+
+  /**
+   * @return the sum of the versions of the databases that overlap with the given path patterns,
+   *     which changes once any of them changes
+   */
+  public long getVersion(List<PartialPath> pathPatterns) {
+    long version = 0;
+    for (Map.Entry<PartialPath, AtomicLong> entry : databaseVersionMap.entrySet()) {
+      for (PartialPath pathPattern : pathPatterns) {
+        if (entry.getKey().overlapWith(pathPattern)) {
+          version += entry.getValue().get();
+          break;
+        }
+      }
+    }
+    return version;
+  }
+
+  public void clear() {
+    databaseVersionMap.clear();
+    sealedTime = Long.MIN_VALUE;
+  }
+
+  private static class WriteVersionTrackerHolder {
+    private static final WriteVersionTracker INSTANCE = new WriteVersionTracker();
+
+    private WriteVersionTrackerHolder() {}
+  }
+}
@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -50,6 +51,12 @@ public class DataNodeSchemaCache {
 
   private final Cache<PartialPath, SchemaCacheEntry> cache;
 
+  /**
+   * increased whenever the cached schema is invalidated or templates are changed, so that schema
+   * fetched by cached plans is known to be stale
+   */
+  private final AtomicLong schemaVersion = new AtomicLong();
+
   // cache update or clean have higher priority than cache read
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(false);
 
@@ -228,11 +235,13 @@ public class DataNodeSchemaCache {
    * @return
    */
   public void invalidate(PartialPath partialPath) {
+    schemaVersion.incrementAndGet();
     resetLastCache(partialPath);
     cache.invalidate(partialPath);
   }
 
   public void invalidateMatchedSchema(PartialPath pathPattern) {
+    schemaVersion.incrementAndGet();
     cache
         .asMap()
         .forEach(
@@ -247,7 +256,17 @@ public class DataNodeSchemaCache {
     return cache.estimatedSize();
   }
 
+  public long getSchemaVersion() {
+    return schemaVersion.get();
+  }
+
+  /** Called when the schema is changed without invalidating the cache, e.g. by templates. */
+  public void increaseSchemaVersion() {
+    schemaVersion.incrementAndGet();
+  }
+
   public void cleanUp() {
+    schemaVersion.incrementAndGet();
     cache.invalidateAll();
     cache.cleanUp();
   }
@@ -30,7 +30,9 @@ import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.LongColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 
 import java.util.Arrays;
 import java.util.Deque;
@@ -42,6 +44,15 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 public abstract class SlidingWindowAggregator extends Aggregator {
 
+  // estimated size of a cached partial result, excluding its columns
+  private static final long PARTIAL_RESULT_BASE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(PartialAggregationResult.class)
+          + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+          + TimeColumn.SIZE_IN_BYTES_PER_POSITION;
+  // estimated size of a column of a cached partial result
+  private static final long PARTIAL_RESULT_COLUMN_SIZE =
+      RamUsageEstimator.NUM_BYTES_OBJECT_REF + LongColumn.SIZE_IN_BYTES_PER_POSITION;
+
   // cached partial aggregation result of pre-aggregate windows
   protected Deque<PartialAggregationResult> deque;
 
@@ -77,6 +88,15 @@ public abstract class SlidingWindowAggregator extends Aggregator {
     evictingExpiredValue();
   }
 
+  /**
+   * @return estimated size of the cached partial results, whose number depends on the ratio of the
+   *     sliding window to the step
+   */
+  public long estimateCachedResultsSize() {
+    return deque.size()
+        * (PARTIAL_RESULT_BASE_SIZE + inputLocationList.get(0).length * PARTIAL_RESULT_COLUMN_SIZE);
+  }
+
   /** evicting expired element in queue and reset expired aggregateResult */
   protected abstract void evictingExpiredValue();
 
@@ -32,6 +32,7 @@ public class DataDriverContext extends DriverContext {
   private final Filter timeFilter;
   private final DataRegion dataRegion;
   private final List<DataSourceOperator> sourceOperators;
+  private final SharedQueryDataSource sharedQueryDataSource;
 
   public DataDriverContext(
       FragmentInstanceContext fragmentInstanceContext,
@@ -39,11 +40,40 @@ public class DataDriverContext extends DriverContext {
       Filter timeFilter,
       DataRegion dataRegion,
       List<DataSourceOperator> sourceOperators) {
-    super(fragmentInstanceContext);
+    this(
+        fragmentInstanceContext,
+        paths,
+        timeFilter,
+        dataRegion,
+        sourceOperators,
+        0,
+        new SharedQueryDataSource(
+            fragmentInstanceContext,
+            paths,
+            timeFilter,
+            dataRegion,
+            sourceOperators == null || sourceOperators.isEmpty() ? 0 : 1));
+  }
+
+  /**
+   * @param sharedQueryDataSource the QueryDataSource shared by all the pipelines of the fragment
+   *     instance, which covers the paths of this pipeline and should be released by each pipeline
+   *     with source operators
+   */
+  public DataDriverContext(
+      FragmentInstanceContext fragmentInstanceContext,
+      List<PartialPath> paths,
+      Filter timeFilter,
+      DataRegion dataRegion,
+      List<DataSourceOperator> sourceOperators,
+      int pipelineId,
+      SharedQueryDataSource sharedQueryDataSource) {
+    super(fragmentInstanceContext, pipelineId);
     this.paths = paths;
     this.timeFilter = timeFilter;
     this.dataRegion = dataRegion;
     this.sourceOperators = sourceOperators;
+    this.sharedQueryDataSource = sharedQueryDataSource;
   }
 
   public List<PartialPath> getPaths() {
@@ -61,4 +91,13 @@ public class DataDriverContext extends DriverContext {
   public List<DataSourceOperator> getSourceOperators() {
     return sourceOperators;
   }
+
+  /** @return whether the pipeline reads data, so that it uses the shared QueryDataSource */
+  public boolean hasSourceOperators() {
+    return sourceOperators != null && !sourceOperators.isEmpty();
+  }
+
+  public SharedQueryDataSource getSharedQueryDataSource() {
+    return sharedQueryDataSource;
+  }
 }
@@ -26,17 +26,28 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class DriverContext {
 
   private final FragmentInstanceContext fragmentInstanceContext;
+  // the ID of the pipeline in the fragment instance, 0 for the pipeline sending the results
+  private final int pipelineId;
 
   private final AtomicBoolean finished = new AtomicBoolean();
 
   public DriverContext(FragmentInstanceContext fragmentInstanceContext) {
+    this(fragmentInstanceContext, 0);
+  }
+
+  public DriverContext(FragmentInstanceContext fragmentInstanceContext, int pipelineId) {
     this.fragmentInstanceContext = fragmentInstanceContext;
+    this.pipelineId = pipelineId;
   }
 
   public FragmentInstanceId getId() {
     return fragmentInstanceContext.getId();
   }
 
+  public int getPipelineId() {
+    return pipelineId;
+  }
+
   public FragmentInstanceContext getFragmentInstanceContext() {
     return fragmentInstanceContext;
   }
@@ -56,6 +56,16 @@ public interface IDriver {
    */
   FragmentInstanceId getInfo();
 
+  /**
+   * the ID of the pipeline run by this IDriver, a fragment instance may be split into several
+   * pipelines.
+   *
+   * @return 0 for the pipeline sending the results of the fragment instance.
+   */
+  default int getPipelineId() {
+    return 0;
+  }
+
   /** clear resource used by this fragment instance */
   void close();
 
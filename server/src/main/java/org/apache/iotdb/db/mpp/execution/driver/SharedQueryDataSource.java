@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.driver;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.DataRegion;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.query.QueryProcessException;
+import org.apache.iotdb.db.metadata.idtable.IDTable;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The QueryDataSource of a fragment instance of data region, which is shared by the drivers of all
+ * its pipelines reading data. It is taken from the DataRegion once for the paths of all the
+ * pipelines, so the read lock of the DataRegion is held once instead of once per pipeline, and all
+ * the pipelines read the same snapshot of the files. The usage reference of its files is decreased
+ * after all the drivers release it, whether they have acquired it or not.
+ */
+@ThreadSafe
+public class SharedQueryDataSource {
+
+  private final FragmentInstanceContext fragmentInstanceContext;
+  /** the paths read by all the pipelines */
+  private final List<PartialPath> paths;
+
+  private final Filter timeFilter;
+  private final DataRegion dataRegion;
+
+  /** null if it is not taken yet or released */
+  private QueryDataSource dataSource;
+  /** the number of drivers which haven't released the data source */
+  private int unreleasedDriverNum;
+
+  private boolean released = false;
+
+  /** closed tsfile used in this fragment instance */
+  private final Set<TsFileResource> closedFilePaths = new HashSet<>();
+  /** unClosed tsfile used in this fragment instance */
+  private final Set<TsFileResource> unClosedFilePaths = new HashSet<>();
+
+  public SharedQueryDataSource(
+      FragmentInstanceContext fragmentInstanceContext,
+      List<PartialPath> paths,
+      Filter timeFilter,
+      DataRegion dataRegion,
+      int driverNum) {
+    this.fragmentInstanceContext = fragmentInstanceContext;
+    this.paths = paths;
+    this.timeFilter = timeFilter;
+    this.dataRegion = dataRegion;
+    this.unreleasedDriverNum = driverNum;
+  }
+
+  /**
+   * Take the QueryDataSource from the DataRegion if it is not taken yet, the same one is returned
+   * to all the drivers.
+   *
+   * @throws IllegalStateException if all the drivers have released it
+   */
+  public synchronized QueryDataSource acquire() throws QueryProcessException {
+    if (released) {
+      throw new IllegalStateException("The QueryDataSource has been released by all the drivers");
+    }
+    if (dataSource == null) {
+      dataSource = initQueryDataSource();
+    }
+    return dataSource;
+  }
+
+  /**
+   * Called once by each driver when it is done. All file paths used by this fragment instance must
+   * be cleared and thus the usage reference must be decreased after all the drivers are done.
+   */
+  public synchronized void release() {
+    if (released || --unreleasedDriverNum > 0) {
+      return;
+    }
+    released = true;
+    for (TsFileResource tsFile : closedFilePaths) {
+      FileReaderManager.getInstance().decreaseFileReaderReference(tsFile, true);
+    }
+    closedFilePaths.clear();
+    for (TsFileResource tsFile : unClosedFilePaths) {
+      FileReaderManager.getInstance().decreaseFileReaderReference(tsFile, false);
+    }
+    unClosedFilePaths.clear();
+    dataSource = null;
+  }
+
+  /**
+   * The method is called in mergeLock() when executing query. This method will get all the
+   * QueryDataSource needed for this query
+   */
+  private QueryDataSource initQueryDataSource() throws QueryProcessException {
+    dataRegion.readLock();
+    try {
+      List<PartialPath> pathList =
+          paths.stream().map(IDTable::translateQueryPath).collect(Collectors.toList());
+      // when all the selected series are under the same device, the QueryDataSource will be
+      // filtered according to timeIndex
+      Set<String> selectedDeviceIdSet =
+          pathList.stream().map(PartialPath::getDevice).collect(Collectors.toSet());
+
+      QueryDataSource queryDataSource =
+          dataRegion.query(
+              pathList,
+              selectedDeviceIdSet.size() == 1 ? selectedDeviceIdSet.iterator().next() : null,
+              fragmentInstanceContext,
+              timeFilter != null ? timeFilter.copy() : null);
+
+      // used files should be added before mergeLock is unlocked, or they may be deleted by
+      // running merge
+      addUsedFilesForQuery(queryDataSource);
+
+      return queryDataSource;
+    } finally {
+      dataRegion.readUnlock();
+    }
+  }
+
+  /** Add the unique file paths to closeddFilePathsMap and unClosedFilePathsMap. */
+  private void addUsedFilesForQuery(QueryDataSource dataSource) {
+
+    // sequence data
+    addUsedFilesForQuery(dataSource.getSeqResources());
+
+    // unsequence data
+    addUsedFilesForQuery(dataSource.getUnseqResources());
+  }
+
+  private void addUsedFilesForQuery(List<TsFileResource> resources) {
+    Iterator<TsFileResource> iterator = resources.iterator();
+    while (iterator.hasNext()) {
+      TsFileResource tsFileResource = iterator.next();
+      boolean isClosed = tsFileResource.isClosed();
+      addFilePathToMap(tsFileResource, isClosed);
+
+      // this file may be deleted just before we lock it
+      if (tsFileResource.isDeleted()) {
+        Set<TsFileResource> pathSet = isClosed ? closedFilePaths : unClosedFilePaths;
+        // This resource may be removed by other threads of this query.
+        if (pathSet.remove(tsFileResource)) {
+          FileReaderManager.getInstance().decreaseFileReaderReference(tsFileResource, isClosed);
+        }
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Increase the usage reference of filePath of job id. */
+  private void addFilePathToMap(TsFileResource tsFile, boolean isClosed) {
+    Set<TsFileResource> pathSet = isClosed ? closedFilePaths : unClosedFilePaths;
+    if (!pathSet.contains(tsFile)) {
+      pathSet.add(tsFile);
+      FileReaderManager.getInstance().increaseFileReaderReference(tsFile, isClosed);
+    }
+  }
+}
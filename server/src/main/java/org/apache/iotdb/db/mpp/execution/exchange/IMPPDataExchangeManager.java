@@ -22,6 +22,7 @@ package org.apache.iotdb.db.mpp.execution.exchange;
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceId;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 public interface IMPPDataExchangeManager {
   /**
@@ -73,6 +74,18 @@ public interface IMPPDataExchangeManager {
       TFragmentInstanceId remoteFragmentInstanceId,
       IMPPDataExchangeManagerCallback<Throwable> onFailureCallback);
 
+  /**
+   * Create a local exchange between two pipelines of a fragment instance. The handles are not
+   * registered, and they don't change the state of the fragment instance when finished.
+   *
+   * @param instanceContext The context of the fragment instance.
+   * @param planNodeId ID of the plan node whose results are exchanged.
+   * @return the sink handle for the upstream pipeline and the source handle for the downstream
+   *     pipeline.
+   */
+  Pair<ISinkHandle, ISourceHandle> createLocalExchange(
+      FragmentInstanceContext instanceContext, String planNodeId);
+
   /**
    * Release all the related resources of a fragment instance, including data blocks that are not
    * yet fetched by downstream fragment instances.
@@ -33,6 +33,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockRequest;
 import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockResponse;
 import org.apache.iotdb.mpp.rpc.thrift.TNewDataBlockEvent;
 import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.thrift.TException;
@@ -304,6 +305,70 @@ public class MPPDataExchangeManager implements IMPPDataExchangeManager {
     }
   }
 
+  /**
+   * Listen to the state changes of a sink handle of the local exchange between the pipelines of a
+   * fragment instance, which doesn't change the state of the fragment instance when finished.
+   */
+  static class PipelineSinkHandleListenerImpl implements SinkHandleListener {
+
+    private final FragmentInstanceContext context;
+
+    public PipelineSinkHandleListenerImpl(FragmentInstanceContext context) {
+      this.context = context;
+    }
+
+    @Override
+    public void onFinish(ISinkHandle sinkHandle) {
+      logger.debug("[PipelineSkHListenerOnFinish]");
+    }
+
+    @Override
+    public void onEndOfBlocks(ISinkHandle sinkHandle) {
+      logger.debug("[PipelineSkHListenerOnEndOfTsBlocks]");
+    }
+
+    @Override
+    public Optional<Throwable> onAborted(ISinkHandle sinkHandle) {
+      logger.debug("[PipelineSkHListenerOnAbort]");
+      return context.getFailureCause();
+    }
+
+    @Override
+    public void onFailure(ISinkHandle sinkHandle, Throwable t) {
+      logger.warn("Pipeline sink handle failed due to", t);
+      context.failed(t);
+    }
+  }
+
+  /**
+   * Listen to the state changes of a source handle of the local exchange between the pipelines of a
+   * fragment instance.
+   */
+  static class PipelineSourceHandleListenerImpl implements SourceHandleListener {
+
+    private final FragmentInstanceContext context;
+
+    public PipelineSourceHandleListenerImpl(FragmentInstanceContext context) {
+      this.context = context;
+    }
+
+    @Override
+    public void onFinished(ISourceHandle sourceHandle) {
+      logger.debug("[PipelineScHListenerOnFinish]");
+    }
+
+    @Override
+    public void onAborted(ISourceHandle sourceHandle) {
+      logger.debug("[PipelineScHListenerOnAbort]");
+    }
+
+    @Override
+    public void onFailure(ISourceHandle sourceHandle, Throwable t) {
+      logger.warn("Pipeline source handle failed due to: ", t);
+      context.failed(t);
+    }
+  }
+
   private final LocalMemoryManager localMemoryManager;
   private final Supplier<TsBlockSerde> tsBlockSerdeFactory;
   private final ExecutorService executorService;
@@ -329,6 +394,10 @@ public class MPPDataExchangeManager implements IMPPDataExchangeManager {
     sinkHandles = new ConcurrentHashMap<>();
   }
 
+  public LocalMemoryManager getLocalMemoryManager() {
+    return localMemoryManager;
+  }
+
   public MPPDataExchangeServiceImpl getOrCreateMPPDataExchangeServiceImpl() {
     if (mppDataExchangeService == null) {
       mppDataExchangeService = new MPPDataExchangeServiceImpl();
@@ -494,6 +563,30 @@ public class MPPDataExchangeManager implements IMPPDataExchangeManager {
     return sourceHandle;
   }
 
+  @Override
+  public Pair<ISinkHandle, ISourceHandle> createLocalExchange(
+      FragmentInstanceContext instanceContext, String planNodeId) {
+    TFragmentInstanceId fragmentInstanceId = instanceContext.getId().toThrift();
+    logger.debug("Create local exchange of plan node {} in {}", planNodeId, fragmentInstanceId);
+
+    SharedTsBlockQueue queue = new SharedTsBlockQueue(fragmentInstanceId, localMemoryManager);
+    LocalSinkHandle localSinkHandle =
+        new LocalSinkHandle(
+            fragmentInstanceId,
+            planNodeId,
+            fragmentInstanceId,
+            queue,
+            new PipelineSinkHandleListenerImpl(instanceContext));
+    LocalSourceHandle localSourceHandle =
+        new LocalSourceHandle(
+            fragmentInstanceId,
+            fragmentInstanceId,
+            planNodeId,
+            queue,
+            new PipelineSourceHandleListenerImpl(instanceContext));
+    return new Pair<>(localSinkHandle, localSourceHandle);
+  }
+
   /**
    * Release all the related resources, including data blocks that are not yet fetched by downstream
    * fragment instances.
@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
 import org.apache.iotdb.db.mpp.common.SessionInfo;
 import org.apache.iotdb.db.mpp.execution.driver.DriverContext;
+import org.apache.iotdb.db.mpp.execution.memory.MemoryPool;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.query.context.QueryContext;
@@ -45,12 +46,18 @@ public class FragmentInstanceContext extends QueryContext {
   private static final long END_TIME_INITIAL_VALUE = -1L;
   private final FragmentInstanceId id;
 
-  // TODO if we split one fragment instance into multiple pipelines to run, we need to replace it
-  // with CopyOnWriteArrayList or some other thread safe data structure
+  // the operator contexts of all pipelines of the fragment instance, which are all added while
+  // planning before the pipelines run, so it's not necessary to be thread safe
   private final List<OperatorContext> operatorContexts = new ArrayList<>();
 
   private DriverContext driverContext;
 
+  // the query memory pool reserved by the operators at runtime, null if not limited
+  private final MemoryPool memoryPool;
+  // bytes reserved by the operators of all pipelines at runtime, and the high-water mark of it
+  private final AtomicLong reservedBytes = new AtomicLong();
+  private final AtomicLong peakReservedBytes = new AtomicLong();
+
   private final FragmentInstanceStateMachine stateMachine;
 
   private final long createNanos = System.nanoTime();
@@ -74,9 +81,12 @@ public class FragmentInstanceContext extends QueryContext {
   //    private final AtomicLong endFullGcTimeNanos = new AtomicLong(-1);
 
   public static FragmentInstanceContext createFragmentInstanceContext(
-      FragmentInstanceId id, FragmentInstanceStateMachine stateMachine, SessionInfo sessionInfo) {
+      FragmentInstanceId id,
+      FragmentInstanceStateMachine stateMachine,
+      SessionInfo sessionInfo,
+      MemoryPool memoryPool) {
     FragmentInstanceContext instanceContext =
-        new FragmentInstanceContext(id, stateMachine, sessionInfo);
+        new FragmentInstanceContext(id, stateMachine, sessionInfo, memoryPool);
     instanceContext.initialize();
     instanceContext.start();
     return instanceContext;
@@ -87,11 +97,15 @@ public class FragmentInstanceContext extends QueryContext {
   }
 
   private FragmentInstanceContext(
-      FragmentInstanceId id, FragmentInstanceStateMachine stateMachine, SessionInfo sessionInfo) {
+      FragmentInstanceId id,
+      FragmentInstanceStateMachine stateMachine,
+      SessionInfo sessionInfo,
+      MemoryPool memoryPool) {
     this.id = id;
     this.stateMachine = stateMachine;
     this.executionEndTime.set(END_TIME_INITIAL_VALUE);
     this.sessionInfo = sessionInfo;
+    this.memoryPool = memoryPool;
   }
 
   @TestOnly
@@ -99,7 +113,7 @@ public class FragmentInstanceContext extends QueryContext {
       FragmentInstanceId id, FragmentInstanceStateMachine stateMachine) {
     FragmentInstanceContext instanceContext =
         new FragmentInstanceContext(
-            id, stateMachine, new SessionInfo(1, "test", ZoneId.systemDefault().getId()));
+            id, stateMachine, new SessionInfo(1, "test", ZoneId.systemDefault().getId()), null);
     instanceContext.initialize();
     instanceContext.start();
     return instanceContext;
@@ -110,6 +124,7 @@ public class FragmentInstanceContext extends QueryContext {
     this.queryId = queryId;
     this.id = null;
     this.stateMachine = null;
+    this.memoryPool = null;
   }
 
   public void start() {
@@ -143,6 +158,14 @@ public class FragmentInstanceContext extends QueryContext {
       // were a duplicate notification, which shouldn't happen
       executionEndTime.compareAndSet(END_TIME_INITIAL_VALUE, now);
       endNanos.compareAndSet(0, System.nanoTime());
+
+      // the operators may not be closed if the fragment instance is aborted
+      operatorContexts.forEach(OperatorContext::closeMemoryContext);
+      LOGGER.debug(
+          "Fragment instance {} is {}, peak reserved memory of operators: {} bytes",
+          id,
+          newState,
+          peakReservedBytes.get());
     }
   }
 
@@ -163,6 +186,26 @@ public class FragmentInstanceContext extends QueryContext {
     return operatorContext;
   }
 
+  public MemoryPool getMemoryPool() {
+    return memoryPool;
+  }
+
+  /** Called by the operators after they reserve (positive delta) or free memory at runtime. */
+  public void updateReservedBytes(long delta) {
+    long bytes = reservedBytes.addAndGet(delta);
+    peakReservedBytes.accumulateAndGet(bytes, Math::max);
+  }
+
+  /** @return bytes reserved by the operators at runtime */
+  public long getReservedBytes() {
+    return reservedBytes.get();
+  }
+
+  /** @return the high-water mark of the bytes reserved by the operators at runtime */
+  public long getPeakReservedBytes() {
+    return peakReservedBytes.get();
+  }
+
   public List<OperatorContext> getOperatorContexts() {
     return operatorContexts;
   }
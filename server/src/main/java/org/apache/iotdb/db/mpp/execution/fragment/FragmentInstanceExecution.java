@@ -20,7 +20,6 @@ package org.apache.iotdb.db.mpp.execution.fragment;
 
 import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
 import org.apache.iotdb.db.mpp.execution.driver.IDriver;
-import org.apache.iotdb.db.mpp.execution.exchange.ISinkHandle;
 import org.apache.iotdb.db.mpp.execution.schedule.IDriverScheduler;
 import org.apache.iotdb.db.utils.SetThreadName;
 
@@ -29,6 +28,8 @@ import io.airlift.stats.CounterStat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 import static java.util.Objects.requireNonNull;
 import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceState.FAILED;
 
@@ -38,11 +39,8 @@ public class FragmentInstanceExecution {
   private final FragmentInstanceId instanceId;
   private final FragmentInstanceContext context;
 
-  // it will be set to null while this FI is FINISHED
-  private IDriver driver;
-
-  // it will be set to null while this FI is FINISHED
-  private ISinkHandle sinkHandle;
+  // the first one sends the results of this FI, it will be set to null while this FI is FINISHED
+  private List<IDriver> drivers;
 
   private final FragmentInstanceStateMachine stateMachine;
 
@@ -56,23 +54,44 @@ public class FragmentInstanceExecution {
       FragmentInstanceStateMachine stateMachine,
       CounterStat failedInstances,
       long timeOut) {
+    return createFragmentInstanceExecution(
+        scheduler,
+        instanceId,
+        context,
+        ImmutableList.of(driver),
+        stateMachine,
+        failedInstances,
+        timeOut);
+  }
+
+  /**
+   * @param drivers the drivers of the pipelines of the FI, the first one sends the results of the
+   *     FI and the others send their results to the local exchanges between the pipelines
+   */
+  public static FragmentInstanceExecution createFragmentInstanceExecution(
+      IDriverScheduler scheduler,
+      FragmentInstanceId instanceId,
+      FragmentInstanceContext context,
+      List<IDriver> drivers,
+      FragmentInstanceStateMachine stateMachine,
+      CounterStat failedInstances,
+      long timeOut) {
     FragmentInstanceExecution execution =
-        new FragmentInstanceExecution(instanceId, context, driver, stateMachine);
+        new FragmentInstanceExecution(instanceId, context, drivers, stateMachine);
     execution.initialize(failedInstances, scheduler);
     LOGGER.debug("timeout is {}ms.", timeOut);
-    scheduler.submitDrivers(instanceId.getQueryId(), ImmutableList.of(driver), timeOut);
+    scheduler.submitDrivers(instanceId.getQueryId(), drivers, timeOut);
     return execution;
   }
 
   private FragmentInstanceExecution(
       FragmentInstanceId instanceId,
       FragmentInstanceContext context,
-      IDriver driver,
+      List<IDriver> drivers,
       FragmentInstanceStateMachine stateMachine) {
     this.instanceId = instanceId;
     this.context = context;
-    this.driver = driver;
-    this.sinkHandle = driver.getSinkHandle();
+    this.drivers = drivers;
     this.stateMachine = stateMachine;
   }
 
@@ -115,18 +134,18 @@ public class FragmentInstanceExecution {
               failedInstances.update(1);
             }
 
-            if (newState.isFailed()) {
-              sinkHandle.abort();
-            } else {
-              sinkHandle.close();
+            for (IDriver driver : drivers) {
+              if (newState.isFailed()) {
+                driver.getSinkHandle().abort();
+              } else {
+                driver.getSinkHandle().close();
+              }
             }
+            // close the drivers after sinkHandles are aborted or closed because in driver.close()
+            // it will try to call ISinkHandle.setNoMoreTsBlocks()
+            drivers.forEach(IDriver::close);
             // help for gc
-            sinkHandle = null;
-            // close the driver after sinkHandle is aborted or closed because in driver.close() it
-            // will try to call ISinkHandle.setNoMoreTsBlocks()
-            driver.close();
-            // help for gc
-            driver = null;
+            drivers = null;
             if (newState.isFailed()) {
               scheduler.abortFragmentInstance(instanceId);
             }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.execution.memory;
+
+import org.apache.iotdb.db.mpp.exception.MemoryNotEnoughRuntimeException;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Tracks the memory an operator uses at runtime, whose size depends on the data and can't be
+ * estimated before execution, e.g. the rows cached by sort. The memory is reserved from the query
+ * memory pool as the operator grows, so it is bounded by max_bytes_per_query.
+ *
+ * <p>Two kinds of memory are tracked. User memory can only be freed by the operator itself, if it
+ * can't be reserved the query fails. Revocable memory can be freed at any time by spilling it to
+ * disk, see {@link org.apache.iotdb.db.mpp.execution.operator.SpillableOperator}.
+ *
+ * <p>It's used by the driver thread of the operator, and closed when the fragment instance is done.
+ */
+public class OperatorMemoryContext {
+
+  private final FragmentInstanceContext instanceContext;
+  private final String operatorType;
+
+  // bytes reserved from the memory pool
+  private long userBytes;
+  private long revocableBytes;
+  private boolean closed;
+
+  public OperatorMemoryContext(FragmentInstanceContext instanceContext, String operatorType) {
+    this.instanceContext = instanceContext;
+    this.operatorType = operatorType;
+  }
+
+  /**
+   * Set the user memory of the operator to the given size, the difference from the last size is
+   * reserved from or freed to the memory pool.
+   *
+   * @throws MemoryNotEnoughRuntimeException if the memory can't be reserved
+   */
+  public synchronized void setBytes(long bytes) {
+    checkArgument(bytes >= 0, "bytes is negative: %s", bytes);
+    if (closed) {
+      return;
+    }
+    if (!tryReserve(bytes - userBytes)) {
+      throw new MemoryNotEnoughRuntimeException(
+          String.format(
+              "There is not enough memory for %s of query %s, reserved: %d, required: %d",
+              operatorType,
+              instanceContext.getId().getQueryId(),
+              instanceContext.getReservedBytes(),
+              bytes - userBytes));
+    }
+    userBytes = bytes;
+  }
+
+  /**
+   * Try to set the revocable memory of the operator to the given size. If the memory can't be
+   * reserved, the operator should spill the revocable data and set its size to 0.
+   *
+   * @return false if the memory can't be reserved, in which case the reservation is not changed
+   */
+  public synchronized boolean trySetRevocableBytes(long bytes) {
+    checkArgument(bytes >= 0, "bytes is negative: %s", bytes);
+    if (closed) {
+      return true;
+    }
+    if (!tryReserve(bytes - revocableBytes)) {
+      return false;
+    }
+    revocableBytes = bytes;
+    return true;
+  }
+
+  private boolean tryReserve(long delta) {
+    if (delta == 0) {
+      return true;
+    }
+    MemoryPool memoryPool = instanceContext.getMemoryPool();
+    String queryId = instanceContext.getId().getQueryId().getId();
+    if (delta > 0) {
+      if (memoryPool != null
+          && (delta > memoryPool.getMaxBytesPerQuery() || !memoryPool.tryReserve(queryId, delta))) {
+        return false;
+      }
+    } else if (memoryPool != null) {
+      memoryPool.free(queryId, -delta);
+    }
+    instanceContext.updateReservedBytes(delta);
+    return true;
+  }
+
+  public synchronized long getBytes() {
+    return userBytes;
+  }
+
+  public synchronized long getRevocableBytes() {
+    return revocableBytes;
+  }
+
+  /** Free all the memory of the operator, the sizes set after closed are ignored. */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    tryReserve(-(userBytes + revocableBytes));
+    userBytes = 0;
+    revocableBytes = 0;
+    closed = true;
+  }
+}
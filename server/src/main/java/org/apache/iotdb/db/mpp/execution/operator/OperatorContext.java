@@ -20,6 +20,7 @@ package org.apache.iotdb.db.mpp.execution.operator;
 
 import org.apache.iotdb.db.mpp.common.SessionInfo;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.memory.OperatorMemoryContext;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
 
 import io.airlift.units.Duration;
@@ -39,6 +40,8 @@ public class OperatorContext {
   private final FragmentInstanceContext instanceContext;
 
   private Duration maxRunTime;
+  // created when the operator reserves memory at runtime for the first time
+  private volatile OperatorMemoryContext memoryContext;
 
   public OperatorContext(
       int operatorId,
@@ -71,6 +74,26 @@ public class OperatorContext {
     this.maxRunTime = maxRunTime;
   }
 
+  /** @return the runtime memory context of the operator, created on the first call */
+  public OperatorMemoryContext getMemoryContext() {
+    if (memoryContext == null) {
+      synchronized (this) {
+        if (memoryContext == null) {
+          memoryContext = new OperatorMemoryContext(instanceContext, operatorType);
+        }
+      }
+    }
+    return memoryContext;
+  }
+
+  /** Free the runtime memory of the operator, it's a no-op if the operator never reserved any. */
+  public void closeMemoryContext() {
+    OperatorMemoryContext context = memoryContext;
+    if (context != null) {
+      context.close();
+    }
+  }
+
   public SessionInfo getSessionInfo() {
     return instanceContext.getSessionInfo();
   }
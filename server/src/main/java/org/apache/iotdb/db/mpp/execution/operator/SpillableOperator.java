@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.execution.operator;
+
+import java.io.IOException;
+
+/**
+ * A blocking operator which caches its input in revocable memory, e.g. sort. When the revocable
+ * memory can't be reserved by {@link
+ * org.apache.iotdb.db.mpp.execution.memory.OperatorMemoryContext#trySetRevocableBytes(long)}, the
+ * operator spills the cached data to disk and reads it back when producing the output.
+ */
+public interface SpillableOperator extends Operator {
+
+  /**
+   * Write all the data held in revocable memory to disk, after that the revocable memory of the
+   * operator is freed.
+   */
+  void spill() throws IOException;
+
+  /** @return the number of bytes spilled to disk by this operator */
+  long getSpilledBytes();
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.execution.operator.process;
+
+import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class of the operators which reorder the rows of their input by the sort items of ORDER BY.
+ *
+ * <p>Rows are copied out of the input TsBlocks so that the input TsBlocks can be released once they
+ * are consumed. A row is an Object array whose first element is the timestamp and the rest are the
+ * values of each value column, null values are kept as null.
+ */
+public abstract class AbstractSortOperator implements ProcessOperator {
+
+  /** Index of the timestamp in a row, value column i is stored at i + 1. */
+  public static final int TIME_INDEX = -1;
+
+  protected final OperatorContext operatorContext;
+  protected final List<TSDataType> dataTypes;
+  protected final Comparator<Object[]> comparator;
+
+  protected final TsBlockBuilder tsBlockBuilder;
+
+  // sorted rows waiting to be output, null before all the input is consumed
+  private Object[][] sortedRows;
+  private int outputIndex;
+
+  protected AbstractSortOperator(
+      OperatorContext operatorContext,
+      List<TSDataType> dataTypes,
+      Comparator<Object[]> comparator) {
+    this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
+    this.dataTypes = dataTypes;
+    this.comparator = requireNonNull(comparator, "comparator is null");
+    this.tsBlockBuilder = new TsBlockBuilder(dataTypes);
+  }
+
+  /**
+   * Build the comparator of rows. The sort items with smaller index have higher priority and null
+   * values are always placed after the non-null ones.
+   *
+   * @param sortColumnIndexes index of the value column of each sort item, {@link #TIME_INDEX} for
+   *     the timestamp
+   * @param orderings ordering of each sort item
+   */
+  public static Comparator<Object[]> getComparator(
+      List<Integer> sortColumnIndexes, List<Ordering> orderings) {
+    int[] rowIndexes = new int[sortColumnIndexes.size()];
+    boolean[] isDesc = new boolean[sortColumnIndexes.size()];
+    for (int i = 0; i < rowIndexes.length; i++) {
+      rowIndexes[i] = sortColumnIndexes.get(i) + 1;
+      isDesc[i] = orderings.get(i) == Ordering.DESC;
+    }
+    return (left, right) -> {
+      for (int i = 0; i < rowIndexes.length; i++) {
+        int result = compareValue(left[rowIndexes[i]], right[rowIndexes[i]], isDesc[i]);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    };
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareValue(Object left, Object right, boolean isDesc) {
+    if (left == null) {
+      return right == null ? 0 : 1;
+    }
+    if (right == null) {
+      return -1;
+    }
+    int result = ((Comparable) left).compareTo(right);
+    return isDesc ? -result : result;
+  }
+
+  /** Copy the row at the given position of tsBlock into the given row. */
+  protected void readRow(TsBlock tsBlock, int position, Object[] row) {
+    row[0] = tsBlock.getTimeByIndex(position);
+    for (int i = 0; i < dataTypes.size(); i++) {
+      Column column = tsBlock.getColumn(i);
+      row[i + 1] = column.isNull(position) ? null : column.getObject(position);
+    }
+  }
+
+  protected Object[] newRow() {
+    return new Object[dataTypes.size() + 1];
+  }
+
+  /** Called once all the input is consumed, the given rows must be already sorted. */
+  protected void setSortedRows(Object[][] sortedRows) {
+    this.sortedRows = sortedRows;
+    this.outputIndex = 0;
+  }
+
+  protected boolean isSorted() {
+    return sortedRows != null;
+  }
+
+  protected boolean hasMoreSortedRows() {
+    return outputIndex < sortedRows.length;
+  }
+
+  /** Build the next TsBlock from the sorted rows, its size is limited by the TsBlockBuilder. */
+  protected TsBlock buildOutput() {
+    tsBlockBuilder.reset();
+    while (outputIndex < sortedRows.length && !tsBlockBuilder.isFull()) {
+      Object[] row = sortedRows[outputIndex];
+      // release the row as soon as it is output
+      sortedRows[outputIndex++] = null;
+      appendRow(row);
+    }
+    return tsBlockBuilder.build();
+  }
+
+  /** Append the row to the tsBlockBuilder. */
+  protected void appendRow(Object[] row) {
+    TimeColumnBuilder timeColumnBuilder = tsBlockBuilder.getTimeColumnBuilder();
+    ColumnBuilder[] valueColumnBuilders = tsBlockBuilder.getValueColumnBuilders();
+    timeColumnBuilder.writeLong((long) row[0]);
+    for (int i = 0; i < valueColumnBuilders.length; i++) {
+      if (row[i + 1] == null) {
+        valueColumnBuilders[i].appendNull();
+      } else {
+        valueColumnBuilders[i].writeObject(row[i + 1]);
+      }
+    }
+    tsBlockBuilder.declarePosition();
+  }
+
+  @Override
+  public OperatorContext getOperatorContext() {
+    return operatorContext;
+  }
+
+  @Override
+  public long calculateMaxReturnSize() {
+    // time + all value columns
+    return (1L + dataTypes.size()) * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+  }
+}
@@ -31,11 +31,8 @@ import org.apache.iotdb.db.mpp.transformation.dag.column.unary.UnaryColumnTransf
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
-import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
-import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
-import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
 
 import com.google.common.util.concurrent.ListenableFuture;
 
@@ -56,7 +53,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
 
   private List<ColumnTransformer> projectOutputTransformerList;
 
-  private final TsBlockBuilder filterTsBlockBuilder;
+  private final int filterOutputColumnCount;
 
   private final boolean hasNonMappableUDF;
 
@@ -84,7 +81,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
     this.projectLeafColumnTransformerList = projectLeafColumnTransformerList;
     this.projectOutputTransformerList = projectOutputTransformerList;
     this.hasNonMappableUDF = hasNonMappableUDF;
-    this.filterTsBlockBuilder = new TsBlockBuilder(8, filterOutputDataTypes);
+    this.filterOutputColumnCount = filterOutputDataTypes.size();
     this.hasFilter = hasFilter;
   }
 
@@ -132,46 +129,43 @@ public class FilterAndProjectOperator implements ProcessOperator {
 
     Column filterColumn = filterOutputTransformer.getColumn();
 
-    // reuse this builder
-    filterTsBlockBuilder.reset();
-
-    final TimeColumnBuilder timeBuilder = filterTsBlockBuilder.getTimeColumnBuilder();
-    final ColumnBuilder[] columnBuilders = filterTsBlockBuilder.getValueColumnBuilders();
+    // rows whose filter result is null are filtered out as well
+    boolean[] selection = new boolean[positionCount];
+    boolean mayHaveNull = filterColumn.mayHaveNull();
+    int selectedCount = 0;
+    for (int i = 0; i < positionCount; i++) {
+      selection[i] = !(mayHaveNull && filterColumn.isNull(i)) && filterColumn.getBoolean(i);
+      if (selection[i]) {
+        selectedCount++;
+      }
+    }
 
-    List<Column> resultColumns = new ArrayList<>();
-    for (int i = 0, n = input.getValueColumnCount(); i < n; i++) {
-      resultColumns.add(input.getColumn(i));
+    int valueColumnCount = input.getValueColumnCount();
+    Column[] resultColumns =
+        new Column[valueColumnCount + (hasNonMappableUDF ? 0 : commonTransformerList.size())];
+    for (int i = 0; i < valueColumnCount; i++) {
+      resultColumns[i] = input.getColumn(i);
     }
 
     // todo: remove this if, add calculated common sub expressions anyway
     if (!hasNonMappableUDF) {
       // get result of calculated common sub expressions
-      for (ColumnTransformer columnTransformer : commonTransformerList) {
-        resultColumns.add(columnTransformer.getColumn());
+      for (int i = 0, n = commonTransformerList.size(); i < n; i++) {
+        resultColumns[valueColumnCount + i] = commonTransformerList.get(i).getColumn();
       }
     }
 
-    // construct result TsBlock of filter
-    int rowCount = 0;
-    for (int i = 0, n = resultColumns.size(); i < n; i++) {
-      Column curColumn = resultColumns.get(i);
-      for (int j = 0; j < positionCount; j++) {
-        if (!filterColumn.isNull(j) && filterColumn.getBoolean(j)) {
-          if (i == 0) {
-            rowCount++;
-            timeBuilder.writeLong(originTimeColumn.getLong(j));
-          }
-          if (curColumn.isNull(j)) {
-            columnBuilders[i].appendNull();
-          } else {
-            columnBuilders[i].write(curColumn, j);
-          }
-        }
-      }
+    // construct result TsBlock of filter, all the columns are kept if all the rows are selected
+    if (selectedCount == positionCount) {
+      return TsBlock.wrapBlocksWithoutCopy(positionCount, originTimeColumn, resultColumns);
     }
-
-    filterTsBlockBuilder.declarePositions(rowCount);
-    return filterTsBlockBuilder.build();
+    for (int i = 0; i < resultColumns.length; i++) {
+      resultColumns[i] = resultColumns[i].selectPositions(selection, selectedCount);
+    }
+    return TsBlock.wrapBlocksWithoutCopy(
+        selectedCount,
+        (TimeColumn) originTimeColumn.selectPositions(selection, selectedCount),
+        resultColumns);
   }
 
   private TsBlock getTransformedTsBlock(TsBlock input) {
@@ -258,7 +252,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
       return (long) (1 + projectOutputTransformerList.size())
           * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
     } else {
-      return (long) (1 + filterTsBlockBuilder.getValueColumnBuilders().length)
+      return (long) (1 + filterOutputColumnCount)
           * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
     }
   }
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.mpp.execution.operator.process;
 
 import org.apache.iotdb.db.mpp.aggregation.Aggregator;
+import org.apache.iotdb.db.mpp.aggregation.slidingwindow.SlidingWindowAggregator;
 import org.apache.iotdb.db.mpp.aggregation.timerangeiterator.ITimeRangeIterator;
 import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
@@ -94,10 +95,22 @@ public class SlidingWindowAggregationOperator extends SingleInputAggregationOper
 
     // update result using aggregators
     updateResultTsBlock();
+    reserveCachedResults();
 
     return true;
   }
 
+  /** The partial results cached by the aggregators are reserved as the memory of the operator. */
+  private void reserveCachedResults() {
+    long cachedResultsSize = 0;
+    for (Aggregator aggregator : aggregators) {
+      if (aggregator instanceof SlidingWindowAggregator) {
+        cachedResultsSize += ((SlidingWindowAggregator) aggregator).estimateCachedResultsSize();
+      }
+    }
+    operatorContext.getMemoryContext().setBytes(cachedResultsSize);
+  }
+
   /** @return if already get the result */
   private boolean isCalculationDone() {
     if (curSubTimeRange == null && !subTimeRangeIterator.hasNextTimeRange()) {
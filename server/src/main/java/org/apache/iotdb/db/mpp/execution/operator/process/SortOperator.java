@@ -7,7 +7,7 @@
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
  *
- *      http://www.apache.org/licenses/LICENSE-2.0
+ *     http://www.apache.org/licenses/LICENSE-2.0
  *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
@@ -16,57 +16,437 @@
  * specific language governing permissions and limitations
  * under the License.
  */
+
 package org.apache.iotdb.db.mpp.execution.operator.process;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.execution.memory.OperatorMemoryContext;
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.execution.operator.SpillableOperator;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class SortOperator implements ProcessOperator {
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 
-  @Override
-  public OperatorContext getOperatorContext() {
-    return null;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * SortOperator consumes all the rows of its child and outputs them in the order of the comparator.
+ * It is used for ORDER BY without LIMIT, ORDER BY with LIMIT is executed by {@link TopKOperator}
+ * which only keeps the top rows.
+ *
+ * <p>The memory to read {@code maxMergeRunNum} runs while merging is reserved as user memory before
+ * caching any row, and the first rows are cached in it, so that each spilled run is at least that
+ * large. The other cached rows are held in revocable memory. If it can't be reserved from the query
+ * memory pool, the cached rows are sorted and spilled to a run file. When all the input is
+ * consumed, consecutive runs are merged into longer ones until there are at most {@code
+ * maxMergeRunNum} runs, which are then merged into the output.
+ */
+public class SortOperator extends AbstractSortOperator implements SpillableOperator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SortOperator.class);
+
+  private static final String SPILL_FOLDER_NAME = "sort";
+
+  // estimated size of a boxed value in a row
+  private static final long VALUE_SIZE =
+      RamUsageEstimator.NUM_BYTES_OBJECT_REF
+          + RamUsageEstimator.NUM_BYTES_OBJECT_HEADER
+          + RamUsageEstimator.NUM_BYTES_LONG;
+
+  // the default number of runs merged at a time
+  private static final int DEFAULT_MAX_MERGE_RUN_NUM = 16;
+  // buffer size of the input stream of a run
+  private static final int RUN_INPUT_BUFFER_SIZE = 8192;
+  // a deserialized TsBlock, its serialized bytes and the buffer of the input stream
+  private static final long DEFAULT_RUN_BUFFER_BYTES =
+      2L * TSFileDescriptor.getInstance().getConfig().getMaxTsBlockSizeInBytes()
+          + RUN_INPUT_BUFFER_SIZE;
+
+  private final Operator child;
+
+  private final int maxMergeRunNum;
+  // memory reserved for the first cached rows and the merge buffers
+  private final long mergeMemoryBytes;
+  private boolean mergeMemoryReserved = false;
+
+  private List<Object[]> cachedRows = new ArrayList<>();
+  private long cachedRowsSize;
+
+  private final TsBlockSerde serde = new TsBlockSerde();
+  // the runs in the order of input, so that merging consecutive runs keeps the sort stable
+  private final List<File> spilledRuns = new ArrayList<>();
+  private int runFileNum;
+  // index of the first run to merge in the current pass of the intermediate merging
+  private int mergeIndex;
+  private long spilledBytes;
+  // not null while merging the spilled runs
+  private PriorityQueue<SpilledRunReader> mergingRuns;
+
+  public SortOperator(
+      OperatorContext operatorContext,
+      Operator child,
+      List<TSDataType> dataTypes,
+      Comparator<Object[]> comparator) {
+    this(
+        operatorContext,
+        child,
+        dataTypes,
+        comparator,
+        defaultMaxMergeRunNum(),
+        DEFAULT_RUN_BUFFER_BYTES);
+  }
+
+  /**
+   * @param maxMergeRunNum the max number of runs merged at a time, at least 2
+   * @param runBufferBytes the memory to read a run while merging
+   */
+  public SortOperator(
+      OperatorContext operatorContext,
+      Operator child,
+      List<TSDataType> dataTypes,
+      Comparator<Object[]> comparator,
+      int maxMergeRunNum,
+      long runBufferBytes) {
+    super(operatorContext, dataTypes, comparator);
+    this.child = requireNonNull(child, "child operator is null");
+    checkArgument(maxMergeRunNum >= 2, "maxMergeRunNum is less than 2: %s", maxMergeRunNum);
+    this.maxMergeRunNum = maxMergeRunNum;
+    this.mergeMemoryBytes = maxMergeRunNum * runBufferBytes;
+  }
+
+  // the merge buffers take at most half of the memory of a query
+  private static int defaultMaxMergeRunNum() {
+    long maxBytesPerQuery = IoTDBDescriptor.getInstance().getConfig().getMaxBytesPerQuery();
+    return (int)
+        Math.max(
+            2,
+            Math.min(DEFAULT_MAX_MERGE_RUN_NUM, maxBytesPerQuery / 2 / DEFAULT_RUN_BUFFER_BYTES));
   }
 
   @Override
   public ListenableFuture<?> isBlocked() {
-    return ProcessOperator.super.isBlocked();
+    return isSorted() || mergingRuns != null ? NOT_BLOCKED : child.isBlocked();
   }
 
   @Override
   public TsBlock next() {
-    return null;
+    try {
+      if (mergingRuns != null) {
+        return mergeRuns();
+      }
+      if (!isSorted()) {
+        if (child.hasNext()) {
+          cacheRows(child.next());
+          return null;
+        }
+        if (!spilledRuns.isEmpty()) {
+          // the last run is spilled too, so that all the rows are merged in the same way
+          spill();
+          if (spilledRuns.size() > maxMergeRunNum) {
+            mergeIntermediateRuns();
+          } else {
+            mergingRuns = openRuns(spilledRuns);
+          }
+          return null;
+        }
+        Object[][] rows = cachedRows.toArray(new Object[0][]);
+        cachedRows = null;
+        // stable, so that the rows with the same sort keys keep the order of input
+        Arrays.sort(rows, comparator);
+        setSortedRows(rows);
+      }
+      return hasMoreSortedRows() ? buildOutput() : null;
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while spilling the rows of sort", e);
+    }
+  }
+
+  private void cacheRows(TsBlock tsBlock) throws IOException {
+    if (tsBlock == null) {
+      return;
+    }
+    if (!mergeMemoryReserved) {
+      // fail fast if even the merge buffers can't be reserved
+      operatorContext.getMemoryContext().setBytes(mergeMemoryBytes);
+      mergeMemoryReserved = true;
+    }
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      Object[] row = newRow();
+      readRow(tsBlock, i, row);
+      cachedRows.add(row);
+      cachedRowsSize += estimateRowSize(row);
+    }
+    // the rows within the reserved user memory are not revocable, so the runs are never too short
+    if (!operatorContext
+        .getMemoryContext()
+        .trySetRevocableBytes(Math.max(0, cachedRowsSize - mergeMemoryBytes))) {
+      spill();
+    }
+  }
+
+  private static long estimateRowSize(Object[] row) {
+    long size = RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + row.length * VALUE_SIZE;
+    for (Object value : row) {
+      if (value instanceof Binary) {
+        size += RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + ((Binary) value).getLength();
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void spill() throws IOException {
+    if (cachedRows.isEmpty()) {
+      return;
+    }
+    cachedRows.sort(comparator);
+    File runFile = getRunFile(runFileNum++);
+    spilledRuns.add(runFile);
+    try (DataOutputStream output = openRunOutput(runFile)) {
+      int index = 0;
+      while (index < cachedRows.size()) {
+        tsBlockBuilder.reset();
+        while (index < cachedRows.size() && !tsBlockBuilder.isFull()) {
+          appendRow(cachedRows.get(index++));
+        }
+        writeTsBlock(output, tsBlockBuilder.build());
+      }
+    }
+    spilledBytes += runFile.length();
+    LOGGER.debug("Spilled {} rows of sort to {}", cachedRows.size(), runFile);
+    cachedRows = new ArrayList<>();
+    cachedRowsSize = 0;
+    operatorContext.getMemoryContext().trySetRevocableBytes(0);
+  }
+
+  private File getRunFile(int runIndex) throws IOException {
+    File folder =
+        new File(IoTDBDescriptor.getInstance().getConfig().getQueryDir(), SPILL_FOLDER_NAME);
+    FileUtils.forceMkdir(folder);
+    return new File(
+        folder,
+        String.format(
+            "%s-%d-%d",
+            operatorContext.getInstanceContext().getId().getFullId(),
+            operatorContext.getOperatorId(),
+            runIndex));
+  }
+
+  private DataOutputStream openRunOutput(File runFile) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile)));
+  }
+
+  private void writeTsBlock(DataOutputStream output, TsBlock tsBlock) throws IOException {
+    ByteBuffer buffer = serde.serialize(tsBlock);
+    output.writeInt(buffer.remaining());
+    output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+  }
+
+  private PriorityQueue<SpilledRunReader> openRuns(List<File> runs) throws IOException {
+    // the rows with the same sort keys are output in the order of runs, so the sort is stable
+    PriorityQueue<SpilledRunReader> readers =
+        new PriorityQueue<>(
+            runs.size(),
+            (left, right) -> {
+              int result = comparator.compare(left.getRow(), right.getRow());
+              return result != 0 ? result : Integer.compare(left.runIndex, right.runIndex);
+            });
+    try {
+      for (int i = 0; i < runs.size(); i++) {
+        SpilledRunReader reader = new SpilledRunReader(i, runs.get(i));
+        if (reader.advance()) {
+          readers.add(reader);
+        } else {
+          reader.close();
+        }
+      }
+    } catch (IOException e) {
+      closeRuns(readers);
+      throw e;
+    }
+    return readers;
+  }
+
+  private static void closeRuns(PriorityQueue<SpilledRunReader> readers) throws IOException {
+    for (SpilledRunReader reader : readers) {
+      reader.close();
+    }
+    readers.clear();
+  }
+
+  /**
+   * Merge at most maxMergeRunNum consecutive runs into one run, which takes their place in the
+   * spilled runs. Each call merges a group, and the groups of a pass cover all the runs from the
+   * first one, so the runs are merged level by level like the passes of an external merge sort.
+   */
+  private void mergeIntermediateRuns() throws IOException {
+    if (mergeIndex + 1 >= spilledRuns.size()) {
+      // the last run of a pass has nothing to merge with, start the next pass
+      mergeIndex = 0;
+    }
+    List<File> runs =
+        spilledRuns.subList(mergeIndex, Math.min(mergeIndex + maxMergeRunNum, spilledRuns.size()));
+    File mergedRun = getRunFile(runFileNum++);
+    PriorityQueue<SpilledRunReader> readers = openRuns(runs);
+    try (DataOutputStream output = openRunOutput(mergedRun)) {
+      while (!readers.isEmpty()) {
+        writeTsBlock(output, mergeRuns(readers));
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(mergedRun.toPath());
+      throw e;
+    } finally {
+      closeRuns(readers);
+    }
+    spilledBytes += mergedRun.length();
+    LOGGER.debug("Merged {} runs of sort into {}", runs.size(), mergedRun);
+    for (File runFile : runs) {
+      Files.deleteIfExists(runFile.toPath());
+    }
+    runs.clear();
+    spilledRuns.add(mergeIndex++, mergedRun);
+  }
+
+  private TsBlock mergeRuns() throws IOException {
+    TsBlock tsBlock = mergeRuns(mergingRuns);
+    return tsBlock.isEmpty() ? null : tsBlock;
+  }
+
+  private TsBlock mergeRuns(PriorityQueue<SpilledRunReader> readers) throws IOException {
+    tsBlockBuilder.reset();
+    while (!readers.isEmpty() && !tsBlockBuilder.isFull()) {
+      SpilledRunReader reader = readers.poll();
+      appendRow(reader.getRow());
+      if (reader.advance()) {
+        readers.add(reader);
+      } else {
+        reader.close();
+      }
+    }
+    return tsBlockBuilder.build();
+  }
+
+  @Override
+  public long getSpilledBytes() {
+    return spilledBytes;
   }
 
   @Override
   public boolean hasNext() {
-    return false;
+    if (mergingRuns != null) {
+      return !mergingRuns.isEmpty();
+    }
+    return !isSorted() || hasMoreSortedRows();
   }
 
   @Override
   public void close() throws Exception {
-    ProcessOperator.super.close();
+    if (mergingRuns != null) {
+      closeRuns(mergingRuns);
+    }
+    for (File runFile : spilledRuns) {
+      Files.deleteIfExists(runFile.toPath());
+    }
+    spilledRuns.clear();
+    OperatorMemoryContext memoryContext = operatorContext.getMemoryContext();
+    if (memoryContext != null) {
+      memoryContext.close();
+    }
+    child.close();
   }
 
   @Override
   public boolean isFinished() {
-    return false;
+    if (mergingRuns != null) {
+      return mergingRuns.isEmpty();
+    }
+    return isSorted() && !hasMoreSortedRows();
   }
 
   @Override
   public long calculateMaxPeekMemory() {
-    return 0;
+    // the cached rows are not counted since their number is unknown before execution, they are
+    // reserved at runtime instead
+    return Math.max(
+        child.calculateMaxPeekMemory(),
+        calculateMaxReturnSize()
+            + child.calculateMaxReturnSize()
+            + child.calculateRetainedSizeAfterCallingNext());
   }
 
   @Override
-  public long calculateMaxReturnSize() {
-    return 0;
+  public long calculateRetainedSizeAfterCallingNext() {
+    return child.calculateMaxReturnSize() + child.calculateRetainedSizeAfterCallingNext();
   }
 
-  @Override
-  public long calculateRetainedSizeAfterCallingNext() {
-    return 0;
+  /** Reads the rows of a spilled run in order, one TsBlock is loaded at a time. */
+  private class SpilledRunReader {
+
+    private final int runIndex;
+    private final DataInputStream input;
+
+    private TsBlock tsBlock;
+    private int position;
+    private final Object[] row = newRow();
+
+    private SpilledRunReader(int runIndex, File runFile) throws IOException {
+      this.runIndex = runIndex;
+      this.input =
+          new DataInputStream(
+              new BufferedInputStream(new FileInputStream(runFile), RUN_INPUT_BUFFER_SIZE));
+    }
+
+    private Object[] getRow() {
+      return row;
+    }
+
+    /** @return false if there is no more rows in the run */
+    private boolean advance() throws IOException {
+      while (tsBlock == null || position >= tsBlock.getPositionCount()) {
+        int length;
+        try {
+          length = input.readInt();
+        } catch (EOFException e) {
+          return false;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        tsBlock = serde.deserialize(ByteBuffer.wrap(bytes));
+        position = 0;
+      }
+      readRow(tsBlock, position++, row);
+      return true;
+    }
+
+    private void close() throws IOException {
+      input.close();
+    }
   }
 }
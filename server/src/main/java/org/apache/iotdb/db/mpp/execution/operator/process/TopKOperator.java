@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.execution.operator.process;
+
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
+import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Futures.successfulAsList;
+
+/**
+ * TopKOperator outputs the first topValue rows of all its children in the order of the comparator,
+ * it is used for ORDER BY with LIMIT (and OFFSET).
+ *
+ * <p>Only topValue rows are kept in a heap whose head is the last one of the current top rows, a
+ * new row is dropped directly if it is not before the head. So the memory cost is proportional to
+ * topValue rather than the number of input rows. The children can be TopKOperators of other
+ * DataRegions, in which case each of them only transfers its own top rows.
+ */
+public class TopKOperator extends AbstractSortOperator {
+
+  private static final int INITIAL_HEAP_CAPACITY = 1024;
+
+  private final List<Operator> children;
+  private final int inputOperatorsCount;
+  private final boolean[] noMoreTsBlocks;
+
+  private final int topValue;
+  // the head is the last row of the current top rows
+  private PriorityQueue<Object[]> topRows;
+  // reused to read rows which may not be kept
+  private Object[] probeRow;
+
+  public TopKOperator(
+      OperatorContext operatorContext,
+      List<Operator> children,
+      List<TSDataType> dataTypes,
+      Comparator<Object[]> comparator,
+      int topValue) {
+    super(operatorContext, dataTypes, comparator);
+    checkArgument(topValue > 0, "topValue must be greater than zero");
+    this.children = children;
+    this.inputOperatorsCount = children.size();
+    this.noMoreTsBlocks = new boolean[inputOperatorsCount];
+    this.topValue = topValue;
+    this.topRows =
+        new PriorityQueue<>(Math.min(topValue, INITIAL_HEAP_CAPACITY), comparator.reversed());
+    this.probeRow = newRow();
+  }
+
+  @Override
+  public ListenableFuture<?> isBlocked() {
+    if (isSorted()) {
+      return NOT_BLOCKED;
+    }
+    List<ListenableFuture<?>> listenableFutures = new ArrayList<>();
+    for (int i = 0; i < inputOperatorsCount; i++) {
+      if (!noMoreTsBlocks[i]) {
+        ListenableFuture<?> blocked = children.get(i).isBlocked();
+        if (!blocked.isDone()) {
+          listenableFutures.add(blocked);
+        }
+      }
+    }
+    return listenableFutures.isEmpty() ? NOT_BLOCKED : successfulAsList(listenableFutures);
+  }
+
+  @Override
+  public TsBlock next() {
+    if (!isSorted()) {
+      boolean allConsumed = true;
+      for (int i = 0; i < inputOperatorsCount; i++) {
+        if (noMoreTsBlocks[i]) {
+          continue;
+        }
+        Operator child = children.get(i);
+        if (!child.hasNext()) {
+          noMoreTsBlocks[i] = true;
+          continue;
+        }
+        allConsumed = false;
+        if (child.isBlocked().isDone()) {
+          TsBlock tsBlock = child.next();
+          if (tsBlock != null) {
+            processTsBlock(tsBlock);
+          }
+        }
+      }
+      if (!allConsumed) {
+        return null;
+      }
+      Object[][] rows = new Object[topRows.size()][];
+      for (int i = rows.length - 1; i >= 0; i--) {
+        rows[i] = topRows.poll();
+      }
+      topRows = null;
+      probeRow = null;
+      setSortedRows(rows);
+    }
+    return hasMoreSortedRows() ? buildOutput() : null;
+  }
+
+  private void processTsBlock(TsBlock tsBlock) {
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      readRow(tsBlock, i, probeRow);
+      if (topRows.size() < topValue) {
+        topRows.offer(probeRow);
+        probeRow = newRow();
+      } else if (comparator.compare(probeRow, topRows.peek()) < 0) {
+        // reuse the evicted row to read the next one
+        Object[] evictedRow = topRows.poll();
+        topRows.offer(probeRow);
+        probeRow = evictedRow;
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !isSorted() || hasMoreSortedRows();
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Operator child : children) {
+      child.close();
+    }
+  }
+
+  @Override
+  public boolean isFinished() {
+    return isSorted() && !hasMoreSortedRows();
+  }
+
+  @Override
+  public long calculateMaxPeekMemory() {
+    long maxPeekMemory = calculateMaxReturnSize() + calculateRetainedSizeAfterCallingNext();
+    for (Operator child : children) {
+      maxPeekMemory = Math.max(maxPeekMemory, child.calculateMaxPeekMemory());
+    }
+    return maxPeekMemory;
+  }
+
+  @Override
+  public long calculateRetainedSizeAfterCallingNext() {
+    // the top rows, with each value estimated as a long, and the TsBlocks of the children
+    long retainedSize = (long) topValue * (1 + dataTypes.size()) * Long.BYTES;
+    for (Operator child : children) {
+      retainedSize +=
+          child.calculateMaxReturnSize() + child.calculateRetainedSizeAfterCallingNext();
+    }
+    return retainedSize;
+  }
+}
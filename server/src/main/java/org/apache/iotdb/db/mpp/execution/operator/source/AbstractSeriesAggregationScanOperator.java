@@ -31,11 +31,16 @@ import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.filter.GroupByFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.utils.Pair;
 
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -68,6 +73,14 @@ public abstract class AbstractSeriesAggregationScanOperator implements DataSourc
 
   protected boolean finished = false;
 
+  // whether the rollup windows of the files can be used, they can't for the windows by month or the
+  // overlapping sliding windows, which are split into the sub-windows iterated by the scan
+  private final boolean canUseRollup;
+  // the filter of the aggregation windows, which the used rollup windows must be contained by
+  private final Filter windowFilter;
+  // the remaining rollup windows of the last skipped file in scan order
+  private final Deque<Statistics<? extends Serializable>> rollupStatistics = new ArrayDeque<>();
+
   private final long maxRetainedSize;
   private final long maxReturnSize;
 
@@ -96,6 +109,24 @@ public abstract class AbstractSeriesAggregationScanOperator implements DataSourc
     }
     this.resultTsBlockBuilder = new TsBlockBuilder(dataTypes);
 
+    this.canUseRollup =
+        groupByTimeParameter == null
+            || !(groupByTimeParameter.isIntervalByMonth()
+                || groupByTimeParameter.isSlidingStepByMonth()
+                || groupByTimeParameter.getInterval() > groupByTimeParameter.getSlidingStep());
+    this.windowFilter =
+        groupByTimeParameter == null || !canUseRollup
+            ? null
+            : new GroupByFilter(
+                groupByTimeParameter.getInterval(),
+                groupByTimeParameter.getSlidingStep(),
+                groupByTimeParameter.isLeftCRightO()
+                    ? groupByTimeParameter.getStartTime()
+                    : groupByTimeParameter.getStartTime() + 1,
+                groupByTimeParameter.isLeftCRightO()
+                    ? groupByTimeParameter.getEndTime()
+                    : groupByTimeParameter.getEndTime() + 1);
+
     this.maxRetainedSize =
         (1L + subSensorSize) * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
     this.maxReturnSize = maxReturnSize;
@@ -178,6 +209,12 @@ public abstract class AbstractSeriesAggregationScanOperator implements DataSourc
         return;
       }
 
+      // the rollup windows of the last skipped file are before the unread data in scan order
+      if (calcFromRollup()) {
+        updateResultTsBlock();
+        return;
+      }
+
       // read page data firstly
       if (readAndCalcFromPage()) {
         updateResultTsBlock();
@@ -256,6 +293,15 @@ public abstract class AbstractSeriesAggregationScanOperator implements DataSourc
         }
       }
 
+      // calc from the rollup windows of the file
+      if (canUseRollup && readRollupOfCurrentFile()) {
+        if (calcFromRollup()) {
+          return true;
+        } else {
+          continue;
+        }
+      }
+
       // read chunk
       if (readAndCalcFromChunk()) {
         return true;
@@ -265,6 +311,55 @@ public abstract class AbstractSeriesAggregationScanOperator implements DataSourc
     return false;
   }
 
+  /**
+   * Take the rollup windows of the current file and skip it, if the file is neither overlapped nor
+   * modified and all its rollup windows of a level are in single aggregation windows.
+   */
+  private boolean readRollupOfCurrentFile() throws IOException {
+    if (seriesScanUtil.isFileOverlapped() || seriesScanUtil.currentFileModified()) {
+      return false;
+    }
+    List<Statistics<? extends Serializable>> statistics =
+        seriesScanUtil.currentFileRollupStatistics(windowFilter);
+    if (statistics == null) {
+      return false;
+    }
+    rollupStatistics.addAll(statistics);
+    seriesScanUtil.skipCurrentFile();
+    return true;
+  }
+
+  /**
+   * Each rollup window is contained by an aggregation window, since the windows of the windowFilter
+   * are the windows iterated by the scan, so a rollup window overlapping the current window is
+   * never skipped.
+   *
+   * @return true if the aggregation of the current window is finished
+   */
+  private boolean calcFromRollup() {
+    while (!rollupStatistics.isEmpty()) {
+      Statistics<? extends Serializable> statistics = rollupStatistics.peek();
+      // the rollup window is after the current window in scan order
+      if (ascending
+          ? statistics.getStartTime() > curTimeRange.getMax()
+          : statistics.getEndTime() < curTimeRange.getMin()) {
+        return true;
+      }
+      if (!curTimeRange.contains(statistics.getStartTime(), statistics.getEndTime())) {
+        throw new IllegalStateException(
+            String.format(
+                "Rollup window [%d, %d] isn't contained by the aggregation window %s",
+                statistics.getStartTime(), statistics.getEndTime(), curTimeRange));
+      }
+      rollupStatistics.poll();
+      calcFromStatistics(new Statistics[] {statistics});
+      if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   protected boolean readAndCalcFromChunk() throws IOException {
     while (seriesScanUtil.hasNextChunk()) {
       if (canUseCurrentChunkStatistics()) {
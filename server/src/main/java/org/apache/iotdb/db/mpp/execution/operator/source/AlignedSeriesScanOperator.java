@@ -32,7 +32,9 @@ import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class AlignedSeriesScanOperator implements DataSourceOperator {
@@ -53,6 +55,17 @@ public class AlignedSeriesScanOperator implements DataSourceOperator {
       Filter timeFilter,
       Filter valueFilter,
       boolean ascending) {
+    this(sourceId, seriesPath, context, timeFilter, valueFilter, Collections.emptyMap(), ascending);
+  }
+
+  public AlignedSeriesScanOperator(
+      PlanNodeId sourceId,
+      AlignedPath seriesPath,
+      OperatorContext context,
+      Filter timeFilter,
+      Filter valueFilter,
+      Map<Integer, Filter> columnValueFilters,
+      boolean ascending) {
     this.sourceId = sourceId;
     this.operatorContext = context;
     this.seriesScanUtil =
@@ -62,6 +75,7 @@ public class AlignedSeriesScanOperator implements DataSourceOperator {
             context.getInstanceContext(),
             timeFilter,
             valueFilter,
+            columnValueFilters,
             ascending);
     // time + all value columns
     this.maxReturnSize =
@@ -34,11 +34,15 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.IPageReader;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
+import org.apache.iotdb.tsfile.read.reader.page.AlignedPageReader;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -46,17 +50,39 @@ public class AlignedSeriesScanUtil extends SeriesScanUtil {
 
   private final List<TSDataType> dataTypes;
 
+  // index of sub sensor -> value filter of the sub sensor
+  private final Map<Integer, Filter> columnValueFilters;
+
+  public AlignedSeriesScanUtil(
+      PartialPath seriesPath,
+      Set<String> allSensors,
+      FragmentInstanceContext context,
+      Filter timeFilter,
+      Filter valueFilter,
+      boolean ascending) {
+    this(
+        seriesPath,
+        allSensors,
+        context,
+        timeFilter,
+        valueFilter,
+        Collections.emptyMap(),
+        ascending);
+  }
+
   public AlignedSeriesScanUtil(
       PartialPath seriesPath,
       Set<String> allSensors,
       FragmentInstanceContext context,
       Filter timeFilter,
       Filter valueFilter,
+      Map<Integer, Filter> columnValueFilters,
       boolean ascending) {
     super(seriesPath, allSensors, TSDataType.VECTOR, context, timeFilter, valueFilter, ascending);
     dataTypes =
         ((AlignedPath) seriesPath)
             .getSchemaList().stream().map(IMeasurementSchema::getType).collect(Collectors.toList());
+    this.columnValueFilters = columnValueFilters;
   }
 
   @Override
@@ -122,6 +148,14 @@ public class AlignedSeriesScanUtil extends SeriesScanUtil {
     return dataTypes;
   }
 
+  @Override
+  protected void pushDownColumnValueFilters(IPageReader pageReader) {
+    // the pages in memory are not filtered by the columns
+    if (pageReader instanceof AlignedPageReader) {
+      columnValueFilters.forEach(((AlignedPageReader) pageReader)::setValueFilter);
+    }
+  }
+
   @Override
   protected IPointReader getPointReader(TsBlock tsBlock) {
     return tsBlock.getTsBlockAlignedRowIterator();
@@ -20,11 +20,15 @@ package org.apache.iotdb.db.mpp.execution.operator.source;
 
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.cross.utils.ReadAmplificationTracker;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.rollup.RollupFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.metadata.idtable.IDTable;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.chunk.metadata.DiskChunkMetadataLoader;
 import org.apache.iotdb.db.query.reader.universal.DescPriorityMergeReader;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReader;
 import org.apache.iotdb.db.utils.FileLoaderUtils;
@@ -32,19 +36,26 @@ import org.apache.iotdb.db.utils.QueryUtils;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.ITimeSeriesMetadata;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.apache.iotdb.tsfile.read.controller.IChunkMetadataLoader;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.basic.UnaryFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.reader.IAlignedPageReader;
 import org.apache.iotdb.tsfile.read.reader.IPageReader;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
@@ -60,6 +71,9 @@ import java.util.stream.Collectors;
 import static com.google.common.base.Preconditions.checkArgument;
 
 public class SeriesScanUtil {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SeriesScanUtil.class);
+
   private final FragmentInstanceContext context;
 
   // The path of the target series which will be scanned.
@@ -84,6 +98,9 @@ public class SeriesScanUtil {
 
   private QueryDataSource dataSource;
 
+  // whether the series has rollup levels, whose rollup windows may be used by aggregations
+  private final boolean hasRollupLevels;
+
   /*
    * file index
    */
@@ -135,6 +152,13 @@ public class SeriesScanUtil {
     this.context = context;
     this.timeFilter = timeFilter;
     this.valueFilter = valueFilter;
+    this.hasRollupLevels =
+        IoTDBDescriptor.getInstance()
+                .getConfig()
+                .getRollupLevels()
+                .getIntervals(this.seriesPath)
+                .length
+            > 0;
     if (ascending) {
       this.orderUtils = new AscTimeOrderUtils();
       mergeReader = getPriorityMergeReader();
@@ -259,6 +283,45 @@ public class SeriesScanUtil {
     firstTimeSeriesMetadata = null;
   }
 
+  /**
+   * Get the rollup windows of the series in the current file, which are either contained by or
+   * disjoint from the time filter and the given window filter, see {@link RollupFile#read}. The
+   * caller should check that the current file is neither overlapped nor modified.
+   *
+   * @param windowFilter the filter of the aggregation windows, null if there is only one window
+   * @return the rollup windows in scan order, null if the current file is unsealed or has no rollup
+   *     windows of the series fitting the filters
+   */
+  List<Statistics<? extends Serializable>> currentFileRollupStatistics(Filter windowFilter) {
+    if (!hasRollupLevels || !(firstTimeSeriesMetadata instanceof TimeseriesMetadata)) {
+      return null;
+    }
+    IChunkMetadataLoader chunkMetadataLoader =
+        ((TimeseriesMetadata) firstTimeSeriesMetadata).getChunkMetadataLoader();
+    if (!(chunkMetadataLoader instanceof DiskChunkMetadataLoader)) {
+      return null;
+    }
+    TsFileResource resource = ((DiskChunkMetadataLoader) chunkMetadataLoader).getResource();
+    Filter filter;
+    if (timeFilter == null) {
+      filter = windowFilter;
+    } else {
+      filter = windowFilter == null ? timeFilter : FilterFactory.and(timeFilter, windowFilter);
+    }
+    try {
+      return RollupFile.read(
+          resource.getTsFile(),
+          seriesPath.getDevice(),
+          seriesPath.getMeasurement(),
+          filter,
+          orderUtils.getAscending());
+    } catch (IOException e) {
+      // the chunks are read instead
+      LOGGER.warn("Failed to read the rollup file of {}", resource.getTsFilePath(), e);
+      return null;
+    }
+  }
+
   /**
    * This method should be called after hasNextFile() until no next chunk, make sure that all
    * overlapped chunks are consumed
@@ -320,11 +383,18 @@ public class SeriesScanUtil {
         && firstChunkMetadata != null
         && !isChunkOverlapped()
         && !firstChunkMetadata.isModified()
-        && !valueFilter.satisfy(firstChunkMetadata.getStatistics())) {
+        && (!valueFilter.satisfy(firstChunkMetadata.getStatistics())
+            || !satisfyValueBloomFilter(firstChunkMetadata))) {
       skipCurrentChunk();
     }
   }
 
+  /** Whether the chunk may have the values of the equality value filter, if it has the index. */
+  private boolean satisfyValueBloomFilter(IChunkMetadata chunkMetadata) {
+    BloomFilter valueBloomFilter = chunkMetadata.getValueBloomFilter();
+    return valueBloomFilter == null || valueFilter.satisfyValueBloomFilter(valueBloomFilter);
+  }
+
   private void unpackAllOverlappedTimeSeriesMetadataToCachedChunkMetadata(
       long endpointTime, boolean init) throws IOException {
     while (!seqTimeSeriesMetadata.isEmpty()
@@ -527,6 +597,7 @@ public class SeriesScanUtil {
               new VersionPageReader(
                   chunkMetaData.getVersion(),
                   chunkMetaData.getOffsetOfChunkHeader(),
+                  chunkMetaData.getFilePath(),
                   iPageReader,
                   true));
         }
@@ -536,6 +607,7 @@ public class SeriesScanUtil {
               new VersionPageReader(
                   chunkMetaData.getVersion(),
                   chunkMetaData.getOffsetOfChunkHeader(),
+                  chunkMetaData.getFilePath(),
                   pageReaderList.get(i),
                   true));
         }
@@ -547,6 +619,7 @@ public class SeriesScanUtil {
                   new VersionPageReader(
                       chunkMetaData.getVersion(),
                       chunkMetaData.getOffsetOfChunkHeader(),
+                      chunkMetaData.getFilePath(),
                       pageReader,
                       false)));
     }
@@ -629,6 +702,7 @@ public class SeriesScanUtil {
       if (valueFilter != null) {
         firstPageReader.setFilter(valueFilter);
       }
+      pushDownColumnValueFilters(firstPageReader.data);
       TsBlock tsBlock = firstPageReader.getAllSatisfiedPageData(orderUtils.getAscending());
       firstPageReader = null;
 
@@ -915,6 +989,11 @@ public class SeriesScanUtil {
   }
 
   private void putPageReaderToMergeReader(VersionPageReader pageReader) throws IOException {
+    if (!pageReader.isSeq()) {
+      // this unseq page has to be merged with overlapped data, which cross space compaction of its
+      // file could save
+      ReadAmplificationTracker.getInstance().recordOverlappedPage(pageReader.filePath);
+    }
     mergeReader.addReader(
         getPointReader(pageReader.getAllSatisfiedPageData(orderUtils.getAscending())),
         pageReader.version,
@@ -1068,6 +1147,11 @@ public class SeriesScanUtil {
     return Collections.singletonList(dataType);
   }
 
+  /** Push down the value filters of the columns into the page which doesn't overlap others. */
+  protected void pushDownColumnValueFilters(IPageReader pageReader) {
+    // only the aligned series have more than one column
+  }
+
   protected IPointReader getPointReader(TsBlock tsBlock) {
     return tsBlock.getTsBlockSingleColumnIterator();
   }
@@ -1093,10 +1177,13 @@ public class SeriesScanUtil {
     protected PriorityMergeReader.MergeReaderPriority version;
     protected IPageReader data;
 
+    protected String filePath;
+
     protected boolean isSeq;
 
-    VersionPageReader(long version, long offset, IPageReader data, boolean isSeq) {
+    VersionPageReader(long version, long offset, String filePath, IPageReader data, boolean isSeq) {
       this.version = new PriorityMergeReader.MergeReaderPriority(version, offset);
+      this.filePath = filePath;
       this.data = data;
       this.isSeq = isSeq;
     }
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator.source;
+
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SharedSeriesScan reads the pages of one series in ascending order with the SeriesScanUtil of the
+ * query that created it (the leader), and fans out each page to all subscribers, so that the
+ * concurrent queries over the same series and time range decode each page only once.
+ *
+ * <p>A subscriber attaches only if its data source is taken with the same data version of the
+ * DataRegion as that of the leader, that is no memtable is flushed, no file is closed or replaced
+ * and no data is deleted in between. The snapshot of the leader then holds the same data as its
+ * own, except for the data inserted after the snapshot of the leader was taken, which the
+ * subscriber doesn't see as if it were issued together with the leader. The pages are filtered by
+ * the time range of the leader only, and each subscriber applies its own filters. The pages are
+ * buffered until all subscribers have consumed them. A subscriber that falls behind by more than
+ * maxBufferedBlockNum pages is detached instead of blocking the others, and continues with the
+ * pages left to it and a private scan after them.
+ */
+class SharedSeriesScan {
+
+  private final SeriesScanUtil seriesScanUtil;
+  private final TimeRange timeRange;
+  // the data version of the DataRegion when the data source of the leader was taken
+  private final long dataVersion;
+  private final int maxBufferedBlockNum;
+
+  private final List<TsBlock> buffer = new ArrayList<>();
+  // the index of the first block in buffer since the beginning of the scan
+  private long firstIndex = 0;
+  // the end time of the last block removed from buffer
+  private long maxTrimmedTime = Long.MIN_VALUE;
+  // the end time of the last block read from seriesScanUtil, null if there is none
+  private Long lastProducedTime;
+
+  // volatile so that SharedSeriesScanManager can check them without locking the scan
+  private volatile boolean finished = false;
+  // the leader is closed, so that seriesScanUtil can't be used any more
+  private volatile boolean closed = false;
+
+  private final Subscription leader;
+  private final List<Subscription> subscriptions = new ArrayList<>();
+
+  SharedSeriesScan(
+      SeriesScanUtil seriesScanUtil,
+      TimeRange timeRange,
+      long dataVersion,
+      int maxBufferedBlockNum) {
+    this.seriesScanUtil = seriesScanUtil;
+    this.timeRange = timeRange;
+    this.dataVersion = dataVersion;
+    this.maxBufferedBlockNum = maxBufferedBlockNum;
+    this.leader = new Subscription(this, 0);
+    this.subscriptions.add(leader);
+  }
+
+  Subscription getLeader() {
+    return leader;
+  }
+
+  /**
+   * Subscribe to the scan if it still holds all data of the given time range, and the data has not
+   * been changed since the data source of the leader was taken.
+   *
+   * @param dataVersion the data version of the DataRegion when the data source of the subscriber
+   *     was taken
+   * @return the subscription, or null if the given time range can't be served
+   */
+  synchronized Subscription tryAttach(TimeRange range, long dataVersion) {
+    if (finished
+        || closed
+        || this.dataVersion != dataVersion
+        || !timeRange.contains(range)
+        // some blocks of the range have been consumed by all subscribers and removed
+        || range.getMin() <= maxTrimmedTime) {
+      return null;
+    }
+    Subscription subscription = new Subscription(this, firstIndex);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /** New subscribers can't be accepted once the scan is finished or closed. */
+  boolean isExpired() {
+    return finished || closed;
+  }
+
+  /**
+   * Get the next block of the subscriber, which is read from seriesScanUtil if the subscriber has
+   * consumed all buffered blocks.
+   *
+   * @return the next block, or null if the subscriber has consumed all blocks or has been detached
+   */
+  synchronized TsBlock next(Subscription subscription) throws IOException {
+    if (subscription.detached) {
+      return null;
+    }
+    int offset = (int) (subscription.cursor - firstIndex);
+    TsBlock block;
+    if (offset < buffer.size()) {
+      block = buffer.get(offset);
+    } else if (finished) {
+      return null;
+    } else {
+      block = readNextBlock();
+      if (block == null) {
+        finished = true;
+        return null;
+      }
+      buffer.add(block);
+      lastProducedTime = block.getEndTime();
+    }
+    subscription.cursor++;
+    trim();
+    while (buffer.size() > maxBufferedBlockNum) {
+      detachSlowest();
+    }
+    return block;
+  }
+
+  /**
+   * Remove the subscriber from the scan. If the leader is closed before the scan finishes, the
+   * other subscribers are detached, since seriesScanUtil depends on the resources of the leader.
+   */
+  synchronized void close(Subscription subscription) {
+    subscriptions.remove(subscription);
+    if (subscription == leader) {
+      closed = true;
+      if (!finished) {
+        for (Subscription other : new ArrayList<>(subscriptions)) {
+          detach(other);
+        }
+      }
+    }
+    trim();
+  }
+
+  private void detachSlowest() {
+    long minCursor = getMinCursor();
+    for (Subscription subscription : new ArrayList<>(subscriptions)) {
+      if (subscription.cursor == minCursor) {
+        detach(subscription);
+      }
+    }
+    trim();
+  }
+
+  private void detach(Subscription subscription) {
+    int offset = (int) (subscription.cursor - firstIndex);
+    subscription.pendingBlocks =
+        offset < buffer.size()
+            ? new ArrayList<>(buffer.subList(offset, buffer.size()))
+            : Collections.emptyList();
+    subscription.resumeTime = lastProducedTime;
+    subscription.detached = true;
+    subscriptions.remove(subscription);
+  }
+
+  /** Remove the blocks consumed by all subscribers. */
+  private void trim() {
+    long minCursor = getMinCursor();
+    while (firstIndex < minCursor && !buffer.isEmpty()) {
+      maxTrimmedTime = buffer.remove(0).getEndTime();
+      firstIndex++;
+    }
+  }
+
+  private long getMinCursor() {
+    long minCursor = Long.MAX_VALUE;
+    for (Subscription subscription : subscriptions) {
+      minCursor = Math.min(minCursor, subscription.cursor);
+    }
+    return minCursor;
+  }
+
+  private TsBlock readNextBlock() throws IOException {
+    TsBlock block = readPageData();
+    if (block == null) {
+      block = readChunkData();
+    }
+    if (block == null) {
+      block = readFileData();
+    }
+    return block;
+  }
+
+  private TsBlock readFileData() throws IOException {
+    while (seriesScanUtil.hasNextFile()) {
+      TsBlock block = readChunkData();
+      if (block != null) {
+        return block;
+      }
+    }
+    return null;
+  }
+
+  private TsBlock readChunkData() throws IOException {
+    while (seriesScanUtil.hasNextChunk()) {
+      TsBlock block = readPageData();
+      if (block != null) {
+        return block;
+      }
+    }
+    return null;
+  }
+
+  private TsBlock readPageData() throws IOException {
+    while (seriesScanUtil.hasNextPage()) {
+      TsBlock block = seriesScanUtil.nextPage();
+      if (block != null && !block.isEmpty()) {
+        return block;
+      }
+    }
+    return null;
+  }
+
+  static class Subscription {
+
+    private final SharedSeriesScan scan;
+    // the index of the next block to consume since the beginning of the scan
+    private long cursor;
+
+    // the following fields are set when the subscriber is detached
+    private volatile boolean detached = false;
+    private List<TsBlock> pendingBlocks;
+    private Long resumeTime;
+
+    private Subscription(SharedSeriesScan scan, long cursor) {
+      this.scan = scan;
+      this.cursor = cursor;
+    }
+
+    SharedSeriesScan getScan() {
+      return scan;
+    }
+
+    boolean isDetached() {
+      return detached;
+    }
+
+    /** The blocks that were buffered but not consumed when the subscriber was detached. */
+    List<TsBlock> getPendingBlocks() {
+      return pendingBlocks;
+    }
+
+    /** The time after which the subscriber should read by itself, null if nothing was read. */
+    Long getResumeTime() {
+      return resumeTime;
+    }
+  }
+}
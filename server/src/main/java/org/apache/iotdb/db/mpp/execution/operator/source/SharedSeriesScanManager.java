@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator.source;
+
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SharedSeriesScanManager keeps the running {@link SharedSeriesScan}s of each series in each
+ * DataRegion, so that a query scanning the same series and time range as a running one subscribes
+ * to it instead of reading the series again.
+ */
+public class SharedSeriesScanManager {
+
+  // key -> running scans, the key consists of the DataRegion, series path and data type
+  private final Map<String, List<SharedSeriesScan>> keyToScans = new HashMap<>();
+
+  private SharedSeriesScanManager() {}
+
+  public static SharedSeriesScanManager getInstance() {
+    return SharedSeriesScanManagerHolder.INSTANCE;
+  }
+
+  /**
+   * Subscribe to a running scan holding all data of the given time range, or start a new scan led
+   * by the caller if there is none. The manager isn't locked while attaching to a scan, which may
+   * wait for the page being read by the scan.
+   *
+   * @param dataVersion the data version of the DataRegion when the data source of the caller was
+   *     taken
+   * @param leaderScanSupplier create the SeriesScanUtil of the new scan, whose data source has been
+   *     initialized
+   */
+  SharedSeriesScan.Subscription subscribe(
+      String key,
+      TimeRange timeRange,
+      long dataVersion,
+      int maxBufferedBlockNum,
+      Supplier<SeriesScanUtil> leaderScanSupplier) {
+    List<SharedSeriesScan> candidates;
+    synchronized (this) {
+      List<SharedSeriesScan> scans = keyToScans.get(key);
+      candidates = scans == null ? Collections.emptyList() : new ArrayList<>(scans);
+    }
+    for (SharedSeriesScan scan : candidates) {
+      SharedSeriesScan.Subscription subscription = scan.tryAttach(timeRange, dataVersion);
+      if (subscription != null) {
+        return subscription;
+      }
+    }
+    SharedSeriesScan scan =
+        new SharedSeriesScan(leaderScanSupplier.get(), timeRange, dataVersion, maxBufferedBlockNum);
+    synchronized (this) {
+      List<SharedSeriesScan> scans = keyToScans.computeIfAbsent(key, k -> new ArrayList<>());
+      scans.removeIf(SharedSeriesScan::isExpired);
+      scans.add(scan);
+    }
+    return scan.getLeader();
+  }
+
+  void unsubscribe(String key, SharedSeriesScan.Subscription subscription) {
+    // closing waits for the page being read by the scan, which shouldn't block other queries
+    subscription.getScan().close(subscription);
+    synchronized (this) {
+      List<SharedSeriesScan> scans = keyToScans.get(key);
+      if (scans != null) {
+        scans.removeIf(SharedSeriesScan::isExpired);
+        if (scans.isEmpty()) {
+          keyToScans.remove(key);
+        }
+      }
+    }
+  }
+
+  @TestOnly
+  public synchronized int getRunningScanNum() {
+    return keyToScans.values().stream().mapToInt(List::size).sum();
+  }
+
+  private static class SharedSeriesScanManagerHolder {
+
+    private static final SharedSeriesScanManager INSTANCE = new SharedSeriesScanManager();
+
+    private SharedSeriesScanManagerHolder() {}
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator.source;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SharedSeriesScanOperator scans a series in ascending order like {@link SeriesScanOperator}, but
+ * reads the pages through a {@link SharedSeriesScan}, so that the concurrent queries over the same
+ * series and time range share the reading and decoding of the pages. The pages of the shared scan
+ * are filtered by this operator.
+ *
+ * <p>If the time filter isn't a single time range, the series is scanned privately. If the operator
+ * is detached from the shared scan for falling behind, it consumes the pages left to it, and then
+ * scans the rest of the series privately.
+ */
+public class SharedSeriesScanOperator implements DataSourceOperator {
+
+  private final OperatorContext operatorContext;
+  private final PlanNodeId sourceId;
+  private final PartialPath seriesPath;
+  private final Set<String> allSensors;
+  private final TSDataType dataType;
+  private final Filter timeFilter;
+  private final Filter valueFilter;
+  // null if the series can't be shared
+  private final String key;
+  // the time range of timeFilter, null if it isn't a single time range
+  private final TimeRange timeRange;
+  private final TsBlockBuilder builder;
+  // the max number of blocks buffered by the shared scan, which are held in memory for this
+  // operator as well
+  private final int maxBufferedBlockNum;
+
+  private QueryDataSource dataSource;
+  private SharedSeriesScan.Subscription subscription;
+  // the blocks left by the shared scan when detached
+  private Iterator<TsBlock> pendingBlocks;
+  // the private scan used when the series can't be shared or after detached
+  private SeriesScanUtil seriesScanUtil;
+
+  private boolean finished = false;
+
+  private final long maxReturnSize;
+
+  public SharedSeriesScanOperator(
+      PlanNodeId sourceId,
+      PartialPath seriesPath,
+      Set<String> allSensors,
+      TSDataType dataType,
+      OperatorContext context,
+      Filter timeFilter,
+      Filter valueFilter,
+      String dataRegionId) {
+    this.sourceId = sourceId;
+    this.operatorContext = context;
+    this.seriesPath = seriesPath;
+    this.allSensors = allSensors;
+    this.dataType = dataType;
+    this.timeFilter = timeFilter;
+    this.valueFilter = valueFilter;
+    this.timeRange = getTimeRange(timeFilter);
+    this.key =
+        dataRegionId == null || timeRange == null
+            ? null
+            : dataRegionId + "." + seriesPath.getFullPath() + "." + dataType;
+    this.maxReturnSize = TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+    this.maxBufferedBlockNum =
+        key == null
+            ? 0
+            : IoTDBDescriptor.getInstance().getConfig().getSharedSeriesScanMaxBufferedBlockNum();
+    this.builder = new TsBlockBuilder(Collections.singletonList(dataType));
+  }
+
+  private static TimeRange getTimeRange(Filter timeFilter) {
+    if (timeFilter == null) {
+      return new TimeRange(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    List<TimeRange> timeRanges = timeFilter.getTimeRanges();
+    return timeRanges.size() == 1 ? timeRanges.get(0) : null;
+  }
+
+  @Override
+  public OperatorContext getOperatorContext() {
+    return operatorContext;
+  }
+
+  @Override
+  public TsBlock next() {
+    TsBlock block = builder.build();
+    builder.reset();
+    return block;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+
+      // start stopwatch
+      long maxRuntime = operatorContext.getMaxRunTime().roundTo(TimeUnit.NANOSECONDS);
+      long start = System.nanoTime();
+
+      // here use do-while to promise doing this at least once
+      do {
+        if (!readNextBlock()) {
+          break;
+        }
+        // the blocks of the shared scan may be filtered out entirely, keep reading until there is
+        // something to return
+      } while ((System.nanoTime() - start < maxRuntime || builder.isEmpty()) && !builder.isFull());
+
+      finished = builder.isEmpty();
+
+      return !finished;
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while scanning the file", e);
+    }
+  }
+
+  @Override
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override
+  public long calculateMaxPeekMemory() {
+    return maxReturnSize + calculateRetainedSizeAfterCallingNext();
+  }
+
+  @Override
+  public long calculateMaxReturnSize() {
+    return maxReturnSize;
+  }
+
+  @Override
+  public long calculateRetainedSizeAfterCallingNext() {
+    // the blocks buffered by the shared scan, or left to this operator when detached
+    return maxBufferedBlockNum * maxReturnSize;
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (subscription != null) {
+      SharedSeriesScanManager.getInstance().unsubscribe(key, subscription);
+      subscription = null;
+    }
+  }
+
+  /** @return false if there is no more block */
+  private boolean readNextBlock() throws IOException {
+    if (subscription != null && !subscription.isDetached()) {
+      TsBlock tsBlock = subscription.getScan().next(subscription);
+      if (tsBlock != null) {
+        appendFilteredToBuilder(tsBlock);
+        return true;
+      }
+      if (!subscription.isDetached()) {
+        return false;
+      }
+      // fell behind the shared scan, read the rest after the blocks it left
+      pendingBlocks = subscription.getPendingBlocks().iterator();
+      Long resumeTime = subscription.getResumeTime();
+      Filter filter = timeFilter != null ? timeFilter.copy() : null;
+      if (resumeTime != null) {
+        filter =
+            filter == null
+                ? TimeFilter.gt(resumeTime)
+                : FilterFactory.and(filter, TimeFilter.gt(resumeTime));
+      }
+      seriesScanUtil = createSeriesScanUtil(filter, valueFilter);
+    }
+    if (pendingBlocks != null && pendingBlocks.hasNext()) {
+      appendFilteredToBuilder(pendingBlocks.next());
+      return true;
+    }
+    return readPageData() || readChunkData() || readFileData();
+  }
+
+  private boolean readFileData() throws IOException {
+    while (seriesScanUtil.hasNextFile()) {
+      if (readChunkData()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean readChunkData() throws IOException {
+    while (seriesScanUtil.hasNextChunk()) {
+      if (readPageData()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean readPageData() throws IOException {
+    while (seriesScanUtil.hasNextPage()) {
+      TsBlock tsBlock = seriesScanUtil.nextPage();
+
+      if (!isEmpty(tsBlock)) {
+        appendToBuilder(tsBlock);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The blocks of the shared scan are filtered by the time range of the leader only. */
+  private void appendFilteredToBuilder(TsBlock tsBlock) {
+    if (valueFilter == null && timeRange.contains(tsBlock.getStartTime(), tsBlock.getEndTime())) {
+      appendToBuilder(tsBlock);
+      return;
+    }
+    TimeColumnBuilder timeColumnBuilder = builder.getTimeColumnBuilder();
+    TimeColumn timeColumn = tsBlock.getTimeColumn();
+    ColumnBuilder columnBuilder = builder.getColumnBuilder(0);
+    Column column = tsBlock.getColumn(0);
+    for (int i = 0, size = tsBlock.getPositionCount(); i < size; i++) {
+      long time = timeColumn.getLong(i);
+      if (!timeRange.contains(time)) {
+        continue;
+      }
+      if (column.isNull(i)) {
+        if (valueFilter != null) {
+          continue;
+        }
+        timeColumnBuilder.writeLong(time);
+        columnBuilder.appendNull();
+      } else {
+        if (valueFilter != null && !valueFilter.satisfy(time, column.getObject(i))) {
+          continue;
+        }
+        timeColumnBuilder.writeLong(time);
+        columnBuilder.write(column, i);
+      }
+      builder.declarePosition();
+    }
+  }
+
+  private void appendToBuilder(TsBlock tsBlock) {
+    TimeColumnBuilder timeColumnBuilder = builder.getTimeColumnBuilder();
+    TimeColumn timeColumn = tsBlock.getTimeColumn();
+    ColumnBuilder columnBuilder = builder.getColumnBuilder(0);
+    Column column = tsBlock.getColumn(0);
+
+    if (column.mayHaveNull()) {
+      for (int i = 0, size = tsBlock.getPositionCount(); i < size; i++) {
+        timeColumnBuilder.writeLong(timeColumn.getLong(i));
+        if (column.isNull(i)) {
+          columnBuilder.appendNull();
+        } else {
+          columnBuilder.write(column, i);
+        }
+        builder.declarePosition();
+      }
+    } else {
+      for (int i = 0, size = tsBlock.getPositionCount(); i < size; i++) {
+        timeColumnBuilder.writeLong(timeColumn.getLong(i));
+        columnBuilder.write(column, i);
+        builder.declarePosition();
+      }
+    }
+  }
+
+  private boolean isEmpty(TsBlock tsBlock) {
+    return tsBlock == null || tsBlock.isEmpty();
+  }
+
+  private SeriesScanUtil createSeriesScanUtil(Filter timeFilter, Filter valueFilter) {
+    SeriesScanUtil scanUtil =
+        new SeriesScanUtil(
+            seriesPath,
+            allSensors,
+            dataType,
+            operatorContext.getInstanceContext(),
+            timeFilter,
+            valueFilter,
+            true);
+    scanUtil.initQueryDataSource(dataSource);
+    return scanUtil;
+  }
+
+  @Override
+  public PlanNodeId getSourceId() {
+    return sourceId;
+  }
+
+  @Override
+  public void initQueryDataSource(QueryDataSource dataSource) {
+    this.dataSource = dataSource;
+    if (key == null) {
+      seriesScanUtil =
+          createSeriesScanUtil(
+              timeFilter != null ? timeFilter.copy() : null,
+              valueFilter != null ? valueFilter.copy() : null);
+      return;
+    }
+    // the shared scan is filtered by the time range only, the value filter is applied by each
+    // subscriber
+    subscription =
+        SharedSeriesScanManager.getInstance()
+            .subscribe(
+                key,
+                timeRange,
+                dataSource.getDataVersion(),
+                maxBufferedBlockNum,
+                () -> createSeriesScanUtil(timeFilter != null ? timeFilter.copy() : null, null));
+  }
+}
@@ -199,16 +199,26 @@ public class DriverScheduler implements IDriverScheduler, IService {
 
   @Override
   public void abortFragmentInstance(FragmentInstanceId instanceId) {
-    DriverTask task = timeoutQueue.get(new DriverTaskID(instanceId));
-    if (task == null) {
+    Set<DriverTask> queryRelatedTasks = queryMap.get(instanceId.getQueryId());
+    if (queryRelatedTasks == null) {
       return;
     }
-    task.lock();
-    try {
-      task.setAbortCause(FragmentInstanceAbortedException.BY_FRAGMENT_ABORT_CALLED);
-      clearDriverTask(task);
-    } finally {
-      task.unlock();
+    // the fragment instance may be split into several pipelines, abort all of them
+    List<DriverTask> instanceRelatedTasks;
+    synchronized (queryRelatedTasks) {
+      instanceRelatedTasks =
+          queryRelatedTasks.stream()
+              .filter(task -> task.getId().getFragmentInstanceId().equals(instanceId))
+              .collect(Collectors.toList());
+    }
+    for (DriverTask task : instanceRelatedTasks) {
+      task.lock();
+      try {
+        task.setAbortCause(FragmentInstanceAbortedException.BY_FRAGMENT_ABORT_CALLED);
+        clearDriverTask(task);
+      } finally {
+        task.unlock();
+      }
     }
   }
 
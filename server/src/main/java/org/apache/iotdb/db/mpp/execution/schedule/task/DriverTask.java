@@ -60,7 +60,7 @@ public class DriverTask implements IDIndexedAccessible {
 
   public DriverTask(IDriver instance, long timeoutMs, DriverTaskStatus status) {
     this.fragmentInstance = instance;
-    this.id = new DriverTaskID(instance.getInfo());
+    this.id = new DriverTaskID(instance.getInfo(), instance.getPipelineId());
     this.setStatus(status);
     this.schedulePriority = 0.0D;
     this.ddl = System.currentTimeMillis() + timeoutMs;
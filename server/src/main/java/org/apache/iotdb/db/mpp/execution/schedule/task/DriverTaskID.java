@@ -25,27 +25,46 @@ import org.apache.iotdb.db.mpp.execution.schedule.queue.ID;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
+
 /** the class of id of the fragment instance task */
 public class DriverTaskID implements ID, Comparable<DriverTaskID> {
 
   private final FragmentInstanceId id;
+  // a fragment instance may be split into several pipelines, each of which is a task
+  private final int pipelineId;
 
   public DriverTaskID(FragmentInstanceId id) {
+    this(id, 0);
+  }
+
+  public DriverTaskID(FragmentInstanceId id, int pipelineId) {
     this.id = id;
+    this.pipelineId = pipelineId;
   }
 
   @Override
   public boolean equals(Object o) {
-    return o instanceof DriverTaskID && ((DriverTaskID) o).id.equals(id);
+    return o instanceof DriverTaskID
+        && ((DriverTaskID) o).id.equals(id)
+        && ((DriverTaskID) o).pipelineId == pipelineId;
   }
 
   @Override
   public int hashCode() {
-    return id.hashCode();
+    return Objects.hash(id, pipelineId);
   }
 
   public String toString() {
-    return id.getFullId();
+    return id.getFullId() + "." + pipelineId;
+  }
+
+  public FragmentInstanceId getFragmentInstanceId() {
+    return id;
+  }
+
+  public int getPipelineId() {
+    return pipelineId;
   }
 
   public String getInstanceId() {
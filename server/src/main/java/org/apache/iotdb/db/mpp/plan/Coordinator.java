@@ -36,6 +36,7 @@ import org.apache.iotdb.db.mpp.plan.constant.DataNodeEndPoints;
 import org.apache.iotdb.db.mpp.plan.execution.ExecutionResult;
 import org.apache.iotdb.db.mpp.plan.execution.IQueryExecution;
 import org.apache.iotdb.db.mpp.plan.execution.QueryExecution;
+import org.apache.iotdb.db.mpp.plan.execution.QueryResultPrefetcher;
 import org.apache.iotdb.db.mpp.plan.execution.config.ConfigExecution;
 import org.apache.iotdb.db.mpp.plan.statement.IConfigStatement;
 import org.apache.iotdb.db.mpp.plan.statement.Statement;
@@ -81,8 +82,11 @@ public class Coordinator {
 
   private final ConcurrentHashMap<Long, IQueryExecution> queryExecutionMap;
 
+  private final ConcurrentHashMap<Long, QueryResultPrefetcher> resultPrefetcherMap;
+
   private Coordinator() {
     this.queryExecutionMap = new ConcurrentHashMap<>();
+    this.resultPrefetcherMap = new ConcurrentHashMap<>();
     this.executor = getQueryExecutor();
     this.writeOperationExecutor = getWriteExecutor();
     this.scheduledExecutor = getScheduledExecutor();
@@ -193,11 +197,25 @@ public class Coordinator {
     return queryIdGenerator.createNextQueryId();
   }
 
+  public QueryResultPrefetcher getResultPrefetcher(long queryId) {
+    return resultPrefetcherMap.get(queryId);
+  }
+
+  public QueryResultPrefetcher getOrCreateResultPrefetcher(
+      long queryId, IQueryExecution queryExecution) {
+    return resultPrefetcherMap.computeIfAbsent(
+        queryId, id -> new QueryResultPrefetcher(queryExecution));
+  }
+
   public void cleanupQueryExecution(Long queryId) {
     IQueryExecution queryExecution = getQueryExecution(queryId);
     if (queryExecution != null) {
       try (SetThreadName threadName = new SetThreadName(queryExecution.getQueryId())) {
         LOGGER.debug("[CleanUpQuery]]");
+        QueryResultPrefetcher resultPrefetcher = resultPrefetcherMap.remove(queryId);
+        if (resultPrefetcher != null) {
+          resultPrefetcher.close();
+        }
         queryExecution.stopAndCleanup();
         queryExecutionMap.remove(queryId);
         if (queryExecution.isQuery()) {
@@ -157,6 +157,10 @@ public class Analysis {
 
   private OrderByParameter mergeOrderParameter;
 
+  // parameter of `ORDER BY` clause which sorts the result by expressions, the expressions are
+  // resolved to the output expressions. null if the result is not sorted by expressions.
+  private OrderByParameter orderByParameter;
+
   // header of result dataset
   private DatasetHeader respDatasetHeader;
 
@@ -429,6 +433,14 @@ public class Analysis {
     this.mergeOrderParameter = mergeOrderParameter;
   }
 
+  public OrderByParameter getOrderByParameter() {
+    return orderByParameter;
+  }
+
+  public void setOrderByParameter(OrderByParameter orderByParameter) {
+    this.orderByParameter = orderByParameter;
+  }
+
   public Pair<Template, List<PartialPath>> getTemplateSetInfo() {
     return templateSetInfo;
   }
@@ -221,6 +221,10 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
         return analysis;
       }
 
+      // narrow the time range of GROUP BY TIME to the windows selected by LIMIT and OFFSET, it must
+      // be done before the global time filter is extracted
+      pushDownLimitToGroupByTime(queryStatement);
+
       // extract global time filter from query filter and determine if there is a value filter
       analyzeGlobalTimeFilter(analysis, queryStatement);
 
@@ -281,6 +285,8 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
       // generate result set header according to output expressions
       analyzeOutput(analysis, queryStatement, outputExpressions);
 
+      analyzeOrderByExpression(analysis, queryStatement, outputExpressions);
+
       // fetch partition information
       analyzeDataPartition(analysis, queryStatement, schemaTree);
 
@@ -292,6 +298,67 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
     return analysis;
   }
 
+  /**
+   * GROUP BY TIME without HAVING, FILL, GROUP BY TAG and ORDER BY expression outputs exactly one
+   * row for each time window in time order, so LIMIT and OFFSET select a contiguous range of the
+   * windows. In that case the time range of GROUP BY TIME is narrowed to the selected windows and
+   * OFFSET is removed, which stops the aggregation once LIMIT rows are output and prunes the data
+   * partitions and files outside the selected windows.
+   *
+   * <p>Windows by month and overlapping windows (interval larger than sliding step) are not
+   * narrowed.
+   */
+  private void pushDownLimitToGroupByTime(QueryStatement queryStatement) {
+    if (!queryStatement.isGroupByTime()
+        || queryStatement.getRowLimit() <= 0
+        || !queryStatement.isAlignByTime()
+        || queryStatement.hasHaving()
+        || queryStatement.hasFill()
+        || queryStatement.isGroupByTag()
+        || queryStatement.isOrderByExpression()
+        || queryStatement.isCqQueryBody()) {
+      return;
+    }
+    GroupByTimeComponent groupByTimeComponent = queryStatement.getGroupByTimeComponent();
+    if (groupByTimeComponent.isIntervalByMonth()
+        || groupByTimeComponent.isSlidingStepByMonth()
+        || groupByTimeComponent.getInterval() > groupByTimeComponent.getSlidingStep()) {
+      return;
+    }
+
+    long startTime = groupByTimeComponent.getStartTime();
+    long endTime = groupByTimeComponent.getEndTime();
+    long interval = groupByTimeComponent.getInterval();
+    long slidingStep = groupByTimeComponent.getSlidingStep();
+    long timeRange = endTime - startTime;
+    if (timeRange <= 0 || slidingStep <= 0) {
+      // empty or overflowed time range
+      return;
+    }
+    long windowNum = timeRange / slidingStep + (timeRange % slidingStep == 0 ? 0 : 1);
+    long offset = queryStatement.getRowOffset();
+    long limit = queryStatement.getRowLimit();
+    if (offset >= windowNum || (offset == 0 && limit >= windowNum)) {
+      // no window is selected or all the windows are selected
+      return;
+    }
+
+    // index of the first and the last selected window in time order
+    long firstWindow;
+    long lastWindow;
+    if (queryStatement.getResultTimeOrder() == Ordering.DESC) {
+      lastWindow = windowNum - 1 - offset;
+      firstWindow = Math.max(0, lastWindow - limit + 1);
+    } else {
+      firstWindow = offset;
+      lastWindow = Math.min(windowNum - 1, offset + limit - 1);
+    }
+    groupByTimeComponent.setStartTime(startTime + firstWindow * slidingStep);
+    groupByTimeComponent.setEndTime(
+        Math.min(endTime, startTime + lastWindow * slidingStep + interval));
+    queryStatement.setRowOffset(0);
+  }
+
   private void analyzeGlobalTimeFilter(Analysis analysis, QueryStatement queryStatement) {
     Filter globalTimeFilter = null;
     boolean hasValueFilter = false;
@@ -1094,6 +1161,68 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
     analysis.setMergeOrderParameter(new OrderByParameter(queryStatement.getSortItemList()));
   }
 
+  private void analyzeOrderByExpression(
+      Analysis analysis,
+      QueryStatement queryStatement,
+      List<Pair<Expression, String>> outputExpressions) {
+    if (!queryStatement.isOrderByExpression()) {
+      return;
+    }
+
+    List<SortItem> sortItemList = new ArrayList<>();
+    for (SortItem sortItem : queryStatement.getSortItemList()) {
+      if (sortItem.getSortKey() != SortKey.EXPRESSION) {
+        sortItemList.add(sortItem);
+        continue;
+      }
+      Expression outputExpression =
+          resolveSortExpression(sortItem.getExpression(), queryStatement, outputExpressions);
+      sortItemList.add(new SortItem(SortKey.EXPRESSION, sortItem.getOrdering(), outputExpression));
+    }
+    analysis.setOrderByParameter(new OrderByParameter(sortItemList));
+  }
+
+  /**
+   * Find the output expression which a sort expression refers to, the sort expression can be the
+   * alias of an output column, or an output expression with or without the prefix paths in the FROM
+   * clause.
+   */
+  private Expression resolveSortExpression(
+      Expression sortExpression,
+      QueryStatement queryStatement,
+      List<Pair<Expression, String>> outputExpressions) {
+    Set<String> candidates = new HashSet<>();
+    candidates.add(sortExpression.getExpressionString());
+    if (!queryStatement.isAlignByDevice()) {
+      ExpressionAnalyzer.concatExpressionWithSuffixPaths(
+              sortExpression,
+              queryStatement.getFromComponent().getPrefixPaths(),
+              new PathPatternTree())
+          .forEach(expression -> candidates.add(expression.getExpressionString()));
+    }
+
+    Expression result = null;
+    for (Pair<Expression, String> outputExpression : outputExpressions) {
+      if (candidates.contains(outputExpression.left.getExpressionString())
+          || candidates.contains(outputExpression.right)) {
+        if (result != null && !result.equals(outputExpression.left)) {
+          throw new SemanticException(
+              String.format(
+                  "ORDER BY: the expression '%s' matches more than one result column",
+                  sortExpression.getExpressionString()));
+        }
+        result = outputExpression.left;
+      }
+    }
+    if (result == null) {
+      throw new SemanticException(
+          String.format(
+              "ORDER BY: the expression '%s' should be one of the result columns",
+              sortExpression.getExpressionString()));
+    }
+    return result;
+  }
+
   private void analyzeExpression(Analysis analysis, Expression expression) {
     ExpressionTypeAnalyzer.analyzeExpression(analysis, expression);
   }
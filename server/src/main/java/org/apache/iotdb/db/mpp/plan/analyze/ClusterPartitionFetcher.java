@@ -23,6 +23,7 @@ import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.commons.consensus.ConfigNodeRegionId;
 import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.partition.DataPartition;
@@ -30,6 +31,7 @@ import org.apache.iotdb.commons.partition.DataPartitionQueryParam;
 import org.apache.iotdb.commons.partition.SchemaNodeManagementPartition;
 import org.apache.iotdb.commons.partition.SchemaPartition;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PathPatternTree;
 import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionReq;
 import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionTableResp;
@@ -45,6 +47,8 @@ import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.sql.StatementAnalyzeException;
 import org.apache.iotdb.db.mpp.plan.analyze.cache.PartitionCache;
+import org.apache.iotdb.db.qp.utils.DateTimeUtils;
+import org.apache.iotdb.db.utils.TimePartitionUtils;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
@@ -56,10 +60,14 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 public class ClusterPartitionFetcher implements IPartitionFetcher {
   private static final Logger logger = LoggerFactory.getLogger(ClusterPartitionFetcher.class);
@@ -73,6 +81,29 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       new IClientManager.Factory<ConfigNodeRegionId, ConfigNodeClient>()
           .createClientManager(new DataNodeClientPoolFactory.ConfigNodeClientPoolFactory());
 
+  /** merge the concurrent getOrCreateDataPartition requests that miss the cache */
+  private final RequestBatcher<
+          Map<String, List<DataPartitionQueryParam>>,
+          Map<String, List<DataPartitionQueryParam>>,
+          TDataPartitionTableResp>
+      dataPartitionRequestBatcher =
+          new RequestBatcher<>(
+              HashMap::new,
+              ClusterPartitionFetcher::mergeDataPartitionQueryParams,
+              this::getOrCreateDataPartitionTable,
+              // the response of the merged requests covers all of them
+              (dataPartitionTableResp, sgNameToQueryParamsMap) -> dataPartitionTableResp);
+
+  private final ExecutorService dataPartitionPrefetchExecutor =
+      IoTDBThreadPoolFactory.newSingleThreadExecutor("DataPartitionPrefetch");
+
+  /** the start time of the time partition whose data partitions are being prefetched */
+  private long prefetchedTimePartition = Long.MIN_VALUE;
+  /**
+   * the database and series slots whose data partitions of prefetchedTimePartition are prefetched
+   */
+  private final Set<String> prefetchedSeriesSlots = ConcurrentHashMap.newKeySet();
+
   private static final class ClusterPartitionFetcherHolder {
     private static final ClusterPartitionFetcher INSTANCE = new ClusterPartitionFetcher();
 
@@ -225,25 +256,18 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
     DataPartition dataPartition = partitionCache.getDataPartition(sgNameToQueryParamsMap);
     if (null == dataPartition) {
-      // Do not use data partition cache
-      try (ConfigNodeClient client =
-          configNodeClientManager.borrowClient(ConfigNodeInfo.configNodeRegionId)) {
-        TDataPartitionTableResp dataPartitionTableResp =
-            client.getOrCreateDataPartitionTable(constructDataPartitionReq(sgNameToQueryParamsMap));
-        if (dataPartitionTableResp.getStatus().getCode()
-            == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-          dataPartition = parseDataPartitionResp(dataPartitionTableResp);
-          partitionCache.updateDataPartitionCache(dataPartitionTableResp.getDataPartitionTable());
-        } else {
-          throw new StatementAnalyzeException(
-              "An error occurred when executing getOrCreateDataPartition():"
-                  + dataPartitionTableResp.getStatus().getMessage());
-        }
-      } catch (TException | IOException e) {
+      TDataPartitionTableResp dataPartitionTableResp =
+          dataPartitionRequestBatcher.fetch(sgNameToQueryParamsMap);
+      if (dataPartitionTableResp.getStatus().getCode()
+          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        dataPartition = getDataPartition(sgNameToQueryParamsMap, dataPartitionTableResp);
+      } else {
         throw new StatementAnalyzeException(
-            "An error occurred when executing getOrCreateDataPartition():" + e.getMessage());
+            "An error occurred when executing getOrCreateDataPartition():"
+                + dataPartitionTableResp.getStatus().getMessage());
       }
     }
+    prefetchNextTimePartition(sgNameToQueryParamsMap);
     return dataPartition;
   }
 
@@ -256,30 +280,131 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
     DataPartition dataPartition = partitionCache.getDataPartition(splitDataPartitionQueryParams);
 
     if (null == dataPartition) {
-      try (ConfigNodeClient client =
-          configNodeClientManager.borrowClient(ConfigNodeInfo.configNodeRegionId)) {
-        TDataPartitionTableResp dataPartitionTableResp =
-            client.getOrCreateDataPartitionTable(
-                constructDataPartitionReq(splitDataPartitionQueryParams));
+      TDataPartitionTableResp dataPartitionTableResp =
+          dataPartitionRequestBatcher.fetch(splitDataPartitionQueryParams);
 
-        if (dataPartitionTableResp.getStatus().getCode()
-            == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-          dataPartition = parseDataPartitionResp(dataPartitionTableResp);
-          partitionCache.updateDataPartitionCache(dataPartitionTableResp.getDataPartitionTable());
-        } else {
-          throw new RuntimeException(
-              new IoTDBException(
-                  dataPartitionTableResp.getStatus().getMessage(),
-                  dataPartitionTableResp.getStatus().getCode()));
-        }
-      } catch (TException | IOException e) {
-        throw new StatementAnalyzeException(
-            "An error occurred when executing getOrCreateDataPartition():" + e.getMessage());
+      if (dataPartitionTableResp.getStatus().getCode()
+          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        dataPartition = getDataPartition(splitDataPartitionQueryParams, dataPartitionTableResp);
+      } else {
+        throw new RuntimeException(
+            new IoTDBException(
+                dataPartitionTableResp.getStatus().getMessage(),
+                dataPartitionTableResp.getStatus().getCode()));
       }
     }
+    prefetchNextTimePartition(splitDataPartitionQueryParams);
     return dataPartition;
   }
 
+  /**
+   * Create the data partitions by ConfigNode, which is invoked by the dataPartitionRequestBatcher
+   * with the merged requests.
+   */
+  private TDataPartitionTableResp getOrCreateDataPartitionTable(
+      Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
+    try (ConfigNodeClient client =
+        configNodeClientManager.borrowClient(ConfigNodeInfo.configNodeRegionId)) {
+      TDataPartitionTableResp dataPartitionTableResp =
+          client.getOrCreateDataPartitionTable(constructDataPartitionReq(sgNameToQueryParamsMap));
+      if (dataPartitionTableResp.getStatus().getCode()
+          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        partitionCache.updateDataPartitionCache(dataPartitionTableResp.getDataPartitionTable());
+      }
+      return dataPartitionTableResp;
+    } catch (TException | IOException e) {
+      throw new StatementAnalyzeException(
+          "An error occurred when executing getOrCreateDataPartition():" + e.getMessage());
+    }
+  }
+
+  private static void mergeDataPartitionQueryParams(
+      Map<String, List<DataPartitionQueryParam>> mergedQueryParamsMap,
+      Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
+    for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
+        sgNameToQueryParamsMap.entrySet()) {
+      mergedQueryParamsMap
+          .computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+          .addAll(entry.getValue());
+    }
+  }
+
+  /**
+   * Get the DataPartition of the request from the cache, which has been updated by the response of
+   * the merged request. The whole response is used if the cache has been invalidated meanwhile.
+   */
+  private DataPartition getDataPartition(
+      Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap,
+      TDataPartitionTableResp dataPartitionTableResp) {
+    DataPartition dataPartition = partitionCache.getDataPartition(sgNameToQueryParamsMap);
+    return null == dataPartition ? parseDataPartitionResp(dataPartitionTableResp) : dataPartition;
+  }
+
+  /**
+   * Create the data partitions of the next time partition in background for the devices being
+   * written, if the current time is close to the end of the current time partition. So that the
+   * writes at the beginning of the next time partition hit the cache instead of waiting for
+   * ConfigNode together. The partitions of each series slot are prefetched at most once.
+   */
+  private void prefetchNextTimePartition(
+      Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
+    long aheadTime = config.getDataPartitionPrefetchAheadTimeInMs();
+    if (aheadTime <= 0) {
+      return;
+    }
+    long currentTime = DateTimeUtils.currentTime();
+    TTimePartitionSlot currentTimePartition = TimePartitionUtils.getTimePartition(currentTime);
+    long nextStartTime =
+        currentTimePartition.getStartTime() + TimePartitionUtils.getTimePartitionInterval();
+    if (nextStartTime - currentTime
+        > DateTimeUtils.convertMilliTimeWithPrecision(aheadTime, config.getTimestampPrecision())) {
+      return;
+    }
+    synchronized (prefetchedSeriesSlots) {
+      if (prefetchedTimePartition != nextStartTime) {
+        prefetchedTimePartition = nextStartTime;
+        prefetchedSeriesSlots.clear();
+      }
+    }
+
+    TTimePartitionSlot nextTimePartition = new TTimePartitionSlot(nextStartTime);
+    Map<String, List<DataPartitionQueryParam>> prefetchParamsMap = new HashMap<>();
+    for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
+        sgNameToQueryParamsMap.entrySet()) {
+      for (DataPartitionQueryParam queryParam : entry.getValue()) {
+        if (null == queryParam.getDevicePath()
+            || !queryParam.getTimePartitionSlotList().contains(currentTimePartition)) {
+          continue;
+        }
+        TSeriesPartitionSlot seriesPartitionSlot =
+            partitionExecutor.getSeriesPartitionSlot(queryParam.getDevicePath());
+        if (prefetchedSeriesSlots.add(entry.getKey() + "." + seriesPartitionSlot.getSlotId())) {
+          DataPartitionQueryParam prefetchParam = new DataPartitionQueryParam();
+          prefetchParam.setDevicePath(queryParam.getDevicePath());
+          prefetchParam.setTimePartitionSlotList(
+              new ArrayList<>(Collections.singletonList(nextTimePartition)));
+          prefetchParamsMap
+              .computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+              .add(prefetchParam);
+        }
+      }
+    }
+    if (prefetchParamsMap.isEmpty()) {
+      return;
+    }
+    dataPartitionPrefetchExecutor.submit(
+        () -> {
+          if (null != partitionCache.getDataPartition(prefetchParamsMap)) {
+            return;
+          }
+          try {
+            dataPartitionRequestBatcher.fetch(prefetchParamsMap);
+          } catch (Exception e) {
+            logger.warn("Failed to prefetch the data partitions of the next time partition", e);
+          }
+        });
+  }
+
   @Override
   public boolean updateRegionCache(TRegionRouteReq req) {
     return partitionCache.updateGroupIdToReplicaSetMap(req.getTimestamp(), req.getRegionRouteMap());
@@ -290,6 +415,18 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
     partitionCache.invalidAllCache();
   }
 
+  /**
+   * Get the database of the device from the cache without fetching it from ConfigNode.
+   *
+   * @return the database name, or null if cache miss
+   */
+  public String getCachedDatabase(PartialPath devicePath) {
+    String device = devicePath.getFullPath();
+    return partitionCache
+        .getDeviceToStorageGroup(Collections.singletonList(device), false, false)
+        .get(device);
+  }
+
   /** split data partition query param by database */
   private Map<String, List<DataPartitionQueryParam>> splitDataPartitionQueryParam(
       List<DataPartitionQueryParam> dataPartitionQueryParams, boolean isAutoCreate) {
@@ -355,14 +492,28 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       // for each sg
       Map<TSeriesPartitionSlot, TTimeSlotList> deviceToTimePartitionMap = new HashMap<>();
       for (DataPartitionQueryParam queryParam : entry.getValue()) {
-        TTimeSlotList timePartitionSlotList =
-            new TTimeSlotList(
-                queryParam.getTimePartitionSlotList(),
-                queryParam.isNeedLeftAll(),
-                queryParam.isNeedRightAll());
-        deviceToTimePartitionMap.put(
-            partitionExecutor.getSeriesPartitionSlot(queryParam.getDevicePath()),
-            timePartitionSlotList);
+        TSeriesPartitionSlot seriesPartitionSlot =
+            partitionExecutor.getSeriesPartitionSlot(queryParam.getDevicePath());
+        TTimeSlotList timePartitionSlotList = deviceToTimePartitionMap.get(seriesPartitionSlot);
+        if (null == timePartitionSlotList) {
+          deviceToTimePartitionMap.put(
+              seriesPartitionSlot,
+              new TTimeSlotList(
+                  new ArrayList<>(queryParam.getTimePartitionSlotList()),
+                  queryParam.isNeedLeftAll(),
+                  queryParam.isNeedRightAll()));
+        } else {
+          // the devices of the same series slot, e.g. from the merged requests, share the slot
+          for (TTimePartitionSlot timePartitionSlot : queryParam.getTimePartitionSlotList()) {
+            if (!timePartitionSlotList.getTimePartitionSlots().contains(timePartitionSlot)) {
+              timePartitionSlotList.getTimePartitionSlots().add(timePartitionSlot);
+            }
+          }
+          timePartitionSlotList.setNeedLeftAll(
+              timePartitionSlotList.isNeedLeftAll() || queryParam.isNeedLeftAll());
+          timePartitionSlotList.setNeedRightAll(
+              timePartitionSlotList.isNeedRightAll() || queryParam.isNeedRightAll());
+        }
       }
       partitionSlotsMap.put(entry.getKey(), deviceToTimePartitionMap);
     }
@@ -81,6 +81,16 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
   private final DataNodeSchemaCache schemaCache = DataNodeSchemaCache.getInstance();
   private final ITemplateManager templateManager = ClusterTemplateManager.getInstance();
 
+  // merge the concurrent fetches of missing full paths from different statements
+  private final RequestBatcher<List<PartialPath>, PathPatternTree, ClusterSchemaTree>
+      schemaFetchRequestBatcher =
+          new RequestBatcher<>(
+              PathPatternTree::new,
+              (mergedPatternTree, fullPathList) ->
+                  fullPathList.forEach(mergedPatternTree::appendFullPath),
+              patternTree -> fetchSchema(patternTree, false),
+              ClusterSchemaFetcher::extractSchemaTree);
+
   private static final class ClusterSchemaFetcherHolder {
     private static final ClusterSchemaFetcher INSTANCE = new ClusterSchemaFetcher();
 
@@ -262,7 +272,7 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
       for (int index : indexOfMissingMeasurements) {
         patternTree.appendFullPath(devicePath, measurements[index]);
       }
-      ClusterSchemaTree remoteSchemaTree = fetchSchema(patternTree);
+      ClusterSchemaTree remoteSchemaTree = fetchMissingSchema(patternTree);
       if (!remoteSchemaTree.isEmpty()) {
         schemaTree.mergeSchemaTree(remoteSchemaTree);
         schemaCache.put(remoteSchemaTree);
@@ -330,7 +340,7 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
       }
 
       // try fetch the missing schema from remote and cache fetched schema
-      ClusterSchemaTree remoteSchemaTree = fetchSchema(patternTree);
+      ClusterSchemaTree remoteSchemaTree = fetchMissingSchema(patternTree);
       if (!remoteSchemaTree.isEmpty()) {
         schemaTree.mergeSchemaTree(remoteSchemaTree);
         schemaCache.put(remoteSchemaTree);
@@ -420,6 +430,7 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
 
       if (shouldActivateTemplate) {
         internalActivateTemplate(devicePath);
+        cacheTemplateSchema(devicePath, template);
         List<Integer> recheckedIndexOfMissingMeasurements = new ArrayList<>();
         for (int i = 0; i < indexOfMissingMeasurements.size(); i++) {
           if (!template.hasSchema(measurements[i])) {
@@ -468,14 +479,42 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
         });
 
     if (!missingMeasurements.isEmpty()) {
-      schemaTree.mergeSchemaTree(
+      ClusterSchemaTree createdSchemaTree =
           internalCreateTimeseries(
               devicePath,
               missingMeasurements,
               dataTypesOfMissingMeasurement,
               encodingsOfMissingMeasurement,
               compressionTypesOfMissingMeasurement,
-              isAligned));
+              isAligned);
+      cacheCreatedSchema(devicePath, createdSchemaTree);
+      schemaTree.mergeSchemaTree(createdSchemaTree);
+    }
+  }
+
+  // Cache the measurements of the template activated on the device, thus the following inserts
+  // into the device won't miss the cache and fetch them again.
+  private void cacheTemplateSchema(PartialPath devicePath, Template template) {
+    String database = ClusterPartitionFetcher.getInstance().getCachedDatabase(devicePath);
+    if (database == null) {
+      return;
+    }
+    for (Map.Entry<String, IMeasurementSchema> entry : template.getSchemaMap().entrySet()) {
+      MeasurementPath measurementPath =
+          new MeasurementPath(devicePath.concatNode(entry.getKey()), entry.getValue());
+      measurementPath.setUnderAlignedEntity(template.isDirectAligned());
+      schemaCache.put(database, measurementPath);
+    }
+  }
+
+  // Cache the auto created or already existing timeseries, which are known by the creation.
+  private void cacheCreatedSchema(PartialPath devicePath, ClusterSchemaTree createdSchemaTree) {
+    String database = ClusterPartitionFetcher.getInstance().getCachedDatabase(devicePath);
+    if (database == null) {
+      return;
+    }
+    for (MeasurementPath measurementPath : createdSchemaTree.getAllMeasurement()) {
+      schemaCache.put(database, measurementPath);
     }
   }
 
@@ -596,4 +635,36 @@ public class ClusterSchemaFetcher implements ISchemaFetcher {
   public void invalidAllCache() {
     DataNodeSchemaCache.getInstance().cleanUp();
   }
+
+  /**
+   * Fetch the schema of the full paths missing in the cache together with the concurrent fetches.
+   *
+   * @param patternTree the pattern tree consisting of full paths only
+   * @return the schema tree of the given paths, which is not shared with other fetches
+   */
+  private ClusterSchemaTree fetchMissingSchema(PathPatternTree patternTree) {
+    patternTree.constructTree();
+    return schemaFetchRequestBatcher.fetch(patternTree.getAllPathPatterns());
+  }
+
+  /**
+   * The merged schema tree is shared by all fetches of a call, and the callers may append schema
+   * into the returned tree, so each of them gets a copy of its own paths.
+   */
+  private static ClusterSchemaTree extractSchemaTree(
+      ClusterSchemaTree mergedSchemaTree, List<PartialPath> fullPathList) {
+    ClusterSchemaTree schemaTree = new ClusterSchemaTree();
+    Set<String> databaseSet = new HashSet<>();
+    for (PartialPath fullPath : fullPathList) {
+      List<MeasurementPath> measurementPathList =
+          mergedSchemaTree.searchMeasurementPaths(fullPath).left;
+      if (measurementPathList.isEmpty()) {
+        continue;
+      }
+      schemaTree.appendMeasurementPaths(measurementPathList);
+      databaseSet.add(mergedSchemaTree.getBelongedDatabase(measurementPathList.get(0)));
+    }
+    schemaTree.setDatabases(databaseSet);
+    return schemaTree;
+  }
 }
@@ -43,14 +43,18 @@ import org.apache.iotdb.db.qp.constant.SQLConstant;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -72,6 +76,10 @@ import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructUn
 import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructUnaryExpressions;
 
 public class ExpressionAnalyzer {
+
+  /** the longs in [-2^53, 2^53] are the ones represented exactly as doubles */
+  private static final double MAX_EXACT_LONG_IN_DOUBLE = 1L << 53;
+
   /**
    * Check if all suffix paths in expression are measurements or one-level wildcards, used in ALIGN
    * BY DEVICE query or GroupByLevel query. If not, throw a {@link SemanticException}.
@@ -1223,4 +1231,136 @@ public class ExpressionAnalyzer {
     }
     return predicate;
   }
+
+  /**
+   * Extract the value filters of single series which all the rows satisfying the predicate satisfy,
+   * i.e. the Eq and In predicates between a series and constants in the top level conjunction of
+   * the predicate. The filters can be pushed down into the scans of the series, so that the chunks
+   * which can't contain the values are skipped, while the predicate still has to be evaluated.
+   *
+   * @return full path of series -> value filter
+   */
+  public static Map<String, Filter> extractSeriesValueFilters(Expression predicate) {
+    Map<String, Filter> pathToValueFilter = new HashMap<>();
+    if (predicate != null) {
+      extractSeriesValueFilters(predicate, pathToValueFilter);
+    }
+    return pathToValueFilter;
+  }
+
+  private static void extractSeriesValueFilters(
+      Expression predicate, Map<String, Filter> pathToValueFilter) {
+    if (predicate.getExpressionType().equals(ExpressionType.LOGIC_AND)) {
+      extractSeriesValueFilters(
+          ((BinaryExpression) predicate).getLeftExpression(), pathToValueFilter);
+      extractSeriesValueFilters(
+          ((BinaryExpression) predicate).getRightExpression(), pathToValueFilter);
+      return;
+    }
+
+    Expression seriesExpression;
+    Filter valueFilter;
+    if (predicate.getExpressionType().equals(ExpressionType.EQUAL_TO)) {
+      Expression left = ((BinaryExpression) predicate).getLeftExpression();
+      Expression right = ((BinaryExpression) predicate).getRightExpression();
+      if (right instanceof ConstantOperand) {
+        seriesExpression = left;
+      } else if (left instanceof ConstantOperand) {
+        seriesExpression = right;
+        right = left;
+      } else {
+        return;
+      }
+      if (!(seriesExpression instanceof TimeSeriesOperand)
+          || !(((TimeSeriesOperand) seriesExpression).getPath() instanceof MeasurementPath)) {
+        return;
+      }
+      valueFilter =
+          constructValueEqFilter(
+              ((MeasurementPath) ((TimeSeriesOperand) seriesExpression).getPath()).getSeriesType(),
+              (ConstantOperand) right);
+    } else if (predicate.getExpressionType().equals(ExpressionType.IN)
+        && !((InExpression) predicate).isNotIn()) {
+      seriesExpression = ((InExpression) predicate).getExpression();
+      if (!(seriesExpression instanceof TimeSeriesOperand)
+          || !(((TimeSeriesOperand) seriesExpression).getPath() instanceof MeasurementPath)) {
+        return;
+      }
+      valueFilter =
+          constructValueInFilter(
+              ((MeasurementPath) ((TimeSeriesOperand) seriesExpression).getPath()).getSeriesType(),
+              ((InExpression) predicate).getValues());
+    } else {
+      return;
+    }
+    if (valueFilter != null) {
+      pathToValueFilter.merge(
+          ((TimeSeriesOperand) seriesExpression).getPath().getFullPath(),
+          valueFilter,
+          FilterFactory::and);
+    }
+  }
+
+  /**
+   * @return the filter of the values equal to the constant, or null if the values can't be
+   *     represented exactly in the data type of the series
+   */
+  private static Filter constructValueEqFilter(TSDataType dataType, ConstantOperand constant) {
+    if (dataType == TSDataType.TEXT) {
+      return constant.getDataType() == TSDataType.TEXT
+          ? ValueFilter.eq(new Binary(constant.getValueString()))
+          : null;
+    }
+    if (constant.getDataType() == TSDataType.TEXT || constant.getDataType() == TSDataType.BOOLEAN) {
+      return null;
+    }
+    // numbers are compared as doubles when evaluating the predicate
+    double value = Double.parseDouble(constant.getValueString());
+    switch (dataType) {
+      case INT32:
+        return value == (int) value ? ValueFilter.eq((int) value) : null;
+      case INT64:
+        // larger longs can't be distinguished from their neighbors as doubles
+        return Math.abs(value) <= MAX_EXACT_LONG_IN_DOUBLE && value == (long) value
+            ? ValueFilter.eq((long) value)
+            : null;
+      case FLOAT:
+        return value == (float) value ? ValueFilter.eq((float) value) : null;
+      case DOUBLE:
+        return ValueFilter.eq(value);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return the filter of the values in the set, which are parsed in the same way as evaluating the
+   *     predicate, or null if they can't be parsed
+   */
+  private static Filter constructValueInFilter(TSDataType dataType, Set<String> values) {
+    try {
+      switch (dataType) {
+        case INT32:
+          return ValueFilter.in(
+              values.stream().map(Integer::valueOf).collect(Collectors.toSet()), false);
+        case INT64:
+          return ValueFilter.in(
+              values.stream().map(Long::valueOf).collect(Collectors.toSet()), false);
+        case FLOAT:
+          return ValueFilter.in(
+              values.stream().map(Float::valueOf).collect(Collectors.toSet()), false);
+        case DOUBLE:
+          return ValueFilter.in(
+              values.stream().map(Double::valueOf).collect(Collectors.toSet()), false);
+        case TEXT:
+          return ValueFilter.in(
+              values.stream().map(Binary::new).collect(Collectors.toSet()), false);
+        default:
+          return null;
+      }
+    } catch (NumberFormatException e) {
+      // the predicate can't be evaluated either
+      return null;
+    }
+  }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PathPatternTree;
+import org.apache.iotdb.db.metadata.cache.DataNodeSchemaCache;
+import org.apache.iotdb.db.metadata.template.Template;
+import org.apache.iotdb.db.mpp.common.schematree.ISchemaTree;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.apache.iotdb.commons.conf.IoTDBConstant.ONE_LEVEL_PATH_WILDCARD;
+
+/**
+ * The schema fetcher used by the executions of one prepared statement. The statement reads the same
+ * paths in every execution, so the schema tree fetched by the previous execution is reused as long
+ * as the paths contain no wildcard, all of them exist and the schema version of {@link
+ * DataNodeSchemaCache} is not changed, i.e. no timeseries or template is changed since then.
+ */
+public class PreparedStatementSchemaFetcher implements ISchemaFetcher {
+
+  private final ISchemaFetcher schemaFetcher;
+
+  private volatile CachedSchemaTree cachedSchemaTree;
+
+  public PreparedStatementSchemaFetcher(ISchemaFetcher schemaFetcher) {
+    this.schemaFetcher = schemaFetcher;
+  }
+
+  @Override
+  public ISchemaTree fetchSchema(PathPatternTree patternTree) {
+    long schemaVersion = DataNodeSchemaCache.getInstance().getSchemaVersion();
+    List<PartialPath> pathPatterns = patternTree.getAllPathPatterns();
+    CachedSchemaTree cached = cachedSchemaTree;
+    if (cached != null
+        && cached.schemaVersion == schemaVersion
+        && cached.pathPatterns.equals(pathPatterns)) {
+      return cached.schemaTree;
+    }
+
+    ISchemaTree schemaTree = schemaFetcher.fetchSchema(patternTree);
+    if (isReusable(pathPatterns, schemaTree)) {
+      cachedSchemaTree = new CachedSchemaTree(pathPatterns, schemaTree, schemaVersion);
+    }
+    return schemaTree;
+  }
+
+  private boolean isReusable(List<PartialPath> pathPatterns, ISchemaTree schemaTree) {
+    for (PartialPath pathPattern : pathPatterns) {
+      // the result of a wildcard changes once a matched timeseries is created
+      if (pathPattern.getFullPath().contains(ONE_LEVEL_PATH_WILDCARD)
+          || schemaTree.searchMeasurementPaths(pathPattern).left.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public ISchemaTree fetchSchemaWithTags(PathPatternTree patternTree) {
+    return schemaFetcher.fetchSchemaWithTags(patternTree);
+  }
+
+  @Override
+  public ISchemaTree fetchSchemaWithAutoCreate(
+      PartialPath devicePath,
+      String[] measurements,
+      Function<Integer, TSDataType> getDataType,
+      boolean aligned) {
+    return schemaFetcher.fetchSchemaWithAutoCreate(devicePath, measurements, getDataType, aligned);
+  }
+
+  @Override
+  public ISchemaTree fetchSchemaListWithAutoCreate(
+      List<PartialPath> devicePath,
+      List<String[]> measurements,
+      List<TSDataType[]> tsDataTypes,
+      List<Boolean> aligned) {
+    return schemaFetcher.fetchSchemaListWithAutoCreate(
+        devicePath, measurements, tsDataTypes, aligned);
+  }
+
+  @Override
+  public ISchemaTree fetchSchemaListWithAutoCreate(
+      List<PartialPath> devicePath,
+      List<String[]> measurements,
+      List<TSDataType[]> tsDataTypes,
+      List<TSEncoding[]> encodings,
+      List<CompressionType[]> compressionTypes,
+      List<Boolean> aligned) {
+    return schemaFetcher.fetchSchemaListWithAutoCreate(
+        devicePath, measurements, tsDataTypes, encodings, compressionTypes, aligned);
+  }
+
+  @Override
+  public Pair<Template, PartialPath> checkTemplateSetInfo(PartialPath path) {
+    return schemaFetcher.checkTemplateSetInfo(path);
+  }
+
+  @Override
+  public Map<Integer, Template> checkAllRelatedTemplate(PartialPath pathPattern) {
+    return schemaFetcher.checkAllRelatedTemplate(pathPattern);
+  }
+
+  @Override
+  public Pair<Template, List<PartialPath>> getAllPathsSetTemplate(String templateName) {
+    return schemaFetcher.getAllPathsSetTemplate(templateName);
+  }
+
+  @Override
+  public void invalidAllCache() {
+    cachedSchemaTree = null;
+    schemaFetcher.invalidAllCache();
+  }
+
+  private static class CachedSchemaTree {
+
+    private final List<PartialPath> pathPatterns;
+
+    private final ISchemaTree schemaTree;
+
+    private final long schemaVersion;
+
+    private CachedSchemaTree(
+        List<PartialPath> pathPatterns, ISchemaTree schemaTree, long schemaVersion) {
+      this.pathPatterns = pathPatterns;
+      this.schemaTree = schemaTree;
+      this.schemaVersion = schemaVersion;
+    }
+  }
+}
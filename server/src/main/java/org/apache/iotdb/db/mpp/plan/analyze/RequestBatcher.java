@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.apache.iotdb.commons.utils.TestOnly;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * RequestBatcher merges the concurrent requests that miss a cache into one remote call. At most one
+ * call is in flight, and the requests arriving meanwhile are merged into the next call, which is
+ * sent by the first of them once the previous call finishes. So a burst of misses, e.g. at the
+ * beginning of a time partition or when inserting into new devices, costs a few calls instead of
+ * one call per request.
+ *
+ * @param <R> the type of the requests
+ * @param <B> the type of the merged requests of a call
+ * @param <T> the type of the responses
+ */
+public class RequestBatcher<R, B, T> {
+
+  private final Supplier<B> batchSupplier;
+  private final BiConsumer<B, R> merger;
+  private final Function<B, T> fetcher;
+  private final BiFunction<T, R, T> splitter;
+
+  // the batch that accepts new requests, null if there is none
+  private Batch pendingBatch;
+  // whether there is a call in flight
+  private boolean fetching = false;
+
+  /**
+   * @param batchSupplier creates the empty merged request of a call
+   * @param merger merges a request into the merged request
+   * @param fetcher sends the merged request, the exceptions thrown are rethrown to all its requests
+   * @param splitter extracts the response of a request from the response of the merged request,
+   *     which is only called if the call has more than one request
+   */
+  public RequestBatcher(
+      Supplier<B> batchSupplier,
+      BiConsumer<B, R> merger,
+      Function<B, T> fetcher,
+      BiFunction<T, R, T> splitter) {
+    this.batchSupplier = batchSupplier;
+    this.merger = merger;
+    this.fetcher = fetcher;
+    this.splitter = splitter;
+  }
+
+  /** Fetch the response of the request together with the concurrent requests. */
+  public T fetch(R request) {
+    Batch batch;
+    boolean isLeader = false;
+    synchronized (this) {
+      if (pendingBatch == null) {
+        pendingBatch = new Batch(batchSupplier.get());
+        isLeader = true;
+      }
+      batch = pendingBatch;
+      batch.requestNum++;
+      merger.accept(batch.mergedRequest, request);
+    }
+    if (isLeader) {
+      sendBatch(batch);
+    }
+    T response = batch.get();
+    return batch.requestNum == 1 ? response : splitter.apply(response, request);
+  }
+
+  private void sendBatch(Batch batch) {
+    synchronized (this) {
+      try {
+        while (fetching) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        // the batch is given up, so that no request waits for it forever
+        if (pendingBatch == batch) {
+          pendingBatch = null;
+        }
+        batch.future.completeExceptionally(
+            new RuntimeException("Interrupted while waiting for the previous call", e));
+        return;
+      }
+      fetching = true;
+      // stop accepting new requests, the following ones are merged into the next batch
+      pendingBatch = null;
+    }
+    try {
+      batch.future.complete(fetcher.apply(batch.mergedRequest));
+    } catch (Throwable t) {
+      batch.future.completeExceptionally(t);
+    } finally {
+      synchronized (this) {
+        fetching = false;
+        notifyAll();
+      }
+    }
+  }
+
+  @TestOnly
+  synchronized int getPendingRequestNum() {
+    return pendingBatch == null ? 0 : pendingBatch.requestNum;
+  }
+
+  private class Batch {
+
+    private final B mergedRequest;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    // only modified before the batch is sent
+    private volatile int requestNum = 0;
+
+    private Batch(B mergedRequest) {
+      this.mergedRequest = mergedRequest;
+    }
+
+    private T get() {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for the merged call", e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+      }
+    }
+  }
+}
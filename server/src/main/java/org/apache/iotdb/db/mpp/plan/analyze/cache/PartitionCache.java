@@ -29,10 +29,8 @@ import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.partition.DataPartition;
 import org.apache.iotdb.commons.partition.DataPartitionQueryParam;
-import org.apache.iotdb.commons.partition.DataPartitionTable;
 import org.apache.iotdb.commons.partition.SchemaPartition;
 import org.apache.iotdb.commons.partition.SchemaPartitionTable;
-import org.apache.iotdb.commons.partition.SeriesPartitionTable;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.PathUtils;
@@ -66,6 +64,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -89,8 +88,15 @@ public class PartitionCache {
   private final Set<String> storageGroupCache = Collections.synchronizedSet(new HashSet<>());
   /** storage -> schemaPartitionTable */
   private final Cache<String, SchemaPartitionTable> schemaPartitionCache;
-  /** storage -> dataPartitionTable */
-  private final Cache<String, DataPartitionTable> dataPartitionCache;
+  /**
+   * database -> seriesPartitionSlot -> timePartitionSlot -> ConsensusGroupId. The data partition of
+   * a database is indexed by the series partition slot, i.e. the hash of device, and the time slot
+   * map of each series slot is immutable and replaced as a whole when it's updated, so that the
+   * write path reads it without any lock.
+   */
+  private final Cache<
+          String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+      dataPartitionCache;
 
   /** the latest time when groupIdToReplicaSetMap updated. */
   private final AtomicLong latestUpdateTime = new AtomicLong(0);
@@ -101,7 +107,6 @@ public class PartitionCache {
   private final ReentrantReadWriteLock storageGroupCacheLock = new ReentrantReadWriteLock();
 
   private final ReentrantReadWriteLock schemaPartitionCacheLock = new ReentrantReadWriteLock();
-  private final ReentrantReadWriteLock dataPartitionCacheLock = new ReentrantReadWriteLock();
 
   private final ReentrantReadWriteLock regionReplicaSetLock = new ReentrantReadWriteLock();
 
@@ -593,31 +598,26 @@ public class PartitionCache {
    */
   public DataPartition getDataPartition(
       Map<String, List<DataPartitionQueryParam>> storageGroupToQueryParamsMap) {
-    dataPartitionCacheLock.readLock().lock();
-    try {
-      if (storageGroupToQueryParamsMap.size() == 0) {
+    if (storageGroupToQueryParamsMap.size() == 0) {
+      CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
+      return null;
+    }
+    Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>>
+        dataPartitionMap = new HashMap<>();
+    // check cache for each database
+    for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
+        storageGroupToQueryParamsMap.entrySet()) {
+      if (null == entry.getValue()
+          || 0 == entry.getValue().size()
+          || !getStorageGroupDataPartition(dataPartitionMap, entry.getKey(), entry.getValue())) {
         CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
         return null;
       }
-      Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>>
-          dataPartitionMap = new HashMap<>();
-      // check cache for each database
-      for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
-          storageGroupToQueryParamsMap.entrySet()) {
-        if (null == entry.getValue()
-            || 0 == entry.getValue().size()
-            || !getStorageGroupDataPartition(dataPartitionMap, entry.getKey(), entry.getValue())) {
-          CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
-          return null;
-        }
-      }
-      logger.debug("[{} Cache] hit", DATA_PARTITION_CACHE_NAME);
-      // cache hit
-      CacheMetricsRecorder.record(true, DATA_PARTITION_CACHE_NAME);
-      return new DataPartition(dataPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
-    } finally {
-      dataPartitionCacheLock.readLock().unlock();
     }
+    logger.debug("[{} Cache] hit", DATA_PARTITION_CACHE_NAME);
+    // cache hit
+    CacheMetricsRecorder.record(true, DATA_PARTITION_CACHE_NAME);
+    return new DataPartition(dataPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
   }
 
   /**
@@ -633,14 +633,13 @@ public class PartitionCache {
           dataPartitionMap,
       String storageGroupName,
       List<DataPartitionQueryParam> dataPartitionQueryParams) {
-    DataPartitionTable dataPartitionTable = dataPartitionCache.getIfPresent(storageGroupName);
-    if (null == dataPartitionTable) {
+    Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+        cachedStorageGroupPartitionMap = dataPartitionCache.getIfPresent(storageGroupName);
+    if (null == cachedStorageGroupPartitionMap) {
       logger.debug(
           "[{} Cache] miss when search database {}", DATA_PARTITION_CACHE_NAME, storageGroupName);
       return false;
     }
-    Map<TSeriesPartitionSlot, SeriesPartitionTable> cachedStorageGroupPartitionMap =
-        dataPartitionTable.getDataPartitionMap();
     Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>
         seriesSlotToTimePartitionMap =
             dataPartitionMap.computeIfAbsent(storageGroupName, k -> new HashMap<>());
@@ -666,7 +665,8 @@ public class PartitionCache {
       Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>
           seriesSlotToTimePartitionMap,
       DataPartitionQueryParam dataPartitionQueryParam,
-      Map<TSeriesPartitionSlot, SeriesPartitionTable> cachedStorageGroupPartitionMap) {
+      Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+          cachedStorageGroupPartitionMap) {
     TSeriesPartitionSlot seriesPartitionSlot;
     if (null != dataPartitionQueryParam.getDevicePath()) {
       seriesPartitionSlot =
@@ -674,17 +674,15 @@ public class PartitionCache {
     } else {
       return false;
     }
-    SeriesPartitionTable cachedSeriesPartitionTable =
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> cachedTimePartitionSlot =
         cachedStorageGroupPartitionMap.get(seriesPartitionSlot);
-    if (null == cachedSeriesPartitionTable) {
+    if (null == cachedTimePartitionSlot) {
       logger.debug(
           "[{} Cache] miss when search device {}",
           DATA_PARTITION_CACHE_NAME,
           dataPartitionQueryParam.getDevicePath());
       return false;
     }
-    Map<TTimePartitionSlot, List<TConsensusGroupId>> cachedTimePartitionSlot =
-        cachedSeriesPartitionTable.getSeriesPartitionMap();
     Map<TTimePartitionSlot, List<TRegionReplicaSet>> timePartitionSlotListMap =
         seriesSlotToTimePartitionMap.computeIfAbsent(seriesPartitionSlot, k -> new HashMap<>());
     // Notice: when query all time partition, then miss
@@ -714,10 +712,9 @@ public class PartitionCache {
       Map<TTimePartitionSlot, List<TRegionReplicaSet>> timePartitionSlotListMap,
       TTimePartitionSlot timePartitionSlot,
       Map<TTimePartitionSlot, List<TConsensusGroupId>> cachedTimePartitionSlot) {
-    List<TConsensusGroupId> cacheConsensusGroupId = cachedTimePartitionSlot.get(timePartitionSlot);
-    if (null == cacheConsensusGroupId
-        || 0 == cacheConsensusGroupId.size()
-        || null == timePartitionSlot) {
+    List<TConsensusGroupId> cacheConsensusGroupId =
+        null == timePartitionSlot ? null : cachedTimePartitionSlot.get(timePartitionSlot);
+    if (null == cacheConsensusGroupId || 0 == cacheConsensusGroupId.size()) {
       logger.debug(
           "[{} Cache] miss when search time partition {}",
           DATA_PARTITION_CACHE_NAME,
@@ -741,44 +738,33 @@ public class PartitionCache {
   public void updateDataPartitionCache(
       Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
           dataPartitionTable) {
-    dataPartitionCacheLock.writeLock().lock();
-    try {
-      for (Map.Entry<
-              String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
-          entry1 : dataPartitionTable.entrySet()) {
-        String storageGroupName = entry1.getKey();
-        if (null != storageGroupName) {
-          DataPartitionTable result = dataPartitionCache.getIfPresent(storageGroupName);
-          if (null == result) {
-            result = new DataPartitionTable();
-            dataPartitionCache.put(storageGroupName, result);
-          }
-          Map<TSeriesPartitionSlot, SeriesPartitionTable>
-              seriesPartitionSlotSeriesPartitionTableMap = result.getDataPartitionMap();
-          for (Map.Entry<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
-              entry2 : entry1.getValue().entrySet()) {
-            TSeriesPartitionSlot seriesPartitionSlot = entry2.getKey();
-            if (null != seriesPartitionSlot) {
-              SeriesPartitionTable seriesPartitionTable;
-              if (!seriesPartitionSlotSeriesPartitionTableMap.containsKey(seriesPartitionSlot)) {
-                // if device not exists, then add new seriesPartitionTable
-                seriesPartitionTable = new SeriesPartitionTable(entry2.getValue());
-                seriesPartitionSlotSeriesPartitionTableMap.put(
-                    seriesPartitionSlot, seriesPartitionTable);
-              } else {
-                // if device exists, then merge
-                seriesPartitionTable =
-                    seriesPartitionSlotSeriesPartitionTableMap.get(seriesPartitionSlot);
-                Map<TTimePartitionSlot, List<TConsensusGroupId>> result3 =
-                    seriesPartitionTable.getSeriesPartitionMap();
-                result3.putAll(entry2.getValue());
-              }
-            }
-          }
+    for (Map.Entry<
+            String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+        entry1 : dataPartitionTable.entrySet()) {
+      String storageGroupName = entry1.getKey();
+      if (null == storageGroupName) {
+        continue;
+      }
+      Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+          seriesPartitionSlotMap =
+              dataPartitionCache.get(storageGroupName, k -> new ConcurrentHashMap<>());
+      for (Map.Entry<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+          entry2 : entry1.getValue().entrySet()) {
+        TSeriesPartitionSlot seriesPartitionSlot = entry2.getKey();
+        if (null != seriesPartitionSlot) {
+          // copy on write, so that the readers always see a complete map
+          seriesPartitionSlotMap.compute(
+              seriesPartitionSlot,
+              (k, cachedTimePartitionSlot) -> {
+                Map<TTimePartitionSlot, List<TConsensusGroupId>> result =
+                    null == cachedTimePartitionSlot
+                        ? new HashMap<>()
+                        : new HashMap<>(cachedTimePartitionSlot);
+                result.putAll(entry2.getValue());
+                return Collections.unmodifiableMap(result);
+              });
         }
       }
-    } finally {
-      dataPartitionCacheLock.writeLock().unlock();
     }
   }
 
@@ -788,22 +774,12 @@ public class PartitionCache {
    * @param storageGroup the databases that need to invalid
    */
   public void invalidDataPartitionCache(String storageGroup) {
-    dataPartitionCacheLock.writeLock().lock();
-    try {
-      dataPartitionCache.invalidate(storageGroup);
-    } finally {
-      dataPartitionCacheLock.writeLock().unlock();
-    }
+    dataPartitionCache.invalidate(storageGroup);
   }
 
   /** invalid all dataPartitionCache */
   public void invalidAllDataPartitionCache() {
-    dataPartitionCacheLock.writeLock().lock();
-    try {
-      dataPartitionCache.invalidateAll();
-    } finally {
-      dataPartitionCacheLock.writeLock().unlock();
-    }
+    dataPartitionCache.invalidateAll();
   }
 
   // endregion
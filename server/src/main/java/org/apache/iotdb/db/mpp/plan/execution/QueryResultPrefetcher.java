@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.execution;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.db.utils.QueryDataSetUtils;
+import org.apache.iotdb.db.utils.SetThreadName;
+import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * QueryResultPrefetcher serializes the next batches of a query in background while the client is
+ * consuming the current one, so that the client doesn't need to wait for the server to produce the
+ * result after each fetch. At most prefetchBatchNum batches are kept for each query, and only one
+ * thread pulls the result from the {@link IQueryExecution} at a time.
+ */
+public class QueryResultPrefetcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryResultPrefetcher.class);
+
+  /** Bound the memory held by the prefetched batches of one query */
+  public static final int MAX_PREFETCH_BATCH_NUM = 8;
+
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      IoTDBThreadPoolFactory.newCachedThreadPool("QueryResultPrefetch");
+
+  private final IQueryExecution queryExecution;
+
+  private final Deque<Pair<List<ByteBuffer>, Boolean>> prefetchedBatches = new ArrayDeque<>();
+
+  private int fetchSize;
+  private int prefetchBatchNum;
+
+  // whether there is a prefetch task pulling the result
+  private boolean prefetching = false;
+  // whether the last batch of the query has been pulled
+  private boolean finished = false;
+  private boolean closed = false;
+  private IoTDBException failure;
+
+  public QueryResultPrefetcher(IQueryExecution queryExecution) {
+    this.queryExecution = queryExecution;
+  }
+
+  /**
+   * Get the next batch of the query, then start to prefetch the following batches in background.
+   *
+   * @param fetchSize the number of rows of each batch
+   * @param prefetchBatchNum the max number of batches to be prefetched, 0 means no prefetch
+   * @return pair.left is the serialized TsBlocks, pair.right indicates if the query finished
+   */
+  public synchronized Pair<List<ByteBuffer>, Boolean> fetch(int fetchSize, int prefetchBatchNum)
+      throws IoTDBException {
+    this.fetchSize = fetchSize;
+    this.prefetchBatchNum = Math.max(0, Math.min(prefetchBatchNum, MAX_PREFETCH_BATCH_NUM));
+    while (prefetchedBatches.isEmpty() && prefetching && !closed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IoTDBException(
+            "Interrupted while waiting for the prefetched result",
+            TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      }
+    }
+
+    Pair<List<ByteBuffer>, Boolean> batch;
+    if (!prefetchedBatches.isEmpty()) {
+      batch = prefetchedBatches.poll();
+    } else if (failure != null) {
+      throw failure;
+    } else {
+      // no prefetch task is running now, so it's safe to pull the result here
+      batch = QueryDataSetUtils.convertQueryResultByFetchSize(queryExecution, fetchSize);
+      finished = batch.right;
+    }
+    startPrefetchIfNecessary();
+    return batch;
+  }
+
+  private void startPrefetchIfNecessary() {
+    if (!prefetching
+        && !closed
+        && !finished
+        && failure == null
+        && prefetchedBatches.size() < prefetchBatchNum) {
+      prefetching = true;
+      PREFETCH_EXECUTOR.submit(this::prefetch);
+    }
+  }
+
+  private void prefetch() {
+    try (SetThreadName threadName = new SetThreadName(queryExecution.getQueryId())) {
+      while (true) {
+        int currentFetchSize;
+        synchronized (this) {
+          if (closed || finished || prefetchedBatches.size() >= prefetchBatchNum) {
+            prefetching = false;
+            notifyAll();
+            return;
+          }
+          currentFetchSize = fetchSize;
+        }
+
+        Pair<List<ByteBuffer>, Boolean> batch;
+        try {
+          batch = QueryDataSetUtils.convertQueryResultByFetchSize(queryExecution, currentFetchSize);
+        } catch (IoTDBException e) {
+          onFailure(e);
+          return;
+        } catch (Throwable t) {
+          LOGGER.warn("Failed to prefetch the result", t);
+          onFailure(
+              new IoTDBException(
+                  t.getMessage(), t, TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode()));
+          return;
+        }
+
+        synchronized (this) {
+          if (!closed) {
+            prefetchedBatches.add(batch);
+          }
+          finished = batch.right;
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  private synchronized void onFailure(IoTDBException e) {
+    failure = e;
+    prefetching = false;
+    notifyAll();
+  }
+
+  /** Stop prefetching and release the prefetched batches. */
+  public synchronized void close() {
+    closed = true;
+    prefetchedBatches.clear();
+    notifyAll();
+  }
+}
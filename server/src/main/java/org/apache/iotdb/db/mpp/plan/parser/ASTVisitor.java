@@ -1200,12 +1200,21 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
   private OrderByComponent parseOrderByClause(IoTDBSqlParser.OrderByClauseContext ctx) {
     OrderByComponent orderByComponent = new OrderByComponent();
     Set<SortKey> sortKeySet = new HashSet<>();
+    Set<Expression> sortExpressionSet = new HashSet<>();
     for (IoTDBSqlParser.OrderByAttributeClauseContext orderByAttributeClauseContext :
         ctx.orderByAttributeClause()) {
       SortItem sortItem = parseOrderByAttributeClause(orderByAttributeClauseContext);
 
       SortKey sortKey = sortItem.getSortKey();
-      if (sortKeySet.contains(sortKey)) {
+      if (sortKey == SortKey.EXPRESSION) {
+        if (!sortExpressionSet.add(sortItem.getExpression())) {
+          throw new SemanticException(
+              String.format(
+                  "ORDER BY: duplicate sort key '%s'",
+                  sortItem.getExpression().getExpressionString()));
+        }
+        orderByComponent.addSortItem(sortItem);
+      } else if (sortKeySet.contains(sortKey)) {
         throw new SemanticException(String.format("ORDER BY: duplicate sort key '%s'", sortKey));
       } else {
         sortKeySet.add(sortKey);
@@ -1216,9 +1225,11 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
   }
 
   private SortItem parseOrderByAttributeClause(IoTDBSqlParser.OrderByAttributeClauseContext ctx) {
-    return new SortItem(
-        SortKey.valueOf(ctx.sortKey().getText().toUpperCase()),
-        ctx.DESC() != null ? Ordering.DESC : Ordering.ASC);
+    Ordering ordering = ctx.DESC() != null ? Ordering.DESC : Ordering.ASC;
+    if (ctx.sortKey() != null) {
+      return new SortItem(SortKey.valueOf(ctx.sortKey().getText().toUpperCase()), ordering);
+    }
+    return new SortItem(SortKey.EXPRESSION, ordering, parseExpression(ctx.expression(), false));
   }
 
   // ---- Fill Clause
@@ -1636,7 +1647,7 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
     }
   }
 
-  private String parseStringLiteral(String src) {
+  String parseStringLiteral(String src) {
     if (2 <= src.length()) {
       // do not unescape string
       String unWrappedString = src.substring(1, src.length() - 1);
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.parser;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.sql.SQLParserException;
+import org.apache.iotdb.db.exception.sql.SemanticException;
+import org.apache.iotdb.db.mpp.plan.analyze.ISchemaFetcher;
+import org.apache.iotdb.db.mpp.plan.analyze.PreparedStatementSchemaFetcher;
+import org.apache.iotdb.db.mpp.plan.expression.Expression;
+import org.apache.iotdb.db.mpp.plan.expression.binary.BinaryExpression;
+import org.apache.iotdb.db.mpp.plan.expression.leaf.ConstantOperand;
+import org.apache.iotdb.db.mpp.plan.expression.multi.FunctionExpression;
+import org.apache.iotdb.db.mpp.plan.expression.ternary.TernaryExpression;
+import org.apache.iotdb.db.mpp.plan.expression.unary.UnaryExpression;
+import org.apache.iotdb.db.mpp.plan.statement.Statement;
+import org.apache.iotdb.db.mpp.plan.statement.component.HavingCondition;
+import org.apache.iotdb.db.mpp.plan.statement.component.WhereCondition;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructBinaryExpression;
+import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructFunctionExpression;
+import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructTernaryExpression;
+import static org.apache.iotdb.db.mpp.plan.analyze.ExpressionUtils.reconstructUnaryExpression;
+
+/**
+ * PreparedStatementTemplate is a statement prepared by a client, whose literals are replaced by
+ * '?'. If all the parameters are in the WHERE or HAVING predicates of a query, the statement is
+ * parsed only once when prepared, with each parameter replaced by a placeholder constant, and every
+ * execution only visits the cached parse tree and binds the parameters to the predicates. Otherwise
+ * the parameters are filled into the statement text, which is parsed in every execution.
+ *
+ * <p>The schema tree fetched by the statement is cached by its {@link
+ * PreparedStatementSchemaFetcher}. The logical plan is still generated in every execution, because
+ * the time filter and thus the data partitions to read depend on the parameters.
+ */
+public class PreparedStatementTemplate {
+
+  private static final Logger logger = LoggerFactory.getLogger(PreparedStatementTemplate.class);
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  /** the i-th parameter is replaced by PARAMETER_PLACEHOLDER_BASE + i when parsed */
+  private static final long PARAMETER_PLACEHOLDER_BASE = 9_223_372_036_854_000_000L;
+
+  private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d+");
+
+  private static final Pattern REAL_PATTERN =
+      Pattern.compile("-?(\\d+\\.\\d*|\\.\\d+|\\d+)([eE][+-]?\\d+)?");
+
+  private final String sql;
+
+  /** the sql split by the parameters */
+  private final List<String> sqlParts;
+
+  /** null if the parameters can not be bound to the parse tree */
+  private final ParseTree parseTree;
+
+  private final PreparedStatementSchemaFetcher schemaFetcher;
+
+  public PreparedStatementTemplate(String sql, ZoneId zoneId, ISchemaFetcher schemaFetcher) {
+    this.sql = sql;
+    this.sqlParts = splitSqlStatement(sql);
+    this.parseTree = tryParse(zoneId);
+    this.schemaFetcher = new PreparedStatementSchemaFetcher(schemaFetcher);
+  }
+
+  private ParseTree tryParse(ZoneId zoneId) {
+    int parameterCount = getParameterCount();
+    StringBuilder placeholderSql = new StringBuilder(sqlParts.get(0));
+    for (int i = 1; i < sqlParts.size(); i++) {
+      placeholderSql.append(PARAMETER_PLACEHOLDER_BASE + i - 1).append(sqlParts.get(i));
+    }
+
+    try {
+      ParseTree tree = StatementGenerator.parse(placeholderSql.toString());
+      ASTVisitor astVisitor = new ASTVisitor();
+      astVisitor.setZoneId(zoneId);
+      Statement statement = astVisitor.visit(tree);
+      if (!(statement instanceof QueryStatement)) {
+        return null;
+      }
+
+      // every parameter should appear in the predicates exactly once
+      int[] occurrences = new int[parameterCount];
+      IntFunction<Expression> counter =
+          index -> {
+            occurrences[index]++;
+            return null;
+          };
+      bindPredicates((QueryStatement) statement, counter);
+      for (int occurrence : occurrences) {
+        if (occurrence != 1) {
+          return null;
+        }
+      }
+      return tree;
+    } catch (Exception e) {
+      logger.debug("Parameters of prepared statement {} can not be bound when parsed", sql, e);
+      return null;
+    }
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public int getParameterCount() {
+    return sqlParts.size() - 1;
+  }
+
+  public boolean isParseTreeCached() {
+    return parseTree != null;
+  }
+
+  public ISchemaFetcher getSchemaFetcher() {
+    return schemaFetcher;
+  }
+
+  /** @return the statement text with the parameters filled in */
+  public String getSql(List<String> parameters) {
+    checkParameterCount(parameters);
+    StringBuilder completeSql = new StringBuilder(sqlParts.get(0));
+    for (int i = 1; i < sqlParts.size(); i++) {
+      completeSql.append(parameters.get(i - 1)).append(sqlParts.get(i));
+    }
+    return completeSql.toString();
+  }
+
+  public Statement bind(List<String> parameters, ZoneId zoneId) {
+    checkParameterCount(parameters);
+    if (parseTree != null) {
+      ASTVisitor astVisitor = new ASTVisitor();
+      astVisitor.setZoneId(zoneId);
+      List<Expression> parameterOperands = new ArrayList<>(parameters.size());
+      for (String parameter : parameters) {
+        Expression operand = parseParameter(parameter, astVisitor);
+        if (operand == null) {
+          // not a literal, e.g. a path or an expression
+          return StatementGenerator.createStatement(getSql(parameters), zoneId);
+        }
+        parameterOperands.add(operand);
+      }
+
+      QueryStatement statement = (QueryStatement) astVisitor.visit(parseTree);
+      bindPredicates(statement, parameterOperands::get);
+      return statement;
+    }
+    return StatementGenerator.createStatement(getSql(parameters), zoneId);
+  }
+
+  private void checkParameterCount(List<String> parameters) {
+    if (parameters.size() != getParameterCount()) {
+      throw new SemanticException(
+          String.format(
+              "The prepared statement has %d parameters, but %d are given",
+              getParameterCount(), parameters.size()));
+    }
+  }
+
+  private static void bindPredicates(
+      QueryStatement statement, IntFunction<Expression> parameterOperands) {
+    WhereCondition whereCondition = statement.getWhereCondition();
+    if (whereCondition != null) {
+      whereCondition.setPredicate(bindParameters(whereCondition.getPredicate(), parameterOperands));
+    }
+    HavingCondition havingCondition = statement.getHavingCondition();
+    if (havingCondition != null) {
+      havingCondition.setPredicate(
+          bindParameters(havingCondition.getPredicate(), parameterOperands));
+    }
+  }
+
+  /** Replace the placeholder constants by the operands of the parameters. */
+  private static Expression bindParameters(
+      Expression expression, IntFunction<Expression> parameterOperands) {
+    if (expression instanceof TernaryExpression) {
+      TernaryExpression ternaryExpression = (TernaryExpression) expression;
+      return reconstructTernaryExpression(
+          expression,
+          bindParameters(ternaryExpression.getFirstExpression(), parameterOperands),
+          bindParameters(ternaryExpression.getSecondExpression(), parameterOperands),
+          bindParameters(ternaryExpression.getThirdExpression(), parameterOperands));
+    } else if (expression instanceof BinaryExpression) {
+      BinaryExpression binaryExpression = (BinaryExpression) expression;
+      return reconstructBinaryExpression(
+          expression.getExpressionType(),
+          bindParameters(binaryExpression.getLeftExpression(), parameterOperands),
+          bindParameters(binaryExpression.getRightExpression(), parameterOperands));
+    } else if (expression instanceof UnaryExpression) {
+      return reconstructUnaryExpression(
+          (UnaryExpression) expression,
+          bindParameters(((UnaryExpression) expression).getExpression(), parameterOperands));
+    } else if (expression instanceof FunctionExpression) {
+      List<Expression> childExpressions = new ArrayList<>();
+      for (Expression childExpression : expression.getExpressions()) {
+        childExpressions.add(bindParameters(childExpression, parameterOperands));
+      }
+      return reconstructFunctionExpression((FunctionExpression) expression, childExpressions);
+    } else if (expression instanceof ConstantOperand) {
+      int index = getParameterIndex((ConstantOperand) expression);
+      if (index >= 0) {
+        Expression operand = parameterOperands.apply(index);
+        return operand == null ? expression : operand;
+      }
+      return expression;
+    } else {
+      return expression;
+    }
+  }
+
+  private static int getParameterIndex(ConstantOperand constantOperand) {
+    if (constantOperand.getDataType() != TSDataType.INT64) {
+      return -1;
+    }
+    try {
+      long value = Long.parseLong(constantOperand.getValueString());
+      return value >= PARAMETER_PLACEHOLDER_BASE ? (int) (value - PARAMETER_PLACEHOLDER_BASE) : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Parse the parameter in the same way as a constant in sql.
+   *
+   * @return null if the parameter is not a constant
+   */
+  private static Expression parseParameter(String parameter, ASTVisitor astVisitor) {
+    String text = parameter.trim();
+    if (text.length() >= 2
+        && ((text.charAt(0) == '\'' && text.charAt(text.length() - 1) == '\'')
+            || (text.charAt(0) == '"' && text.charAt(text.length() - 1) == '"'))) {
+      return new ConstantOperand(TSDataType.TEXT, astVisitor.parseStringLiteral(text));
+    }
+    if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+      return new ConstantOperand(TSDataType.BOOLEAN, text);
+    }
+    if (INTEGER_PATTERN.matcher(text).matches()) {
+      try {
+        Long.parseLong(text);
+        return new ConstantOperand(TSDataType.INT64, text);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+    if (REAL_PATTERN.matcher(text).matches()) {
+      return new ConstantOperand(
+          CONFIG.getFloatingStringInferType().equals(TSDataType.DOUBLE)
+              ? TSDataType.DOUBLE
+              : TSDataType.FLOAT,
+          text);
+    }
+    try {
+      return new ConstantOperand(
+          TSDataType.INT64, String.valueOf(astVisitor.parseDateFormat(text)));
+    } catch (SQLParserException | SemanticException e) {
+      return null;
+    }
+  }
+
+  /** Split the sql by the '?' which are not quoted. */
+  private static List<String> splitSqlStatement(String sql) {
+    List<String> parts = new ArrayList<>();
+    int apCount = 0;
+    int off = 0;
+    boolean skip = false;
+
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (skip) {
+        skip = false;
+        continue;
+      }
+      switch (c) {
+        case '\'':
+          apCount++;
+          break;
+        case '\\':
+          skip = true;
+          break;
+        case '?':
+          if ((apCount & 1) == 0) {
+            parts.add(sql.substring(off, i));
+            off = i + 1;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    parts.add(sql.substring(off));
+    return parts;
+  }
+}
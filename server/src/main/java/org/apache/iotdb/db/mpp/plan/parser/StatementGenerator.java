@@ -474,7 +474,11 @@ public class StatementGenerator {
   private static Statement invokeParser(String sql, ZoneId zoneId) {
     ASTVisitor astVisitor = new ASTVisitor();
     astVisitor.setZoneId(zoneId);
+    return astVisitor.visit(parse(sql));
+  }
 
+  /** Parse the sql into a parse tree, which can be visited by {@link ASTVisitor} repeatedly. */
+  static ParseTree parse(String sql) {
     CharStream charStream1 = CharStreams.fromString(sql);
 
     SqlLexer lexer1 = new SqlLexer(charStream1);
@@ -513,7 +517,7 @@ public class StatementGenerator {
       tree = parser2.singleStatement();
       // if we get here, it's LL not SLL
     }
-    return astVisitor.visit(tree);
+    return tree;
   }
 
   private static void addMeasurementAndValue(
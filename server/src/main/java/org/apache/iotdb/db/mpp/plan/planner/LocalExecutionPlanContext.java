@@ -19,8 +19,11 @@
 package org.apache.iotdb.db.mpp.plan.planner;
 
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.mpp.execution.exchange.ISinkHandle;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.source.DataSourceOperator;
 import org.apache.iotdb.db.mpp.execution.timer.RuleBasedTimeSliceAllocator;
 import org.apache.iotdb.db.mpp.plan.analyze.TypeProvider;
@@ -35,12 +38,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 public class LocalExecutionPlanContext {
   private final FragmentInstanceContext instanceContext;
+  // the paths and source operators of this pipeline
   private final List<PartialPath> paths;
   // deviceId -> sensorId Set
   private final Map<String, Set<String>> allSensorsMap;
@@ -48,9 +53,22 @@ public class LocalExecutionPlanContext {
   private final List<DataSourceOperator> sourceOperators;
 
   private final long dataRegionTTL;
+  // used to share the series scans of the same DataRegion, null for schema region
+  private String dataRegionId;
   private ISinkHandle sinkHandle;
 
-  private int nextOperatorId = 0;
+  // the ID of the pipeline planned with this context, 0 for the pipeline sending the results of
+  // the fragment instance, and the others send their results to the local exchanges
+  private final int pipelineId;
+  // the root operator of this pipeline, only set for the child pipelines
+  private Operator pipelineRoot;
+  // the contexts of the child pipelines, shared by all pipelines of the fragment instance
+  private final List<LocalExecutionPlanContext> childPipelineContexts;
+  // the max number of child pipelines, 0 if the fragment instance isn't split
+  private final int degreeOfParallelism;
+
+  // shared by all pipelines of the fragment instance
+  private final AtomicInteger nextOperatorId;
 
   private final TypeProvider typeProvider;
 
@@ -74,6 +92,28 @@ public class LocalExecutionPlanContext {
     this.sourceOperators = new ArrayList<>();
     this.timeSliceAllocator = new RuleBasedTimeSliceAllocator();
     this.dataRegionTTL = dataRegionTTL;
+    this.pipelineId = 0;
+    this.childPipelineContexts = new ArrayList<>();
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    int parallelism = Math.min(config.getDegreeOfQueryParallelism(), config.getQueryThreadCount());
+    this.degreeOfParallelism = parallelism > 1 ? parallelism : 0;
+    this.nextOperatorId = new AtomicInteger();
+  }
+
+  // for a child pipeline of the fragment instance of data region
+  private LocalExecutionPlanContext(LocalExecutionPlanContext parentContext, int pipelineId) {
+    this.typeProvider = parentContext.typeProvider;
+    this.instanceContext = parentContext.instanceContext;
+    this.paths = new ArrayList<>();
+    this.allSensorsMap = parentContext.allSensorsMap;
+    this.sourceOperators = new ArrayList<>();
+    this.timeSliceAllocator = parentContext.timeSliceAllocator;
+    this.dataRegionTTL = parentContext.dataRegionTTL;
+    this.dataRegionId = parentContext.dataRegionId;
+    this.pipelineId = pipelineId;
+    this.childPipelineContexts = parentContext.childPipelineContexts;
+    this.degreeOfParallelism = parentContext.degreeOfParallelism;
+    this.nextOperatorId = parentContext.nextOperatorId;
   }
 
   // for schema region
@@ -88,10 +128,45 @@ public class LocalExecutionPlanContext {
     this.timeSliceAllocator = new RuleBasedTimeSliceAllocator();
     // there is no ttl in schema region, so we don't care this field
     this.dataRegionTTL = Long.MAX_VALUE;
+    this.pipelineId = 0;
+    this.childPipelineContexts = new ArrayList<>();
+    this.degreeOfParallelism = 0;
+    this.nextOperatorId = new AtomicInteger();
+  }
+
+  /**
+   * Create the context of a new child pipeline, whose root operator should be set after planned.
+   */
+  public LocalExecutionPlanContext createChildPipelineContext() {
+    LocalExecutionPlanContext childContext =
+        new LocalExecutionPlanContext(this, childPipelineContexts.size() + 1);
+    childPipelineContexts.add(childContext);
+    return childContext;
+  }
+
+  /** @return the number of child pipelines that can still be created */
+  public int getRemainingPipelineNum() {
+    return degreeOfParallelism - childPipelineContexts.size();
+  }
+
+  public List<LocalExecutionPlanContext> getChildPipelineContexts() {
+    return childPipelineContexts;
+  }
+
+  public int getPipelineId() {
+    return pipelineId;
+  }
+
+  public Operator getPipelineRoot() {
+    return pipelineRoot;
+  }
+
+  public void setPipelineRoot(Operator pipelineRoot) {
+    this.pipelineRoot = pipelineRoot;
   }
 
   public int getNextOperatorId() {
-    return nextOperatorId++;
+    return nextOperatorId.getAndIncrement();
   }
 
   public List<PartialPath> getPaths() {
@@ -166,6 +241,14 @@ public class LocalExecutionPlanContext {
     return needUpdateLastCache;
   }
 
+  public String getDataRegionId() {
+    return dataRegionId;
+  }
+
+  public void setDataRegionId(String dataRegionId) {
+    this.dataRegionId = dataRegionId;
+  }
+
   public long getDataRegionTTL() {
     return dataRegionTTL;
   }
@@ -18,14 +18,17 @@
  */
 package org.apache.iotdb.db.mpp.plan.planner;
 
+import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion;
 import org.apache.iotdb.db.metadata.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.mpp.exception.MemoryNotEnoughException;
 import org.apache.iotdb.db.mpp.execution.driver.DataDriver;
 import org.apache.iotdb.db.mpp.execution.driver.DataDriverContext;
+import org.apache.iotdb.db.mpp.execution.driver.IDriver;
 import org.apache.iotdb.db.mpp.execution.driver.SchemaDriver;
 import org.apache.iotdb.db.mpp.execution.driver.SchemaDriverContext;
+import org.apache.iotdb.db.mpp.execution.driver.SharedQueryDataSource;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
 import org.apache.iotdb.db.mpp.execution.operator.Operator;
@@ -39,10 +42,17 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
- * Used to plan a fragment instance. Currently, we simply change it from PlanNode to executable
- * Operator tree, but in the future, we may split one fragment instance into multiple pipeline to
- * run a fragment instance parallel and take full advantage of multi-cores
+ * Used to plan a fragment instance. We change it from PlanNode to executable Operator tree, and a
+ * fragment instance of data region may be split into multiple pipelines connected by local
+ * exchanges, each of which is run by a driver, to run the fragment instance parallel and take full
+ * advantage of multi-cores
  */
 public class LocalExecutionPlanner {
 
@@ -56,7 +66,11 @@ public class LocalExecutionPlanner {
     return InstanceHolder.INSTANCE;
   }
 
-  public DataDriver plan(
+  /**
+   * @return the drivers of the pipelines of the fragment instance, the first one sends the results
+   *     of the fragment instance
+   */
+  public List<IDriver> plan(
       PlanNode plan,
       TypeProvider types,
       FragmentInstanceContext instanceContext,
@@ -65,11 +79,15 @@ public class LocalExecutionPlanner {
       throws MemoryNotEnoughException {
     LocalExecutionPlanContext context =
         new LocalExecutionPlanContext(types, instanceContext, dataRegion.getDataTTL());
+    context.setDataRegionId(dataRegion.getStorageGroupName() + "-" + dataRegion.getDataRegionId());
 
     Operator root = plan.accept(new OperatorTreeGenerator(), context);
 
+    List<Operator> pipelineRoots = new ArrayList<>();
+    pipelineRoots.add(root);
+    context.getChildPipelineContexts().forEach(c -> pipelineRoots.add(c.getPipelineRoot()));
     // check whether current free memory is enough to execute current query
-    checkMemory(root, instanceContext.getStateMachine());
+    checkMemory(pipelineRoots, instanceContext.getStateMachine());
 
     ITimeSliceAllocator timeSliceAllocator = context.getTimeSliceAllocator();
     instanceContext
@@ -78,15 +96,50 @@ public class LocalExecutionPlanner {
             operatorContext ->
                 operatorContext.setMaxRunTime(timeSliceAllocator.getMaxRunTime(operatorContext)));
 
+    // the pipelines share the QueryDataSource taken for the paths of all of them, which is released
+    // after all the pipelines reading data are done
+    List<LocalExecutionPlanContext> pipelineContexts = new ArrayList<>();
+    pipelineContexts.add(context);
+    pipelineContexts.addAll(context.getChildPipelineContexts());
+    Set<PartialPath> allPaths = new LinkedHashSet<>();
+    int readingPipelineNum = 0;
+    for (LocalExecutionPlanContext pipelineContext : pipelineContexts) {
+      allPaths.addAll(pipelineContext.getPaths());
+      if (!pipelineContext.getSourceOperators().isEmpty()) {
+        readingPipelineNum++;
+      }
+    }
+    SharedQueryDataSource sharedQueryDataSource =
+        new SharedQueryDataSource(
+            instanceContext, new ArrayList<>(allPaths), timeFilter, dataRegion, readingPipelineNum);
     DataDriverContext dataDriverContext =
         new DataDriverContext(
             instanceContext,
             context.getPaths(),
             timeFilter,
             dataRegion,
-            context.getSourceOperators());
+            context.getSourceOperators(),
+            0,
+            sharedQueryDataSource);
     instanceContext.setDriverContext(dataDriverContext);
-    return new DataDriver(root, context.getSinkHandle(), dataDriverContext);
+    List<IDriver> drivers = new ArrayList<>();
+    drivers.add(new DataDriver(root, context.getSinkHandle(), dataDriverContext));
+    // each child pipeline reads its own series, and sends the results to a local exchange
+    for (LocalExecutionPlanContext childContext : context.getChildPipelineContexts()) {
+      DataDriverContext childDriverContext =
+          new DataDriverContext(
+              instanceContext,
+              childContext.getPaths(),
+              timeFilter,
+              dataRegion,
+              childContext.getSourceOperators(),
+              childContext.getPipelineId(),
+              sharedQueryDataSource);
+      drivers.add(
+          new DataDriver(
+              childContext.getPipelineRoot(), childContext.getSinkHandle(), childDriverContext));
+    }
+    return drivers;
   }
 
   public SchemaDriver plan(
@@ -102,7 +155,7 @@ public class LocalExecutionPlanner {
     Operator root = plan.accept(new OperatorTreeGenerator(), context);
 
     // check whether current free memory is enough to execute current query
-    checkMemory(root, instanceContext.getStateMachine());
+    checkMemory(Collections.singletonList(root), instanceContext.getStateMachine());
 
     ITimeSliceAllocator timeSliceAllocator = context.getTimeSliceAllocator();
     instanceContext
@@ -114,7 +167,8 @@ public class LocalExecutionPlanner {
     return new SchemaDriver(root, context.getSinkHandle(), schemaDriverContext);
   }
 
-  private void checkMemory(Operator root, FragmentInstanceStateMachine stateMachine)
+  /** @param pipelineRoots the root operators of all pipelines, which run at the same time */
+  private void checkMemory(List<Operator> pipelineRoots, FragmentInstanceStateMachine stateMachine)
       throws MemoryNotEnoughException {
 
     // if it is disabled, just return
@@ -122,7 +176,8 @@ public class LocalExecutionPlanner {
       return;
     }
 
-    long estimatedMemorySize = root.calculateMaxPeekMemory();
+    long estimatedMemorySize =
+        pipelineRoots.stream().mapToLong(Operator::calculateMaxPeekMemory).sum();
 
     synchronized (this) {
       if (estimatedMemorySize > freeMemoryForOperators) {
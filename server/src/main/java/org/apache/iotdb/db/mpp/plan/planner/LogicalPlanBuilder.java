@@ -62,7 +62,9 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.IntoNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.LimitNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.OffsetNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SlidingWindowAggregationNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SortNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TimeJoinNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TopKNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TransformNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.last.LastQueryNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.AlignedLastQueryScanNode;
@@ -156,8 +158,14 @@ public class LogicalPlanBuilder {
   }
 
   public LogicalPlanBuilder planRawDataSource(
-      Set<Expression> sourceExpressions, Ordering scanOrder, Filter timeFilter) {
+      Set<Expression> sourceExpressions,
+      Ordering scanOrder,
+      Filter timeFilter,
+      Expression whereExpression) {
     List<PlanNode> sourceNodeList = new ArrayList<>();
+    // the rows filtered out by the value filters are filtered out by the where expression as well
+    Map<String, Filter> pathToValueFilter =
+        ExpressionAnalyzer.extractSeriesValueFilters(whereExpression);
     List<PartialPath> selectedPaths =
         sourceExpressions.stream()
             .map(expression -> ((TimeSeriesOperand) expression).getPath())
@@ -169,12 +177,15 @@ public class LogicalPlanBuilder {
             new SeriesScanNode(
                 context.getQueryId().genPlanNodeId(), (MeasurementPath) path, scanOrder);
         seriesScanNode.setTimeFilter(timeFilter);
+        seriesScanNode.setValueFilter(pathToValueFilter.get(path.getFullPath()));
         sourceNodeList.add(seriesScanNode);
       } else if (path instanceof AlignedPath) { // aligned series
         AlignedSeriesScanNode alignedSeriesScanNode =
             new AlignedSeriesScanNode(
                 context.getQueryId().genPlanNodeId(), (AlignedPath) path, scanOrder);
         alignedSeriesScanNode.setTimeFilter(timeFilter);
+        alignedSeriesScanNode.setColumnValueFilters(
+            getColumnValueFilters((AlignedPath) path, pathToValueFilter));
         sourceNodeList.add(alignedSeriesScanNode);
       } else {
         throw new IllegalArgumentException("unexpected path type");
@@ -187,6 +198,19 @@ public class LogicalPlanBuilder {
     return this;
   }
 
+  private Map<Integer, Filter> getColumnValueFilters(
+      AlignedPath alignedPath, Map<String, Filter> pathToValueFilter) {
+    Map<Integer, Filter> columnValueFilters = new HashMap<>();
+    for (int i = 0; i < alignedPath.getColumnNum(); i++) {
+      Filter valueFilter =
+          pathToValueFilter.get(alignedPath.getPathWithMeasurement(i).getFullPath());
+      if (valueFilter != null) {
+        columnValueFilters.put(i, valueFilter);
+      }
+    }
+    return columnValueFilters;
+  }
+
   public LogicalPlanBuilder planLast(
       Set<Expression> sourceExpressions,
       Filter globalTimeFilter,
@@ -806,6 +830,26 @@ public class LogicalPlanBuilder {
     return this;
   }
 
+  public LogicalPlanBuilder planOrderBy(
+      OrderByParameter orderByParameter, int rowOffset, int rowLimit) {
+    if (orderByParameter == null) {
+      return this;
+    }
+
+    // with LIMIT, only the first (offset + limit) rows need to be sorted
+    long topValue = (long) rowOffset + rowLimit;
+    if (rowLimit == 0 || topValue > Integer.MAX_VALUE) {
+      this.root =
+          new SortNode(context.getQueryId().genPlanNodeId(), this.getRoot(), orderByParameter);
+    } else {
+      TopKNode topKNode =
+          new TopKNode(context.getQueryId().genPlanNodeId(), orderByParameter, (int) topValue);
+      topKNode.addChild(this.getRoot());
+      this.root = topKNode;
+    }
+    return this;
+  }
+
   public LogicalPlanBuilder planLimit(int rowLimit) {
     if (rowLimit == 0) {
       return this;
@@ -155,6 +155,10 @@ public class LogicalPlanVisitor extends StatementVisitor<PlanNode, MPPQueryConte
     planBuilder =
         planBuilder
             .planFill(analysis.getFillDescriptor(), queryStatement.getResultTimeOrder())
+            .planOrderBy(
+                analysis.getOrderByParameter(),
+                queryStatement.getRowOffset(),
+                queryStatement.getRowLimit())
             .planOffset(queryStatement.getRowOffset())
             .planLimit(queryStatement.getRowLimit());
 
@@ -185,7 +189,8 @@ public class LogicalPlanVisitor extends StatementVisitor<PlanNode, MPPQueryConte
               .planRawDataSource(
                   sourceExpressions,
                   queryStatement.getResultTimeOrder(),
-                  analysis.getGlobalTimeFilter())
+                  analysis.getGlobalTimeFilter(),
+                  whereExpression)
               .planWhereAndSourceTransform(
                   whereExpression,
                   sourceTransformExpressions,
@@ -203,7 +208,8 @@ public class LogicalPlanVisitor extends StatementVisitor<PlanNode, MPPQueryConte
                 .planRawDataSource(
                     sourceExpressions,
                     queryStatement.getResultTimeOrder(),
-                    analysis.getGlobalTimeFilter())
+                    analysis.getGlobalTimeFilter(),
+                    whereExpression)
                 .planWhereAndSourceTransform(
                     whereExpression,
                     sourceTransformExpressions,
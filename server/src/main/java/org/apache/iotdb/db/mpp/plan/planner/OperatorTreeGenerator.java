@@ -22,6 +22,7 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.path.AlignedPath;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.cache.DataNodeSchemaCache;
 import org.apache.iotdb.db.mpp.aggregation.AccumulatorFactory;
@@ -38,6 +39,7 @@ import org.apache.iotdb.db.mpp.execution.exchange.MPPDataExchangeService;
 import org.apache.iotdb.db.mpp.execution.operator.AggregationUtil;
 import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.execution.operator.process.AbstractSortOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.AggregationOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.DeviceMergeOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.DeviceViewIntoOperator;
@@ -51,7 +53,9 @@ import org.apache.iotdb.db.mpp.execution.operator.process.OffsetOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.ProcessOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.RawDataAggregationOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.SlidingWindowAggregationOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.SortOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.TagAggregationOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.TopKOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.TransformOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.fill.IFill;
 import org.apache.iotdb.db.mpp.execution.operator.process.fill.ILinearFill;
@@ -105,9 +109,11 @@ import org.apache.iotdb.db.mpp.execution.operator.schema.TimeSeriesCountOperator
 import org.apache.iotdb.db.mpp.execution.operator.schema.TimeSeriesSchemaScanOperator;
 import org.apache.iotdb.db.mpp.execution.operator.source.AlignedSeriesAggregationScanOperator;
 import org.apache.iotdb.db.mpp.execution.operator.source.AlignedSeriesScanOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.DataSourceOperator;
 import org.apache.iotdb.db.mpp.execution.operator.source.ExchangeOperator;
 import org.apache.iotdb.db.mpp.execution.operator.source.SeriesAggregationScanOperator;
 import org.apache.iotdb.db.mpp.execution.operator.source.SeriesScanOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.SharedSeriesScanOperator;
 import org.apache.iotdb.db.mpp.plan.analyze.ExpressionTypeAnalyzer;
 import org.apache.iotdb.db.mpp.plan.analyze.TypeProvider;
 import org.apache.iotdb.db.mpp.plan.expression.Expression;
@@ -143,9 +149,11 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.GroupByTagNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.IntoNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.LimitNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.OffsetNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SingleChildProcessNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SlidingWindowAggregationNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SortNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TimeJoinNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TopKNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TransformNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.last.LastQueryCollectNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.last.LastQueryMergeNode;
@@ -156,6 +164,7 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.AlignedSeriesAggreg
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.AlignedSeriesScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.LastQueryScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesAggregationScanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesAggregationSourceNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.AggregationDescriptor;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.CrossSeriesAggregationDescriptor;
@@ -164,6 +173,7 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.FillDescriptor;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.GroupByTimeParameter;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.InputLocation;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.IntoPathDescriptor;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.OrderByParameter;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.OutputColumn;
 import org.apache.iotdb.db.mpp.plan.statement.component.FillPolicy;
 import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
@@ -200,7 +210,9 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static org.apache.iotdb.db.engine.querycontext.QueryDataSource.updateFilterUsingTTL;
+import static org.apache.iotdb.db.mpp.common.header.ColumnHeaderConstant.DEVICE;
 import static org.apache.iotdb.db.mpp.execution.operator.AggregationUtil.calculateMaxAggregationResultSize;
 import static org.apache.iotdb.db.mpp.execution.operator.AggregationUtil.calculateMaxAggregationResultSizeForLastQuery;
 import static org.apache.iotdb.db.mpp.execution.operator.AggregationUtil.initTimeRangeIterator;
@@ -246,16 +258,31 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
     Filter timeFilter = node.getTimeFilter();
     Filter valueFilter = node.getValueFilter();
-    SeriesScanOperator seriesScanOperator =
-        new SeriesScanOperator(
-            node.getPlanNodeId(),
-            seriesPath,
-            context.getAllSensors(seriesPath.getDevice(), seriesPath.getMeasurement()),
-            seriesPath.getSeriesType(),
-            operatorContext,
-            timeFilter != null ? timeFilter.copy() : null,
-            valueFilter != null ? valueFilter.copy() : null,
-            ascending);
+    DataSourceOperator seriesScanOperator;
+    // only the ascending scans are shared, which are the most common
+    if (ascending && IoTDBDescriptor.getInstance().getConfig().isEnableSharedSeriesScan()) {
+      seriesScanOperator =
+          new SharedSeriesScanOperator(
+              node.getPlanNodeId(),
+              seriesPath,
+              context.getAllSensors(seriesPath.getDevice(), seriesPath.getMeasurement()),
+              seriesPath.getSeriesType(),
+              operatorContext,
+              timeFilter != null ? timeFilter.copy() : null,
+              valueFilter != null ? valueFilter.copy() : null,
+              context.getDataRegionId());
+    } else {
+      seriesScanOperator =
+          new SeriesScanOperator(
+              node.getPlanNodeId(),
+              seriesPath,
+              context.getAllSensors(seriesPath.getDevice(), seriesPath.getMeasurement()),
+              seriesPath.getSeriesType(),
+              operatorContext,
+              timeFilter != null ? timeFilter.copy() : null,
+              valueFilter != null ? valueFilter.copy() : null,
+              ascending);
+    }
 
     context.addSourceOperator(seriesScanOperator);
     context.addPath(seriesPath);
@@ -278,6 +305,9 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
     Filter timeFilter = node.getTimeFilter();
     Filter valueFilter = node.getValueFilter();
+    Map<Integer, Filter> columnValueFilters = new HashMap<>();
+    node.getColumnValueFilters()
+        .forEach((columnIndex, filter) -> columnValueFilters.put(columnIndex, filter.copy()));
     AlignedSeriesScanOperator seriesScanOperator =
         new AlignedSeriesScanOperator(
             node.getPlanNodeId(),
@@ -285,6 +315,7 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
             operatorContext,
             timeFilter != null ? timeFilter.copy() : null,
             valueFilter != null ? valueFilter.copy() : null,
+            columnValueFilters,
             ascending);
 
     context.addSourceOperator(seriesScanOperator);
@@ -641,6 +672,10 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   @Override
   public Operator visitDeviceView(DeviceViewNode node, LocalExecutionPlanContext context) {
+    int pipelineNum = Math.min(context.getRemainingPipelineNum(), node.getChildren().size());
+    if (pipelineNum > 1 && isAggregationDeviceView(node)) {
+      return generateParallelDeviceView(node, pipelineNum, context);
+    }
     OperatorContext operatorContext =
         context
             .getInstanceContext()
@@ -677,25 +712,128 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
             .map(child -> child.accept(this, context))
             .collect(Collectors.toList());
     List<TSDataType> dataTypes = getOutputColumnTypes(node, context.getTypeProvider());
+    context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+    return createDeviceMergeOperator(
+        operatorContext, node.getDevices(), children, dataTypes, node.getMergeOrderParameter());
+  }
+
+  private DeviceMergeOperator createDeviceMergeOperator(
+      OperatorContext operatorContext,
+      List<String> devices,
+      List<Operator> children,
+      List<TSDataType> dataTypes,
+      OrderByParameter mergeOrderParameter) {
     TimeSelector selector = null;
     TimeComparator timeComparator = null;
-    for (SortItem sortItem : node.getMergeOrderParameter().getSortItemList()) {
+    for (SortItem sortItem : mergeOrderParameter.getSortItemList()) {
       if (sortItem.getSortKey() == SortKey.TIME) {
         Ordering ordering = sortItem.getOrdering();
         if (ordering == Ordering.ASC) {
-          selector = new TimeSelector(node.getChildren().size() << 1, true);
+          selector = new TimeSelector(children.size() << 1, true);
           timeComparator = ASC_TIME_COMPARATOR;
         } else {
-          selector = new TimeSelector(node.getChildren().size() << 1, false);
+          selector = new TimeSelector(children.size() << 1, false);
           timeComparator = DESC_TIME_COMPARATOR;
         }
         break;
       }
     }
+    return new DeviceMergeOperator(
+        operatorContext, devices, children, dataTypes, selector, timeComparator);
+  }
+
+  /**
+   * The sub-plans of the devices are independent of each other if each of them calculates the
+   * aggregation results of one device, so they can be executed concurrently.
+   */
+  private static boolean isAggregationDeviceView(DeviceViewNode node) {
+    return node.getChildren().stream().allMatch(OperatorTreeGenerator::isAggregationSubPlan);
+  }
+
+  private static boolean isAggregationSubPlan(PlanNode node) {
+    if (node instanceof SeriesAggregationSourceNode
+        || node instanceof AggregationNode
+        || node instanceof SlidingWindowAggregationNode) {
+      return true;
+    }
+    // e.g. the TransformNode or FilterNode calculating expressions of the aggregation results
+    return node instanceof SingleChildProcessNode
+        && isAggregationSubPlan(((SingleChildProcessNode) node).getChild());
+  }
+
+  /**
+   * Split the devices of the DeviceViewNode into several child pipelines, each of which iterates a
+   * contiguous group of the devices and sends the results to a local exchange, then merge the
+   * results of the exchanges in the current pipeline by the order of devices. So that the devices
+   * are calculated concurrently, while the local exchanges buffer the results of the devices which
+   * can't be output yet.
+   */
+  private Operator generateParallelDeviceView(
+      DeviceViewNode node, int pipelineNum, LocalExecutionPlanContext context) {
+    List<String> devices = node.getDevices();
+    List<PlanNode> childNodes = node.getChildren();
+    List<TSDataType> outputColumnTypes = getOutputColumnTypes(node, context.getTypeProvider());
+    List<Operator> exchangeOperators = new ArrayList<>(pipelineNum);
+    for (int i = 0; i < pipelineNum; i++) {
+      // split the devices evenly and in order, so that the groups are already sorted by device
+      int fromIndex = i * childNodes.size() / pipelineNum;
+      int toIndex = (i + 1) * childNodes.size() / pipelineNum;
+      List<String> groupDevices = devices.subList(fromIndex, toIndex);
+      LocalExecutionPlanContext childContext = context.createChildPipelineContext();
+      List<Operator> children =
+          childNodes.subList(fromIndex, toIndex).stream()
+              .map(child -> child.accept(this, childContext))
+              .collect(Collectors.toList());
+      List<List<Integer>> deviceColumnIndex =
+          groupDevices.stream()
+              .map(deviceName -> node.getDeviceToMeasurementIndexesMap().get(deviceName))
+              .collect(Collectors.toList());
+
+      OperatorContext operatorContext =
+          context
+              .getInstanceContext()
+              .addOperatorContext(
+                  context.getNextOperatorId(),
+                  node.getPlanNodeId(),
+                  DeviceViewOperator.class.getSimpleName());
+      context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+      Operator pipelineRoot =
+          new DeviceViewOperator(
+              operatorContext, groupDevices, children, deviceColumnIndex, outputColumnTypes);
+
+      Pair<ISinkHandle, ISourceHandle> localExchange =
+          MPP_DATA_EXCHANGE_MANAGER.createLocalExchange(
+              context.getInstanceContext(),
+              node.getPlanNodeId().getId() + "." + childContext.getPipelineId());
+      childContext.setSinkHandle(localExchange.left);
+      childContext.setPipelineRoot(pipelineRoot);
+
+      OperatorContext exchangeOperatorContext =
+          context
+              .getInstanceContext()
+              .addOperatorContext(
+                  context.getNextOperatorId(),
+                  node.getPlanNodeId(),
+                  ExchangeOperator.class.getSimpleName());
+      context.getTimeSliceAllocator().recordExecutionWeight(exchangeOperatorContext, 0);
+      exchangeOperators.add(
+          new ExchangeOperator(exchangeOperatorContext, localExchange.right, node.getPlanNodeId()));
+    }
 
+    OperatorContext operatorContext =
+        context
+            .getInstanceContext()
+            .addOperatorContext(
+                context.getNextOperatorId(),
+                node.getPlanNodeId(),
+                DeviceMergeOperator.class.getSimpleName());
     context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
-    return new DeviceMergeOperator(
-        operatorContext, node.getDevices(), children, dataTypes, selector, timeComparator);
+    return createDeviceMergeOperator(
+        operatorContext,
+        devices,
+        exchangeOperators,
+        outputColumnTypes,
+        node.getMergeOrderParameter());
   }
 
   @Override
@@ -1347,7 +1485,73 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   @Override
   public Operator visitSort(SortNode node, LocalExecutionPlanContext context) {
-    return super.visitSort(node, context);
+    Operator child = node.getChild().accept(this, context);
+    OperatorContext operatorContext =
+        context
+            .getInstanceContext()
+            .addOperatorContext(
+                context.getNextOperatorId(),
+                node.getPlanNodeId(),
+                SortOperator.class.getSimpleName());
+
+    context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+    return new SortOperator(
+        operatorContext,
+        child,
+        getOutputColumnTypes(node, context.getTypeProvider()),
+        getSortComparator(node.getOrderByParameter(), node.getOutputColumnNames()));
+  }
+
+  @Override
+  public Operator visitTopK(TopKNode node, LocalExecutionPlanContext context) {
+    List<Operator> children =
+        node.getChildren().stream()
+            .map(child -> child.accept(this, context))
+            .collect(Collectors.toList());
+    OperatorContext operatorContext =
+        context
+            .getInstanceContext()
+            .addOperatorContext(
+                context.getNextOperatorId(),
+                node.getPlanNodeId(),
+                TopKOperator.class.getSimpleName());
+
+    context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+    return new TopKOperator(
+        operatorContext,
+        children,
+        getOutputColumnTypes(node, context.getTypeProvider()),
+        getSortComparator(node.getMergeOrderParameter(), node.getOutputColumnNames()),
+        node.getTopValue());
+  }
+
+  private Comparator<Object[]> getSortComparator(
+      OrderByParameter orderByParameter, List<String> outputColumnNames) {
+    List<Integer> sortColumnIndexes = new ArrayList<>();
+    List<Ordering> orderings = new ArrayList<>();
+    for (SortItem sortItem : orderByParameter.getSortItemList()) {
+      String sortColumn;
+      switch (sortItem.getSortKey()) {
+        case TIME:
+          sortColumnIndexes.add(AbstractSortOperator.TIME_INDEX);
+          orderings.add(sortItem.getOrdering());
+          continue;
+        case DEVICE:
+          sortColumn = DEVICE;
+          break;
+        case EXPRESSION:
+          sortColumn = sortItem.getExpression().getExpressionString();
+          break;
+        default:
+          throw new IllegalArgumentException(
+              "Unsupported sort key in ORDER BY: " + sortItem.getSortKey());
+      }
+      int index = outputColumnNames.indexOf(sortColumn);
+      checkState(index >= 0, "sort column '%s' is not in %s", sortColumn, outputColumnNames);
+      sortColumnIndexes.add(index);
+      orderings.add(sortItem.getOrdering());
+    }
+    return AbstractSortOperator.getComparator(sortColumnIndexes, orderings);
   }
 
   @Override
@@ -1469,6 +1673,10 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   @Override
   public Operator visitTimeJoin(TimeJoinNode node, LocalExecutionPlanContext context) {
+    int pipelineNum = Math.min(context.getRemainingPipelineNum(), node.getChildren().size());
+    if (pipelineNum > 1) {
+      return generateParallelTimeJoin(node, pipelineNum, context);
+    }
     List<Operator> children =
         node.getChildren().stream()
             .map(child -> child.accept(this, context))
@@ -1496,6 +1704,115 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
         timeComparator);
   }
 
+  /**
+   * Split the children of the TimeJoinNode into several child pipelines, each of which joins its
+   * children and sends the results to a local exchange, then join the results of the exchanges in
+   * the current pipeline. So that the children are read concurrently.
+   */
+  private Operator generateParallelTimeJoin(
+      TimeJoinNode node, int pipelineNum, LocalExecutionPlanContext context) {
+    TimeComparator timeComparator =
+        node.getMergeOrder() == Ordering.ASC ? ASC_TIME_COMPARATOR : DESC_TIME_COMPARATOR;
+    List<PlanNode> childNodes = node.getChildren();
+    List<Operator> exchangeOperators = new ArrayList<>(pipelineNum);
+    // the same as makeLayout, but the locations are in the results of the exchanges
+    Map<String, List<InputLocation>> layout = new LinkedHashMap<>();
+    for (int i = 0; i < pipelineNum; i++) {
+      // split the children evenly and in order, so that the order of the output columns is kept
+      List<PlanNode> groupNodes =
+          childNodes.subList(
+              i * childNodes.size() / pipelineNum, (i + 1) * childNodes.size() / pipelineNum);
+      LocalExecutionPlanContext childContext = context.createChildPipelineContext();
+      List<Operator> children =
+          groupNodes.stream()
+              .map(child -> child.accept(this, childContext))
+              .collect(Collectors.toList());
+      List<String> columnNames =
+          groupNodes.stream()
+              .map(PlanNode::getOutputColumnNames)
+              .flatMap(List::stream)
+              .collect(Collectors.toList());
+
+      Operator pipelineRoot;
+      if (children.size() == 1) {
+        pipelineRoot = children.get(0);
+      } else {
+        OperatorContext operatorContext =
+            context
+                .getInstanceContext()
+                .addOperatorContext(
+                    context.getNextOperatorId(),
+                    node.getPlanNodeId(),
+                    TimeJoinOperator.class.getSimpleName());
+        // output all columns of the children, which are merged by the join of the exchanges
+        List<ColumnMerger> mergers = new ArrayList<>(columnNames.size());
+        for (int tsBlockIndex = 0; tsBlockIndex < groupNodes.size(); tsBlockIndex++) {
+          int columnNum = groupNodes.get(tsBlockIndex).getOutputColumnNames().size();
+          for (int valueColumnIndex = 0; valueColumnIndex < columnNum; valueColumnIndex++) {
+            mergers.add(
+                new SingleColumnMerger(
+                    new InputLocation(tsBlockIndex, valueColumnIndex), timeComparator));
+          }
+        }
+        context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+        pipelineRoot =
+            new RowBasedTimeJoinOperator(
+                operatorContext,
+                children,
+                node.getMergeOrder(),
+                columnNames.stream()
+                    .map(context.getTypeProvider()::getType)
+                    .collect(Collectors.toList()),
+                mergers,
+                timeComparator);
+      }
+
+      Pair<ISinkHandle, ISourceHandle> localExchange =
+          MPP_DATA_EXCHANGE_MANAGER.createLocalExchange(
+              context.getInstanceContext(),
+              node.getPlanNodeId().getId() + "." + childContext.getPipelineId());
+      childContext.setSinkHandle(localExchange.left);
+      childContext.setPipelineRoot(pipelineRoot);
+
+      OperatorContext exchangeOperatorContext =
+          context
+              .getInstanceContext()
+              .addOperatorContext(
+                  context.getNextOperatorId(),
+                  node.getPlanNodeId(),
+                  ExchangeOperator.class.getSimpleName());
+      context.getTimeSliceAllocator().recordExecutionWeight(exchangeOperatorContext, 0);
+      exchangeOperators.add(
+          new ExchangeOperator(exchangeOperatorContext, localExchange.right, node.getPlanNodeId()));
+
+      for (int valueColumnIndex = 0; valueColumnIndex < columnNames.size(); valueColumnIndex++) {
+        layout
+            .computeIfAbsent(columnNames.get(valueColumnIndex), key -> new ArrayList<>())
+            .add(new InputLocation(i, valueColumnIndex));
+      }
+    }
+
+    OperatorContext operatorContext =
+        context
+            .getInstanceContext()
+            .addOperatorContext(
+                context.getNextOperatorId(),
+                node.getPlanNodeId(),
+                TimeJoinOperator.class.getSimpleName());
+    List<OutputColumn> outputColumns =
+        layout.values().stream()
+            .map(inputLocations -> new OutputColumn(inputLocations, inputLocations.size() > 1))
+            .collect(Collectors.toList());
+    context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
+    return new RowBasedTimeJoinOperator(
+        operatorContext,
+        exchangeOperators,
+        node.getMergeOrder(),
+        getOutputColumnTypes(node, context.getTypeProvider()),
+        createColumnMergers(outputColumns, timeComparator),
+        timeComparator);
+  }
+
   private List<OutputColumn> generateOutputColumns(TimeJoinNode node) {
     // TODO we should also sort the InputLocation for each column if they are not overlapped
     return makeLayout(node).values().stream()
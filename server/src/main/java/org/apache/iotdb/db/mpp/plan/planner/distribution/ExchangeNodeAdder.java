@@ -42,6 +42,7 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.GroupByTagNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.MultiChildProcessNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SlidingWindowAggregationNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TimeJoinNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TopKNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TransformNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.last.LastQueryCollectNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.last.LastQueryMergeNode;
@@ -256,6 +257,52 @@ public class ExchangeNodeAdder extends PlanVisitor<PlanNode, NodeGroupContext> {
     return processMultiChildNode(node, context);
   }
 
+  @Override
+  public PlanNode visitTopK(TopKNode node, NodeGroupContext context) {
+    if (node.getChildren().size() != 1) {
+      return processMultiChildNode(node, context);
+    }
+    PlanNode child = visit(node.getChildren().get(0), context);
+    TopKNode newNode = (TopKNode) node.clone();
+    context.putNodeDistribution(
+        newNode.getPlanNodeId(),
+        new NodeDistribution(
+            NodeDistributionType.SAME_WITH_ALL_CHILDREN,
+            context.getNodeDistribution(child.getPlanNodeId()).region));
+    if (!(child instanceof DeviceMergeNode) || child.getChildren().size() == 1) {
+      newNode.addChild(child);
+      return newNode;
+    }
+
+    // The rows output by each child of DeviceMergeNode are complete, so each child only needs to
+    // output its own top rows, and the TopKNode merges them instead of the DeviceMergeNode.
+    for (PlanNode mergeChild : child.getChildren()) {
+      if (mergeChild instanceof ExchangeNode) {
+        ExchangeNode exchangeNode = (ExchangeNode) mergeChild;
+        exchangeNode.setChild(genPartialTopKNode(node, exchangeNode.getChild(), context));
+        newNode.addChild(exchangeNode);
+      } else {
+        newNode.addChild(genPartialTopKNode(node, mergeChild, context));
+      }
+    }
+    return newNode;
+  }
+
+  private TopKNode genPartialTopKNode(TopKNode node, PlanNode child, NodeGroupContext context) {
+    TopKNode partialTopKNode =
+        new TopKNode(
+            context.queryContext.getQueryId().genPlanNodeId(),
+            node.getMergeOrderParameter(),
+            node.getTopValue());
+    partialTopKNode.addChild(child);
+    context.putNodeDistribution(
+        partialTopKNode.getPlanNodeId(),
+        new NodeDistribution(
+            NodeDistributionType.SAME_WITH_ALL_CHILDREN,
+            context.getNodeDistribution(child.getPlanNodeId()).region));
+    return partialTopKNode;
+  }
+
   private PlanNode processDeviceViewWithAggregation(DeviceViewNode node, NodeGroupContext context) {
     // group all the children by DataRegion distribution
     Map<TRegionReplicaSet, DeviceViewGroup> deviceViewGroupMap = new HashMap<>();
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.planner.plan.node.process;
+
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeType;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanVisitor;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.OrderByParameter;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * TopKNode outputs the first topValue rows of all its children in the order of ORDER BY. It is
+ * planned instead of SortNode when the query has a LIMIT clause, in which case topValue is the sum
+ * of OFFSET and LIMIT.
+ *
+ * <p>The rows of different children are merged, so a TopKNode can also be pushed down to each
+ * DataRegion to output partial top rows, which are merged by the TopKNode of the coordinator.
+ */
+public class TopKNode extends MultiChildProcessNode {
+
+  private final OrderByParameter mergeOrderParameter;
+
+  private final int topValue;
+
+  public TopKNode(PlanNodeId id, OrderByParameter mergeOrderParameter, int topValue) {
+    super(id);
+    this.mergeOrderParameter = mergeOrderParameter;
+    this.topValue = topValue;
+  }
+
+  public TopKNode(
+      PlanNodeId id, List<PlanNode> children, OrderByParameter mergeOrderParameter, int topValue) {
+    super(id, children);
+    this.mergeOrderParameter = mergeOrderParameter;
+    this.topValue = topValue;
+  }
+
+  public OrderByParameter getMergeOrderParameter() {
+    return mergeOrderParameter;
+  }
+
+  public int getTopValue() {
+    return topValue;
+  }
+
+  @Override
+  public PlanNode clone() {
+    return new TopKNode(getPlanNodeId(), getMergeOrderParameter(), getTopValue());
+  }
+
+  @Override
+  public List<String> getOutputColumnNames() {
+    return children.get(0).getOutputColumnNames();
+  }
+
+  @Override
+  public <R, C> R accept(PlanVisitor<R, C> visitor, C context) {
+    return visitor.visitTopK(this, context);
+  }
+
+  @Override
+  protected void serializeAttributes(ByteBuffer byteBuffer) {
+    PlanNodeType.TOP_K.serialize(byteBuffer);
+    mergeOrderParameter.serializeAttributes(byteBuffer);
+    ReadWriteIOUtils.write(topValue, byteBuffer);
+  }
+
+  @Override
+  protected void serializeAttributes(DataOutputStream stream) throws IOException {
+    PlanNodeType.TOP_K.serialize(stream);
+    mergeOrderParameter.serializeAttributes(stream);
+    ReadWriteIOUtils.write(topValue, stream);
+  }
+
+  public static TopKNode deserialize(ByteBuffer byteBuffer) {
+    OrderByParameter mergeOrderParameter = OrderByParameter.deserialize(byteBuffer);
+    int topValue = ReadWriteIOUtils.readInt(byteBuffer);
+    PlanNodeId planNodeId = PlanNodeId.deserialize(byteBuffer);
+    return new TopKNode(planNodeId, mergeOrderParameter, topValue);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    TopKNode that = (TopKNode) o;
+    return topValue == that.topValue && mergeOrderParameter.equals(that.mergeOrderParameter);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), mergeOrderParameter, topValue);
+  }
+
+  @Override
+  public String toString() {
+    return "TopK-" + this.getPlanNodeId();
+  }
+}
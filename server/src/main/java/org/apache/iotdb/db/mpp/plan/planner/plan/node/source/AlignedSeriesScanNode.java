@@ -42,7 +42,9 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class AlignedSeriesScanNode extends SeriesSourceNode {
@@ -61,6 +63,10 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
   // value filter for current series, could be null if doesn't exist
   @Nullable private Filter valueFilter;
 
+  // index of sub sensor -> value filter of the sub sensor, which is pushed down into the pages that
+  // don't overlap others, the rows whose values of the sub sensor don't satisfy it are discarded
+  private Map<Integer, Filter> columnValueFilters = new HashMap<>();
+
   // Limit for result set. The default value is -1, which means no limit
   private int limit;
 
@@ -119,6 +125,14 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
     return valueFilter;
   }
 
+  public Map<Integer, Filter> getColumnValueFilters() {
+    return columnValueFilters;
+  }
+
+  public void setColumnValueFilters(Map<Integer, Filter> columnValueFilters) {
+    this.columnValueFilters = columnValueFilters;
+  }
+
   public int getLimit() {
     return limit;
   }
@@ -160,15 +174,18 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
 
   @Override
   public PlanNode clone() {
-    return new AlignedSeriesScanNode(
-        getPlanNodeId(),
-        getAlignedPath(),
-        getScanOrder(),
-        getTimeFilter(),
-        getValueFilter(),
-        getLimit(),
-        getOffset(),
-        this.regionReplicaSet);
+    AlignedSeriesScanNode node =
+        new AlignedSeriesScanNode(
+            getPlanNodeId(),
+            getAlignedPath(),
+            getScanOrder(),
+            getTimeFilter(),
+            getValueFilter(),
+            getLimit(),
+            getOffset(),
+            this.regionReplicaSet);
+    node.setColumnValueFilters(columnValueFilters);
+    return node;
   }
 
   @Override
@@ -203,6 +220,11 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
       ReadWriteIOUtils.write((byte) 1, byteBuffer);
       valueFilter.serialize(byteBuffer);
     }
+    ReadWriteIOUtils.write(columnValueFilters.size(), byteBuffer);
+    for (Map.Entry<Integer, Filter> entry : columnValueFilters.entrySet()) {
+      ReadWriteIOUtils.write(entry.getKey(), byteBuffer);
+      entry.getValue().serialize(byteBuffer);
+    }
     ReadWriteIOUtils.write(limit, byteBuffer);
     ReadWriteIOUtils.write(offset, byteBuffer);
   }
@@ -224,6 +246,11 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
       ReadWriteIOUtils.write((byte) 1, stream);
       valueFilter.serialize(stream);
     }
+    ReadWriteIOUtils.write(columnValueFilters.size(), stream);
+    for (Map.Entry<Integer, Filter> entry : columnValueFilters.entrySet()) {
+      ReadWriteIOUtils.write(entry.getKey(), stream);
+      entry.getValue().serialize(stream);
+    }
     ReadWriteIOUtils.write(limit, stream);
     ReadWriteIOUtils.write(offset, stream);
   }
@@ -241,11 +268,20 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
     if (isNull == 1) {
       valueFilter = FilterFactory.deserialize(byteBuffer);
     }
+    int columnValueFilterNum = ReadWriteIOUtils.readInt(byteBuffer);
+    Map<Integer, Filter> columnValueFilters = new HashMap<>();
+    for (int i = 0; i < columnValueFilterNum; i++) {
+      int columnIndex = ReadWriteIOUtils.readInt(byteBuffer);
+      columnValueFilters.put(columnIndex, FilterFactory.deserialize(byteBuffer));
+    }
     int limit = ReadWriteIOUtils.readInt(byteBuffer);
     int offset = ReadWriteIOUtils.readInt(byteBuffer);
     PlanNodeId planNodeId = PlanNodeId.deserialize(byteBuffer);
-    return new AlignedSeriesScanNode(
-        planNodeId, alignedPath, scanOrder, timeFilter, valueFilter, limit, offset, null);
+    AlignedSeriesScanNode node =
+        new AlignedSeriesScanNode(
+            planNodeId, alignedPath, scanOrder, timeFilter, valueFilter, limit, offset, null);
+    node.setColumnValueFilters(columnValueFilters);
+    return node;
   }
 
   @Override
@@ -266,6 +302,7 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
         && scanOrder == that.scanOrder
         && Objects.equals(timeFilter, that.timeFilter)
         && Objects.equals(valueFilter, that.valueFilter)
+        && columnValueFilters.equals(that.columnValueFilters)
         && Objects.equals(regionReplicaSet, that.regionReplicaSet);
   }
 
@@ -277,6 +314,7 @@ public class AlignedSeriesScanNode extends SeriesSourceNode {
         scanOrder,
         timeFilter,
         valueFilter,
+        columnValueFilters,
         limit,
         offset,
         regionReplicaSet);
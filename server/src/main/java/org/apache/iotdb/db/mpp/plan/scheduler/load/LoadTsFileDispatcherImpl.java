@@ -51,9 +51,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -192,26 +194,55 @@ public class LoadTsFileDispatcherImpl implements IFragInstanceDispatcher {
       }
     }
 
+    // the command is executed by all the data nodes concurrently
+    List<Future<FragInstanceDispatchResult>> dispatchResultFutures = new ArrayList<>();
     for (TEndPoint endPoint : allEndPoint) {
-      try (SetThreadName threadName =
-          new SetThreadName(
-              LoadTsFileScheduler.class.getName() + "-" + loadCommandReq.commandType)) {
-        if (isDispatchedToLocal(endPoint)) {
-          dispatchLocally(loadCommandReq);
-        } else {
-          dispatchRemote(loadCommandReq, endPoint);
+      dispatchResultFutures.add(
+          executor.submit(
+              () -> {
+                try (SetThreadName threadName =
+                    new SetThreadName(
+                        LoadTsFileScheduler.class.getName() + "-" + loadCommandReq.commandType)) {
+                  if (isDispatchedToLocal(endPoint)) {
+                    dispatchLocally(loadCommandReq);
+                  } else {
+                    dispatchRemote(loadCommandReq, endPoint);
+                  }
+                } catch (FragmentInstanceDispatchException e) {
+                  return new FragInstanceDispatchResult(e.getFailureStatus());
+                } catch (Throwable t) {
+                  logger.warn("cannot dispatch LoadCommand for load operation", t);
+                  return new FragInstanceDispatchResult(
+                      RpcUtils.getStatus(
+                          TSStatusCode.INTERNAL_SERVER_ERROR,
+                          "Unexpected errors: " + t.getMessage()));
+                }
+                return new FragInstanceDispatchResult(true);
+              }));
+    }
+
+    FragInstanceDispatchResult failedResult = null;
+    for (Future<FragInstanceDispatchResult> dispatchResultFuture : dispatchResultFutures) {
+      try {
+        FragInstanceDispatchResult result = dispatchResultFuture.get();
+        if (!result.isSuccessful() && failedResult == null) {
+          failedResult = result;
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        logger.warn("cannot dispatch LoadCommand for load operation", e);
+        if (failedResult == null) {
+          failedResult =
+              new FragInstanceDispatchResult(
+                  RpcUtils.getStatus(
+                      TSStatusCode.INTERNAL_SERVER_ERROR, "Unexpected errors: " + e.getMessage()));
         }
-      } catch (FragmentInstanceDispatchException e) {
-        return immediateFuture(new FragInstanceDispatchResult(e.getFailureStatus()));
-      } catch (Throwable t) {
-        logger.warn("cannot dispatch LoadCommand for load operation", t);
-        return immediateFuture(
-            new FragInstanceDispatchResult(
-                RpcUtils.getStatus(
-                    TSStatusCode.INTERNAL_SERVER_ERROR, "Unexpected errors: " + t.getMessage())));
       }
     }
-    return immediateFuture(new FragInstanceDispatchResult(true));
+    return immediateFuture(
+        failedResult == null ? new FragInstanceDispatchResult(true) : failedResult);
   }
 
   private void dispatchRemote(TLoadCommandReq loadCommandReq, TEndPoint endPoint)
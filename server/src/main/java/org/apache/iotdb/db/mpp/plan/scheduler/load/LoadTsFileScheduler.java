@@ -44,6 +44,7 @@ import org.apache.iotdb.db.mpp.plan.scheduler.FragInstanceDispatchResult;
 import org.apache.iotdb.db.mpp.plan.scheduler.IScheduler;
 import org.apache.iotdb.mpp.rpc.thrift.TLoadCommandReq;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import io.airlift.units.Duration;
 import org.slf4j.Logger;
@@ -55,6 +56,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -138,8 +141,8 @@ public class LoadTsFileScheduler implements IScheduler {
   }
 
   private boolean firstPhase(LoadSingleTsFileNode node) {
+    TsFileDataManager tsFileDataManager = new TsFileDataManager(this, node);
     try {
-      TsFileDataManager tsFileDataManager = new TsFileDataManager(this, node);
       new TsFileSplitter(
               node.getTsFileResource().getTsFile(), tsFileDataManager::addOrSendTsFileData)
           .splitTsFileByDataPartition();
@@ -152,8 +155,10 @@ public class LoadTsFileScheduler implements IScheduler {
               "Dispatch TsFileData error when parsing TsFile %s.",
               node.getTsFileResource().getTsFile()),
           e);
+      tsFileDataManager.waitForAllInFlightPieces();
       return false;
     } catch (Exception e) {
+      tsFileDataManager.waitForAllInFlightPieces();
       stateMachine.transitionToFailed(e);
       logger.warn(
           String.format("Parse or send TsFile %s error.", node.getTsFileResource().getTsFile()), e);
@@ -162,7 +167,7 @@ public class LoadTsFileScheduler implements IScheduler {
     return true;
   }
 
-  private boolean dispatchOnePieceNode(
+  private Future<FragInstanceDispatchResult> dispatchOnePieceNodeAsync(
       LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
     allReplicaSets.add(replicaSet);
     FragmentInstance instance =
@@ -174,9 +179,13 @@ public class LoadTsFileScheduler implements IScheduler {
             queryContext.getTimeOut(),
             queryContext.getSession());
     instance.setDataRegionAndHost(replicaSet);
-    Future<FragInstanceDispatchResult> dispatchResultFuture =
-        dispatcher.dispatch(Collections.singletonList(instance));
+    return dispatcher.dispatch(Collections.singletonList(instance));
+  }
 
+  private boolean waitForDispatchResult(
+      LoadTsFilePieceNode pieceNode,
+      TRegionReplicaSet replicaSet,
+      Future<FragInstanceDispatchResult> dispatchResultFuture) {
     try {
       FragInstanceDispatchResult result =
           dispatchResultFuture.get(
@@ -311,18 +320,31 @@ public class LoadTsFileScheduler implements IScheduler {
     ROLLBACK
   }
 
+  /**
+   * TsFileDataManager buffers the split {@link TsFileData} of one TsFile into one {@link
+   * LoadTsFilePieceNode} per {@link TRegionReplicaSet}. Pieces of different replica sets are
+   * dispatched concurrently while the TsFile is still being split, and at most one piece of each
+   * replica set is in flight so that every region receives its pieces in order. The buffered and
+   * in-flight data together are bounded by {@link #MAX_MEMORY_SIZE}.
+   */
   private class TsFileDataManager {
     private final LoadTsFileScheduler scheduler;
     private final LoadSingleTsFileNode singleTsFileNode;
 
-    private long dataSize;
-    private Map<TRegionReplicaSet, LoadTsFilePieceNode> replicaSet2Piece;
+    private long bufferedDataSize;
+    private long inFlightDataSize;
+    private final Map<TRegionReplicaSet, LoadTsFilePieceNode> replicaSet2Piece;
+    private final Map<
+            TRegionReplicaSet, Pair<LoadTsFilePieceNode, Future<FragInstanceDispatchResult>>>
+        replicaSet2InFlightPiece;
 
     public TsFileDataManager(LoadTsFileScheduler scheduler, LoadSingleTsFileNode singleTsFileNode) {
       this.scheduler = scheduler;
       this.singleTsFileNode = singleTsFileNode;
-      this.dataSize = 0;
+      this.bufferedDataSize = 0;
+      this.inFlightDataSize = 0;
       this.replicaSet2Piece = new HashMap<>();
+      this.replicaSet2InFlightPiece = new LinkedHashMap<>();
     }
 
     private boolean addOrSendTsFileData(TsFileData tsFileData) {
@@ -337,34 +359,33 @@ public class LoadTsFileScheduler implements IScheduler {
               .getDataPartition()
               .getDataRegionReplicaSetForWriting(
                   chunkData.getDevice(), chunkData.getTimePartitionSlot());
-      dataSize +=
-          (1 + replicaSet.getDataNodeLocationsSize())
-              * chunkData.getDataSize(); // should multiply datanode factor
+      bufferedDataSize += getMemorySize(replicaSet, chunkData.getDataSize());
 
-      if (dataSize > MAX_MEMORY_SIZE) {
+      if (bufferedDataSize + inFlightDataSize > MAX_MEMORY_SIZE) {
         List<TRegionReplicaSet> sortedReplicaSets =
             replicaSet2Piece.keySet().stream()
                 .sorted(
                     Comparator.comparingLong(o -> replicaSet2Piece.get(o).getDataSize()).reversed())
                 .collect(Collectors.toList());
 
+        // keep half of the memory for buffering, so that splitting can go on while the pieces
+        // are being sent
         for (TRegionReplicaSet sortedReplicaSet : sortedReplicaSets) {
-          LoadTsFilePieceNode pieceNode = replicaSet2Piece.get(sortedReplicaSet);
-          if (pieceNode.getDataSize() == 0) { // total data size has been reduced to 0
+          if (bufferedDataSize <= MAX_MEMORY_SIZE / 2
+              || replicaSet2Piece.get(sortedReplicaSet).getDataSize() == 0) {
             break;
           }
-          if (!scheduler.dispatchOnePieceNode(pieceNode, sortedReplicaSet)) {
+          if (!dispatchPieceAsync(sortedReplicaSet)) {
             return false;
           }
+        }
 
-          dataSize -= (1 + sortedReplicaSet.getDataNodeLocationsSize()) * pieceNode.getDataSize();
-          replicaSet2Piece.put(
-              sortedReplicaSet,
-              new LoadTsFilePieceNode(
-                  singleTsFileNode.getPlanNodeId(),
-                  singleTsFileNode.getTsFileResource().getTsFile()));
-          if (dataSize <= MAX_MEMORY_SIZE) {
-            break;
+        Iterator<TRegionReplicaSet> inFlightIterator =
+            new ArrayList<>(replicaSet2InFlightPiece.keySet()).iterator();
+        while (bufferedDataSize + inFlightDataSize > MAX_MEMORY_SIZE
+            && inFlightIterator.hasNext()) {
+          if (!waitForInFlightPiece(inFlightIterator.next())) {
+            return false;
           }
         }
       }
@@ -382,23 +403,79 @@ public class LoadTsFileScheduler implements IScheduler {
 
     private boolean addOrSendDeletionData(TsFileData deletionData) {
       for (Map.Entry<TRegionReplicaSet, LoadTsFilePieceNode> entry : replicaSet2Piece.entrySet()) {
-        dataSize += deletionData.getDataSize();
+        bufferedDataSize += deletionData.getDataSize();
         entry.getValue().addTsFileData(deletionData);
       }
       return true;
     }
 
+    /**
+     * Send the buffered piece of the replica set without waiting for the result. The former piece
+     * of the same replica set must be finished first.
+     */
+    private boolean dispatchPieceAsync(TRegionReplicaSet replicaSet) {
+      if (!waitForInFlightPiece(replicaSet)) {
+        return false;
+      }
+      LoadTsFilePieceNode pieceNode =
+          replicaSet2Piece.put(
+              replicaSet,
+              new LoadTsFilePieceNode(
+                  singleTsFileNode.getPlanNodeId(),
+                  singleTsFileNode.getTsFileResource().getTsFile()));
+      long memorySize = getMemorySize(replicaSet, pieceNode.getDataSize());
+      bufferedDataSize -= memorySize;
+      inFlightDataSize += memorySize;
+      replicaSet2InFlightPiece.put(
+          replicaSet,
+          new Pair<>(pieceNode, scheduler.dispatchOnePieceNodeAsync(pieceNode, replicaSet)));
+      return true;
+    }
+
+    private boolean waitForInFlightPiece(TRegionReplicaSet replicaSet) {
+      Pair<LoadTsFilePieceNode, Future<FragInstanceDispatchResult>> inFlightPiece =
+          replicaSet2InFlightPiece.remove(replicaSet);
+      if (inFlightPiece == null) {
+        return true;
+      }
+      inFlightDataSize -= getMemorySize(replicaSet, inFlightPiece.left.getDataSize());
+      if (!scheduler.waitForDispatchResult(inFlightPiece.left, replicaSet, inFlightPiece.right)) {
+        logger.warn(
+            String.format(
+                "Dispatch piece node %s of TsFile %s error.",
+                inFlightPiece.left, singleTsFileNode.getTsFileResource().getTsFile()));
+        return false;
+      }
+      return true;
+    }
+
+    private boolean waitForAllInFlightPieces() {
+      boolean isAllSuccess = true;
+      for (TRegionReplicaSet replicaSet : new ArrayList<>(replicaSet2InFlightPiece.keySet())) {
+        // wait for all the pieces even if one of them fails, so that nothing is still being
+        // written when the second phase rolls back
+        isAllSuccess = waitForInFlightPiece(replicaSet) && isAllSuccess;
+      }
+      return isAllSuccess;
+    }
+
     private boolean sendAllTsFileData() {
-      for (Map.Entry<TRegionReplicaSet, LoadTsFilePieceNode> entry : replicaSet2Piece.entrySet()) {
-        if (!scheduler.dispatchOnePieceNode(entry.getValue(), entry.getKey())) {
-          logger.warn(
-              String.format(
-                  "Dispatch piece node %s of TsFile %s error.",
-                  entry.getValue(), singleTsFileNode.getTsFileResource().getTsFile()));
+      for (Map.Entry<TRegionReplicaSet, LoadTsFilePieceNode> entry :
+          new ArrayList<>(replicaSet2Piece.entrySet())) {
+        if (entry.getValue().getDataSize() == 0) { // all data has been sent
+          continue;
+        }
+        if (!dispatchPieceAsync(entry.getKey())) {
+          waitForAllInFlightPieces();
           return false;
         }
       }
-      return true;
+      return waitForAllInFlightPieces();
+    }
+
+    /** should multiply datanode factor */
+    private long getMemorySize(TRegionReplicaSet replicaSet, long dataSize) {
+      return (1 + replicaSet.getDataNodeLocationsSize()) * dataSize;
     }
   }
 }
@@ -40,6 +40,8 @@ public class OrderByComponent extends StatementNode {
   private boolean orderByDevice = false;
   private int deviceOrderPriority = -1;
 
+  private boolean orderByExpression = false;
+
   public OrderByComponent() {
     this.sortItemList = new ArrayList<>();
   }
@@ -53,9 +55,11 @@ public class OrderByComponent extends StatementNode {
     } else if (sortItem.getSortKey() == SortKey.TIMESERIES) {
       orderByTimeseries = true;
       timeseriesOrderPriority = sortItemList.size() - 1;
-    } else {
+    } else if (sortItem.getSortKey() == SortKey.DEVICE) {
       orderByDevice = true;
       deviceOrderPriority = sortItemList.size() - 1;
+    } else {
+      orderByExpression = true;
     }
   }
 
@@ -90,6 +94,10 @@ public class OrderByComponent extends StatementNode {
     return sortItemList.get(deviceOrderPriority).getOrdering();
   }
 
+  public boolean isOrderByExpression() {
+    return orderByExpression;
+  }
+
   public String toSQLString() {
     StringBuilder sqlBuilder = new StringBuilder();
     sqlBuilder.append("ORDER BY ");
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.mpp.plan.statement.component;
 
+import org.apache.iotdb.db.mpp.plan.expression.Expression;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -31,9 +32,17 @@ public class SortItem {
   private final SortKey sortKey;
   private final Ordering ordering;
 
+  // only used when sortKey is EXPRESSION
+  private final Expression expression;
+
   public SortItem(SortKey sortKey, Ordering ordering) {
+    this(sortKey, ordering, null);
+  }
+
+  public SortItem(SortKey sortKey, Ordering ordering, Expression expression) {
     this.sortKey = sortKey;
     this.ordering = ordering;
+    this.expression = expression;
   }
 
   public SortKey getSortKey() {
@@ -44,24 +53,36 @@ public class SortItem {
     return ordering;
   }
 
+  public Expression getExpression() {
+    return expression;
+  }
+
   public SortItem reverse() {
-    return new SortItem(getSortKey(), getOrdering().reverse());
+    return new SortItem(getSortKey(), getOrdering().reverse(), getExpression());
   }
 
   public void serialize(ByteBuffer byteBuffer) {
     ReadWriteIOUtils.write(sortKey.ordinal(), byteBuffer);
     ReadWriteIOUtils.write(ordering.ordinal(), byteBuffer);
+    if (sortKey == SortKey.EXPRESSION) {
+      Expression.serialize(expression, byteBuffer);
+    }
   }
 
   public void serialize(DataOutputStream stream) throws IOException {
     ReadWriteIOUtils.write(sortKey.ordinal(), stream);
     ReadWriteIOUtils.write(ordering.ordinal(), stream);
+    if (sortKey == SortKey.EXPRESSION) {
+      Expression.serialize(expression, stream);
+    }
   }
 
   public static SortItem deserialize(ByteBuffer byteBuffer) {
     SortKey sortKey = SortKey.values()[ReadWriteIOUtils.readInt(byteBuffer)];
     Ordering ordering = Ordering.values()[ReadWriteIOUtils.readInt(byteBuffer)];
-    return new SortItem(sortKey, ordering);
+    Expression expression =
+        sortKey == SortKey.EXPRESSION ? Expression.deserialize(byteBuffer) : null;
+    return new SortItem(sortKey, ordering, expression);
   }
 
   @Override
@@ -73,15 +94,19 @@ public class SortItem {
       return false;
     }
     SortItem sortItem = (SortItem) o;
-    return sortKey == sortItem.sortKey && ordering == sortItem.ordering;
+    return sortKey == sortItem.sortKey
+        && ordering == sortItem.ordering
+        && Objects.equals(expression, sortItem.expression);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(sortKey, ordering);
+    return Objects.hash(sortKey, ordering, expression);
   }
 
   public String toSQLString() {
-    return getSortKey().toString() + " " + getOrdering().toString();
+    String sortKeyString =
+        sortKey == SortKey.EXPRESSION ? expression.getExpressionString() : getSortKey().toString();
+    return sortKeyString + " " + getOrdering().toString();
   }
 }
@@ -22,5 +22,7 @@ package org.apache.iotdb.db.mpp.plan.statement.component;
 public enum SortKey {
   TIME,
   TIMESERIES,
-  DEVICE
+  DEVICE,
+  // sort by the value of a result column
+  EXPRESSION
 }
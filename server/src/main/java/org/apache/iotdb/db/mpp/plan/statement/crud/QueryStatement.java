@@ -284,6 +284,10 @@ public class QueryStatement extends Statement {
     return orderByComponent != null && orderByComponent.isOrderByDevice();
   }
 
+  public boolean isOrderByExpression() {
+    return orderByComponent != null && orderByComponent.isOrderByExpression();
+  }
+
   public IntoComponent getIntoComponent() {
     return intoComponent;
   }
@@ -436,6 +440,18 @@ public class QueryStatement extends Statement {
       }
     }
 
+    if (isOrderByExpression()) {
+      if (isLastQuery()) {
+        throw new SemanticException("Sorting by expression is not supported in last queries.");
+      }
+      if (disableAlign()) {
+        throw new SemanticException("Sorting by expression is not supported in disable align.");
+      }
+      if (isSelectInto()) {
+        throw new SemanticException("select into: sorting by expression is not supported.");
+      }
+    }
+
     if (isSelectInto()) {
       if (getSeriesLimit() > 0) {
         throw new SemanticException("select into: slimit clauses are not supported.");
@@ -21,11 +21,15 @@ package org.apache.iotdb.db.mpp.transformation.dag.column.binary;
 
 import org.apache.iotdb.db.mpp.transformation.dag.column.ColumnTransformer;
 import org.apache.iotdb.db.mpp.transformation.dag.util.TransformUtils;
+import org.apache.iotdb.tsfile.read.common.block.column.BooleanColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.RunLengthEncodedColumn;
 import org.apache.iotdb.tsfile.read.common.type.Type;
 import org.apache.iotdb.tsfile.read.common.type.TypeEnum;
 
+import java.util.Optional;
+
 public abstract class CompareBinaryColumnTransformer extends BinaryColumnTransformer {
 
   public CompareBinaryColumnTransformer(
@@ -33,37 +37,103 @@ public abstract class CompareBinaryColumnTransformer extends BinaryColumnTransfo
     super(returnType, leftTransformer, rightTransformer);
   }
 
+  /**
+   * The comparison results are computed into arrays in the loop of the operand type and wrapped
+   * into a BooleanColumn directly, instead of being appended to a ColumnBuilder row by row.
+   */
+  @Override
+  public void evaluate() {
+    leftTransformer.tryEvaluate();
+    rightTransformer.tryEvaluate();
+    // attention: get positionCount before calling getColumn
+    int positionCount = leftTransformer.getColumnCachePositionCount();
+    Column leftColumn = leftTransformer.getColumn();
+    Column rightColumn = rightTransformer.getColumn();
+
+    boolean[] valueIsNull = getValueIsNull(leftColumn, rightColumn, positionCount);
+    boolean[] values = new boolean[positionCount];
+    compareColumns(leftColumn, rightColumn, valueIsNull, values, positionCount);
+    initializeColumnCache(
+        new BooleanColumn(positionCount, Optional.ofNullable(valueIsNull), values));
+  }
+
   @Override
   protected void doTransform(
       Column leftColumn, Column rightColumn, ColumnBuilder builder, int positionCount) {
+    boolean[] valueIsNull = getValueIsNull(leftColumn, rightColumn, positionCount);
+    boolean[] values = new boolean[positionCount];
+    compareColumns(leftColumn, rightColumn, valueIsNull, values, positionCount);
     for (int i = 0; i < positionCount; i++) {
-      if (!leftColumn.isNull(i) && !rightColumn.isNull(i)) {
-        boolean flag;
-        // compare binary type
-        if (leftTransformer.getType().getTypeEnum().equals(TypeEnum.BINARY)) {
-          flag =
+      if (valueIsNull != null && valueIsNull[i]) {
+        builder.appendNull();
+      } else {
+        returnType.writeBoolean(builder, values[i]);
+      }
+    }
+  }
+
+  /** Returns null if neither of the columns has null value. */
+  private boolean[] getValueIsNull(Column leftColumn, Column rightColumn, int positionCount) {
+    if (!leftColumn.mayHaveNull() && !rightColumn.mayHaveNull()) {
+      return null;
+    }
+    boolean[] valueIsNull = new boolean[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      valueIsNull[i] = leftColumn.isNull(i) || rightColumn.isNull(i);
+    }
+    return valueIsNull;
+  }
+
+  private void compareColumns(
+      Column leftColumn,
+      Column rightColumn,
+      boolean[] valueIsNull,
+      boolean[] values,
+      int positionCount) {
+    Type leftType = leftTransformer.getType();
+    Type rightType = rightTransformer.getType();
+    TypeEnum typeEnum = leftType.getTypeEnum();
+    if (typeEnum.equals(TypeEnum.BINARY)) {
+      // compare binary type
+      for (int i = 0; i < positionCount; i++) {
+        if (valueIsNull == null || !valueIsNull[i]) {
+          values[i] =
               transform(
                   TransformUtils.compare(
-                      leftTransformer.getType().getBinary(leftColumn, i).getStringValue(),
-                      rightTransformer.getType().getBinary(rightColumn, i).getStringValue()));
-        } else if (leftTransformer.getType().getTypeEnum().equals(TypeEnum.BOOLEAN)) {
-          flag =
+                      leftType.getBinary(leftColumn, i).getStringValue(),
+                      rightType.getBinary(rightColumn, i).getStringValue()));
+        }
+      }
+    } else if (typeEnum.equals(TypeEnum.BOOLEAN)) {
+      for (int i = 0; i < positionCount; i++) {
+        if (valueIsNull == null || !valueIsNull[i]) {
+          values[i] =
               transform(
                   Boolean.compare(
-                      leftTransformer.getType().getBoolean(leftColumn, i),
-                      rightTransformer.getType().getBoolean(rightColumn, i)));
-        } else {
-          double left = leftTransformer.getType().getDouble(leftColumn, i);
-          double right = rightTransformer.getType().getDouble(rightColumn, i);
-          if (Double.isNaN(left) || Double.isNaN(right)) {
-            flag = false;
-          } else {
-            flag = transform(compare(left, right));
-          }
+                      leftType.getBoolean(leftColumn, i), rightType.getBoolean(rightColumn, i)));
+        }
+      }
+    } else if (rightColumn instanceof RunLengthEncodedColumn
+        && (valueIsNull == null || !rightColumn.isNull(0))) {
+      // the common case of comparing a series with a constant
+      double right = rightType.getDouble(rightColumn, 0);
+      if (Double.isNaN(right)) {
+        return;
+      }
+      for (int i = 0; i < positionCount; i++) {
+        if (valueIsNull == null || !valueIsNull[i]) {
+          double left = leftType.getDouble(leftColumn, i);
+          values[i] = !Double.isNaN(left) && transform(compare(left, right));
+        }
+      }
+    } else {
+      for (int i = 0; i < positionCount; i++) {
+        if (valueIsNull == null || !valueIsNull[i]) {
+          double left = leftType.getDouble(leftColumn, i);
+          double right = rightType.getDouble(rightColumn, i);
+          values[i] =
+              !Double.isNaN(left) && !Double.isNaN(right) && transform(compare(left, right));
         }
-        returnType.writeBoolean(builder, flag);
-      } else {
-        builder.appendNull();
       }
     }
   }
@@ -20,8 +20,6 @@
 package org.apache.iotdb.db.mpp.transformation.dag.column.binary;
 
 import org.apache.iotdb.db.mpp.transformation.dag.column.ColumnTransformer;
-import org.apache.iotdb.tsfile.read.common.block.column.Column;
-import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
 import org.apache.iotdb.tsfile.read.common.type.Type;
 
 public class LogicAndColumnTransformer extends LogicBinaryColumnTransformer {
@@ -31,35 +29,20 @@ public class LogicAndColumnTransformer extends LogicBinaryColumnTransformer {
   }
 
   @Override
-  protected void doTransform(
-      Column leftColumn, Column rightColumn, ColumnBuilder builder, int positionCount) {
-    for (int i = 0; i < positionCount; i++) {
-      if (!leftColumn.isNull(i) && !rightColumn.isNull(i)) {
-        returnType.writeBoolean(
-            builder,
-            transform(
-                leftTransformer.getType().getBoolean(leftColumn, i),
-                rightTransformer.getType().getBoolean(rightColumn, i)));
-      } else if (!leftColumn.isNull(i)) {
-        if (leftTransformer.getType().getBoolean(leftColumn, i)) {
-          builder.appendNull();
-        } else {
-          returnType.writeBoolean(builder, false);
-        }
-      } else if (!rightColumn.isNull(i)) {
-        if (rightTransformer.getType().getBoolean(rightColumn, i)) {
-          builder.appendNull();
-        } else {
-          returnType.writeBoolean(builder, false);
-        }
-      } else {
-        builder.appendNull();
-      }
+  protected boolean transform(
+      boolean[] leftValues,
+      boolean[] leftIsNull,
+      boolean[] rightValues,
+      boolean[] rightIsNull,
+      boolean[] values,
+      boolean[] valueIsNull) {
+    boolean hasNull = false;
+    for (int i = 0; i < values.length; i++) {
+      // null and false is false, null and true is null
+      values[i] = (leftIsNull[i] | leftValues[i]) & (rightIsNull[i] | rightValues[i]);
+      valueIsNull[i] = values[i] & (leftIsNull[i] | rightIsNull[i]);
+      hasNull |= valueIsNull[i];
     }
-  }
-
-  @Override
-  protected boolean transform(boolean left, boolean right) {
-    return left && right;
+    return hasNull;
   }
 }
@@ -16,19 +16,86 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.iotdb.db.mpp.transformation.dag.column.binary;
 
 import org.apache.iotdb.db.mpp.transformation.dag.column.ColumnTransformer;
+import org.apache.iotdb.tsfile.read.common.block.column.BooleanColumn;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
 import org.apache.iotdb.tsfile.read.common.type.Type;
 import org.apache.iotdb.tsfile.read.common.type.TypeEnum;
 
+import java.util.Optional;
+
 public abstract class LogicBinaryColumnTransformer extends BinaryColumnTransformer {
   public LogicBinaryColumnTransformer(
       Type returnType, ColumnTransformer leftTransformer, ColumnTransformer rightTransformer) {
     super(returnType, leftTransformer, rightTransformer);
   }
 
+  /**
+   * The operands are unpacked into boolean arrays once and combined with bitwise operations, the
+   * result is wrapped into a BooleanColumn directly.
+   */
+  @Override
+  public void evaluate() {
+    leftTransformer.tryEvaluate();
+    rightTransformer.tryEvaluate();
+    // attention: get positionCount before calling getColumn
+    int positionCount = leftTransformer.getColumnCachePositionCount();
+    Column leftColumn = leftTransformer.getColumn();
+    Column rightColumn = rightTransformer.getColumn();
+
+    boolean[] values = new boolean[positionCount];
+    boolean[] valueIsNull = new boolean[positionCount];
+    boolean hasNull = combineColumns(leftColumn, rightColumn, values, valueIsNull, positionCount);
+    initializeColumnCache(
+        new BooleanColumn(
+            positionCount, hasNull ? Optional.of(valueIsNull) : Optional.empty(), values));
+  }
+
+  @Override
+  protected void doTransform(
+      Column leftColumn, Column rightColumn, ColumnBuilder builder, int positionCount) {
+    boolean[] values = new boolean[positionCount];
+    boolean[] valueIsNull = new boolean[positionCount];
+    combineColumns(leftColumn, rightColumn, values, valueIsNull, positionCount);
+    for (int i = 0; i < positionCount; i++) {
+      if (valueIsNull[i]) {
+        builder.appendNull();
+      } else {
+        returnType.writeBoolean(builder, values[i]);
+      }
+    }
+  }
+
+  private boolean combineColumns(
+      Column leftColumn,
+      Column rightColumn,
+      boolean[] values,
+      boolean[] valueIsNull,
+      int positionCount) {
+    boolean[] leftValues = new boolean[positionCount];
+    boolean[] leftIsNull = new boolean[positionCount];
+    unpack(leftTransformer.getType(), leftColumn, leftValues, leftIsNull, positionCount);
+    boolean[] rightValues = new boolean[positionCount];
+    boolean[] rightIsNull = new boolean[positionCount];
+    unpack(rightTransformer.getType(), rightColumn, rightValues, rightIsNull, positionCount);
+    return transform(leftValues, leftIsNull, rightValues, rightIsNull, values, valueIsNull);
+  }
+
+  private void unpack(
+      Type type, Column column, boolean[] values, boolean[] isNull, int positionCount) {
+    boolean mayHaveNull = column.mayHaveNull();
+    for (int i = 0; i < positionCount; i++) {
+      if (mayHaveNull && column.isNull(i)) {
+        isNull[i] = true;
+      } else {
+        values[i] = type.getBoolean(column, i);
+      }
+    }
+  }
+
   @Override
   protected void checkType() {
     if (!leftTransformer.getType().getTypeEnum().equals(TypeEnum.BOOLEAN)
@@ -37,5 +104,16 @@ public abstract class LogicBinaryColumnTransformer extends BinaryColumnTransform
     }
   }
 
-  protected abstract boolean transform(boolean left, boolean right);
+  /**
+   * Combine the operands in three-valued logic, the value of a null result is not specified.
+   *
+   * @return whether any of the results is null
+   */
+  protected abstract boolean transform(
+      boolean[] leftValues,
+      boolean[] leftIsNull,
+      boolean[] rightValues,
+      boolean[] rightIsNull,
+      boolean[] values,
+      boolean[] valueIsNull);
 }
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.protocol.rest.cache;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.db.conf.rest.IoTDBRestServiceConfig;
+import org.apache.iotdb.db.conf.rest.IoTDBRestServiceDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.WriteVersionTracker;
+import org.apache.iotdb.db.mpp.common.header.DatasetHeader;
+import org.apache.iotdb.db.mpp.plan.execution.IQueryExecution;
+import org.apache.iotdb.db.mpp.plan.statement.Statement;
+import org.apache.iotdb.db.mpp.plan.statement.component.GroupByTimeComponent;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.db.protocol.rest.model.QueryDataSet;
+import org.apache.iotdb.db.qp.utils.DateTimeUtils;
+import org.apache.iotdb.db.utils.SetThreadName;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.iotdb.commons.conf.IoTDBConstant.MULTI_LEVEL_PATH_WILDCARD;
+
+/**
+ * GrafanaResultCache caches the per window results of the GROUP BY TIME queries sent by grafana
+ * dashboards, which repeat the same aggregation over a sliding time range every few seconds. The
+ * results are keyed on the query without its time range, so a refreshed query reuses the windows
+ * cached by the previous ones and only computes the windows after them, which are usually the
+ * newest open ones.
+ *
+ * <p>A window is cached only when it has been sealed for a while and lies in the time filter of the
+ * query. Cached windows are dropped once a late write or a deletion changes the version of a
+ * database read by the query (see {@link WriteVersionTracker}), and are never reused after the
+ * configured ttl, which bounds the staleness caused by writes executed on other nodes.
+ */
+public class GrafanaResultCache {
+
+  private static final IoTDBRestServiceConfig config =
+      IoTDBRestServiceDescriptor.getInstance().getConfig();
+
+  private final Cache<String, CacheEntry> cache;
+
+  private final AtomicLong hitWindowCount = new AtomicLong();
+  private final AtomicLong missWindowCount = new AtomicLong();
+
+  private GrafanaResultCache() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumWeight(config.getGrafanaResultCacheMemoryInBytes())
+            .weigher(
+                (String key, CacheEntry value) ->
+                    (int) Math.min(Integer.MAX_VALUE, 2L * key.length() + value.getMemorySize()))
+            .build();
+    MetricService.getInstance().addMetricSet(new GrafanaResultCacheMetrics(this));
+  }
+
+  public static GrafanaResultCache getInstance() {
+    return GrafanaResultCacheHolder.INSTANCE;
+  }
+
+  /** @return whether the statement is a GROUP BY TIME query whose windows can be cached */
+  public static boolean isCacheable(Statement statement) {
+    if (!config.isEnableGrafanaResultCache() || !(statement instanceof QueryStatement)) {
+      return false;
+    }
+    QueryStatement queryStatement = (QueryStatement) statement;
+    if (!queryStatement.isGroupByTime()
+        || !queryStatement.isAggregationQuery()
+        || !queryStatement.isAlignByTime()
+        || queryStatement.isGroupByLevel()
+        || queryStatement.isGroupByTag()
+        || queryStatement.hasHaving()
+        || queryStatement.hasFill()
+        || queryStatement.hasOrderBy()
+        || queryStatement.isSelectInto()
+        || queryStatement.getRowLimit() != 0
+        || queryStatement.getRowOffset() != 0
+        || queryStatement.getSeriesLimit() != 0
+        || queryStatement.getSeriesOffset() != 0) {
+      return false;
+    }
+    GroupByTimeComponent groupByTimeComponent = queryStatement.getGroupByTimeComponent();
+    return groupByTimeComponent.isLeftCRightO()
+        && !groupByTimeComponent.isIntervalByMonth()
+        && !groupByTimeComponent.isSlidingStepByMonth()
+        && groupByTimeComponent.getInterval() == groupByTimeComponent.getSlidingStep();
+  }
+
+  /**
+   * Execute the cacheable GROUP BY TIME query, only computing the windows that are not cached.
+   *
+   * @param condition the filter of the query besides its time range
+   * @param queryStartTime the start time of the time filter of the query (inclusive)
+   * @param queryEndTime the end time of the time filter of the query (inclusive)
+   * @param timePrecision the number of time units in one millisecond
+   */
+  public QueryDataSet query(
+      QueryStatement statement,
+      String condition,
+      long queryStartTime,
+      long queryEndTime,
+      long timePrecision,
+      QueryExecutor executor)
+      throws IoTDBException {
+    GroupByTimeComponent groupByTimeComponent = statement.getGroupByTimeComponent();
+    long startTime = groupByTimeComponent.getStartTime();
+    long endTime = groupByTimeComponent.getEndTime();
+    long interval = groupByTimeComponent.getInterval();
+    int windowNum = (int) Math.min(Integer.MAX_VALUE, (endTime - startTime - 1) / interval + 1);
+
+    // writes older than the windows to be cached must change the version read below
+    long sealedTime =
+        DateTimeUtils.currentTime() - config.getGrafanaResultCacheSealDelayInMs() * timePrecision;
+    long lastCacheableWindowEnd = Long.MIN_VALUE;
+    for (int i = windowNum - 1; i >= 0; i--) {
+      long windowStart = startTime + i * interval;
+      long windowEnd = Math.min(windowStart + interval, endTime);
+      if (isCacheable(windowStart, windowEnd, queryStartTime, queryEndTime, sealedTime)) {
+        lastCacheableWindowEnd = windowEnd;
+        break;
+      }
+    }
+    WriteVersionTracker.getInstance().raiseSealedTime(lastCacheableWindowEnd);
+
+    List<PartialPath> pathPatterns = new ArrayList<>();
+    for (PartialPath prefixPath : statement.getFromComponent().getPrefixPaths()) {
+      pathPatterns.add(prefixPath.concatNode(MULTI_LEVEL_PATH_WILDCARD));
+    }
+    String key = getCacheKey(statement, condition);
+    long version = WriteVersionTracker.getInstance().getVersion(pathPatterns);
+    long currentTimeInMs = System.currentTimeMillis();
+
+    CacheEntry entry = cache.getIfPresent(key);
+    if (entry != null && entry.version != version) {
+      entry = null;
+    }
+    // the cached windows at the beginning of the query are reused
+    int reusedWindowNum = 0;
+    if (entry != null) {
+      while (reusedWindowNum < windowNum) {
+        long windowStart = startTime + reusedWindowNum * interval;
+        long windowEnd = Math.min(windowStart + interval, endTime);
+        CachedWindow window = entry.windows.get(windowStart);
+        if (window == null
+            || window.endTime != windowEnd
+            || currentTimeInMs - window.cachedTimeInMs > config.getGrafanaResultCacheTtlInMs()
+            || !isCacheable(windowStart, windowEnd, queryStartTime, queryEndTime, Long.MAX_VALUE)) {
+          break;
+        }
+        reusedWindowNum++;
+      }
+    }
+
+    List<String> columns;
+    List<Row> rows;
+    if (reusedWindowNum == windowNum) {
+      columns = entry.columns;
+      rows = Collections.emptyList();
+    } else {
+      QueryResult result = new QueryResult();
+      List<String> reusedColumns = reusedWindowNum > 0 ? entry.columns : null;
+      executor.execute(
+          startTime + reusedWindowNum * interval,
+          queryExecution -> result.read(queryExecution, reusedColumns));
+      if (result.rows == null) {
+        // the matched series are changed, compute all the windows again
+        reusedWindowNum = 0;
+        executor.execute(startTime, queryExecution -> result.read(queryExecution, null));
+      }
+      columns = result.columns;
+      rows = result.rows;
+    }
+    hitWindowCount.addAndGet(reusedWindowNum);
+    missWindowCount.addAndGet((long) windowNum - reusedWindowNum);
+
+    QueryDataSet dataSet = new QueryDataSet();
+    dataSet.setTimestamps(new ArrayList<>());
+    dataSet.setValues(new ArrayList<>());
+    for (String column : columns) {
+      dataSet.addExpressionsItem(column);
+      dataSet.addValuesItem(new ArrayList<>());
+    }
+    CacheEntry newEntry = new CacheEntry(columns, version);
+    for (int i = 0; i < reusedWindowNum; i++) {
+      CachedWindow window = entry.windows.get(startTime + i * interval);
+      newEntry.put(startTime + i * interval, window);
+      addRow(dataSet, window.row, timePrecision);
+    }
+    int rowIndex = 0;
+    for (int i = reusedWindowNum; i < windowNum; i++) {
+      long windowStart = startTime + i * interval;
+      long windowEnd = Math.min(windowStart + interval, endTime);
+      Row row = null;
+      if (rowIndex < rows.size() && rows.get(rowIndex).time < windowEnd) {
+        row = rows.get(rowIndex++);
+        addRow(dataSet, row, timePrecision);
+      }
+      if (isCacheable(windowStart, windowEnd, queryStartTime, queryEndTime, sealedTime)) {
+        newEntry.put(windowStart, new CachedWindow(windowEnd, row, currentTimeInMs));
+      }
+    }
+    if (newEntry.windows.isEmpty()) {
+      cache.invalidate(key);
+    } else {
+      cache.put(key, newEntry);
+    }
+    return dataSet;
+  }
+
+  /** A window result is the same for all queries only when the time filter covers the window. */
+  private static boolean isCacheable(
+      long windowStart, long windowEnd, long queryStartTime, long queryEndTime, long sealedTime) {
+    return windowStart >= queryStartTime
+        && windowEnd - 1 <= queryEndTime
+        && windowEnd <= sealedTime;
+  }
+
+  private static String getCacheKey(QueryStatement statement, String condition) {
+    GroupByTimeComponent groupByTimeComponent = statement.getGroupByTimeComponent();
+    return statement.getSelectComponent().toSQLString()
+        + '\n'
+        + statement.getFromComponent().toSQLString()
+        + '\n'
+        + (condition == null ? "" : condition)
+        + '\n'
+        + groupByTimeComponent.getInterval();
+  }
+
+  private static List<Row> readRows(IQueryExecution queryExecution) throws IoTDBException {
+    List<Row> rows = new ArrayList<>();
+    DatasetHeader header = queryExecution.getDatasetHeader();
+    List<String> resultColumns = header.getRespColumns();
+    Map<String, Integer> headerMap = header.getColumnNameIndexMap();
+    try (SetThreadName threadName = new SetThreadName(queryExecution.getQueryId())) {
+      while (true) {
+        Optional<TsBlock> optionalTsBlock = queryExecution.getBatchResult();
+        if (!optionalTsBlock.isPresent()) {
+          break;
+        }
+        TsBlock tsBlock = optionalTsBlock.get();
+        Column[] columns = new Column[resultColumns.size()];
+        for (int k = 0; k < resultColumns.size(); k++) {
+          columns[k] = tsBlock.getColumn(headerMap.get(resultColumns.get(k)));
+        }
+        for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+          Object[] values = new Object[columns.length];
+          for (int k = 0; k < columns.length; k++) {
+            if (!columns[k].isNull(i)) {
+              values[k] =
+                  columns[k].getDataType().equals(TSDataType.TEXT)
+                      ? columns[k].getBinary(i).getStringValue()
+                      : columns[k].getObject(i);
+            }
+          }
+          rows.add(new Row(tsBlock.getTimeByIndex(i), values));
+        }
+      }
+    }
+    return rows;
+  }
+
+  private static void addRow(QueryDataSet dataSet, Row row, long timePrecision) {
+    if (row == null) {
+      return;
+    }
+    dataSet.addTimestampsItem(timePrecision == 1 ? row.time : row.time / timePrecision);
+    for (int k = 0; k < row.values.length; k++) {
+      dataSet.getValues().get(k).add(row.values[k]);
+    }
+  }
+
+  public double getHitRate() {
+    long hitCount = hitWindowCount.get();
+    long requestCount = hitCount + missWindowCount.get();
+    return requestCount == 0 ? 0 : (double) hitCount * 100 / requestCount;
+  }
+
+  public long getMemorySize() {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  public void clear() {
+    cache.invalidateAll();
+    hitWindowCount.set(0);
+    missWindowCount.set(0);
+  }
+
+  /**
+   * Execute the query with the given start time of GROUP BY TIME, whose statement should be parsed
+   * again for each execution since the analysis modifies it. The execution is passed to the
+   * consumer and then stopped and cleaned up, whether the consumer succeeds or not.
+   */
+  @FunctionalInterface
+  public interface QueryExecutor {
+    void execute(long groupByStartTime, ExecutionConsumer consumer) throws IoTDBException;
+  }
+
+  @FunctionalInterface
+  public interface ExecutionConsumer {
+    void accept(IQueryExecution queryExecution) throws IoTDBException;
+  }
+
+  private static class QueryResult {
+    private List<String> columns;
+    /** null if the columns are not the expected ones */
+    private List<Row> rows;
+
+    /** @param expectedColumns null if any columns are expected */
+    private void read(IQueryExecution queryExecution, List<String> expectedColumns)
+        throws IoTDBException {
+      columns = queryExecution.getDatasetHeader().getRespColumns();
+      rows =
+          expectedColumns == null || expectedColumns.equals(columns)
+              ? readRows(queryExecution)
+              : null;
+    }
+  }
+
+  private static class Row {
+    private final long time;
+    private final Object[] values;
+
+    private Row(long time, Object[] values) {
+      this.time = time;
+      this.values = values;
+    }
+
+    private long getMemorySize() {
+      long size = 32L + 16L * values.length;
+      for (Object value : values) {
+        if (value instanceof String) {
+          size += 40L + 2L * ((String) value).length();
+        }
+      }
+      return size;
+    }
+  }
+
+  private static class CachedWindow {
+    private final long endTime;
+    /** null if there is no result in the window */
+    private final Row row;
+
+    private final long cachedTimeInMs;
+
+    private CachedWindow(long endTime, Row row, long cachedTimeInMs) {
+      this.endTime = endTime;
+      this.row = row;
+      this.cachedTimeInMs = cachedTimeInMs;
+    }
+
+    private long getMemorySize() {
+      return 48L + (row == null ? 0 : row.getMemorySize());
+    }
+  }
+
+  private static class CacheEntry {
+    private final List<String> columns;
+    private final long version;
+    private final TreeMap<Long, CachedWindow> windows = new TreeMap<>();
+    private long memorySize;
+
+    private CacheEntry(List<String> columns, long version) {
+      this.columns = columns;
+      this.version = version;
+      for (String column : columns) {
+        memorySize += 40L + 2L * column.length();
+      }
+    }
+
+    private void put(long windowStart, CachedWindow window) {
+      windows.put(windowStart, window);
+      memorySize += 40L + window.getMemorySize();
+    }
+
+    private long getMemorySize() {
+      return memorySize;
+    }
+  }
+
+  private static class GrafanaResultCacheHolder {
+    private static final GrafanaResultCache INSTANCE = new GrafanaResultCache();
+
+    private GrafanaResultCacheHolder() {}
+  }
+}
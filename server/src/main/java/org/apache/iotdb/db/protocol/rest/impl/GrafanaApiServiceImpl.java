@@ -17,6 +17,7 @@
 
 package org.apache.iotdb.db.protocol.rest.impl;
 
+import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -35,6 +36,7 @@ import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
 import org.apache.iotdb.db.mpp.plan.statement.metadata.ShowStatement;
 import org.apache.iotdb.db.protocol.rest.GrafanaApiService;
 import org.apache.iotdb.db.protocol.rest.NotFoundException;
+import org.apache.iotdb.db.protocol.rest.cache.GrafanaResultCache;
 import org.apache.iotdb.db.protocol.rest.handler.AuthorizationHandler;
 import org.apache.iotdb.db.protocol.rest.handler.ExceptionHandler;
 import org.apache.iotdb.db.protocol.rest.handler.QueryDataSetHandler;
@@ -176,6 +178,22 @@ public class GrafanaApiServiceImpl extends GrafanaApiService {
         return response;
       }
 
+      if (GrafanaResultCache.isCacheable(statement)) {
+        final String querySql = sql;
+        return Response.ok()
+            .entity(
+                GrafanaResultCache.getInstance()
+                    .query(
+                        (QueryStatement) statement,
+                        expressionRequest.getCondition(),
+                        startTime,
+                        endTime,
+                        timePrecision,
+                        (groupByStartTime, consumer) ->
+                            executeGroupByTimeQuery(querySql, groupByStartTime, consumer)))
+            .build();
+      }
+
       final long queryId = SESSION_MANAGER.requestQueryId();
       // create and cache dataset
       ExecutionResult result =
@@ -209,6 +227,34 @@ public class GrafanaApiServiceImpl extends GrafanaApiService {
     }
   }
 
+  private void executeGroupByTimeQuery(
+      String sql, long groupByStartTime, GrafanaResultCache.ExecutionConsumer consumer)
+      throws IoTDBException {
+    // the statement is modified by the analysis, so it is parsed again for each execution
+    QueryStatement statement =
+        (QueryStatement) StatementGenerator.createStatement(sql, ZoneId.systemDefault());
+    statement.getGroupByTimeComponent().setStartTime(groupByStartTime);
+    final long queryId = SESSION_MANAGER.requestQueryId();
+    try {
+      ExecutionResult result =
+          COORDINATOR.execute(
+              statement,
+              queryId,
+              null,
+              sql,
+              PARTITION_FETCHER,
+              SCHEMA_FETCHER,
+              config.getQueryTimeoutThreshold());
+      if (result.status.code != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+          && result.status.code != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+        throw new IoTDBException(result.status.getMessage(), result.status.getCode());
+      }
+      consumer.accept(COORDINATOR.getQueryExecution(queryId));
+    } finally {
+      COORDINATOR.cleanupQueryExecution(queryId);
+    }
+  }
+
   @Override
   public Response login(SecurityContext securityContext) throws NotFoundException {
     return Response.ok()
@@ -31,7 +31,6 @@ import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,7 +50,7 @@ public class QueryContext {
    * Modifications, and we do not want it to create multiple copies within a query.
    */
   private final Map<String, PatternTreeMap<Modification, ModsSerializer>> fileModCache =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
 
   protected long queryId;
 
@@ -19,12 +19,18 @@
 package org.apache.iotdb.db.query.control.clientsession;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant.ClientVersion;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.plan.parser.PreparedStatementTemplate;
 import org.apache.iotdb.service.rpc.thrift.TSConnectionInfo;
 import org.apache.iotdb.service.rpc.thrift.TSConnectionType;
 
 import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class IClientSession {
 
@@ -43,6 +49,25 @@ public abstract class IClientSession {
 
   private long logInTime;
 
+  /**
+   * prepared statements of this session in the order of access, which are released when the session
+   * is closed, or when there are more than maxPreparedStatementNumPerSession ones for the least
+   * recently used one
+   */
+  private final Map<Long, PreparedStatementTemplate> preparedStatements =
+      Collections.synchronizedMap(
+          new LinkedHashMap<Long, PreparedStatementTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PreparedStatementTemplate> eldest) {
+              return size()
+                  > IoTDBDescriptor.getInstance()
+                      .getConfig()
+                      .getMaxPreparedStatementNumPerSession();
+            }
+          });
+
+  private final AtomicLong preparedStatementIdGenerator = new AtomicLong();
+
   public abstract String getClientAddress();
 
   abstract int getClientPort();
@@ -134,4 +159,19 @@ public abstract class IClientSession {
   public abstract void addQueryId(Long statementId, long queryId);
 
   public abstract void removeQueryId(Long statementId, Long queryId);
+
+  /** @return the id of the prepared statement */
+  public long addPreparedStatement(PreparedStatementTemplate preparedStatement) {
+    long preparedStatementId = preparedStatementIdGenerator.incrementAndGet();
+    preparedStatements.put(preparedStatementId, preparedStatement);
+    return preparedStatementId;
+  }
+
+  public PreparedStatementTemplate getPreparedStatement(long preparedStatementId) {
+    return preparedStatements.get(preparedStatementId);
+  }
+
+  public void removePreparedStatement(long preparedStatementId) {
+    preparedStatements.remove(preparedStatementId);
+  }
 }
@@ -19,14 +19,18 @@
 package org.apache.iotdb.db.query.reader.chunk;
 
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.IChunkReader;
 import org.apache.iotdb.tsfile.read.reader.IPageReader;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
 
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,11 +46,28 @@ public class MemChunkReader implements IChunkReader, IPointReader {
   public MemChunkReader(ReadOnlyMemChunk readableChunk, Filter filter) {
     timeValuePairIterator = readableChunk.getPointReader();
     this.filter = filter;
-    // we treat one ReadOnlyMemChunk as one Page
-    this.pageReaderList =
-        Collections.singletonList(
+    int[] pageOffsets = readableChunk.getPageOffsets();
+    if (pageOffsets == null) {
+      // we treat one ReadOnlyMemChunk as one Page
+      this.pageReaderList =
+          Collections.singletonList(
+              new MemPageReader(
+                  readableChunk.getTsBlock(), readableChunk.getChunkMetaData(), filter));
+    } else {
+      // the pages are split by the statistics of the memtable
+      TsBlock tsBlock = readableChunk.getTsBlock();
+      List<Statistics<? extends Serializable>> pageStatisticsList =
+          readableChunk.getPageStatisticsList();
+      this.pageReaderList = new ArrayList<>(pageStatisticsList.size());
+      for (int i = 0; i < pageStatisticsList.size(); i++) {
+        pageReaderList.add(
             new MemPageReader(
-                readableChunk.getTsBlock(), readableChunk.getChunkMetaData(), filter));
+                tsBlock.getRegion(pageOffsets[i], pageOffsets[i + 1] - pageOffsets[i]),
+                readableChunk.getDataType(),
+                pageStatisticsList.get(i),
+                filter));
+      }
+    }
   }
 
   @Override
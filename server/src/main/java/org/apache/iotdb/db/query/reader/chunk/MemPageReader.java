@@ -40,18 +40,23 @@ import java.util.List;
 public class MemPageReader implements IPageReader {
 
   private final TsBlock tsBlock;
-  private final IChunkMetadata chunkMetadata;
+  private final TSDataType dataType;
+  private final Statistics statistics;
   private Filter valueFilter;
 
   public MemPageReader(TsBlock tsBlock, IChunkMetadata chunkMetadata, Filter filter) {
+    this(tsBlock, chunkMetadata.getDataType(), chunkMetadata.getStatistics(), filter);
+  }
+
+  public MemPageReader(TsBlock tsBlock, TSDataType dataType, Statistics statistics, Filter filter) {
     this.tsBlock = tsBlock;
-    this.chunkMetadata = chunkMetadata;
+    this.dataType = dataType;
+    this.statistics = statistics;
     this.valueFilter = filter;
   }
 
   @Override
   public BatchData getAllSatisfiedPageData(boolean ascending) throws IOException {
-    TSDataType dataType = chunkMetadata.getDataType();
     BatchData batchData = BatchDataFactory.createBatchData(dataType, ascending, false);
     for (int i = 0; i < tsBlock.getPositionCount(); i++) {
       if (valueFilter == null
@@ -90,7 +95,6 @@ public class MemPageReader implements IPageReader {
 
   @Override
   public TsBlock getAllSatisfiedData() {
-    TSDataType dataType = chunkMetadata.getDataType();
     TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(dataType));
     TimeColumnBuilder timeBuilder = builder.getTimeColumnBuilder();
     ColumnBuilder valueBuilder = builder.getColumnBuilder(0);
@@ -169,7 +173,7 @@ public class MemPageReader implements IPageReader {
 
   @Override
   public Statistics getStatistics() {
-    return chunkMetadata.getStatistics();
+    return statistics;
   }
 
   @Override
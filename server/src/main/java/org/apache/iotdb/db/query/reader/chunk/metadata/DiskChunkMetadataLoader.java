@@ -53,6 +53,10 @@ public class DiskChunkMetadataLoader implements IChunkMetadataLoader {
     this.filter = filter;
   }
 
+  public TsFileResource getResource() {
+    return resource;
+  }
+
   @Override
   public List<IChunkMetadata> loadChunkMetadataList(ITimeSeriesMetadata timeSeriesMetadata) {
 
@@ -45,6 +45,7 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.basic.UnaryFilter;
 import org.apache.iotdb.tsfile.read.reader.IAlignedPageReader;
 import org.apache.iotdb.tsfile.read.reader.IPageReader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 
 import java.io.IOException;
@@ -372,11 +373,18 @@ public class SeriesReader {
         && firstChunkMetadata != null
         && !isChunkOverlapped()
         && !firstChunkMetadata.isModified()
-        && !valueFilter.satisfy(firstChunkMetadata.getStatistics())) {
+        && (!valueFilter.satisfy(firstChunkMetadata.getStatistics())
+            || !satisfyValueBloomFilter(firstChunkMetadata))) {
       skipCurrentChunk();
     }
   }
 
+  /** Whether the chunk may have the values of the equality value filter, if it has the index. */
+  private boolean satisfyValueBloomFilter(IChunkMetadata chunkMetadata) {
+    BloomFilter valueBloomFilter = chunkMetadata.getValueBloomFilter();
+    return valueBloomFilter == null || valueFilter.satisfyValueBloomFilter(valueBloomFilter);
+  }
+
   private void unpackAllOverlappedTimeSeriesMetadataToCachedChunkMetadata(
       long endpointTime, boolean init) throws IOException {
     while (!seqTimeSeriesMetadata.isEmpty()
@@ -42,6 +42,8 @@ import org.apache.iotdb.db.mpp.plan.analyze.StandalonePartitionFetcher;
 import org.apache.iotdb.db.mpp.plan.analyze.StandaloneSchemaFetcher;
 import org.apache.iotdb.db.mpp.plan.execution.ExecutionResult;
 import org.apache.iotdb.db.mpp.plan.execution.IQueryExecution;
+import org.apache.iotdb.db.mpp.plan.execution.QueryResultPrefetcher;
+import org.apache.iotdb.db.mpp.plan.parser.PreparedStatementTemplate;
 import org.apache.iotdb.db.mpp.plan.parser.StatementGenerator;
 import org.apache.iotdb.db.mpp.plan.statement.Statement;
 import org.apache.iotdb.db.mpp.plan.statement.crud.DeleteDataStatement;
@@ -79,9 +81,11 @@ import org.apache.iotdb.service.rpc.thrift.TSCreateAlignedTimeseriesReq;
 import org.apache.iotdb.service.rpc.thrift.TSCreateMultiTimeseriesReq;
 import org.apache.iotdb.service.rpc.thrift.TSCreateSchemaTemplateReq;
 import org.apache.iotdb.service.rpc.thrift.TSCreateTimeseriesReq;
+import org.apache.iotdb.service.rpc.thrift.TSDeallocatePreparedStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSDeleteDataReq;
 import org.apache.iotdb.service.rpc.thrift.TSDropSchemaTemplateReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataReq;
@@ -100,6 +104,8 @@ import org.apache.iotdb.service.rpc.thrift.TSInsertTabletsReq;
 import org.apache.iotdb.service.rpc.thrift.TSLastDataQueryReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSPruneSchemaTemplateReq;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSQueryTemplateReq;
@@ -126,6 +132,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.apache.iotdb.db.service.basic.ServiceProvider.AUDIT_LOGGER;
 import static org.apache.iotdb.db.service.basic.ServiceProvider.CURRENT_RPC_VERSION;
@@ -182,18 +189,37 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
 
   private TSExecuteStatementResp executeStatementInternal(
       TSExecuteStatementReq req, SelectResult setResult) {
+    return executeStatementInternal(
+        req.getStatement(),
+        () ->
+            StatementGenerator.createStatement(
+                req.getStatement(), SESSION_MANAGER.getCurrSession().getZoneId()),
+        SCHEMA_FETCHER,
+        req.sessionId,
+        req.statementId,
+        req.fetchSize,
+        req.getTimeout(),
+        setResult);
+  }
+
+  private TSExecuteStatementResp executeStatementInternal(
+      String statement,
+      Supplier<Statement> statementGenerator,
+      ISchemaFetcher schemaFetcher,
+      long sessionId,
+      long statementId,
+      int fetchSize,
+      long timeout,
+      SelectResult setResult) {
     boolean finished = false;
     long queryId = Long.MIN_VALUE;
-    String statement = req.getStatement();
     if (!SESSION_MANAGER.checkLogin(SESSION_MANAGER.getCurrSession())) {
       return RpcUtils.getTSExecuteStatementResp(getNotLoggedInStatus());
     }
 
     long startTime = System.currentTimeMillis();
     try {
-      Statement s =
-          StatementGenerator.createStatement(
-              statement, SESSION_MANAGER.getCurrSession().getZoneId());
+      Statement s = statementGenerator.get();
 
       if (s == null) {
         return RpcUtils.getTSExecuteStatementResp(
@@ -207,9 +233,9 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
       }
 
       QUERY_FREQUENCY_RECORDER.incrementAndGet();
-      AUDIT_LOGGER.debug("Session {} execute Query: {}", req.sessionId, statement);
+      AUDIT_LOGGER.debug("Session {} execute Query: {}", sessionId, statement);
 
-      queryId = SESSION_MANAGER.requestQueryId(SESSION_MANAGER.getCurrSession(), req.statementId);
+      queryId = SESSION_MANAGER.requestQueryId(SESSION_MANAGER.getCurrSession(), statementId);
       // create and cache dataset
       ExecutionResult result =
           COORDINATOR.execute(
@@ -218,8 +244,8 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
               SESSION_MANAGER.getSessionInfo(SESSION_MANAGER.getCurrSession()),
               statement,
               PARTITION_FETCHER,
-              SCHEMA_FETCHER,
-              req.getTimeout());
+              schemaFetcher,
+              timeout);
 
       if (result.status.code != TSStatusCode.SUCCESS_STATUS.getStatusCode()
           && result.status.code != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
@@ -233,7 +259,7 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
         if (queryExecution != null && queryExecution.isQuery()) {
           resp = createResponse(queryExecution.getDatasetHeader(), queryId);
           resp.setStatus(result.status);
-          finished = setResult.apply(resp, queryExecution, req.fetchSize);
+          finished = setResult.apply(resp, queryExecution, fetchSize);
           resp.setMoreData(!finished);
         } else {
           resp = RpcUtils.getTSExecuteStatementResp(result.status);
@@ -400,6 +426,63 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
     return executeLastDataQueryInternal(req, SELECT_RESULT);
   }
 
+  @Override
+  public TSPrepareStatementResp prepareStatement(TSPrepareStatementReq req) {
+    IClientSession clientSession = SESSION_MANAGER.getCurrSession();
+    if (!SESSION_MANAGER.checkLogin(clientSession)) {
+      return new TSPrepareStatementResp(getNotLoggedInStatus());
+    }
+    try {
+      PreparedStatementTemplate preparedStatement =
+          new PreparedStatementTemplate(
+              req.getStatement(), clientSession.getZoneId(), SCHEMA_FETCHER);
+      TSPrepareStatementResp resp =
+          new TSPrepareStatementResp(RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS));
+      resp.setPreparedStatementId(clientSession.addPreparedStatement(preparedStatement));
+      resp.setParameterCount(preparedStatement.getParameterCount());
+      return resp;
+    } catch (Exception e) {
+      return new TSPrepareStatementResp(
+          onNPEOrUnexpectedException(
+              e, OperationType.PREPARE_STATEMENT, TSStatusCode.EXECUTE_STATEMENT_ERROR));
+    }
+  }
+
+  @Override
+  public TSExecuteStatementResp executePreparedStatement(TSExecutePreparedStatementReq req) {
+    IClientSession clientSession = SESSION_MANAGER.getCurrSession();
+    if (!SESSION_MANAGER.checkLogin(clientSession)) {
+      return RpcUtils.getTSExecuteStatementResp(getNotLoggedInStatus());
+    }
+    PreparedStatementTemplate preparedStatement =
+        clientSession.getPreparedStatement(req.getPreparedStatementId());
+    if (preparedStatement == null) {
+      return RpcUtils.getTSExecuteStatementResp(
+          RpcUtils.getStatus(
+              TSStatusCode.PREPARED_STATEMENT_NOT_EXIST,
+              "Prepared statement " + req.getPreparedStatementId() + " does not exist"));
+    }
+    return executeStatementInternal(
+        preparedStatement.getSql(),
+        () -> preparedStatement.bind(req.getParameters(), clientSession.getZoneId()),
+        preparedStatement.getSchemaFetcher(),
+        req.sessionId,
+        req.statementId,
+        req.fetchSize,
+        req.getTimeout(),
+        SELECT_RESULT);
+  }
+
+  @Override
+  public TSStatus deallocatePreparedStatement(TSDeallocatePreparedStatementReq req) {
+    IClientSession clientSession = SESSION_MANAGER.getCurrSession();
+    if (!SESSION_MANAGER.checkLogin(clientSession)) {
+      return getNotLoggedInStatus();
+    }
+    clientSession.removePreparedStatement(req.getPreparedStatementId());
+    return RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS);
+  }
+
   @Override
   public TSFetchResultsResp fetchResultsV2(TSFetchResultsReq req) {
     long startTime = System.currentTimeMillis();
@@ -419,8 +502,16 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
       }
 
       try (SetThreadName queryName = new SetThreadName(queryExecution.getQueryId())) {
+        // once prefetch is enabled for a query, all its batches are pulled by the prefetcher
+        int prefetchBatchNum = req.isSetPrefetchBatchNum() ? req.getPrefetchBatchNum() : 0;
+        QueryResultPrefetcher resultPrefetcher =
+            prefetchBatchNum > 0
+                ? COORDINATOR.getOrCreateResultPrefetcher(req.queryId, queryExecution)
+                : COORDINATOR.getResultPrefetcher(req.queryId);
         Pair<List<ByteBuffer>, Boolean> pair =
-            QueryDataSetUtils.convertQueryResultByFetchSize(queryExecution, req.fetchSize);
+            resultPrefetcher != null
+                ? resultPrefetcher.fetch(req.fetchSize, prefetchBatchNum)
+                : QueryDataSetUtils.convertQueryResultByFetchSize(queryExecution, req.fetchSize);
         List<ByteBuffer> result = pair.left;
         finished = pair.right;
         boolean hasResultSet = !(result.size() == 0);
@@ -60,6 +60,7 @@ import org.apache.iotdb.db.engine.StorageEngineV2;
 import org.apache.iotdb.db.engine.cache.BloomFilterCache;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.engine.storagegroup.DataRegionLoadSampler;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.cache.DataNodeSchemaCache;
@@ -109,6 +110,7 @@ import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
 import org.apache.iotdb.db.query.control.SessionManager;
 import org.apache.iotdb.db.query.control.clientsession.IClientSession;
 import org.apache.iotdb.db.query.control.clientsession.InternalClientSession;
+import org.apache.iotdb.db.rescon.SystemInfo;
 import org.apache.iotdb.db.service.DataNode;
 import org.apache.iotdb.db.service.RegionMigrateService;
 import org.apache.iotdb.db.sync.SyncService;
@@ -954,6 +956,16 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
       // Sample disk load
       sampleDiskLoad(loadSample);
 
+      // Sample memtable load
+      double rejectThreshold = SystemInfo.getInstance().getRejectThershold();
+      if (rejectThreshold > 0) {
+        loadSample.setMemTableUsageRate(
+            (double) SystemInfo.getInstance().getTotalMemTableSize() * 100 / rejectThreshold);
+      }
+
+      // Sample the load of each DataRegion
+      loadSample.setRegionLoads(DataRegionLoadSampler.getInstance().sampleRegionLoads());
+
       resp.setLoadSample(loadSample);
     }
 
@@ -1139,6 +1151,7 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
         ClusterTemplateManager.getInstance().invalidateTemplateSetInfo(req.getTemplateInfo());
         break;
     }
+    DataNodeSchemaCache.getInstance().increaseSchemaVersion();
     return RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS);
   }
 
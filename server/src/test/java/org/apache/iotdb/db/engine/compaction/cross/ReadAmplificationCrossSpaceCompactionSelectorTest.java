@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.engine.compaction.cross;
+
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.db.engine.compaction.AbstractCompactionTest;
+import org.apache.iotdb.db.engine.compaction.cross.rewrite.ReadAmplificationCrossSpaceCompactionSelector;
+import org.apache.iotdb.db.engine.compaction.cross.utils.ReadAmplificationTracker;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ReadAmplificationCrossSpaceCompactionSelectorTest extends AbstractCompactionTest {
+
+  @Before
+  public void setUp()
+      throws IOException, WriteProcessException, MetadataException, InterruptedException {
+    super.setUp();
+    ReadAmplificationTracker.getInstance().clear();
+    // 4 Seq files: 0 ~ 1000, 1100 ~ 2100, 4200 ~ 5200, 5300 ~ 6300
+    // 2 Unseq files: 2100 ~ 3100, 3200 ~ 4200
+    registerTimeseriesInMManger(5, 10, true);
+    createFiles(2, 10, 10, 1000, 0, 0, 100, 100, true, true);
+    createFiles(2, 10, 10, 1001, 2100, 2100, 100, 100, true, false);
+    createFiles(1, 10, 10, 1000, 4200, 4200, 100, 100, true, true);
+    createFiles(1, 10, 10, 1000, 5300, 5300, 100, 100, true, true);
+  }
+
+  @After
+  public void tearDown() throws IOException, StorageEngineException {
+    ReadAmplificationTracker.getInstance().clear();
+    super.tearDown();
+  }
+
+  @Test
+  public void testSelectAllWithoutReadAmplification() {
+    List<Pair<List<TsFileResource>, List<TsFileResource>>> selected = select();
+    Assert.assertEquals(1, selected.get(0).left.size());
+    Assert.assertEquals(2, selected.get(0).right.size());
+  }
+
+  @Test
+  public void testSelectPrefixWithMostReadAmplification() {
+    for (int i = 0; i < 10; i++) {
+      ReadAmplificationTracker.getInstance()
+          .recordOverlappedPage(unseqResources.get(0).getTsFilePath());
+    }
+    List<Pair<List<TsFileResource>, List<TsFileResource>>> selected = select();
+    Assert.assertEquals(1, selected.get(0).left.size());
+    Assert.assertEquals(seqResources.get(2), selected.get(0).left.get(0));
+    Assert.assertEquals(1, selected.get(0).right.size());
+    Assert.assertEquals(unseqResources.get(0), selected.get(0).right.get(0));
+  }
+
+  @Test
+  public void testOlderUnseqFileSelectedBeforeAmplifiedOne() {
+    for (int i = 0; i < 10; i++) {
+      ReadAmplificationTracker.getInstance()
+          .recordOverlappedPage(unseqResources.get(1).getTsFilePath());
+    }
+    List<Pair<List<TsFileResource>, List<TsFileResource>>> selected = select();
+    Assert.assertEquals(2, selected.get(0).right.size());
+    Assert.assertEquals(unseqResources.get(0), selected.get(0).right.get(0));
+    Assert.assertEquals(unseqResources.get(1), selected.get(0).right.get(1));
+  }
+
+  @Test
+  public void testTrackerDropsRemovedFile() {
+    TsFileResource unseqFile = unseqResources.get(0);
+    ReadAmplificationTracker.getInstance().recordOverlappedPage(unseqFile.getTsFilePath());
+    Assert.assertEquals(
+        1, ReadAmplificationTracker.getInstance().getOverlappedPageCount(unseqFile));
+    unseqFile.remove();
+    Assert.assertEquals(
+        0, ReadAmplificationTracker.getInstance().getOverlappedPageCount(unseqFile));
+  }
+
+  private List<Pair<List<TsFileResource>, List<TsFileResource>>> select() {
+    ReadAmplificationCrossSpaceCompactionSelector selector =
+        new ReadAmplificationCrossSpaceCompactionSelector("", "", 0, null);
+    return selector.selectCrossSpaceTask(seqResources, unseqResources);
+  }
+}
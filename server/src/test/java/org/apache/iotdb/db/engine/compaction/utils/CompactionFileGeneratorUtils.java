@@ -30,6 +30,7 @@ import org.apache.iotdb.db.engine.storagegroup.TsFileNameGenerator.TsFileName;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
@@ -169,6 +170,31 @@ public class CompactionFileGeneratorUtils {
       long startTime,
       TsFileResource newTsFileResource)
       throws IOException, IllegalPathException {
+    writeTsFile(
+        fullPaths,
+        chunkPagePointsNum,
+        startTime,
+        newTsFileResource,
+        TSEncoding.valueOf(TSFileDescriptor.getInstance().getConfig().getValueEncoder()));
+  }
+
+  /**
+   * Generate a new file whose chunks are encoded by the given encoding. For each time series,
+   * insert a point (time +1 for each point, time = value) into the file from the start time.
+   *
+   * @param fullPaths Set(fullPath)
+   * @param chunkPagePointsNum chunkList->pageList->points
+   * @param startTime The startTime to write
+   * @param newTsFileResource The tsfile to write
+   * @param encoding The encoding of the values
+   */
+  public static void writeTsFile(
+      Set<String> fullPaths,
+      List<List<Long>> chunkPagePointsNum,
+      long startTime,
+      TsFileResource newTsFileResource,
+      TSEncoding encoding)
+      throws IOException, IllegalPathException {
     // disable auto page seal and seal page manually
     int prevMaxNumberOfPointsInPage =
         TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
@@ -192,7 +218,7 @@ public class CompactionFileGeneratorUtils {
         long currTime = startTime;
         for (List<Long> chunk : chunkPagePointsNum) {
           ChunkWriterImpl chunkWriter =
-              new ChunkWriterImpl(new MeasurementSchema(sensor, TSDataType.INT64), true);
+              new ChunkWriterImpl(new MeasurementSchema(sensor, TSDataType.INT64, encoding), true);
           for (Long page : chunk) {
             for (long i = 0; i < page; i++) {
               chunkWriter.write(currTime, currTime);
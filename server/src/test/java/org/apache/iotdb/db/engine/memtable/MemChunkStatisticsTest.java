@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.memtable;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
+import org.apache.iotdb.db.exception.query.QueryProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MemChunkStatisticsTest {
+
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private int bucketSize;
+
+  @Before
+  public void setUp() {
+    bucketSize = config.getMemChunkStatisticsBucketSize();
+    config.setMemChunkStatisticsBucketSize(100);
+  }
+
+  @After
+  public void tearDown() {
+    config.setMemChunkStatisticsBucketSize(bucketSize);
+  }
+
+  @Test
+  public void inOrderTest() throws IOException, QueryProcessException {
+    WritableMemChunk memChunk = createMemChunk();
+    for (long time = 0; time < 250; time++) {
+      memChunk.putLong(time, time);
+    }
+    List<Statistics<? extends Serializable>> statisticsList =
+        memChunk.getBucketStatisticsForQuery();
+    assertEquals(3, statisticsList.size());
+    checkStatistics(statisticsList.get(2), 200, 249);
+
+    ReadOnlyMemChunk readOnlyMemChunk = createReadOnlyMemChunk(memChunk, null);
+    assertArrayEquals(new int[] {0, 100, 200, 250}, readOnlyMemChunk.getPageOffsets());
+    checkPages(readOnlyMemChunk);
+    checkStatistics(readOnlyMemChunk.getChunkMetaData().getStatistics(), 0, 249);
+
+    // the statistics got by the query aren't changed by the following writes
+    memChunk.putLong(250L, 250L);
+    checkStatistics(statisticsList.get(2), 200, 249);
+  }
+
+  @Test
+  public void outOfOrderTest() throws IOException, QueryProcessException {
+    WritableMemChunk memChunk = createMemChunk();
+    for (long time = 0; time < 300; time += 2) {
+      memChunk.putLong(time, time);
+    }
+    // invalidates the second bucket [200, 298]
+    memChunk.putLong(201L, 201L);
+    for (long time = 300; time < 350; time++) {
+      memChunk.putLong(time, time);
+    }
+    List<Statistics<? extends Serializable>> statisticsList =
+        memChunk.getBucketStatisticsForQuery();
+    assertEquals(2, statisticsList.size());
+    checkStatistics(statisticsList.get(0), 0, 198);
+    checkStatistics(statisticsList.get(1), 300, 349);
+
+    ReadOnlyMemChunk readOnlyMemChunk = createReadOnlyMemChunk(memChunk, null);
+    assertArrayEquals(new int[] {0, 100, 151, 201}, readOnlyMemChunk.getPageOffsets());
+    checkPages(readOnlyMemChunk);
+  }
+
+  @Test
+  public void deletionTest() throws IOException, QueryProcessException {
+    WritableMemChunk memChunk = createMemChunk();
+    for (long time = 0; time < 300; time++) {
+      memChunk.putLong(time, time);
+    }
+    memChunk.delete(150, 160);
+    assertEquals(2, memChunk.getBucketStatisticsForQuery().size());
+
+    // the deletion not applied to the memtable yet
+    ReadOnlyMemChunk readOnlyMemChunk =
+        createReadOnlyMemChunk(memChunk, Collections.singletonList(new TimeRange(250, 260)));
+    assertArrayEquals(new int[] {0, 100, 278}, readOnlyMemChunk.getPageOffsets());
+    checkPages(readOnlyMemChunk);
+  }
+
+  @Test
+  public void disabledTest() throws IOException, QueryProcessException {
+    config.setMemChunkStatisticsBucketSize(0);
+    WritableMemChunk memChunk = createMemChunk();
+    for (long time = 0; time < 300; time++) {
+      memChunk.putLong(time, time);
+    }
+    assertNull(memChunk.getBucketStatisticsForQuery());
+    ReadOnlyMemChunk readOnlyMemChunk = createReadOnlyMemChunk(memChunk, null);
+    assertNull(readOnlyMemChunk.getPageOffsets());
+    checkStatistics(readOnlyMemChunk.getChunkMetaData().getStatistics(), 0, 299);
+  }
+
+  private static WritableMemChunk createMemChunk() {
+    return new WritableMemChunk(new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN));
+  }
+
+  private static ReadOnlyMemChunk createReadOnlyMemChunk(
+      WritableMemChunk memChunk, List<TimeRange> deletionList)
+      throws IOException, QueryProcessException {
+    return new ReadOnlyMemChunk(
+        "s1",
+        TSDataType.INT64,
+        TSEncoding.PLAIN,
+        memChunk.getSortedTvListForQuery(),
+        null,
+        deletionList,
+        memChunk.getBucketStatisticsForQuery());
+  }
+
+  /** The value of each point equals its time, so the statistics are decided by the time range. */
+  private static void checkStatistics(Statistics<?> statistics, long startTime, long endTime) {
+    assertEquals(startTime, statistics.getStartTime());
+    assertEquals(endTime, statistics.getEndTime());
+    assertEquals(startTime, ((Number) statistics.getMinValue()).longValue());
+    assertEquals(endTime, ((Number) statistics.getMaxValue()).longValue());
+  }
+
+  private static void checkPages(ReadOnlyMemChunk readOnlyMemChunk) {
+    TsBlock tsBlock = readOnlyMemChunk.getTsBlock();
+    int[] pageOffsets = readOnlyMemChunk.getPageOffsets();
+    List<Statistics<? extends Serializable>> pageStatisticsList =
+        readOnlyMemChunk.getPageStatisticsList();
+    assertEquals(pageOffsets.length - 1, pageStatisticsList.size());
+    for (int i = 0; i < pageStatisticsList.size(); i++) {
+      Statistics<? extends Serializable> statistics = pageStatisticsList.get(i);
+      assertEquals(pageOffsets[i + 1] - pageOffsets[i], statistics.getCount());
+      checkStatistics(
+          statistics,
+          tsBlock.getTimeByIndex(pageOffsets[i]),
+          tsBlock.getTimeByIndex(pageOffsets[i + 1] - 1));
+      double sum = 0;
+      for (int j = pageOffsets[i]; j < pageOffsets[i + 1]; j++) {
+        sum += tsBlock.getColumn(0).getLong(j);
+      }
+      assertEquals(sum, statistics.getSumDoubleValue(), 0);
+    }
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+import org.apache.iotdb.db.mpp.aggregation.AccumulatorFactory;
+import org.apache.iotdb.db.mpp.aggregation.Aggregator;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.source.SeriesAggregationScanOperator;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.AggregationStep;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.GroupByTimeParameter;
+import org.apache.iotdb.db.query.aggregation.AggregationType;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.GroupByFilter;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.apache.iotdb.db.mpp.execution.operator.AggregationOperatorTest.TEST_TIME_SLICE;
+import static org.apache.iotdb.db.mpp.execution.operator.AggregationUtil.initTimeRangeIterator;
+import static org.apache.iotdb.tsfile.read.common.block.TsBlockBuilderStatus.DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES;
+
+public class RollupFileTest {
+
+  private static final String SG = "root.RollupFileTest";
+  private static final String DEVICE = SG + ".d1";
+  private static final String MEASUREMENT = "s1";
+  private static final int POINT_NUM = 1000;
+
+  private TsFileResource resource;
+  private ExecutorService instanceNotificationExecutor;
+
+  @Before
+  public void setUp() throws Exception {
+    File file = new File(TestConstant.getTestTsFilePath(SG, 0, 0, 0));
+    if (!file.getParentFile().exists()) {
+      Assert.assertTrue(file.getParentFile().mkdirs());
+    }
+    resource = new TsFileResource(file);
+    resource.setStatus(TsFileResourceStatus.CLOSED);
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      writer.registerTimeseries(
+          new Path(DEVICE),
+          new MeasurementSchema(
+              MEASUREMENT, TSDataType.INT32, TSEncoding.PLAIN, CompressionType.UNCOMPRESSED));
+      for (int i = 0; i < POINT_NUM; i++) {
+        TSRecord record = new TSRecord(i, DEVICE);
+        record.addTuple(new IntDataPoint(MEASUREMENT, i));
+        writer.write(record);
+        // the chunks are across the windows
+        if ((i + 1) % 250 == 0) {
+          writer.flushAllChunkGroups();
+        }
+      }
+    }
+    resource.updateStartTime(DEVICE, 0);
+    resource.updateEndTime(DEVICE, POINT_NUM - 1);
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    IoTDBDescriptor.getInstance().getConfig().setRollupLevels(RollupLevels.EMPTY);
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    resource.remove();
+    instanceNotificationExecutor.shutdown();
+    EnvironmentUtils.cleanAllDir();
+  }
+
+  @Test
+  public void testParseRollupLevels() throws IllegalPathException {
+    RollupLevels levels = RollupLevels.parse("root.sg.**:10ms,1s;root.sg.d1.s1:100ms", "ms");
+    Assert.assertArrayEquals(
+        new long[] {1000, 100, 10}, levels.getIntervals(new PartialPath("root.sg.d1.s1")));
+    Assert.assertArrayEquals(
+        new long[] {1000, 10}, levels.getIntervals(new PartialPath("root.sg.d1.s2")));
+    Assert.assertEquals(0, levels.getIntervals(new PartialPath("root.ln.d1.s1")).length);
+    Assert.assertTrue(RollupLevels.parse("", "ms").isEmpty());
+
+    for (String illegal : Arrays.asList("root.sg.**", "root.sg.**:1mo", "root.sg.**:0ms")) {
+      try {
+        RollupLevels.parse(illegal, "ms");
+        Assert.fail(illegal);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testReadRollupWindows() throws IOException {
+    RollupFileGenerator.generate(
+        resource.getTsFile(), RollupLevels.parse(SG + ".**:100ms,1s", "ms"));
+    File tsFile = resource.getTsFile();
+    Assert.assertTrue(RollupFile.getRollupFile(tsFile).exists());
+
+    // the coarsest level is used without filter
+    List<Statistics<? extends Serializable>> windows =
+        RollupFile.read(tsFile, DEVICE, MEASUREMENT, null, true);
+    Assert.assertNotNull(windows);
+    Assert.assertEquals(1, windows.size());
+    Assert.assertEquals(POINT_NUM, windows.get(0).getCount());
+
+    // the finer level is used if the coarser windows are across the aggregation windows
+    Filter filter = new GroupByFilter(100, 100, 0, POINT_NUM);
+    windows = RollupFile.read(tsFile, DEVICE, MEASUREMENT, filter, true);
+    Assert.assertNotNull(windows);
+    Assert.assertEquals(10, windows.size());
+    for (int i = 0; i < windows.size(); i++) {
+      Statistics<? extends Serializable> window = windows.get(i);
+      Assert.assertEquals(i * 100L, window.getStartTime());
+      Assert.assertEquals(i * 100L + 99, window.getEndTime());
+      Assert.assertEquals(100, window.getCount());
+      Assert.assertEquals(i * 100 * 100 + 4950, window.getSumLongValue());
+    }
+    List<Statistics<? extends Serializable>> descWindows =
+        RollupFile.read(tsFile, DEVICE, MEASUREMENT, filter, false);
+    Assert.assertNotNull(descWindows);
+    Collections.reverse(descWindows);
+    for (int i = 0; i < windows.size(); i++) {
+      Assert.assertEquals(windows.get(i).getStartTime(), descWindows.get(i).getStartTime());
+    }
+
+    // no level fits if a window is partially selected
+    Assert.assertNull(
+        RollupFile.read(
+            tsFile, DEVICE, MEASUREMENT, FilterFactory.and(TimeFilter.gtEq(50), filter), true));
+    // no rollup windows of other series
+    Assert.assertNull(RollupFile.read(tsFile, DEVICE, "s2", null, true));
+  }
+
+  @Test
+  public void testAggregationWithRollup() throws Exception {
+    RollupLevels levels = RollupLevels.parse(SG + ".**:100ms", "ms");
+    RollupFileGenerator.generate(resource.getTsFile(), levels);
+    IoTDBDescriptor.getInstance().getConfig().setRollupLevels(levels);
+
+    // the results are the same whether the rollup windows can be used or not
+    for (Filter timeFilter : Arrays.asList(null, TimeFilter.gtEq(50))) {
+      for (boolean ascending : new boolean[] {true, false}) {
+        checkGroupByTime(timeFilter, ascending);
+      }
+    }
+  }
+
+  @Test
+  public void testSlidingAndUnalignedWindowsWithRollup() throws Exception {
+    RollupLevels levels = RollupLevels.parse(SG + ".**:100ms", "ms");
+    RollupFileGenerator.generate(resource.getTsFile(), levels);
+
+    List<GroupByTimeParameter> parameters =
+        Arrays.asList(
+            // overlapping sliding windows, which are split into sub-windows by the scan
+            new GroupByTimeParameter(0, POINT_NUM, 200, 50, true),
+            new GroupByTimeParameter(0, POINT_NUM, 200, 100, true),
+            // sliding windows with gaps between them
+            new GroupByTimeParameter(0, POINT_NUM, 100, 200, true),
+            // the rollup windows end exactly at the exclusive end of the windows
+            new GroupByTimeParameter(-1, POINT_NUM - 1, 100, 100, true),
+            new GroupByTimeParameter(-1, POINT_NUM - 1, 100, 100, false));
+    for (GroupByTimeParameter groupByTimeParameter : parameters) {
+      for (boolean ascending : new boolean[] {true, false}) {
+        // the results are the same whether the rollup windows can be used or not
+        IoTDBDescriptor.getInstance().getConfig().setRollupLevels(RollupLevels.EMPTY);
+        List<String> expected = getGroupByTimeResult(groupByTimeParameter, ascending);
+        IoTDBDescriptor.getInstance().getConfig().setRollupLevels(levels);
+        Assert.assertEquals(expected, getGroupByTimeResult(groupByTimeParameter, ascending));
+      }
+    }
+  }
+
+  private List<String> getGroupByTimeResult(
+      GroupByTimeParameter groupByTimeParameter, boolean ascending) throws Exception {
+    List<Aggregator> aggregators = new ArrayList<>();
+    AccumulatorFactory.createAccumulators(
+            Arrays.asList(AggregationType.COUNT, AggregationType.SUM), TSDataType.INT32, ascending)
+        .forEach(o -> aggregators.add(new Aggregator(o, AggregationStep.PARTIAL)));
+    SeriesAggregationScanOperator operator =
+        initSeriesAggregationScanOperator(aggregators, null, ascending, groupByTimeParameter);
+    List<String> result = new ArrayList<>();
+    while (operator.hasNext()) {
+      TsBlock tsBlock = operator.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      for (int pos = 0; pos < tsBlock.getPositionCount(); pos++) {
+        result.add(
+            tsBlock.getTimeColumn().getLong(pos)
+                + ","
+                + tsBlock.getColumn(0).getLong(pos)
+                + ","
+                + tsBlock.getColumn(1).getDouble(pos));
+      }
+    }
+    return result;
+  }
+
+  private void checkGroupByTime(Filter timeFilter, boolean ascending) throws Exception {
+    List<Aggregator> aggregators = new ArrayList<>();
+    AccumulatorFactory.createAccumulators(
+            Arrays.asList(
+                AggregationType.COUNT,
+                AggregationType.SUM,
+                AggregationType.FIRST_VALUE,
+                AggregationType.LAST_VALUE),
+            TSDataType.INT32,
+            ascending)
+        .forEach(o -> aggregators.add(new Aggregator(o, AggregationStep.SINGLE)));
+    GroupByTimeParameter groupByTimeParameter =
+        new GroupByTimeParameter(0, POINT_NUM, 200, 200, true);
+    SeriesAggregationScanOperator operator =
+        initSeriesAggregationScanOperator(aggregators, timeFilter, ascending, groupByTimeParameter);
+
+    long startTime = timeFilter == null ? 0 : 50;
+    int count = 0;
+    while (operator.hasNext()) {
+      TsBlock tsBlock = operator.next();
+      for (int pos = 0; pos < tsBlock.getPositionCount(); pos++) {
+        long windowStart = ascending ? count * 200L : (POINT_NUM / 200 - 1 - count) * 200L;
+        long first = Math.max(windowStart, startTime);
+        long last = windowStart + 199;
+        Assert.assertEquals(windowStart, tsBlock.getTimeColumn().getLong(pos));
+        Assert.assertEquals(last - first + 1, tsBlock.getColumn(0).getLong(pos));
+        Assert.assertEquals(
+            (first + last) * (last - first + 1) / 2.0, tsBlock.getColumn(1).getDouble(pos), 0.0001);
+        Assert.assertEquals(first, tsBlock.getColumn(2).getInt(pos));
+        Assert.assertEquals(last, tsBlock.getColumn(3).getInt(pos));
+        count++;
+      }
+    }
+    Assert.assertEquals(POINT_NUM / 200, count);
+  }
+
+  private SeriesAggregationScanOperator initSeriesAggregationScanOperator(
+      List<Aggregator> aggregators,
+      Filter timeFilter,
+      boolean ascending,
+      GroupByTimeParameter groupByTimeParameter)
+      throws IllegalPathException {
+    MeasurementPath measurementPath =
+        new MeasurementPath(DEVICE + "." + MEASUREMENT, TSDataType.INT32);
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    PlanNodeId planNodeId = new PlanNodeId("1");
+    fragmentInstanceContext.addOperatorContext(
+        1, planNodeId, SeriesAggregationScanOperator.class.getSimpleName());
+    fragmentInstanceContext
+        .getOperatorContexts()
+        .forEach(operatorContext -> operatorContext.setMaxRunTime(TEST_TIME_SLICE));
+
+    SeriesAggregationScanOperator operator =
+        new SeriesAggregationScanOperator(
+            planNodeId,
+            measurementPath,
+            Sets.newHashSet(MEASUREMENT),
+            fragmentInstanceContext.getOperatorContexts().get(0),
+            aggregators,
+            initTimeRangeIterator(groupByTimeParameter, ascending, true),
+            timeFilter,
+            ascending,
+            groupByTimeParameter,
+            DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES);
+    operator.initQueryDataSource(
+        new QueryDataSource(Collections.singletonList(resource), Collections.emptyList()));
+    return operator;
+  }
+}
@@ -73,6 +73,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DataRegionTest {
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
@@ -255,6 +256,65 @@ public class DataRegionTest {
     Assert.assertEquals(0, queryDataSource.getUnseqResources().size());
   }
 
+  @Test
+  public void testDataVersionWithConcurrentInserts() throws Exception {
+    TSRecord firstRecord = new TSRecord(1, deviceId);
+    firstRecord.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, "1"));
+    dataRegion.insert(buildInsertRowNodeByTSRecord(firstRecord));
+    long dataVersion = queryDataVersion();
+
+    // the inserts into the working memtable don't change the data version
+    AtomicReference<Exception> insertException = new AtomicReference<>();
+    Thread insertThread =
+        new Thread(
+            () -> {
+              try {
+                for (int j = 2; j <= 1000; j++) {
+                  TSRecord record = new TSRecord(j, deviceId);
+                  record.addTuple(
+                      DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+                  dataRegion.insert(buildInsertRowNodeByTSRecord(record));
+                }
+              } catch (Exception e) {
+                insertException.set(e);
+              }
+            });
+    insertThread.start();
+    while (insertThread.isAlive()) {
+      Assert.assertEquals(dataVersion, queryDataVersion());
+    }
+    insertThread.join();
+    Assert.assertNull(insertException.get());
+    Assert.assertEquals(dataVersion, queryDataVersion());
+
+    // but flushing and closing the file and deleting data do
+    dataRegion.syncCloseAllWorkingTsFileProcessors();
+    long closedDataVersion = queryDataVersion();
+    Assert.assertNotEquals(dataVersion, closedDataVersion);
+
+    dataRegion.deleteByDevice(new PartialPath(deviceId, measurementId), 0, 10, -1, null);
+    Assert.assertNotEquals(closedDataVersion, queryDataVersion());
+  }
+
+  private long queryDataVersion() throws QueryProcessException, IllegalPathException {
+    dataRegion.readLock();
+    try {
+      return dataRegion
+          .query(
+              Collections.singletonList(
+                  new MeasurementPath(
+                      deviceId,
+                      measurementId,
+                      new MeasurementSchema(measurementId, TSDataType.INT32))),
+              deviceId,
+              context,
+              null)
+          .getDataVersion();
+    } finally {
+      dataRegion.readUnlock();
+    }
+  }
+
   @Test
   public void testIoTDBTabletWriteAndSyncClose()
       throws QueryProcessException, IllegalPathException, WriteProcessException {
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.DataRegion;
+import org.apache.iotdb.db.exception.query.QueryProcessException;
+import org.apache.iotdb.db.mpp.execution.driver.SharedQueryDataSource;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class SharedQueryDataSourceTest {
+
+  private final List<PartialPath> pathList;
+
+  private final DataRegion dataRegion = Mockito.mock(DataRegion.class);
+
+  public SharedQueryDataSourceTest() throws IllegalPathException, QueryProcessException {
+    pathList =
+        ImmutableList.of(
+            new MeasurementPath("root.sg.d1.s1", TSDataType.INT32),
+            new MeasurementPath("root.sg.d2.s1", TSDataType.INT32));
+    Mockito.when(dataRegion.query(pathList, null, null, null))
+        .thenAnswer(invocation -> new QueryDataSource(new ArrayList<>(), new ArrayList<>()));
+  }
+
+  @Test
+  public void testQueryOnceForAllPipelines() throws QueryProcessException {
+    SharedQueryDataSource sharedQueryDataSource =
+        new SharedQueryDataSource(null, pathList, null, dataRegion, 2);
+
+    // the pipelines get the same QueryDataSource, which is taken for all the paths once
+    QueryDataSource dataSource = sharedQueryDataSource.acquire();
+    assertSame(dataSource, sharedQueryDataSource.acquire());
+    Mockito.verify(dataRegion, Mockito.times(1)).query(pathList, null, null, null);
+    Mockito.verify(dataRegion, Mockito.times(1)).readLock();
+    sharedQueryDataSource.release();
+    sharedQueryDataSource.release();
+  }
+
+  @Test
+  public void testPipelineFinishedBeforeOthersInitialized() throws QueryProcessException {
+    SharedQueryDataSource sharedQueryDataSource =
+        new SharedQueryDataSource(null, pathList, null, dataRegion, 3);
+
+    // the first pipeline finishes before the second one is initialized, which still reads the same
+    // snapshot of the files
+    QueryDataSource dataSource = sharedQueryDataSource.acquire();
+    sharedQueryDataSource.release();
+    assertSame(dataSource, sharedQueryDataSource.acquire());
+    sharedQueryDataSource.release();
+    Mockito.verify(dataRegion, Mockito.times(1)).query(pathList, null, null, null);
+
+    // the third pipeline is released without being initialized, e.g. the query is cancelled
+    sharedQueryDataSource.release();
+    try {
+      sharedQueryDataSource.acquire();
+      fail();
+    } catch (IllegalStateException e) {
+      // the data source is never taken again after released
+    }
+    Mockito.verify(dataRegion, Mockito.times(1)).query(pathList, null, null, null);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.execution.memory;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.common.SessionInfo;
+import org.apache.iotdb.db.mpp.exception.MemoryNotEnoughRuntimeException;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+
+public class OperatorMemoryContextTest {
+
+  private static final String QUERY_ID = "stub_query";
+
+  private MemoryPool pool;
+  private ExecutorService instanceNotificationExecutor;
+  private FragmentInstanceStateMachine stateMachine;
+  private FragmentInstanceContext instanceContext;
+
+  @Before
+  public void setUp() {
+    pool = new MemoryPool("test", 1024L, 512L);
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(new QueryId(QUERY_ID), 0), "stub-instance");
+    stateMachine = new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    instanceContext =
+        createFragmentInstanceContext(
+            instanceId,
+            stateMachine,
+            new SessionInfo(1, "test", ZoneId.systemDefault().getId()),
+            pool);
+  }
+
+  @After
+  public void tearDown() {
+    instanceNotificationExecutor.shutdown();
+  }
+
+  @Test
+  public void testUserMemory() {
+    OperatorMemoryContext memoryContext = createOperatorContext(1).getMemoryContext();
+    memoryContext.setBytes(256L);
+    Assert.assertEquals(256L, pool.getQueryMemoryReservedBytes(QUERY_ID));
+    memoryContext.setBytes(100L);
+    Assert.assertEquals(100L, memoryContext.getBytes());
+    Assert.assertEquals(100L, pool.getQueryMemoryReservedBytes(QUERY_ID));
+    Assert.assertEquals(100L, instanceContext.getReservedBytes());
+    Assert.assertEquals(256L, instanceContext.getPeakReservedBytes());
+
+    try {
+      memoryContext.setBytes(600L);
+      Assert.fail("Expect MemoryNotEnoughRuntimeException");
+    } catch (MemoryNotEnoughRuntimeException ignore) {
+    }
+    // the failed reservation doesn't change anything
+    Assert.assertEquals(100L, memoryContext.getBytes());
+    Assert.assertEquals(100L, pool.getQueryMemoryReservedBytes(QUERY_ID));
+  }
+
+  @Test
+  public void testRevocableMemory() {
+    OperatorMemoryContext memoryContext1 = createOperatorContext(1).getMemoryContext();
+    OperatorMemoryContext memoryContext2 = createOperatorContext(2).getMemoryContext();
+    Assert.assertTrue(memoryContext1.trySetRevocableBytes(300L));
+    memoryContext2.setBytes(200L);
+    // exceeds max bytes per query, the operator should spill
+    Assert.assertFalse(memoryContext1.trySetRevocableBytes(400L));
+    Assert.assertEquals(300L, memoryContext1.getRevocableBytes());
+    Assert.assertTrue(memoryContext1.trySetRevocableBytes(0L));
+    Assert.assertEquals(200L, pool.getQueryMemoryReservedBytes(QUERY_ID));
+    Assert.assertEquals(500L, instanceContext.getPeakReservedBytes());
+  }
+
+  @Test
+  public void testFreeWhenInstanceIsDone() throws Exception {
+    OperatorMemoryContext memoryContext1 = createOperatorContext(1).getMemoryContext();
+    OperatorMemoryContext memoryContext2 = createOperatorContext(2).getMemoryContext();
+    memoryContext1.setBytes(100L);
+    Assert.assertTrue(memoryContext2.trySetRevocableBytes(200L));
+    Assert.assertEquals(300L, pool.getReservedBytes());
+
+    stateMachine.finished();
+    // the listeners are notified by the executor
+    for (int i = 0; i < 100 && pool.getReservedBytes() > 0; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(0L, pool.getReservedBytes());
+    Assert.assertEquals(0L, instanceContext.getReservedBytes());
+    Assert.assertEquals(300L, instanceContext.getPeakReservedBytes());
+    // the sizes set after the instance is done are ignored
+    memoryContext1.setBytes(1000L);
+    Assert.assertEquals(0L, pool.getReservedBytes());
+  }
+
+  private OperatorContext createOperatorContext(int operatorId) {
+    return instanceContext.addOperatorContext(
+        operatorId, new PlanNodeId(String.valueOf(operatorId)), "StubOperator");
+  }
+}
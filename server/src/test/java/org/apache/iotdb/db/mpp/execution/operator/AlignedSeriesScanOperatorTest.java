@@ -48,6 +48,7 @@ import org.apache.iotdb.tsfile.read.common.block.column.DoubleColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.FloatColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.IntColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.LongColumn;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
@@ -59,6 +60,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -169,6 +171,66 @@ public class AlignedSeriesScanOperatorTest {
     }
   }
 
+  @Test
+  public void columnValueFilterTest() {
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    try {
+      AlignedPath alignedPath =
+          new AlignedPath(
+              SERIES_SCAN_OPERATOR_TEST_SG + ".device0",
+              measurementSchemas.stream()
+                  .map(MeasurementSchema::getMeasurementId)
+                  .collect(Collectors.toList()),
+              measurementSchemas.stream()
+                  .map(m -> (IMeasurementSchema) m)
+                  .collect(Collectors.toList()));
+      QueryId queryId = new QueryId("stub_query");
+      FragmentInstanceId instanceId =
+          new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+      FragmentInstanceStateMachine stateMachine =
+          new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+      FragmentInstanceContext fragmentInstanceContext =
+          createFragmentInstanceContext(instanceId, stateMachine);
+      PlanNodeId planNodeId = new PlanNodeId("1");
+      fragmentInstanceContext.addOperatorContext(
+          1, planNodeId, AlignedSeriesScanOperator.class.getSimpleName());
+
+      AlignedSeriesScanOperator seriesScanOperator =
+          new AlignedSeriesScanOperator(
+              planNodeId,
+              alignedPath,
+              fragmentInstanceContext.getOperatorContexts().get(0),
+              null,
+              null,
+              Collections.singletonMap(1, ValueFilter.gtEq(20000)),
+              true);
+      seriesScanOperator.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+      seriesScanOperator
+          .getOperatorContext()
+          .setMaxRunTime(new Duration(500, TimeUnit.MILLISECONDS));
+
+      // the rows of the pages overlapping others are not filtered by the sub sensors
+      int count = 0;
+      int satisfiedCount = 0;
+      while (seriesScanOperator.hasNext()) {
+        TsBlock tsBlock = seriesScanOperator.next();
+        for (int i = 0; i < tsBlock.getPositionCount(); i++, count++) {
+          if (tsBlock.getColumn(1).getInt(i) >= 20000) {
+            assertEquals(satisfiedCount++, tsBlock.getTimeByIndex(i));
+          }
+        }
+      }
+      assertEquals(200, satisfiedCount);
+      assertTrue(count < 500);
+    } catch (IllegalPathException e) {
+      e.printStackTrace();
+      fail();
+    } finally {
+      instanceNotificationExecutor.shutdown();
+    }
+  }
+
   @Test
   public void batchTest2() {
     ExecutorService instanceNotificationExecutor =
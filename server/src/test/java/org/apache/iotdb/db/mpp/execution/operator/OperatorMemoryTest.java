@@ -42,6 +42,7 @@ import org.apache.iotdb.db.mpp.execution.operator.process.OffsetOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.RawDataAggregationOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.SlidingWindowAggregationOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.SortOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.TopKOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.fill.IFill;
 import org.apache.iotdb.db.mpp.execution.operator.process.fill.linear.LinearFill;
 import org.apache.iotdb.db.mpp.execution.operator.process.join.RowBasedTimeJoinOperator;
@@ -444,10 +445,58 @@ public class OperatorMemoryTest {
 
   @Test
   public void sortOperatorTest() {
-    SortOperator sortOperator = new SortOperator();
-    assertEquals(0, sortOperator.calculateMaxPeekMemory());
-    assertEquals(0, sortOperator.calculateMaxReturnSize());
-    assertEquals(0, sortOperator.calculateRetainedSizeAfterCallingNext());
+    Operator child = Mockito.mock(Operator.class);
+    Mockito.when(child.calculateMaxPeekMemory()).thenReturn(2048L);
+    Mockito.when(child.calculateMaxReturnSize()).thenReturn(1024L);
+    Mockito.when(child.calculateRetainedSizeAfterCallingNext()).thenReturn(512L);
+    List<TSDataType> dataTypeList = new ArrayList<>(2);
+    dataTypeList.add(TSDataType.INT32);
+    dataTypeList.add(TSDataType.INT32);
+
+    SortOperator sortOperator =
+        new SortOperator(
+            Mockito.mock(OperatorContext.class),
+            child,
+            dataTypeList,
+            Mockito.mock(Comparator.class));
+
+    long expectedMaxReturnSize =
+        3L * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+    assertEquals(expectedMaxReturnSize + 1024 + 512, sortOperator.calculateMaxPeekMemory());
+    assertEquals(expectedMaxReturnSize, sortOperator.calculateMaxReturnSize());
+    assertEquals(1024 + 512, sortOperator.calculateRetainedSizeAfterCallingNext());
+  }
+
+  @Test
+  public void topKOperatorTest() {
+    List<Operator> children = new ArrayList<>(2);
+    for (int i = 0; i < 2; i++) {
+      Operator child = Mockito.mock(Operator.class);
+      Mockito.when(child.calculateMaxPeekMemory()).thenReturn(2048L);
+      Mockito.when(child.calculateMaxReturnSize()).thenReturn(1024L);
+      Mockito.when(child.calculateRetainedSizeAfterCallingNext()).thenReturn(512L);
+      children.add(child);
+    }
+    List<TSDataType> dataTypeList = new ArrayList<>(2);
+    dataTypeList.add(TSDataType.INT32);
+    dataTypeList.add(TSDataType.INT32);
+
+    TopKOperator topKOperator =
+        new TopKOperator(
+            Mockito.mock(OperatorContext.class),
+            children,
+            dataTypeList,
+            Mockito.mock(Comparator.class),
+            100);
+
+    long expectedMaxReturnSize =
+        3L * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+    // 100 rows of time and 2 values, and the TsBlocks of 2 children
+    long expectedRetainedSize = 100 * 3 * 8L + 2 * (1024 + 512);
+    assertEquals(
+        expectedMaxReturnSize + expectedRetainedSize, topKOperator.calculateMaxPeekMemory());
+    assertEquals(expectedMaxReturnSize, topKOperator.calculateMaxReturnSize());
+    assertEquals(expectedRetainedSize, topKOperator.calculateRetainedSizeAfterCallingNext());
   }
 
   @Test
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.source.DataSourceOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.SeriesScanOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.SharedSeriesScanOperator;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.query.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import com.google.common.collect.Sets;
+import io.airlift.units.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+
+/**
+ * Concurrent scan benchmark. Run the same full scan of all series in several concurrent queries,
+ * with private scans and with shared scans, and compare the total time.
+ */
+public class SharedSeriesScanBenchmark {
+
+  private static final String SG_NAME = "root.SharedSeriesScanBenchmark";
+  private static final String DATA_REGION_ID = SG_NAME + "-1";
+
+  private static int numOfQuery = 8;
+  private static int numOfRound = 50;
+
+  private static final AtomicInteger queryCount = new AtomicInteger();
+
+  public static void main(String[] args) throws Exception {
+    List<String> deviceIds = new ArrayList<>();
+    List<MeasurementSchema> measurementSchemas = new ArrayList<>();
+    List<TsFileResource> seqResources = new ArrayList<>();
+    List<TsFileResource> unseqResources = new ArrayList<>();
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unseqResources, SG_NAME);
+    ExecutorService queryExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(numOfQuery, "benchmark-query");
+    ExecutorService notificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "benchmark-notification");
+    try {
+      List<MeasurementPath> paths = new ArrayList<>();
+      for (String deviceId : deviceIds) {
+        for (MeasurementSchema schema : measurementSchemas) {
+          paths.add(
+              new MeasurementPath(deviceId + "." + schema.getMeasurementId(), schema.getType()));
+        }
+      }
+      // warm up the caches
+      run(false, paths, seqResources, unseqResources, queryExecutor, notificationExecutor);
+      for (boolean shared : new boolean[] {false, true}) {
+        long startTime = System.currentTimeMillis();
+        long pointNum = 0;
+        for (int i = 0; i < numOfRound; i++) {
+          pointNum +=
+              run(shared, paths, seqResources, unseqResources, queryExecutor, notificationExecutor);
+        }
+        System.out.println(
+            String.format(
+                "%s scan, num of concurrent queries: %d, num of rounds: %d, "
+                    + "num of points: %d, the total time: %d ms. ",
+                shared ? "Shared" : "Private",
+                numOfQuery,
+                numOfRound,
+                pointNum,
+                System.currentTimeMillis() - startTime));
+      }
+    } finally {
+      queryExecutor.shutdown();
+      notificationExecutor.shutdown();
+      SeriesReaderTestUtil.tearDown(seqResources, unseqResources);
+    }
+  }
+
+  /** Start the queries at the same time, each of which scans all series one by one. */
+  private static long run(
+      boolean shared,
+      List<MeasurementPath> paths,
+      List<TsFileResource> seqResources,
+      List<TsFileResource> unseqResources,
+      ExecutorService queryExecutor,
+      ExecutorService notificationExecutor)
+      throws Exception {
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < numOfQuery; i++) {
+      futures.add(
+          queryExecutor.submit(
+              () -> {
+                startLatch.await();
+                long pointNum = 0;
+                for (MeasurementPath path : paths) {
+                  DataSourceOperator operator =
+                      createOperator(
+                          shared, path, seqResources, unseqResources, notificationExecutor);
+                  while (operator.hasNext()) {
+                    pointNum += operator.next().getPositionCount();
+                  }
+                  operator.close();
+                }
+                return pointNum;
+              }));
+    }
+    startLatch.countDown();
+    long pointNum = 0;
+    for (Future<Long> future : futures) {
+      pointNum += future.get();
+    }
+    return pointNum;
+  }
+
+  private static DataSourceOperator createOperator(
+      boolean shared,
+      MeasurementPath path,
+      List<TsFileResource> seqResources,
+      List<TsFileResource> unseqResources,
+      ExecutorService notificationExecutor) {
+    QueryId queryId = new QueryId("benchmark_query_" + queryCount.getAndIncrement());
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "benchmark-instance");
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(
+            instanceId, new FragmentInstanceStateMachine(instanceId, notificationExecutor));
+    PlanNodeId planNodeId = new PlanNodeId("1");
+    fragmentInstanceContext.addOperatorContext(
+        1, planNodeId, SeriesScanOperator.class.getSimpleName());
+    OperatorContext operatorContext = fragmentInstanceContext.getOperatorContexts().get(0);
+    operatorContext.setMaxRunTime(new Duration(500, TimeUnit.MILLISECONDS));
+
+    DataSourceOperator operator =
+        shared
+            ? new SharedSeriesScanOperator(
+                planNodeId,
+                path,
+                Sets.newHashSet(path.getMeasurement()),
+                path.getSeriesType(),
+                operatorContext,
+                null,
+                null,
+                DATA_REGION_ID)
+            : new SeriesScanOperator(
+                planNodeId,
+                path,
+                Sets.newHashSet(path.getMeasurement()),
+                path.getSeriesType(),
+                operatorContext,
+                null,
+                null,
+                true);
+    operator.initQueryDataSource(new QueryDataSource(seqResources, unseqResources));
+    return operator;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.source.SharedSeriesScanManager;
+import org.apache.iotdb.db.mpp.execution.operator.source.SharedSeriesScanOperator;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.query.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import com.google.common.collect.Sets;
+import io.airlift.units.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+
+public class SharedSeriesScanOperatorTest {
+  private static final String SHARED_SERIES_SCAN_OPERATOR_TEST_SG =
+      "root.SharedSeriesScanOperatorTest";
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private final List<String> deviceIds = new ArrayList<>();
+  private final List<MeasurementSchema> measurementSchemas = new ArrayList<>();
+
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unSeqResources = new ArrayList<>();
+
+  private ExecutorService instanceNotificationExecutor;
+  private int queryNum = 0;
+
+  @Before
+  public void setUp() throws MetadataException, IOException, WriteProcessException {
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas,
+        deviceIds,
+        seqResources,
+        unSeqResources,
+        SHARED_SERIES_SCAN_OPERATOR_TEST_SG);
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    instanceNotificationExecutor.shutdown();
+    SeriesReaderTestUtil.tearDown(seqResources, unSeqResources);
+  }
+
+  @Test
+  public void shareScanTest() throws Exception {
+    SharedSeriesScanOperator leader = createOperator(null, null);
+    SharedSeriesScanOperator follower =
+        createOperator(TimeFilter.gtEq(100L), ValueFilter.gt(10250));
+    assertEquals(1, SharedSeriesScanManager.getInstance().getRunningScanNum());
+
+    List<Long> leaderTimes = new ArrayList<>();
+    List<Long> followerTimes = new ArrayList<>();
+    // the operators read one page in each call, so they consume the pages alternately
+    boolean leaderHasNext = true;
+    boolean followerHasNext = true;
+    while (leaderHasNext || followerHasNext) {
+      leaderHasNext = leaderHasNext && collect(leader, leaderTimes);
+      followerHasNext = followerHasNext && collect(follower, followerTimes);
+    }
+    checkResult(leaderTimes, 0, time -> true);
+    checkResult(followerTimes, 100, time -> getValue(time) > 10250);
+
+    leader.close();
+    follower.close();
+    assertEquals(0, SharedSeriesScanManager.getInstance().getRunningScanNum());
+  }
+
+  @Test
+  public void detachSlowSubscriberTest() throws Exception {
+    int maxBufferedBlockNum = config.getSharedSeriesScanMaxBufferedBlockNum();
+    config.setSharedSeriesScanMaxBufferedBlockNum(1);
+    try {
+      SharedSeriesScanOperator leader = createOperator(null, null);
+      SharedSeriesScanOperator follower = createOperator(TimeFilter.lt(450L), null);
+
+      // the follower falls behind and continues with a private scan
+      List<Long> leaderTimes = new ArrayList<>();
+      while (collect(leader, leaderTimes)) {}
+      List<Long> followerTimes = new ArrayList<>();
+      while (collect(follower, followerTimes)) {}
+      checkResult(leaderTimes, 0, time -> true);
+      checkResult(followerTimes, 0, time -> time < 450);
+
+      leader.close();
+      follower.close();
+    } finally {
+      config.setSharedSeriesScanMaxBufferedBlockNum(maxBufferedBlockNum);
+    }
+  }
+
+  @Test
+  public void closeLeaderTest() throws Exception {
+    SharedSeriesScanOperator leader = createOperator(null, null);
+    SharedSeriesScanOperator follower = createOperator(null, null);
+
+    List<Long> leaderTimes = new ArrayList<>();
+    collect(leader, leaderTimes);
+    leader.close();
+    // the scan of the leader can't be used any more, the follower continues by itself
+    List<Long> followerTimes = new ArrayList<>();
+    while (collect(follower, followerTimes)) {}
+    checkResult(followerTimes, 0, time -> true);
+
+    follower.close();
+    assertEquals(0, SharedSeriesScanManager.getInstance().getRunningScanNum());
+  }
+
+  @Test
+  public void notShareChangedDataTest() throws Exception {
+    SharedSeriesScanOperator leader = createOperator(null, null);
+    // the data is changed after the data source of the leader is taken
+    SharedSeriesScanOperator follower = createOperator(null, null, 1);
+    assertEquals(2, SharedSeriesScanManager.getInstance().getRunningScanNum());
+
+    List<Long> leaderTimes = new ArrayList<>();
+    while (collect(leader, leaderTimes)) {}
+    List<Long> followerTimes = new ArrayList<>();
+    while (collect(follower, followerTimes)) {}
+    checkResult(leaderTimes, 0, time -> true);
+    checkResult(followerTimes, 0, time -> true);
+
+    leader.close();
+    follower.close();
+    assertEquals(0, SharedSeriesScanManager.getInstance().getRunningScanNum());
+  }
+
+  private SharedSeriesScanOperator createOperator(Filter timeFilter, Filter valueFilter)
+      throws IllegalPathException {
+    return createOperator(timeFilter, valueFilter, 0);
+  }
+
+  private SharedSeriesScanOperator createOperator(
+      Filter timeFilter, Filter valueFilter, long dataVersion) throws IllegalPathException {
+    MeasurementPath measurementPath =
+        new MeasurementPath(
+            SHARED_SERIES_SCAN_OPERATOR_TEST_SG + ".device0.sensor0", TSDataType.INT32);
+    QueryId queryId = new QueryId("stub_query_" + queryNum++);
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    PlanNodeId planNodeId = new PlanNodeId("1");
+    fragmentInstanceContext.addOperatorContext(
+        1, planNodeId, SharedSeriesScanOperator.class.getSimpleName());
+
+    SharedSeriesScanOperator operator =
+        new SharedSeriesScanOperator(
+            planNodeId,
+            measurementPath,
+            Sets.newHashSet("sensor0"),
+            TSDataType.INT32,
+            fragmentInstanceContext.getOperatorContexts().get(0),
+            timeFilter,
+            valueFilter,
+            SHARED_SERIES_SCAN_OPERATOR_TEST_SG + "-1");
+    // read one page in each call of hasNext
+    operator.getOperatorContext().setMaxRunTime(new Duration(0, TimeUnit.MILLISECONDS));
+    QueryDataSource dataSource = new QueryDataSource(seqResources, unSeqResources);
+    dataSource.setDataVersion(dataVersion);
+    operator.initQueryDataSource(dataSource);
+    return operator;
+  }
+
+  private static boolean collect(SharedSeriesScanOperator operator, List<Long> times) {
+    if (!operator.hasNext()) {
+      return false;
+    }
+    TsBlock tsBlock = operator.next();
+    assertEquals(1, tsBlock.getValueColumnCount());
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      long time = tsBlock.getTimeByIndex(i);
+      assertEquals(getValue(time), tsBlock.getColumn(0).getInt(i));
+      times.add(time);
+    }
+    return true;
+  }
+
+  private static void checkResult(List<Long> times, long startTime, LongPredicate predicate) {
+    int index = 0;
+    for (long time = startTime; time < 500; time++) {
+      if (predicate.test(time)) {
+        assertEquals(time, (long) times.get(index++));
+      }
+    }
+    assertEquals(index, times.size());
+  }
+
+  private static int getValue(long time) {
+    if (time < 200) {
+      return 20000 + (int) time;
+    } else if (time < 260 || (time >= 300 && time < 380) || time >= 400) {
+      return 10000 + (int) time;
+    } else {
+      return (int) time;
+    }
+  }
+}
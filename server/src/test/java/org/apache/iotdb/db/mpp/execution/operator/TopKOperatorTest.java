@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.common.SessionInfo;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.memory.MemoryPool;
+import org.apache.iotdb.db.mpp.execution.operator.process.AbstractSortOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.SortOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.TopKOperator;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TopKOperatorTest {
+
+  private static final List<TSDataType> DATA_TYPES =
+      ImmutableList.of(TSDataType.INT32, TSDataType.DOUBLE);
+
+  private ExecutorService instanceNotificationExecutor;
+
+  @Before
+  public void setUp() {
+    this.instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+  }
+
+  @After
+  public void tearDown() {
+    instanceNotificationExecutor.shutdown();
+  }
+
+  @Test
+  public void testTopKByValueDesc() throws Exception {
+    // child1: (time, s1, s2) = (1, 5, 1.0), (2, 3, null), (3, 9, 2.0) | (4, 1, 3.0)
+    // child2: (5, 7, null), (6, 9, 4.0) | (7, null, 5.0), (8, 8, 6.0)
+    Operator child1 =
+        new TsBlockOperator(
+            block(new long[] {1, 2, 3}, new Integer[] {5, 3, 9}, new Double[] {1.0, null, 2.0}),
+            block(new long[] {4}, new Integer[] {1}, new Double[] {3.0}));
+    Operator child2 =
+        new TsBlockOperator(
+            block(new long[] {5, 6}, new Integer[] {7, 9}, new Double[] {null, 4.0}),
+            block(new long[] {7, 8}, new Integer[] {null, 8}, new Double[] {5.0, 6.0}));
+
+    // ORDER BY s1 DESC, TIME DESC LIMIT 4
+    Comparator<Object[]> comparator =
+        AbstractSortOperator.getComparator(
+            Arrays.asList(0, AbstractSortOperator.TIME_INDEX),
+            Arrays.asList(Ordering.DESC, Ordering.DESC));
+    TopKOperator topKOperator =
+        new TopKOperator(
+            createOperatorContext(TopKOperator.class.getSimpleName()),
+            Arrays.asList(child1, child2),
+            DATA_TYPES,
+            comparator,
+            4);
+
+    List<Object[]> rows = collect(topKOperator);
+    assertEquals(4, rows.size());
+    assertRow(rows.get(0), 6, 9, 4.0);
+    assertRow(rows.get(1), 3, 9, 2.0);
+    assertRow(rows.get(2), 8, 8, 6.0);
+    assertRow(rows.get(3), 5, 7, null);
+    assertTrue(topKOperator.isFinished());
+    topKOperator.close();
+  }
+
+  @Test
+  public void testTopKWithNullsAndFewerRows() throws Exception {
+    Operator child =
+        new TsBlockOperator(
+            block(new long[] {1, 2, 3}, new Integer[] {2, 1, 3}, new Double[] {null, 2.0, 1.0}));
+
+    // ORDER BY s2 ASC LIMIT 5, null values are placed last
+    TopKOperator topKOperator =
+        new TopKOperator(
+            createOperatorContext(TopKOperator.class.getSimpleName()),
+            ImmutableList.of(child),
+            DATA_TYPES,
+            AbstractSortOperator.getComparator(ImmutableList.of(1), ImmutableList.of(Ordering.ASC)),
+            5);
+
+    List<Object[]> rows = collect(topKOperator);
+    assertEquals(3, rows.size());
+    assertRow(rows.get(0), 3, 3, 1.0);
+    assertRow(rows.get(1), 2, 1, 2.0);
+    assertRow(rows.get(2), 1, 2, null);
+  }
+
+  @Test
+  public void testSort() throws Exception {
+    Operator child =
+        new TsBlockOperator(
+            block(new long[] {1, 2}, new Integer[] {4, 2}, new Double[] {1.0, 1.0}),
+            block(new long[] {3, 4, 5}, new Integer[] {null, 4, 1}, new Double[] {2.0, 0.5, 3.0}));
+
+    // ORDER BY s2 DESC, s1 ASC
+    SortOperator sortOperator =
+        new SortOperator(
+            createOperatorContext(SortOperator.class.getSimpleName()),
+            child,
+            DATA_TYPES,
+            AbstractSortOperator.getComparator(
+                Arrays.asList(1, 0), Arrays.asList(Ordering.DESC, Ordering.ASC)));
+
+    List<Object[]> rows = collect(sortOperator);
+    assertEquals(5, rows.size());
+    assertRow(rows.get(0), 5, 1, 3.0);
+    assertRow(rows.get(1), 3, null, 2.0);
+    assertRow(rows.get(2), 2, 2, 1.0);
+    assertRow(rows.get(3), 1, 4, 1.0);
+    assertRow(rows.get(4), 4, 4, 0.5);
+    assertTrue(sortOperator.isFinished());
+  }
+
+  @Test
+  public void testSortWithSpill() throws Exception {
+    // the memory pool can only cache about 2 blocks, so the rows are spilled into several runs,
+    // which are merged at a time
+    testSortWithSpill(20000L, 16);
+  }
+
+  @Test
+  public void testSortWithMultiPassMerge() throws Exception {
+    // 5 runs are spilled, and they are merged by 2 runs at a time
+    testSortWithSpill(15000L, 2);
+  }
+
+  private void testSortWithSpill(long maxBytes, int maxMergeRunNum) throws Exception {
+    int blockNum = 10;
+    int blockSize = 100;
+    TsBlock[] tsBlocks = new TsBlock[blockNum];
+    for (int i = 0; i < blockNum; i++) {
+      long[] times = new long[blockSize];
+      Integer[] s1 = new Integer[blockSize];
+      Double[] s2 = new Double[blockSize];
+      for (int j = 0; j < blockSize; j++) {
+        times[j] = (long) i * blockSize + j;
+        // 0, 7, 14, ... mod 1000, so every value appears once
+        s1[j] = (int) (times[j] * 7 % (blockNum * blockSize));
+        // the same value for each 3 rows, so the order of rows with the same s2 is checked
+        s2[j] = (double) (times[j] / 3);
+      }
+      tsBlocks[i] = block(times, s1, s2);
+    }
+
+    MemoryPool memoryPool = new MemoryPool("test", maxBytes, maxBytes);
+    OperatorContext operatorContext =
+        createOperatorContext(SortOperator.class.getSimpleName(), memoryPool);
+    // ORDER BY s2 DESC
+    SortOperator sortOperator =
+        new SortOperator(
+            operatorContext,
+            new TsBlockOperator(tsBlocks),
+            DATA_TYPES,
+            AbstractSortOperator.getComparator(
+                ImmutableList.of(1), ImmutableList.of(Ordering.DESC)),
+            maxMergeRunNum,
+            250L);
+
+    List<Object[]> rows = collect(sortOperator);
+    assertTrue(sortOperator.getSpilledBytes() > 0);
+    assertEquals(blockNum * blockSize, rows.size());
+    // rows with the same s2 keep the order of input
+    List<Long> expectedTimes = new ArrayList<>();
+    for (long time = 0; time < blockNum * blockSize; time++) {
+      expectedTimes.add(time);
+    }
+    expectedTimes.sort(Comparator.comparingLong(time -> -(time / 3)));
+    for (int i = 0; i < rows.size(); i++) {
+      long expectedTime = expectedTimes.get(i);
+      assertRow(
+          rows.get(i),
+          expectedTime,
+          (int) (expectedTime * 7 % (blockNum * blockSize)),
+          (double) (expectedTime / 3));
+    }
+    sortOperator.close();
+    assertEquals(0L, memoryPool.getReservedBytes());
+    assertTrue(operatorContext.getInstanceContext().getPeakReservedBytes() > 0);
+  }
+
+  private OperatorContext createOperatorContext(String operatorType, MemoryPool memoryPool) {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(
+            instanceId,
+            stateMachine,
+            new SessionInfo(1, "test", ZoneId.systemDefault().getId()),
+            memoryPool);
+    return fragmentInstanceContext.addOperatorContext(1, new PlanNodeId("1"), operatorType);
+  }
+
+  private OperatorContext createOperatorContext(String operatorType) {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    return fragmentInstanceContext.addOperatorContext(1, new PlanNodeId("1"), operatorType);
+  }
+
+  private static List<Object[]> collect(Operator operator) {
+    List<Object[]> rows = new ArrayList<>();
+    while (operator.hasNext()) {
+      assertTrue(operator.isBlocked().isDone());
+      TsBlock tsBlock = operator.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        Object[] row = new Object[DATA_TYPES.size() + 1];
+        row[0] = tsBlock.getTimeByIndex(i);
+        for (int j = 0; j < DATA_TYPES.size(); j++) {
+          row[j + 1] = tsBlock.getColumn(j).isNull(i) ? null : tsBlock.getColumn(j).getObject(i);
+        }
+        rows.add(row);
+      }
+    }
+    assertFalse(operator.hasNext());
+    return rows;
+  }
+
+  private static void assertRow(Object[] row, long time, Integer s1, Double s2) {
+    assertEquals(time, (long) row[0]);
+    assertEquals(s1, row[1]);
+    assertEquals(s2, row[2]);
+  }
+
+  private static TsBlock block(long[] times, Integer[] s1, Double[] s2) {
+    TsBlockBuilder builder = new TsBlockBuilder(DATA_TYPES);
+    for (int i = 0; i < times.length; i++) {
+      builder.getTimeColumnBuilder().writeLong(times[i]);
+      if (s1[i] == null) {
+        builder.getColumnBuilder(0).appendNull();
+      } else {
+        builder.getColumnBuilder(0).writeInt(s1[i]);
+      }
+      if (s2[i] == null) {
+        builder.getColumnBuilder(1).appendNull();
+      } else {
+        builder.getColumnBuilder(1).writeDouble(s2[i]);
+      }
+      builder.declarePosition();
+    }
+    return builder.build();
+  }
+
+  /** Returns the given TsBlocks one by one. */
+  private static class TsBlockOperator implements Operator {
+
+    private final TsBlock[] tsBlocks;
+    private int index = 0;
+
+    private TsBlockOperator(TsBlock... tsBlocks) {
+      this.tsBlocks = tsBlocks;
+    }
+
+    @Override
+    public OperatorContext getOperatorContext() {
+      return null;
+    }
+
+    @Override
+    public TsBlock next() {
+      return tsBlocks[index++];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < tsBlocks.length;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return !hasNext();
+    }
+
+    @Override
+    public long calculateMaxPeekMemory() {
+      return 0;
+    }
+
+    @Override
+    public long calculateMaxReturnSize() {
+      return 0;
+    }
+
+    @Override
+    public long calculateRetainedSizeAfterCallingNext() {
+      return 0;
+    }
+  }
+}
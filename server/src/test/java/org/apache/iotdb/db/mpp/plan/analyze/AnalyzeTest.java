@@ -590,6 +590,34 @@ public class AnalyzeTest {
         1);
   }
 
+  @Test
+  public void testPushDownLimitToGroupByTime() {
+    String[] sqls =
+        new String[] {
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 10ms) limit 5 offset 3",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 10ms) order by time desc limit 5 offset 3",
+          "select count(s1) from root.sg.d1 group by ([0, 95), 10ms) order by time desc limit 2",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 5ms, 10ms) limit 2",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 10ms) limit 500",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 10ms) limit 5 offset 200",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 10ms) having count(s1) > 1 limit 5 offset 3",
+          "select count(s1) from root.sg.d1 group by ([0, 1000), 20ms, 10ms) limit 5 offset 3",
+        };
+    long[][] expectedTimeRanges =
+        new long[][] {
+          {30, 80}, {920, 970}, {80, 95}, {0, 15}, {0, 1000}, {0, 1000}, {0, 1000}, {0, 1000}
+        };
+    int[] expectedOffsets = new int[] {0, 0, 0, 0, 0, 200, 3, 3};
+
+    for (int i = 0; i < sqls.length; i++) {
+      Analysis analysis = analyzeSQL(sqls[i]);
+      QueryStatement queryStatement = (QueryStatement) analysis.getStatement();
+      assertEquals(expectedTimeRanges[i][0], analysis.getGroupByTimeParameter().getStartTime());
+      assertEquals(expectedTimeRanges[i][1], analysis.getGroupByTimeParameter().getEndTime());
+      assertEquals(expectedOffsets[i], queryStatement.getRowOffset());
+    }
+  }
+
   @Test
   public void testSelectIntoPath() throws IllegalPathException {
     List<String> sqls =
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class RequestBatcherTest {
+
+  @Test
+  public void testMergeConcurrentRequests() throws Exception {
+    CountDownLatch firstCallStarted = new CountDownLatch(1);
+    CountDownLatch firstCallReleased = new CountDownLatch(1);
+    List<Set<String>> fetchedRequests = Collections.synchronizedList(new ArrayList<>());
+    RequestBatcher<String, Set<String>, Set<String>> batcher =
+        new RequestBatcher<>(
+            TreeSet::new,
+            Set::add,
+            mergedRequest -> {
+              fetchedRequests.add(mergedRequest);
+              if (fetchedRequests.size() == 1) {
+                firstCallStarted.countDown();
+                try {
+                  firstCallReleased.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+              return mergedRequest;
+            },
+            (response, request) ->
+                response.contains(request) ? Collections.singleton(request) : null);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Set<String>>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> batcher.fetch("root.sg.d0")));
+      firstCallStarted.await();
+      // the requests arriving during the first call are merged into one call
+      for (int i = 1; i < 4; i++) {
+        String device = "root.sg.d" + i;
+        futures.add(executor.submit(() -> batcher.fetch(device)));
+      }
+      waitUntilPending(batcher, 3);
+      firstCallReleased.countDown();
+      // each request only gets its own part of the merged response
+      for (int i = 0; i < 4; i++) {
+        Assert.assertEquals(
+            Collections.singleton("root.sg.d" + i), futures.get(i).get(10, TimeUnit.SECONDS));
+      }
+      Assert.assertEquals(2, fetchedRequests.size());
+      Assert.assertEquals(1, fetchedRequests.get(0).size());
+      Assert.assertEquals(3, fetchedRequests.get(1).size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailure() {
+    RequestBatcher<String, Set<String>, Set<String>> batcher =
+        new RequestBatcher<>(
+            TreeSet::new,
+            Set::add,
+            mergedRequest -> {
+              throw new IllegalStateException("ConfigNode is unavailable");
+            },
+            (response, request) -> response);
+    try {
+      batcher.fetch("root.sg.d0");
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("ConfigNode is unavailable", e.getMessage());
+    }
+    Assert.assertEquals(0, batcher.getPendingRequestNum());
+  }
+
+  private static void waitUntilPending(RequestBatcher<?, ?, ?> batcher, int requestNum)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (batcher.getPendingRequestNum() < requestNum && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.execution;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.db.mpp.common.header.DatasetHeader;
+import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class QueryResultPrefetcherTest {
+
+  private static final int ROWS_PER_BLOCK = 10;
+
+  @Test
+  public void testPrefetch() throws Exception {
+    FakeQueryExecution queryExecution = new FakeQueryExecution(10, -1);
+    QueryResultPrefetcher prefetcher = new QueryResultPrefetcher(queryExecution);
+
+    Pair<List<ByteBuffer>, Boolean> batch = prefetcher.fetch(2 * ROWS_PER_BLOCK, 2);
+    Assert.assertEquals(2, batch.left.size());
+    Assert.assertFalse(batch.right);
+    // the next two batches are prepared before they are fetched
+    waitUntilPulled(queryExecution, 6);
+    Assert.assertEquals(6, queryExecution.pulledBlockNum);
+
+    long expectedTime = 0;
+    expectedTime = checkRows(batch.left, expectedTime);
+    boolean finished = false;
+    while (!finished) {
+      batch = prefetcher.fetch(2 * ROWS_PER_BLOCK, 2);
+      expectedTime = checkRows(batch.left, expectedTime);
+      finished = batch.right;
+    }
+    Assert.assertEquals(10 * ROWS_PER_BLOCK, expectedTime);
+    prefetcher.close();
+  }
+
+  @Test
+  public void testPrefetchFailure() throws Exception {
+    FakeQueryExecution queryExecution = new FakeQueryExecution(10, 3);
+    QueryResultPrefetcher prefetcher = new QueryResultPrefetcher(queryExecution);
+
+    // the batches before the failure are still returned in order
+    long expectedTime = 0;
+    for (int i = 0; i < 3; i++) {
+      Pair<List<ByteBuffer>, Boolean> batch = prefetcher.fetch(ROWS_PER_BLOCK, 4);
+      expectedTime = checkRows(batch.left, expectedTime);
+      Assert.assertFalse(batch.right);
+    }
+    try {
+      prefetcher.fetch(ROWS_PER_BLOCK, 4);
+      Assert.fail();
+    } catch (IoTDBException e) {
+      Assert.assertEquals(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), e.getErrorCode());
+    }
+    prefetcher.close();
+  }
+
+  private static void waitUntilPulled(FakeQueryExecution queryExecution, int blockNum)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (queryExecution.pulledBlockNum < blockNum && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+  private static long checkRows(List<ByteBuffer> buffers, long expectedTime) {
+    TsBlockSerde serde = new TsBlockSerde();
+    for (ByteBuffer buffer : buffers) {
+      TsBlock tsBlock = serde.deserialize(buffer);
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        Assert.assertEquals(expectedTime, tsBlock.getTimeByIndex(i));
+        Assert.assertEquals(expectedTime, tsBlock.getColumn(0).getLong(i));
+        expectedTime++;
+      }
+    }
+    return expectedTime;
+  }
+
+  private static class FakeQueryExecution implements IQueryExecution {
+
+    private final int totalBlockNum;
+    private final int failedBlockIndex;
+    private volatile int pulledBlockNum = 0;
+
+    private FakeQueryExecution(int totalBlockNum, int failedBlockIndex) {
+      this.totalBlockNum = totalBlockNum;
+      this.failedBlockIndex = failedBlockIndex;
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void stop() {}
+
+    @Override
+    public void stopAndCleanup() {}
+
+    @Override
+    public ExecutionResult getStatus() {
+      return null;
+    }
+
+    @Override
+    public Optional<TsBlock> getBatchResult() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<ByteBuffer> getByteBufferBatchResult() throws IoTDBException {
+      if (pulledBlockNum >= totalBlockNum) {
+        return Optional.empty();
+      }
+      if (pulledBlockNum == failedBlockIndex) {
+        throw new IoTDBException(
+            "Failed to execute the query", TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      }
+      TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+      for (int i = 0; i < ROWS_PER_BLOCK; i++) {
+        long time = (long) pulledBlockNum * ROWS_PER_BLOCK + i;
+        builder.getTimeColumnBuilder().writeLong(time);
+        builder.getColumnBuilder(0).writeLong(time);
+        builder.declarePosition();
+      }
+      pulledBlockNum++;
+      try {
+        return Optional.of(new TsBlockSerde().serialize(builder.build()));
+      } catch (IOException e) {
+        throw new IoTDBException(e, TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      }
+    }
+
+    @Override
+    public boolean hasNextResult() {
+      return pulledBlockNum < totalBlockNum;
+    }
+
+    @Override
+    public int getOutputValueColumnCount() {
+      return 1;
+    }
+
+    @Override
+    public DatasetHeader getDatasetHeader() {
+      return null;
+    }
+
+    @Override
+    public boolean isQuery() {
+      return true;
+    }
+
+    @Override
+    public String getQueryId() {
+      return "test";
+    }
+
+    @Override
+    public long getStartExecutionTime() {
+      return 0;
+    }
+
+    @Override
+    public Optional<String> getExecuteSQL() {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.parser;
+
+import org.apache.iotdb.db.exception.sql.SemanticException;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PreparedStatementTemplateTest {
+
+  private static final ZoneId ZONE_ID = ZoneOffset.UTC;
+
+  @Test
+  public void testBindPredicates() {
+    PreparedStatementTemplate template =
+        new PreparedStatementTemplate(
+            "select s1 from root.sg.d1 where time >= ? and time < ? and s1 > ? and s2 = ?",
+            ZONE_ID,
+            null);
+    Assert.assertTrue(template.isParseTreeCached());
+    Assert.assertEquals(4, template.getParameterCount());
+
+    checkBind(template, Arrays.asList("10", "20", "1.5", "'a''b'"));
+    checkBind(template, Arrays.asList("2022-01-01T00:00:00", "30", "-2", "true"));
+  }
+
+  @Test
+  public void testBindHavingAndFunction() {
+    PreparedStatementTemplate template =
+        new PreparedStatementTemplate(
+            "select count(s1) from root.sg.d1 where abs(s1) between ? and ? "
+                + "group by([0, 100), 10ms) having count(s1) > ?",
+            ZONE_ID,
+            null);
+    Assert.assertTrue(template.isParseTreeCached());
+    checkBind(template, Arrays.asList("1", "2", "3"));
+  }
+
+  @Test
+  public void testFallbackToSql() {
+    // the parameter is not in the predicates
+    PreparedStatementTemplate template =
+        new PreparedStatementTemplate("select s1 from root.sg.d1 limit ?", ZONE_ID, null);
+    Assert.assertFalse(template.isParseTreeCached());
+    QueryStatement statement =
+        (QueryStatement) template.bind(Collections.singletonList("5"), ZONE_ID);
+    Assert.assertEquals(5, statement.getRowLimit());
+
+    // the parameter is not a constant
+    template =
+        new PreparedStatementTemplate("select s1 from root.sg.d1 where ? > 1", ZONE_ID, null);
+    Assert.assertTrue(template.isParseTreeCached());
+    checkBind(template, Collections.singletonList("s2"));
+
+    // '?' in string literals are not parameters
+    template =
+        new PreparedStatementTemplate(
+            "select s1 from root.sg.d1 where s2 = '?' and s1 > ?", ZONE_ID, null);
+    Assert.assertEquals(1, template.getParameterCount());
+    checkBind(template, Collections.singletonList("1"));
+  }
+
+  @Test(expected = SemanticException.class)
+  public void testWrongParameterCount() {
+    new PreparedStatementTemplate("select s1 from root.sg.d1 where time > ?", ZONE_ID, null)
+        .bind(Collections.emptyList(), ZONE_ID);
+  }
+
+  /** The bound statement should be the same as the one parsed from the complete sql. */
+  private void checkBind(PreparedStatementTemplate template, List<String> parameters) {
+    QueryStatement expected =
+        (QueryStatement) StatementGenerator.createStatement(template.getSql(parameters), ZONE_ID);
+    QueryStatement actual = (QueryStatement) template.bind(parameters, ZONE_ID);
+    Assert.assertEquals(
+        expected.getWhereCondition().getPredicate().toString(),
+        actual.getWhereCondition().getPredicate().toString());
+    if (expected.getHavingCondition() != null) {
+      Assert.assertEquals(
+          expected.getHavingCondition().getPredicate().toString(),
+          actual.getHavingCondition().getPredicate().toString());
+    }
+  }
+}
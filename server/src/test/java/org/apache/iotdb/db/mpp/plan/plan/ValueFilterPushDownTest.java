@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.plan.plan;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.db.mpp.common.MPPQueryContext;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.plan.analyze.Analysis;
+import org.apache.iotdb.db.mpp.plan.plan.distribution.Util;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.FilterNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.AlignedSeriesScanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesScanNode;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ValueFilterPushDownTest {
+
+  @Test
+  public void testPushDownEq() {
+    PlanNode root = plan("select s1, s2 from root.sg.d1 where s1 = 5 and s2 > 1");
+    Map<String, Filter> valueFilters = collectValueFilters(root);
+    assertEquals(ValueFilter.eq(5), valueFilters.get("root.sg.d1.s1"));
+    assertNull(valueFilters.get("root.sg.d1.s2"));
+    // the predicate is still evaluated on the rows
+    assertTrue(containsFilterNode(root));
+
+    valueFilters = collectValueFilters(plan("select s2 from root.sg.d1 where 1.5 = s2"));
+    assertEquals(ValueFilter.eq(1.5), valueFilters.get("root.sg.d1.s2"));
+  }
+
+  @Test
+  public void testPushDownIn() {
+    Map<String, Filter> valueFilters =
+        collectValueFilters(plan("select s1 from root.sg.d1 where s1 in (1, 2, 3)"));
+    assertEquals(
+        ValueFilter.in(new HashSet<>(Arrays.asList(1, 2, 3)), false),
+        valueFilters.get("root.sg.d1.s1"));
+
+    valueFilters = collectValueFilters(plan("select s1 from root.sg.d1 where s1 not in (1, 2)"));
+    assertNull(valueFilters.get("root.sg.d1.s1"));
+  }
+
+  @Test
+  public void testPushDownAligned() {
+    PlanNode root = plan("select s1, s2 from root.sg.d666666 where s2 = 1.5 and s1 > 1");
+    AlignedSeriesScanNode alignedSeriesScanNode = findAlignedSeriesScanNode(root);
+    int s2Index = alignedSeriesScanNode.getAlignedPath().getMeasurementList().indexOf("s2");
+    assertEquals(
+        Collections.singletonMap(s2Index, ValueFilter.eq(1.5)),
+        alignedSeriesScanNode.getColumnValueFilters());
+    assertTrue(containsFilterNode(root));
+  }
+
+  @Test
+  public void testNotPushDown() {
+    Map<String, Filter> valueFilters =
+        collectValueFilters(plan("select s1, s2 from root.sg.d1 where s1 = 5 or s2 = 1"));
+    assertNull(valueFilters.get("root.sg.d1.s1"));
+    assertNull(valueFilters.get("root.sg.d1.s2"));
+
+    // no INT32 value equals to 5.5
+    valueFilters = collectValueFilters(plan("select s1 from root.sg.d1 where s1 = 5.5"));
+    assertNull(valueFilters.get("root.sg.d1.s1"));
+
+    valueFilters = collectValueFilters(plan("select s1, s2 from root.sg.d1 where s1 = s2"));
+    assertNull(valueFilters.get("root.sg.d1.s1"));
+    assertNull(valueFilters.get("root.sg.d1.s2"));
+  }
+
+  private PlanNode plan(String sql) {
+    MPPQueryContext context =
+        new MPPQueryContext(
+            "", new QueryId("test_value_filter"), null, new TEndPoint(), new TEndPoint());
+    Analysis analysis = Util.analyze(sql, context);
+    return Util.genLogicalPlan(analysis, context);
+  }
+
+  private Map<String, Filter> collectValueFilters(PlanNode root) {
+    Map<String, Filter> valueFilters = new HashMap<>();
+    collectValueFilters(root, valueFilters);
+    return valueFilters;
+  }
+
+  private void collectValueFilters(PlanNode node, Map<String, Filter> valueFilters) {
+    if (node instanceof SeriesScanNode) {
+      SeriesScanNode seriesScanNode = (SeriesScanNode) node;
+      valueFilters.put(
+          seriesScanNode.getSeriesPath().getFullPath(), seriesScanNode.getValueFilter());
+    }
+    node.getChildren().forEach(child -> collectValueFilters(child, valueFilters));
+  }
+
+  private AlignedSeriesScanNode findAlignedSeriesScanNode(PlanNode node) {
+    if (node instanceof AlignedSeriesScanNode) {
+      return (AlignedSeriesScanNode) node;
+    }
+    for (PlanNode child : node.getChildren()) {
+      AlignedSeriesScanNode alignedSeriesScanNode = findAlignedSeriesScanNode(child);
+      if (alignedSeriesScanNode != null) {
+        return alignedSeriesScanNode;
+      }
+    }
+    return null;
+  }
+
+  private boolean containsFilterNode(PlanNode node) {
+    return node instanceof FilterNode
+        || node.getChildren().stream().anyMatch(this::containsFilterNode);
+  }
+}
@@ -37,9 +37,11 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.AggregationNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.DeviceMergeNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.DeviceViewNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.ExchangeNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.GroupByLevelNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SlidingWindowAggregationNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TimeJoinNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TopKNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesAggregationScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesAggregationSourceNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.AggregationDescriptor;
@@ -760,6 +762,37 @@ public class AggregationDistributionTest {
     assertEquals(2, f1Root.getChildren().size());
   }
 
+  @Test
+  public void testAlignByDeviceOrderByExpressionWithLimit() {
+    QueryId queryId = new QueryId("test_align_by_device_order_by_expression_with_limit");
+    MPPQueryContext context =
+        new MPPQueryContext("", queryId, null, new TEndPoint(), new TEndPoint());
+    String sql =
+        "select count(s1), count(s2) from root.sg.d1,root.sg.d22 "
+            + "order by count(s1) desc limit 5 offset 5 align by device";
+    Analysis analysis = Util.analyze(sql, context);
+    PlanNode logicalPlanNode = Util.genLogicalPlan(analysis, context);
+    DistributionPlanner planner =
+        new DistributionPlanner(analysis, new LogicalQueryPlan(context, logicalPlanNode));
+    DistributedQueryPlan plan = planner.planFragments();
+    assertEquals(3, plan.getInstances().size());
+    PlanNode f1Root =
+        plan.getInstances().get(0).getFragment().getPlanNodeTree().getChildren().get(0);
+    PlanNode f3Root =
+        plan.getInstances().get(2).getFragment().getPlanNodeTree().getChildren().get(0);
+    // the DeviceMergeNode is replaced by a TopKNode merging the partial top rows of each region
+    PlanNode topKNode = f1Root.getChildren().get(0).getChildren().get(0);
+    assertTrue(topKNode instanceof TopKNode);
+    assertEquals(10, ((TopKNode) topKNode).getTopValue());
+    assertEquals(2, topKNode.getChildren().size());
+    assertTrue(topKNode.getChildren().get(0) instanceof TopKNode);
+    assertTrue(topKNode.getChildren().get(0).getChildren().get(0) instanceof DeviceViewNode);
+    assertTrue(topKNode.getChildren().get(1) instanceof ExchangeNode);
+    assertTrue(f3Root instanceof TopKNode);
+    assertEquals(10, ((TopKNode) f3Root).getTopValue());
+    assertTrue(f3Root.getChildren().get(0) instanceof DeviceViewNode);
+  }
+
   private void verifyGroupByLevelDescriptor(
       Map<String, List<String>> expected, GroupByLevelNode node) {
     List<CrossSeriesAggregationDescriptor> descriptors = node.getGroupByLevelDescriptors();
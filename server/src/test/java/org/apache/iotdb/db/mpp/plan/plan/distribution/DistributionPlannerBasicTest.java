@@ -23,6 +23,7 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.exception.sql.SemanticException;
 import org.apache.iotdb.db.mpp.common.MPPQueryContext;
 import org.apache.iotdb.db.mpp.common.QueryId;
 import org.apache.iotdb.db.mpp.plan.analyze.Analysis;
@@ -36,18 +37,25 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.metedata.read.SchemaQueryM
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.metedata.read.TimeSeriesSchemaScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.ExchangeNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.LimitNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.SortNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TopKNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesScanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.write.InsertRowsNode;
 import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
+import org.apache.iotdb.db.mpp.plan.statement.component.SortItem;
+import org.apache.iotdb.db.mpp.plan.statement.component.SortKey;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class DistributionPlannerBasicTest {
 
@@ -105,6 +113,44 @@ public class DistributionPlannerBasicTest {
     assertEquals(4, newRoot.getChildren().get(0).getChildren().size());
   }
 
+  @Test
+  public void testOrderByExpression() {
+    MPPQueryContext context = new MPPQueryContext(new QueryId("test_order_by_expression"));
+
+    String sql = "select s1, s2 from root.sg.d1 order by s2 desc, time";
+    PlanNode root = Util.genLogicalPlan(Util.analyze(sql, context), context);
+    assertTrue(root instanceof SortNode);
+    List<SortItem> sortItems = ((SortNode) root).getOrderByParameter().getSortItemList();
+    assertEquals(2, sortItems.size());
+    assertEquals(SortKey.EXPRESSION, sortItems.get(0).getSortKey());
+    assertEquals("root.sg.d1.s2", sortItems.get(0).getExpression().getExpressionString());
+    assertEquals(Ordering.DESC, sortItems.get(0).getOrdering());
+    assertEquals(SortKey.TIME, sortItems.get(1).getSortKey());
+
+    // the alias of a result column can also be used, LIMIT turns the sort into a top-k
+    sql = "select s1 as a from root.sg.d1 order by a limit 10 offset 5";
+    root = Util.genLogicalPlan(Util.analyze(sql, context), context);
+    assertTrue(root instanceof LimitNode);
+    PlanNode topKNode = root.getChildren().get(0).getChildren().get(0);
+    assertTrue(topKNode instanceof TopKNode);
+    assertEquals(15, ((TopKNode) topKNode).getTopValue());
+    assertEquals(
+        "root.sg.d1.s1",
+        ((TopKNode) topKNode)
+            .getMergeOrderParameter()
+            .getSortItemList()
+            .get(0)
+            .getExpression()
+            .getExpressionString());
+
+    try {
+      Util.analyze("select s1 from root.sg.d1 order by s2", context);
+      fail();
+    } catch (SemanticException e) {
+      assertTrue(e.getMessage().contains("should be one of the result columns"));
+    }
+  }
+
   @Test
   public void testRewriteMetaSourceNode() throws IllegalPathException {
     QueryId queryId = new QueryId("test_query");
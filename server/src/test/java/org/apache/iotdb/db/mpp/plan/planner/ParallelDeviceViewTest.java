@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.planner;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.common.header.ColumnHeaderConstant;
+import org.apache.iotdb.db.mpp.execution.exchange.ISinkHandle;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
+import org.apache.iotdb.db.mpp.execution.operator.process.DeviceMergeOperator;
+import org.apache.iotdb.db.mpp.execution.operator.process.DeviceViewOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.DataSourceOperator;
+import org.apache.iotdb.db.mpp.plan.analyze.TypeProvider;
+import org.apache.iotdb.db.mpp.plan.expression.leaf.TimeSeriesOperand;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.DeviceViewNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesAggregationScanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesScanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.AggregationDescriptor;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.AggregationStep;
+import org.apache.iotdb.db.mpp.plan.planner.plan.parameter.OrderByParameter;
+import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
+import org.apache.iotdb.db.mpp.plan.statement.component.SortItem;
+import org.apache.iotdb.db.mpp.plan.statement.component.SortKey;
+import org.apache.iotdb.db.query.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelDeviceViewTest {
+
+  private static final String PARALLEL_DEVICE_VIEW_TEST_SG = "root.ParallelDeviceViewTest";
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private final List<String> deviceIds = new ArrayList<>();
+  private final List<MeasurementSchema> measurementSchemas = new ArrayList<>();
+
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unSeqResources = new ArrayList<>();
+
+  private ExecutorService instanceNotificationExecutor;
+  private int degreeOfQueryParallelism;
+  private int queryThreadCount;
+
+  @Before
+  public void setUp() throws MetadataException, IOException, WriteProcessException {
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unSeqResources, PARALLEL_DEVICE_VIEW_TEST_SG);
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    degreeOfQueryParallelism = config.getDegreeOfQueryParallelism();
+    queryThreadCount = config.getQueryThreadCount();
+    config.setQueryThreadCount(Math.max(queryThreadCount, 4));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    config.setDegreeOfQueryParallelism(degreeOfQueryParallelism);
+    config.setQueryThreadCount(queryThreadCount);
+    instanceNotificationExecutor.shutdown();
+    SeriesReaderTestUtil.tearDown(seqResources, unSeqResources);
+  }
+
+  @Test
+  public void parallelDeviceViewTest() throws Exception {
+    config.setDegreeOfQueryParallelism(3);
+    // 7 devices are split into 3 pipelines, iterating 2, 2 and 3 devices respectively
+    checkAggregationDeviceView(7, 3);
+  }
+
+  @Test
+  public void serialDeviceViewTest() throws Exception {
+    config.setDegreeOfQueryParallelism(1);
+    checkAggregationDeviceView(3, 0);
+  }
+
+  @Test
+  public void rawDataDeviceViewTest() throws Exception {
+    config.setDegreeOfQueryParallelism(4);
+    FragmentInstanceContext fragmentInstanceContext = createInstanceContext();
+    TypeProvider typeProvider = new TypeProvider();
+    typeProvider.setType(ColumnHeaderConstant.DEVICE, TSDataType.TEXT);
+    typeProvider.setType("sensor0", TSDataType.INT32);
+    DeviceViewNode deviceViewNode = createDeviceViewNode("sensor0");
+    for (int i = 0; i < 3; i++) {
+      MeasurementPath path =
+          new MeasurementPath(
+              PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + i + ".sensor0", TSDataType.INT32);
+      deviceViewNode.addChildDeviceNode(
+          PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + i,
+          new SeriesScanNode(new PlanNodeId(String.valueOf(i + 1)), path, Ordering.ASC));
+      typeProvider.setType(path.getFullPath(), TSDataType.INT32);
+    }
+
+    LocalExecutionPlanContext context =
+        new LocalExecutionPlanContext(typeProvider, fragmentInstanceContext, Long.MAX_VALUE);
+    context.setDataRegionId(PARALLEL_DEVICE_VIEW_TEST_SG + "-1");
+    Operator root = deviceViewNode.accept(new OperatorTreeGenerator(), context);
+    // the devices of raw data queries are still iterated one by one
+    assertTrue(root instanceof DeviceViewOperator);
+    assertEquals(0, context.getChildPipelineContexts().size());
+  }
+
+  private void checkAggregationDeviceView(int deviceNum, int expectedChildPipelineNum)
+      throws Exception {
+    FragmentInstanceContext fragmentInstanceContext = createInstanceContext();
+    TypeProvider typeProvider = new TypeProvider();
+    typeProvider.setType(ColumnHeaderConstant.DEVICE, TSDataType.TEXT);
+    typeProvider.setType("count(sensor0)", TSDataType.INT64);
+    DeviceViewNode deviceViewNode = createDeviceViewNode("count(sensor0)");
+    for (int i = 0; i < deviceNum; i++) {
+      MeasurementPath path =
+          new MeasurementPath(
+              PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + i + ".sensor0", TSDataType.INT32);
+      deviceViewNode.addChildDeviceNode(
+          PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + i,
+          new SeriesAggregationScanNode(
+              new PlanNodeId(String.valueOf(i + 1)),
+              path,
+              Collections.singletonList(
+                  new AggregationDescriptor(
+                      "count",
+                      AggregationStep.SINGLE,
+                      Collections.singletonList(new TimeSeriesOperand(path)))),
+              Ordering.ASC,
+              null));
+      typeProvider.setType(path.getFullPath(), TSDataType.INT32);
+      typeProvider.setType("count(" + path.getFullPath() + ")", TSDataType.INT64);
+    }
+
+    LocalExecutionPlanContext context =
+        new LocalExecutionPlanContext(typeProvider, fragmentInstanceContext, Long.MAX_VALUE);
+    context.setDataRegionId(PARALLEL_DEVICE_VIEW_TEST_SG + "-1");
+    Operator root = deviceViewNode.accept(new OperatorTreeGenerator(), context);
+    assertTrue(
+        expectedChildPipelineNum > 0
+            ? root instanceof DeviceMergeOperator
+            : root instanceof DeviceViewOperator);
+    assertEquals(expectedChildPipelineNum, context.getChildPipelineContexts().size());
+    fragmentInstanceContext
+        .getOperatorContexts()
+        .forEach(
+            operatorContext ->
+                operatorContext.setMaxRunTime(
+                    context.getTimeSliceAllocator().getMaxRunTime(operatorContext)));
+
+    // run the child pipelines from the last one to the end, so that the results of the later
+    // devices are buffered in the local exchanges before the earlier ones are output
+    List<LocalExecutionPlanContext> childContexts = context.getChildPipelineContexts();
+    for (int i = childContexts.size() - 1; i >= 0; i--) {
+      LocalExecutionPlanContext childContext = childContexts.get(i);
+      for (DataSourceOperator sourceOperator : childContext.getSourceOperators()) {
+        sourceOperator.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+      }
+      Operator pipelineRoot = childContext.getPipelineRoot();
+      ISinkHandle sinkHandle = childContext.getSinkHandle();
+      while (pipelineRoot.hasNext()) {
+        TsBlock tsBlock = pipelineRoot.next();
+        if (tsBlock != null && !tsBlock.isEmpty()) {
+          sinkHandle.send(tsBlock);
+        }
+      }
+      sinkHandle.setNoMoreTsBlocks();
+      pipelineRoot.close();
+    }
+    for (DataSourceOperator sourceOperator : context.getSourceOperators()) {
+      sourceOperator.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+    }
+
+    int deviceIndex = 0;
+    while (root.hasNext()) {
+      TsBlock tsBlock = root.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      assertEquals(2, tsBlock.getValueColumnCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++, deviceIndex++) {
+        assertEquals(
+            PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + deviceIndex,
+            tsBlock.getColumn(0).getBinary(i).toString());
+        assertEquals(500, tsBlock.getColumn(1).getLong(i));
+      }
+    }
+    assertEquals(deviceNum, deviceIndex);
+    root.close();
+  }
+
+  private FragmentInstanceContext createInstanceContext() {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    return createFragmentInstanceContext(instanceId, stateMachine);
+  }
+
+  private DeviceViewNode createDeviceViewNode(String measurementColumn) {
+    Map<String, List<Integer>> deviceToMeasurementIndexesMap = new HashMap<>();
+    for (int i = 0; i < deviceIds.size(); i++) {
+      deviceToMeasurementIndexesMap.put(
+          PARALLEL_DEVICE_VIEW_TEST_SG + ".device" + i, Collections.singletonList(1));
+    }
+    return new DeviceViewNode(
+        new PlanNodeId("0"),
+        new OrderByParameter(
+            Arrays.asList(
+                new SortItem(SortKey.DEVICE, Ordering.ASC),
+                new SortItem(SortKey.TIME, Ordering.ASC))),
+        Arrays.asList(ColumnHeaderConstant.DEVICE, measurementColumn),
+        deviceToMeasurementIndexesMap);
+  }
+}
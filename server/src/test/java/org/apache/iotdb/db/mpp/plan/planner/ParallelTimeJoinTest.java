@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.planner;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.exchange.ISinkHandle;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
+import org.apache.iotdb.db.mpp.execution.operator.process.join.RowBasedTimeJoinOperator;
+import org.apache.iotdb.db.mpp.execution.operator.source.DataSourceOperator;
+import org.apache.iotdb.db.mpp.plan.analyze.TypeProvider;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.process.TimeJoinNode;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.source.SeriesScanNode;
+import org.apache.iotdb.db.mpp.plan.statement.component.Ordering;
+import org.apache.iotdb.db.query.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelTimeJoinTest {
+
+  private static final String PARALLEL_TIME_JOIN_TEST_SG = "root.ParallelTimeJoinTest";
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private final List<String> deviceIds = new ArrayList<>();
+  private final List<MeasurementSchema> measurementSchemas = new ArrayList<>();
+
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unSeqResources = new ArrayList<>();
+
+  private ExecutorService instanceNotificationExecutor;
+  private int degreeOfQueryParallelism;
+  private int queryThreadCount;
+
+  @Before
+  public void setUp() throws MetadataException, IOException, WriteProcessException {
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unSeqResources, PARALLEL_TIME_JOIN_TEST_SG);
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    degreeOfQueryParallelism = config.getDegreeOfQueryParallelism();
+    queryThreadCount = config.getQueryThreadCount();
+    config.setQueryThreadCount(Math.max(queryThreadCount, 4));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    config.setDegreeOfQueryParallelism(degreeOfQueryParallelism);
+    config.setQueryThreadCount(queryThreadCount);
+    instanceNotificationExecutor.shutdown();
+    SeriesReaderTestUtil.tearDown(seqResources, unSeqResources);
+  }
+
+  @Test
+  public void parallelTimeJoinTest() throws Exception {
+    config.setDegreeOfQueryParallelism(2);
+    // 5 series are split into 2 pipelines, reading 2 and 3 series respectively
+    checkTimeJoin(5, 2);
+  }
+
+  @Test
+  public void pipelineOfSingleSeriesTest() throws Exception {
+    config.setDegreeOfQueryParallelism(4);
+    checkTimeJoin(3, 3);
+  }
+
+  @Test
+  public void serialTimeJoinTest() throws Exception {
+    config.setDegreeOfQueryParallelism(1);
+    checkTimeJoin(3, 0);
+  }
+
+  private void checkTimeJoin(int seriesNum, int expectedChildPipelineNum) throws Exception {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+
+    TypeProvider typeProvider = new TypeProvider();
+    List<PlanNode> children = new ArrayList<>();
+    List<String> outputColumns = new ArrayList<>();
+    for (int i = 0; i < seriesNum; i++) {
+      MeasurementPath path =
+          new MeasurementPath(
+              PARALLEL_TIME_JOIN_TEST_SG + ".device" + i + ".sensor" + i, TSDataType.INT32);
+      children.add(new SeriesScanNode(new PlanNodeId(String.valueOf(i + 1)), path, Ordering.ASC));
+      typeProvider.setType(path.getFullPath(), TSDataType.INT32);
+      outputColumns.add(path.getFullPath());
+    }
+    TimeJoinNode timeJoinNode = new TimeJoinNode(new PlanNodeId("0"), Ordering.ASC, children);
+
+    LocalExecutionPlanContext context =
+        new LocalExecutionPlanContext(typeProvider, fragmentInstanceContext, Long.MAX_VALUE);
+    context.setDataRegionId(PARALLEL_TIME_JOIN_TEST_SG + "-1");
+    Operator root = timeJoinNode.accept(new OperatorTreeGenerator(), context);
+    assertTrue(root instanceof RowBasedTimeJoinOperator);
+    assertEquals(expectedChildPipelineNum, context.getChildPipelineContexts().size());
+    fragmentInstanceContext
+        .getOperatorContexts()
+        .forEach(
+            operatorContext ->
+                operatorContext.setMaxRunTime(
+                    context.getTimeSliceAllocator().getMaxRunTime(operatorContext)));
+
+    // run the child pipelines to the end, their results are buffered in the local exchanges
+    for (LocalExecutionPlanContext childContext : context.getChildPipelineContexts()) {
+      for (DataSourceOperator sourceOperator : childContext.getSourceOperators()) {
+        sourceOperator.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+      }
+      Operator pipelineRoot = childContext.getPipelineRoot();
+      ISinkHandle sinkHandle = childContext.getSinkHandle();
+      while (pipelineRoot.hasNext()) {
+        TsBlock tsBlock = pipelineRoot.next();
+        if (tsBlock != null && !tsBlock.isEmpty()) {
+          sinkHandle.send(tsBlock);
+        }
+      }
+      sinkHandle.setNoMoreTsBlocks();
+      pipelineRoot.close();
+    }
+    for (DataSourceOperator sourceOperator : context.getSourceOperators()) {
+      sourceOperator.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+    }
+
+    long expectedTime = 0;
+    while (root.hasNext()) {
+      TsBlock tsBlock = root.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      assertEquals(seriesNum, tsBlock.getValueColumnCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++, expectedTime++) {
+        assertEquals(expectedTime, tsBlock.getTimeByIndex(i));
+        for (int j = 0; j < seriesNum; j++) {
+          assertEquals(getValue(expectedTime), tsBlock.getColumn(j).getInt(i));
+        }
+      }
+    }
+    assertEquals(500, expectedTime);
+    root.close();
+  }
+
+  private static int getValue(long time) {
+    if (time < 200) {
+      return 20000 + (int) time;
+    } else if (time < 260 || (time >= 300 && time < 380) || time >= 400) {
+      return 10000 + (int) time;
+    } else {
+      return (int) time;
+    }
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.protocol.rest.cache;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.db.conf.rest.IoTDBRestServiceConfig;
+import org.apache.iotdb.db.conf.rest.IoTDBRestServiceDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.WriteVersionTracker;
+import org.apache.iotdb.db.mpp.common.header.ColumnHeader;
+import org.apache.iotdb.db.mpp.common.header.DatasetHeader;
+import org.apache.iotdb.db.mpp.plan.execution.ExecutionResult;
+import org.apache.iotdb.db.mpp.plan.execution.IQueryExecution;
+import org.apache.iotdb.db.mpp.plan.parser.StatementGenerator;
+import org.apache.iotdb.db.mpp.plan.statement.Statement;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.db.protocol.rest.model.QueryDataSet;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class GrafanaResultCacheTest {
+
+  private final IoTDBRestServiceConfig config =
+      IoTDBRestServiceDescriptor.getInstance().getConfig();
+
+  private boolean enableGrafanaResultCache;
+
+  /** the start times of the GROUP BY TIME queries that are actually executed */
+  private final List<Long> executedStartTimes = new ArrayList<>();
+  /** the number of the executions that are cleaned up */
+  private int cleanedUpExecutionNum;
+  /** the column of the results */
+  private String column = "count(root.sg.d1.s1)";
+
+  @Before
+  public void setUp() {
+    enableGrafanaResultCache = config.isEnableGrafanaResultCache();
+    config.setEnableGrafanaResultCache(true);
+    GrafanaResultCache.getInstance().clear();
+    WriteVersionTracker.getInstance().clear();
+  }
+
+  @After
+  public void tearDown() {
+    config.setEnableGrafanaResultCache(enableGrafanaResultCache);
+    GrafanaResultCache.getInstance().clear();
+    WriteVersionTracker.getInstance().clear();
+  }
+
+  @Test
+  public void testNotCacheable() {
+    Assert.assertFalse(
+        GrafanaResultCache.isCacheable(
+            createStatement("select s1 from root.sg.d1 where time>=0 and time<=99")));
+    Assert.assertFalse(
+        GrafanaResultCache.isCacheable(
+            createStatement(
+                "select count(s1) from root.sg.d1 where time>=0 and time<=99 "
+                    + "group by([0, 100), 10ms, 5ms)")));
+    Assert.assertFalse(
+        GrafanaResultCache.isCacheable(
+            createStatement(
+                "select count(s1) from root.sg.d1 where time>=0 and time<=99 "
+                    + "group by([0, 100), 10ms) fill(previous)")));
+    Assert.assertTrue(GrafanaResultCache.isCacheable(createGroupByStatement(0, 100)));
+  }
+
+  @Test
+  public void testReuseSealedWindows() throws IoTDBException {
+    QueryDataSet dataSet = query(0, 100);
+    assertDataSet(dataSet, 0, 100);
+    Assert.assertEquals(Collections.singletonList(0L), executedStartTimes);
+
+    // all the windows are cached
+    dataSet = query(0, 100);
+    assertDataSet(dataSet, 0, 100);
+    Assert.assertEquals(1, executedStartTimes.size());
+
+    // only the new window is computed when the time range slides
+    dataSet = query(10, 110);
+    assertDataSet(dataSet, 10, 110);
+    Assert.assertEquals(100L, (long) executedStartTimes.get(1));
+    Assert.assertEquals(63, (long) GrafanaResultCache.getInstance().getHitRate());
+  }
+
+  @Test
+  public void testInvalidateByLateWrite() throws IoTDBException {
+    query(0, 100);
+    // writes of other databases do not change the cached windows
+    WriteVersionTracker.getInstance().onWrite("root.other", 50);
+    query(0, 100);
+    Assert.assertEquals(1, executedStartTimes.size());
+
+    WriteVersionTracker.getInstance().onWrite("root.sg", 50);
+    assertDataSet(query(0, 100), 0, 100);
+    Assert.assertEquals(0L, (long) executedStartTimes.get(1));
+
+    WriteVersionTracker.getInstance().onDelete("root.sg", 0);
+    query(0, 100);
+    Assert.assertEquals(0L, (long) executedStartTimes.get(2));
+  }
+
+  @Test
+  public void testWindowOutOfTimeFilterNotCached() throws IoTDBException {
+    // the time filter only covers a part of the first window
+    String sql =
+        "select count(s1) from root.sg.d1 where time>=5 and time<=99 group by([0, 100), 10ms)";
+    GrafanaResultCache.getInstance()
+        .query(
+            (QueryStatement) createStatement(sql),
+            null,
+            5,
+            99,
+            1,
+            (groupByStartTime, consumer) -> execute(groupByStartTime, 100, consumer));
+    query(0, 100);
+    Assert.assertEquals(0L, (long) executedStartTimes.get(1));
+  }
+
+  @Test
+  public void testRecomputeAllWindowsWhenColumnsChanged() throws IoTDBException {
+    query(0, 100);
+    // a new series is matched, so the windows computed after the cached ones are not reused
+    column = "count(root.sg.d2.s1)";
+    QueryDataSet dataSet = query(10, 110);
+    Assert.assertEquals(Collections.singletonList(column), dataSet.getExpressions());
+    Assert.assertEquals(10, dataSet.getTimestamps().size());
+    Assert.assertEquals(3, executedStartTimes.size());
+    Assert.assertEquals(100L, (long) executedStartTimes.get(1));
+    Assert.assertEquals(10L, (long) executedStartTimes.get(2));
+    // the abandoned execution is cleaned up as well
+    Assert.assertEquals(3, cleanedUpExecutionNum);
+  }
+
+  private QueryDataSet query(long startTime, long endTime) throws IoTDBException {
+    return GrafanaResultCache.getInstance()
+        .query(
+            createGroupByStatement(startTime, endTime),
+            null,
+            startTime,
+            endTime - 1,
+            1,
+            (groupByStartTime, consumer) -> execute(groupByStartTime, endTime, consumer));
+  }
+
+  private QueryStatement createGroupByStatement(long startTime, long endTime) {
+    return (QueryStatement)
+        createStatement(
+            String.format(
+                "select count(s1) from root.sg.d1 where time>=%d and time<=%d "
+                    + "group by([%d, %d), 10ms)",
+                startTime, endTime - 1, startTime, endTime));
+  }
+
+  private Statement createStatement(String sql) {
+    return StatementGenerator.createStatement(sql, ZoneId.systemDefault());
+  }
+
+  /** every window [t, t + 10) has the count t */
+  private void assertDataSet(QueryDataSet dataSet, long startTime, long endTime) {
+    Assert.assertEquals(Collections.singletonList(column), dataSet.getExpressions());
+    Assert.assertEquals((endTime - startTime) / 10, dataSet.getTimestamps().size());
+    for (int i = 0; i < dataSet.getTimestamps().size(); i++) {
+      Assert.assertEquals(startTime + i * 10, (long) dataSet.getTimestamps().get(i));
+      Assert.assertEquals(startTime + i * 10, dataSet.getValues().get(0).get(i));
+    }
+  }
+
+  private void execute(long startTime, long endTime, GrafanaResultCache.ExecutionConsumer consumer)
+      throws IoTDBException {
+    executedStartTimes.add(startTime);
+    TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+    for (long time = startTime; time < endTime; time += 10) {
+      builder.getTimeColumnBuilder().writeLong(time);
+      builder.getColumnBuilder(0).writeLong(time);
+      builder.declarePosition();
+    }
+    try {
+      consumer.accept(new FakeQueryExecution(builder.build(), column));
+    } finally {
+      cleanedUpExecutionNum++;
+    }
+  }
+
+  private static class FakeQueryExecution implements IQueryExecution {
+
+    private TsBlock result;
+
+    private final DatasetHeader datasetHeader;
+
+    private FakeQueryExecution(TsBlock result, String column) {
+      this.result = result;
+      datasetHeader =
+          new DatasetHeader(
+              Collections.singletonList(new ColumnHeader(column, TSDataType.INT64)), false);
+      datasetHeader.setColumnToTsBlockIndexMap(Collections.singletonList(column));
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void stop() {}
+
+    @Override
+    public void stopAndCleanup() {}
+
+    @Override
+    public ExecutionResult getStatus() {
+      return null;
+    }
+
+    @Override
+    public Optional<TsBlock> getBatchResult() {
+      Optional<TsBlock> batch = Optional.ofNullable(result);
+      result = null;
+      return batch;
+    }
+
+    @Override
+    public Optional<ByteBuffer> getByteBufferBatchResult() {
+      return Optional.empty();
+    }
+
+    @Override
+    public boolean hasNextResult() {
+      return result != null;
+    }
+
+    @Override
+    public int getOutputValueColumnCount() {
+      return 1;
+    }
+
+    @Override
+    public DatasetHeader getDatasetHeader() {
+      return datasetHeader;
+    }
+
+    @Override
+    public boolean isQuery() {
+      return true;
+    }
+
+    @Override
+    public String getQueryId() {
+      return "test";
+    }
+
+    @Override
+    public long getStartExecutionTime() {
+      return 0;
+    }
+
+    @Override
+    public Optional<String> getExecuteSQL() {
+      return Optional.empty();
+    }
+  }
+}
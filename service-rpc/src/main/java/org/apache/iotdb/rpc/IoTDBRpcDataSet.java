@@ -75,6 +75,13 @@ public class IoTDBRpcDataSet {
   public int tsBlockSize; // the size of current tsBlock
   public int tsBlockIndex; // the row index in current tsBlock
 
+  // the max number of batches the server prepares ahead of the next fetch, 0 means no prefetch
+  public int prefetchBatchNum = 0;
+  // the expected bytes of each fetch, fetchSize is adapted to the row width if it's positive
+  public long fetchSizeInBytes = 0;
+  private long consumedBytes = 0; // the bytes of the consumed TsBlocks since the last fetch
+  private long consumedRows = 0; // the rows of the consumed TsBlocks since the last fetch
+
   @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
   public IoTDBRpcDataSet(
       String sql,
@@ -296,8 +303,12 @@ public class IoTDBRpcDataSet {
   }
 
   public boolean fetchResults() throws StatementExecutionException, IoTDBConnectionException {
+    adaptFetchSize();
     TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
     req.setTimeout(timeout);
+    if (prefetchBatchNum > 0) {
+      req.setPrefetchBatchNum(prefetchBatchNum);
+    }
     try {
       TSFetchResultsResp resp = client.fetchResultsV2(req);
       RpcUtils.verifySuccess(resp.getStatus());
@@ -321,6 +332,59 @@ public class IoTDBRpcDataSet {
     }
   }
 
+  /**
+   * Get the unread rows of the result block by block, so that the caller can consume the values
+   * column by column instead of row by row. The cached row of the last {@link #next()} is included.
+   * Use {@link #getValueColumnIndex(String)} to find the column of a result column in the block.
+   *
+   * @return the next TsBlock, or null if there is no more result
+   */
+  public TsBlock nextTsBlock() throws StatementExecutionException, IoTDBConnectionException {
+    int fromIndex = hasCachedRecord ? tsBlockIndex : tsBlockIndex + 1;
+    hasCachedRecord = false;
+    if (curTsBlock != null && fromIndex < tsBlockSize) {
+      TsBlock tsBlock = fromIndex == 0 ? curTsBlock : curTsBlock.subTsBlock(fromIndex);
+      tsBlockIndex = tsBlockSize - 1;
+      return tsBlock;
+    }
+    if (hasCachedByteBuffer() || (moreData && fetchResults() && hasCachedByteBuffer())) {
+      constructOneTsBlock();
+      tsBlockIndex = tsBlockSize - 1;
+      return curTsBlock;
+    }
+    try {
+      close();
+      return null;
+    } catch (TException e) {
+      throw new IoTDBConnectionException(
+          "Cannot close dataset, because of network connection: {} ", e);
+    }
+  }
+
+  /**
+   * @return the index of the value column in the TsBlock returned by {@link #nextTsBlock()}, or -1
+   *     for the time column
+   * @throws StatementExecutionException if the column is not in the result
+   */
+  public int getValueColumnIndex(String columnName) throws StatementExecutionException {
+    Integer columnOrdinal = columnOrdinalMap.get(columnName);
+    if (columnOrdinal == null) {
+      throw new StatementExecutionException(
+          String.format("column %s does not exist in the result", columnName));
+    }
+    return columnOrdinal - START_INDEX;
+  }
+
+  /** Adapt fetchSize so that each fetch carries about fetchSizeInBytes of the observed rows. */
+  private void adaptFetchSize() {
+    if (fetchSizeInBytes > 0 && consumedRows > 0 && consumedBytes > 0) {
+      long bytesPerRow = Math.max(1, consumedBytes / consumedRows);
+      fetchSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, fetchSizeInBytes / bytesPerRow));
+    }
+    consumedBytes = 0;
+    consumedRows = 0;
+  }
+
   public boolean hasCachedBlock() {
     return (curTsBlock != null && tsBlockIndex < tsBlockSize - 1);
   }
@@ -339,9 +403,11 @@ public class IoTDBRpcDataSet {
     lastReadWasNull = false;
     ByteBuffer byteBuffer = queryResult.get(queryResultIndex);
     queryResultIndex++;
+    consumedBytes += byteBuffer.remaining();
     curTsBlock = serde.deserialize(byteBuffer);
     tsBlockIndex = -1;
     tsBlockSize = curTsBlock.getPositionCount();
+    consumedRows += tsBlockSize;
   }
 
   public boolean isNull(int columnIndex) throws StatementExecutionException {
@@ -48,6 +48,7 @@ public enum TSStatusCode {
 
   // Client,
   REDIRECTION_RECOMMEND(400),
+  PREPARED_STATEMENT_NOT_EXIST(401),
 
   // Schema Engine
   DATABASE_NOT_EXIST(500),
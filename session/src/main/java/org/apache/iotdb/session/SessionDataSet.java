@@ -26,6 +26,7 @@ import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 
 import org.apache.thrift.TException;
 
@@ -108,6 +109,30 @@ public class SessionDataSet implements AutoCloseable {
     ioTDBRpcDataSet.fetchSize = fetchSize;
   }
 
+  public int getPrefetchBatchNum() {
+    return ioTDBRpcDataSet.prefetchBatchNum;
+  }
+
+  /**
+   * Let the server prepare at most prefetchBatchNum batches ahead of the next fetch, so that it
+   * keeps producing the result while the client is consuming the current batch. 0 disables it.
+   */
+  public void setPrefetchBatchNum(int prefetchBatchNum) {
+    ioTDBRpcDataSet.prefetchBatchNum = prefetchBatchNum;
+  }
+
+  public long getFetchSizeInBytes() {
+    return ioTDBRpcDataSet.fetchSizeInBytes;
+  }
+
+  /**
+   * Adapt the fetch size to the width of the fetched rows, so that each fetch carries about
+   * fetchSizeInBytes bytes. A non-positive value keeps the fetch size unchanged.
+   */
+  public void setFetchSizeInBytes(long fetchSizeInBytes) {
+    ioTDBRpcDataSet.fetchSizeInBytes = fetchSizeInBytes;
+  }
+
   public List<String> getColumnNames() {
     return new ArrayList<>(ioTDBRpcDataSet.columnNameList);
   }
@@ -120,6 +145,26 @@ public class SessionDataSet implements AutoCloseable {
     return ioTDBRpcDataSet.next();
   }
 
+  /**
+   * Get the unread rows block by block, whose values are organized by column. It's more efficient
+   * than {@link #next()} when the rows are consumed in batch, e.g. by the Spark or Flink connector.
+   * The value column of a result column is given by {@link #getValueColumnIndex(String)}.
+   *
+   * @return the next TsBlock, or null if there is no more result
+   */
+  public TsBlock nextBatch() throws StatementExecutionException, IoTDBConnectionException {
+    return ioTDBRpcDataSet.nextTsBlock();
+  }
+
+  /**
+   * @return the index of the value column in the TsBlock returned by {@link #nextBatch()}, or -1
+   *     for the time column
+   * @throws StatementExecutionException if the column is not in the result
+   */
+  public int getValueColumnIndex(String columnName) throws StatementExecutionException {
+    return ioTDBRpcDataSet.getValueColumnIndex(columnName);
+  }
+
   private RowRecord constructRowRecordFromValueArray() throws StatementExecutionException {
     List<Field> outFields = new ArrayList<>();
     for (int i = 0; i < ioTDBRpcDataSet.columnSize; i++) {
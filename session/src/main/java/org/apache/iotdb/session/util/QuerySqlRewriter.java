@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.session.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrite a query to read a part of its rows, e.g. a split of the Flink connector or a partition of
+ * the Spark connector, i.e. add the time range of the part to the WHERE clause and replace the FROM
+ * clause with the devices of the part.
+ *
+ * <p>The clauses are found by matching the keywords, the string literals and the backquoted
+ * identifiers are skipped so that a keyword in them is not matched.
+ */
+public class QuerySqlRewriter {
+
+  private static final Pattern WHERE = Pattern.compile("(?i)\\bwhere\\b");
+
+  private static final Pattern FROM = Pattern.compile("(?i)\\bfrom\\b");
+
+  private static final Pattern ALIAS = Pattern.compile("(?i)\\bas\\b");
+
+  private static final Pattern ALIGN_BY_DEVICE = Pattern.compile("(?i)\\balign\\s+by\\s+device\\b");
+
+  // the clauses which follow the WHERE clause
+  private static final Pattern TAIL =
+      Pattern.compile(
+          "(?i)\\b(group\\s+by|having|fill|order\\s+by|slimit|soffset|limit|offset|"
+              + "align\\s+by|disable\\s+align|without\\s+null)\\b");
+
+  // the clauses whose result depends on all the rows, so that the query can't be split
+  private static final Pattern UNSPLITTABLE =
+      Pattern.compile(
+          "(?i)\\b(group\\s+by|having|fill|order\\s+by|slimit|soffset|limit|offset)\\b");
+
+  // LAST queries return the last point of each series, which depends on all the rows
+  private static final Pattern SELECT_LAST = Pattern.compile("(?i)^\\s*select\\s+last\\b");
+
+  // the character replacing the characters of the string literals and the backquoted identifiers
+  private static final char MASK = '_';
+
+  private QuerySqlRewriter() {}
+
+  /** @return whether the query aligns the result by device */
+  public static boolean isAlignByDevice(String sql) {
+    return ALIGN_BY_DEVICE.matcher(mask(sql)).find();
+  }
+
+  /**
+   * @return whether the rows of the query can be read by parts separately, which is false if the
+   *     query has a clause depending on all the rows, selects functions, e.g. aggregations, or is a
+   *     LAST query
+   */
+  public static boolean isSplittable(String sql) {
+    String maskedSql = mask(sql);
+    return !UNSPLITTABLE.matcher(maskedSql).find()
+        && !SELECT_LAST.matcher(maskedSql).find()
+        && !maskedSql.substring(0, getSelectClauseEnd(maskedSql)).contains("(");
+  }
+
+  /** @return whether the SELECT clause of the query may have an alias */
+  public static boolean hasAlias(String sql) {
+    String maskedSql = mask(sql);
+    return ALIAS.matcher(maskedSql).region(0, getSelectClauseEnd(maskedSql)).find();
+  }
+
+  /** @return the paths of the FROM clause */
+  public static List<String> getFromPaths(String sql) {
+    List<String> paths = new ArrayList<>();
+    String maskedSql = mask(sql);
+    Matcher fromMatcher = FROM.matcher(maskedSql);
+    if (!fromMatcher.find()) {
+      return paths;
+    }
+    String fromClause =
+        sql.substring(fromMatcher.end(), getFromClauseEnd(maskedSql, fromMatcher.end()));
+    // split the original clause at the commas out of the backquoted identifiers
+    String maskedFromClause =
+        maskedSql.substring(fromMatcher.end(), fromMatcher.end() + fromClause.length());
+    int start = 0;
+    for (int i = 0; i <= maskedFromClause.length(); i++) {
+      if (i == maskedFromClause.length() || maskedFromClause.charAt(i) == ',') {
+        String path = fromClause.substring(start, i).trim();
+        if (!path.isEmpty()) {
+          paths.add(path);
+        }
+        start = i + 1;
+      }
+    }
+    return paths;
+  }
+
+  /** Replace the paths of the FROM clause */
+  public static String replaceFromPaths(String sql, List<String> paths) {
+    String maskedSql = mask(sql);
+    Matcher fromMatcher = FROM.matcher(maskedSql);
+    if (paths == null || paths.isEmpty() || !fromMatcher.find()) {
+      return sql;
+    }
+    return sql.substring(0, fromMatcher.end())
+        + " "
+        + String.join(", ", paths)
+        + " "
+        + sql.substring(getFromClauseEnd(maskedSql, fromMatcher.end()));
+  }
+
+  /** Add the predicate to the WHERE clause of the query in conjunction */
+  public static String addPredicate(String sql, String predicate) {
+    if (predicate == null || predicate.isEmpty()) {
+      return sql;
+    }
+    String maskedSql = mask(sql);
+    Matcher tailMatcher = TAIL.matcher(maskedSql);
+    int tailStart = tailMatcher.find() ? tailMatcher.start() : sql.length();
+    String tail = sql.substring(tailStart);
+    Matcher whereMatcher = WHERE.matcher(maskedSql).region(0, tailStart);
+    if (whereMatcher.find()) {
+      return sql.substring(0, whereMatcher.end())
+          + " ("
+          + predicate
+          + ") and ("
+          + sql.substring(whereMatcher.end(), tailStart).trim()
+          + ") "
+          + tail;
+    }
+    return sql.substring(0, tailStart).trim() + " where " + predicate + " " + tail;
+  }
+
+  private static int getSelectClauseEnd(String maskedSql) {
+    Matcher fromMatcher = FROM.matcher(maskedSql);
+    return fromMatcher.find() ? fromMatcher.start() : maskedSql.length();
+  }
+
+  private static int getFromClauseEnd(String maskedSql, int fromClauseStart) {
+    int end = maskedSql.length();
+    Matcher whereMatcher = WHERE.matcher(maskedSql);
+    if (whereMatcher.find(fromClauseStart)) {
+      end = whereMatcher.start();
+    }
+    Matcher tailMatcher = TAIL.matcher(maskedSql);
+    if (tailMatcher.find(fromClauseStart)) {
+      end = Math.min(end, tailMatcher.start());
+    }
+    return end;
+  }
+
+  /**
+   * Replace the characters in the string literals and the backquoted identifiers with {@link
+   * #MASK}, so that the keywords and the parentheses in them are not matched. The length of the
+   * query is not changed, so the positions found in the masked query are the same in the original.
+   */
+  static String mask(String sql) {
+    char[] chars = sql.toCharArray();
+    // the quote of the literal or identifier being read, 0 if there is none
+    char quote = 0;
+    for (int i = 0; i < chars.length; i++) {
+      char c = chars[i];
+      if (quote == 0) {
+        if (c == '\'' || c == '"' || c == '`') {
+          quote = c;
+        }
+      } else if (c == quote && i + 1 < chars.length && chars[i + 1] == quote) {
+        // an escaped quote, e.g. 'a''b' or `a``b`
+        chars[i] = MASK;
+        chars[++i] = MASK;
+      } else if (c == quote) {
+        quote = 0;
+      } else if (c == '\\' && quote != '`' && i + 1 < chars.length) {
+        // an escaped character of a string literal, e.g. 'a\'b'
+        chars[i] = MASK;
+        chars[++i] = MASK;
+      } else {
+        chars[i] = MASK;
+      }
+    }
+    return new String(chars);
+  }
+}
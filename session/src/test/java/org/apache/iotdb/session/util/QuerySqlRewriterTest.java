@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.session.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuerySqlRewriterTest {
+
+  @Test
+  public void testRewrite() {
+    String sql = "select s1, s2 from root.sg.** where s1 > 10 align by device";
+    assertTrue(QuerySqlRewriter.isAlignByDevice(sql));
+    assertTrue(QuerySqlRewriter.isSplittable(sql));
+    assertEquals(Arrays.asList("root.sg.**"), QuerySqlRewriter.getFromPaths(sql));
+
+    String splitSql =
+        QuerySqlRewriter.addPredicate(
+            QuerySqlRewriter.replaceFromPaths(sql, Arrays.asList("root.sg.d1", "root.sg.d2")),
+            "time >= 0 and time < 100");
+    assertEquals(
+        "select s1, s2 from root.sg.d1, root.sg.d2 where (time >= 0 and time < 100) and (s1 > 10) "
+            + "align by device",
+        splitSql);
+
+    assertEquals(
+        "select * from root.sg.d1 where time >= 0 ",
+        QuerySqlRewriter.addPredicate("select * from root.sg.d1", "time >= 0"));
+  }
+
+  @Test
+  public void testUnsplittable() {
+    assertFalse(
+        QuerySqlRewriter.isSplittable("select count(s1) from root.sg.d1 group by ([0, 10), 1ms)"));
+    assertFalse(QuerySqlRewriter.isSplittable("select s1 from root.sg.d1 limit 10"));
+    // each split would return its own aggregation or last point
+    assertFalse(QuerySqlRewriter.isSplittable("select count(s1) from root.sg.d1"));
+    assertFalse(QuerySqlRewriter.isSplittable("select last s1 from root.sg.d1"));
+    assertFalse(
+        QuerySqlRewriter.isSplittable("SELECT LAST s1, s2 FROM root.sg.d1 WHERE time > 10"));
+    assertTrue(QuerySqlRewriter.isSplittable("select s1, s2 from root.sg.d1 where s1 > 10"));
+    assertFalse(QuerySqlRewriter.isAlignByDevice("select s1 from root.sg.d1"));
+  }
+
+  @Test
+  public void testQuoted() {
+    // the keywords and parentheses in the literals and the backquoted identifiers are skipped
+    String sql = "select `limit`, `f(x)` from root.sg.`d,where` where s1 = 'a limit (1)'";
+    assertTrue(QuerySqlRewriter.isSplittable(sql));
+    assertFalse(QuerySqlRewriter.hasAlias("select `s as t` from root.sg.d1"));
+    assertTrue(QuerySqlRewriter.hasAlias("select s1 as t from root.sg.d1"));
+    assertEquals(Arrays.asList("root.sg.`d,where`"), QuerySqlRewriter.getFromPaths(sql));
+    assertEquals(
+        "select `limit`, `f(x)` from root.sg.`d,where` where (time >= 0) and "
+            + "(s1 = 'a limit (1)') ",
+        QuerySqlRewriter.addPredicate(sql, "time >= 0"));
+    assertEquals(
+        "select s1 from root.sg.d1 where (time >= 0) and (s1 = 'it''s') align by device",
+        QuerySqlRewriter.addPredicate(
+            QuerySqlRewriter.replaceFromPaths(
+                "select s1 from root.sg.* where s1 = 'it''s' align by device",
+                Collections.singletonList("root.sg.d1")),
+            "time >= 0"));
+    assertFalse(
+        QuerySqlRewriter.isAlignByDevice("select s1 from root.sg.d1 where s1 = 'align by device'"));
+  }
+}
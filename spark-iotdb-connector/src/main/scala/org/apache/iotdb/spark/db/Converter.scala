@@ -22,6 +22,8 @@ package org.apache.iotdb.spark.db
 import java.sql.{Statement, _}
 
 import org.apache.iotdb.jdbc.IoTDBJDBCResultSet
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType
+import org.apache.iotdb.tsfile.read.common.block.column.Column
 import org.apache.spark.sql.types._
 import org.slf4j.LoggerFactory
 
@@ -47,6 +49,30 @@ object Converter {
     r
   }
 
+  /**
+   * Read the value of a row from the column of a TsBlock without converting it to string first.
+   */
+  def toSqlData(field: StructField, column: Column, position: Int): Any = {
+    if (column.isNull(position)) return null
+
+    val r = field.dataType match {
+      case BooleanType => column.getBoolean(position)
+      case IntegerType => column.getInt(position)
+      case LongType =>
+        if (column.getDataType == TSDataType.INT32) column.getInt(position).toLong
+        else column.getLong(position)
+      case FloatType => column.getFloat(position)
+      case DoubleType =>
+        if (column.getDataType == TSDataType.FLOAT) column.getFloat(position).toDouble
+        else column.getDouble(position)
+      case StringType =>
+        if (column.getDataType == TSDataType.TEXT) column.getBinary(position).getStringValue
+        else column.getTsPrimitiveType(position).getStringValue
+      case other => throw new UnsupportedOperationException(s"Unsupported type $other")
+    }
+    r
+  }
+
   def toSparkSchema(options: IoTDBOptions): StructType = {
 
     Class.forName("org.apache.iotdb.jdbc.IoTDBDriver")
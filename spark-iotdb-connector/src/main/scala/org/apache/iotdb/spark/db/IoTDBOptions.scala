@@ -37,6 +37,17 @@ class IoTDBOptions(
 
   val upperBound = parameters.getOrElse("upperBound", "0")
 
+  // split an ALIGN BY DEVICE query by the DataRegion and the time partition of the devices
+  val partitionByRegion = parameters.getOrElse("partitionByRegion", "false")
+
+  // the following options should be consistent with the configuration of the cluster
+  val seriesSlotNum = parameters.getOrElse("seriesSlotNum", "10000")
+
+  val seriesPartitionExecutorClass = parameters.getOrElse("seriesPartitionExecutorClass",
+    "org.apache.iotdb.commons.partition.executor.hash.BKDRHashExecutor")
+
+  val timePartitionInterval = parameters.getOrElse("timePartitionInterval", "604800000")
+
   def get(name: String): Unit = {
 
   }
@@ -19,7 +19,10 @@
 
 package org.apache.iotdb.spark.db
 
-import java.sql.{Connection, DriverManager, ResultSet, Statement}
+import java.sql.{Connection, DriverManager, Statement}
+
+import org.apache.iotdb.jdbc.{Config, IoTDBJDBCResultSet}
+import org.apache.iotdb.tsfile.read.common.block.TsBlock
 import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.Row
 import org.apache.spark.sql.sources._
@@ -29,7 +32,8 @@ import org.apache.spark.{Partition, SparkContext, TaskContext}
 
 
 //IoTDB data partition
-case class IoTDBPartition(where: String, id: Int, start: java.lang.Long, end: java.lang.Long) extends Partition {
+case class IoTDBPartition(where: String, id: Int, start: java.lang.Long, end: java.lang.Long,
+                          endpoint: String = null, fromPaths: Array[String] = null) extends Partition {
   override def index: Int = id
 }
 
@@ -71,46 +75,51 @@ class IoTDBRDD private[iotdb](
     }
 
     Class.forName("org.apache.iotdb.jdbc.IoTDBDriver")
-    val conn: Connection = DriverManager.getConnection(options.url, options.user, options.password)
+    // connect to the leader of the DataRegion of the partition directly if it's known
+    val url: String = if (part.endpoint != null) Config.IOTDB_URL_PREFIX + part.endpoint + "/" else options.url
+    val conn: Connection = DriverManager.getConnection(url, options.user, options.password)
     val stmt: Statement = conn.createStatement()
 
     var sql = options.sql
     // for different partition
-    if (part.where != null) {
-      val sqlPart = options.sql.split(SQLConstant.WHERE)
-      sql = sqlPart(0) + " " + SQLConstant.WHERE + " (" + part.where + ") "
-      if (sqlPart.length == 2) {
-        sql += "and (" + sqlPart(1) + ")"
-      }
-    }
-    //
-    var rs: ResultSet = stmt.executeQuery(sql)
+    sql = SqlRewriter.replaceFromPaths(sql, part.fromPaths)
+    sql = SqlRewriter.addPredicate(sql, part.where)
+    sql = SqlRewriter.addPredicate(sql, SqlRewriter.toPredicate(filters, sql))
+    // the values are read from the result blocks column by column instead of row by row
+    val rs: IoTDBJDBCResultSet = stmt.executeQuery(sql).asInstanceOf[IoTDBJDBCResultSet]
     val prunedSchema = IoTDBRDD.pruneSchema(schema, requiredColumns)
+    // the index of the value column in the result blocks of each required field, -1 for time and
+    // -2 for the column which doesn't appear in the result of this partition
+    private val resultColumns = (1 to rs.getMetaData.getColumnCount).map(rs.getMetaData.getColumnName).toSet
+    private val columnIndexes = prunedSchema.fields.map(field =>
+      if (SQLConstant.TIMESTAMP_STR.equals(field.name)) -1
+      else if (!resultColumns.contains(field.name)) -2
+      else rs.getValueColumnIndex(field.name))
     private val rowBuffer = Array.fill[Any](prunedSchema.length)(null)
+    private var tsBlock: TsBlock = _
+    private var position = 0
 
     def getNext: Row = {
-      if (rs.next()) {
-        val fields = new scala.collection.mutable.HashMap[String, String]()
-        for (i <- 1 until rs.getMetaData.getColumnCount + 1) {
-          // start from 1
-          val field = rs.getString(i)
-          fields.put(rs.getMetaData.getColumnName(i), field)
+      while (tsBlock == null || position >= tsBlock.getPositionCount) {
+        tsBlock = rs.nextBatch()
+        position = 0
+        if (tsBlock == null) {
+          finished = true
+          return null
         }
-
-        //index in one required row
-        var index = 0
-        prunedSchema.foreach((field: StructField) => {
-          val r = Converter.toSqlData(field, fields.getOrElse(field.name, null))
-          rowBuffer(index) = r
-          index += 1
-        })
-        Row.fromSeq(rowBuffer)
-
-      }
-      else {
-        finished = true
-        null
       }
+
+      var index = 0
+      prunedSchema.foreach((field: StructField) => {
+        val columnIndex = columnIndexes(index)
+        rowBuffer(index) =
+          if (columnIndex == -1) tsBlock.getTimeByIndex(position)
+          else if (columnIndex < 0) null
+          else Converter.toSqlData(field, tsBlock.getColumn(columnIndex), position)
+        index += 1
+      })
+      position += 1
+      Row.fromSeq(rowBuffer)
     }
 
 
@@ -133,5 +142,10 @@ class IoTDBRDD private[iotdb](
 
   override def getPartitions: Array[Partition] = partitions
 
+  override def getPreferredLocations(split: Partition): Seq[String] = {
+    val endpoint = split.asInstanceOf[IoTDBPartition].endpoint
+    if (endpoint == null) Nil else Seq(endpoint.substring(0, endpoint.lastIndexOf(':')))
+  }
+
 
 }
\ No newline at end of file
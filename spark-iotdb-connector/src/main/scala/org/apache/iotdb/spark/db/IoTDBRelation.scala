@@ -19,6 +19,9 @@
 
 package org.apache.iotdb.spark.db
 
+import java.sql.{Connection, DriverManager, Statement}
+
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor
 import org.apache.spark.Partition
 import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.sources.{BaseRelation, Filter, PrunedFilteredScan}
@@ -26,6 +29,7 @@ import org.apache.spark.sql.types.StructType
 import org.apache.spark.sql.{Row, SQLContext, SparkSession}
 import org.slf4j.LoggerFactory
 
+import scala.collection.mutable
 import scala.collection.mutable.ArrayBuffer
 
 private case class IoTDBPartitioningInfo(
@@ -85,6 +89,92 @@ private object IoTDBRelation {
     }
     partitions.toArray
   }
+
+  /**
+   * Create one partition for each DataRegion and time partition that the devices of an ALIGN BY
+   * DEVICE query belong to, which queries the leader of the DataRegion directly.
+   *
+   * @return the partitions, or null if the query can't be split by DataRegion
+   */
+  def getRegionPartitions(options: IoTDBOptions): Array[Partition] = {
+    if (!SqlRewriter.isAlignByDevice(options.sql)) {
+      logger.warn("Only ALIGN BY DEVICE query can be split by DataRegion, fall back to split by time.")
+      return null
+    }
+    if (!SqlRewriter.isSplittable(options.sql)) {
+      logger.warn("The query can't be split by DataRegion because its result depends on all the rows.")
+      return null
+    }
+    val fromPaths = SqlRewriter.getFromPaths(options.sql)
+    if (fromPaths.isEmpty) {
+      return null
+    }
+
+    Class.forName("org.apache.iotdb.jdbc.IoTDBDriver")
+    val conn: Connection = DriverManager.getConnection(options.url, options.user, options.password)
+    try {
+      val stmt: Statement = conn.createStatement()
+
+      // the client endpoint of the leader of each DataRegion
+      val leaderMap = new mutable.HashMap[Int, String]()
+      val regionRs = stmt.executeQuery("show data regions")
+      while (regionRs.next()) {
+        if ("Leader".equals(regionRs.getString("Role"))) {
+          leaderMap.put(regionRs.getInt("RegionId"),
+            regionRs.getString("RpcAddress") + ":" + regionRs.getInt("RpcPort"))
+        }
+      }
+
+      // the devices of the query and their database
+      val deviceMap = new mutable.LinkedHashMap[String, String]()
+      for (fromPath <- fromPaths) {
+        val devicePath = if (fromPath.startsWith("root.")) fromPath else "root." + fromPath
+        val deviceRs = stmt.executeQuery(s"show devices $devicePath with database")
+        while (deviceRs.next()) {
+          deviceMap.put(deviceRs.getString("Device"), deviceRs.getString("Database"))
+        }
+      }
+
+      // group the devices by the DataRegion and the time partition they belong to
+      val executor = SeriesPartitionExecutor.getSeriesPartitionExecutor(
+        options.seriesPartitionExecutorClass, options.seriesSlotNum.toInt)
+      val timePartitionInterval = options.timePartitionInterval.toLong
+      val slotRegionCache = new mutable.HashMap[(String, Int), Seq[(Long, Int)]]()
+      val devicesMap = new mutable.LinkedHashMap[(Int, Long), ArrayBuffer[String]]()
+      for ((device, database) <- deviceMap) {
+        val seriesSlot = executor.getSeriesPartitionSlot(device).getSlotId
+        val timeSlotRegions = slotRegionCache.getOrElseUpdate((database, seriesSlot), {
+          val timeSlots = new ArrayBuffer[Long]()
+          val timeSlotRs = stmt.executeQuery(
+            s"show timeslotid of $database where seriesslotid = $seriesSlot")
+          while (timeSlotRs.next()) {
+            timeSlots += timeSlotRs.getLong("TimeSlotId")
+          }
+          timeSlots.map(timeSlot => {
+            val regionRs = stmt.executeQuery(s"show data regionid of $database " +
+              s"where seriesslotid = $seriesSlot and timeslotid = $timeSlot")
+            val regionId = if (regionRs.next()) regionRs.getInt("RegionId") else -1
+            (timeSlot, regionId)
+          })
+        })
+        for ((timeSlot, regionId) <- timeSlotRegions if regionId >= 0) {
+          devicesMap.getOrElseUpdate((regionId, timeSlot), new ArrayBuffer[String]()) += device
+        }
+      }
+
+      if (devicesMap.isEmpty) {
+        return null
+      }
+      devicesMap.zipWithIndex.map { case (((regionId, timeSlot), devices), i) =>
+        val end = timeSlot + timePartitionInterval
+        val where = s"${SQLConstant.RESERVED_TIME} >= $timeSlot and ${SQLConstant.RESERVED_TIME} < $end"
+        IoTDBPartition(where, i, timeSlot, end, leaderMap.getOrElse(regionId, null), devices.toArray)
+          .asInstanceOf[Partition]
+      }.toArray
+    } finally {
+      conn.close()
+    }
+  }
 }
 
 class IoTDBRelation protected[iotdb](val options: IoTDBOptions)(@transient val sparkSession: SparkSession)
@@ -105,7 +195,13 @@ class IoTDBRelation protected[iotdb](val options: IoTDBOptions)(@transient val s
 
     val partitionInfo = IoTDBPartitioningInfo(start, end, numPartition)
 
-    val parts = IoTDBRelation.getPartitions(partitionInfo)
+    var parts: Array[Partition] = null
+    if (options.partitionByRegion.toBoolean) {
+      parts = IoTDBRelation.getRegionPartitions(options)
+    }
+    if (parts == null) {
+      parts = IoTDBRelation.getPartitions(partitionInfo)
+    }
 
     new IoTDBRDD(sparkSession.sparkContext,
       options,
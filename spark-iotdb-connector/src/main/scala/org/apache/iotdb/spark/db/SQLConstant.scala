@@ -22,6 +22,7 @@ package org.apache.iotdb.spark.db
 object SQLConstant {
   val RESERVED_TIME = "time"
   val TIMESTAMP_STR = "Time"
+  val DEVICE_STR = "Device"
   val NULL_STR = "null"
   val WHERE = "where"
 }
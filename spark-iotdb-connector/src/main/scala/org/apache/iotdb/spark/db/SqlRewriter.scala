@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.spark.db
+
+import org.apache.iotdb.session.util.QuerySqlRewriter
+import org.apache.spark.sql.sources._
+
+import scala.collection.JavaConverters._
+import scala.util.matching.Regex
+
+/**
+ * Rewrite the query of each Spark partition, i.e. push the filters of Spark down to the WHERE
+ * clause and replace the FROM clause with the devices of the partition. The clauses are rewritten
+ * by [[QuerySqlRewriter]], which is shared with the Flink connector.
+ */
+object SqlRewriter {
+
+  // the name of a measurement or a path rather than an expression
+  private val RAW_SERIES: Regex = "[^()\\s]+".r
+
+  /** @return whether the query aligns the result by device */
+  def isAlignByDevice(sql: String): Boolean = QuerySqlRewriter.isAlignByDevice(sql)
+
+  /**
+   * @return whether the rows of the query can be read by partitions separately, which is false if
+   *         the query has a clause depending on all the rows, selects functions, e.g. aggregations,
+   *         or is a LAST query
+   */
+  def isSplittable(sql: String): Boolean = QuerySqlRewriter.isSplittable(sql)
+
+  /** @return the paths of the FROM clause */
+  def getFromPaths(sql: String): Array[String] = QuerySqlRewriter.getFromPaths(sql).asScala.toArray
+
+  /** Replace the paths of the FROM clause */
+  def replaceFromPaths(sql: String, paths: Array[String]): String =
+    QuerySqlRewriter.replaceFromPaths(sql, if (paths == null) null else paths.toSeq.asJava)
+
+  /** Add the predicate to the WHERE clause of the query in conjunction */
+  def addPredicate(sql: String, predicate: String): String =
+    QuerySqlRewriter.addPredicate(sql, predicate)
+
+  /**
+   * Translate the filters of Spark into the predicate of IoTDB. The filters which can't be
+   * translated are skipped, which is safe because Spark evaluates all the filters again.
+   *
+   * Filtering the rows before LIMIT, FILL or aggregations changes their results, so nothing is
+   * pushed down to such a query. The value columns must be raw series, i.e. the measurements of an
+   * ALIGN BY DEVICE query or full paths, and aren't pushed down if the query selects any alias.
+   *
+   * @return the conjunction of the translated filters, null if none of them can be translated
+   */
+  def toPredicate(filters: Array[Filter], sql: String): String = {
+    if (!isSplittable(sql)) {
+      return null
+    }
+    val alignByDevice = isAlignByDevice(sql)
+    val hasAlias = QuerySqlRewriter.hasAlias(sql)
+    val predicates = filters.flatMap(filter => toPredicate(filter, alignByDevice, hasAlias))
+    if (predicates.isEmpty) null else predicates.map(p => s"($p)").mkString(" and ")
+  }
+
+  private def toPredicate(filter: Filter, alignByDevice: Boolean, hasAlias: Boolean): Option[String] = {
+    def column(name: String): Option[String] = {
+      if (SQLConstant.TIMESTAMP_STR.equals(name)) {
+        Some(SQLConstant.RESERVED_TIME)
+      } else if (SQLConstant.DEVICE_STR.equals(name) || hasAlias ||
+        !RAW_SERIES.pattern.matcher(name).matches()) {
+        None
+      } else if (alignByDevice || name.startsWith("root.")) {
+        Some(name)
+      } else {
+        None
+      }
+    }
+
+    def compare(name: String, operator: String, value: Any): Option[String] =
+      for (c <- column(name); v <- literal(value)) yield s"$c $operator $v"
+
+    filter match {
+      case EqualTo(name, value) => compare(name, "=", value)
+      case GreaterThan(name, value) => compare(name, ">", value)
+      case GreaterThanOrEqual(name, value) => compare(name, ">=", value)
+      case LessThan(name, value) => compare(name, "<", value)
+      case LessThanOrEqual(name, value) => compare(name, "<=", value)
+      case In(name, values) if values.nonEmpty =>
+        val literals = values.map(literal)
+        if (literals.exists(_.isEmpty)) None
+        else column(name).map(c => s"$c in (${literals.map(_.get).mkString(", ")})")
+      case And(left, right) =>
+        val leftPredicate = toPredicate(left, alignByDevice, hasAlias)
+        val rightPredicate = toPredicate(right, alignByDevice, hasAlias)
+        (leftPredicate, rightPredicate) match {
+          case (Some(l), Some(r)) => Some(s"($l) and ($r)")
+          case (Some(l), None) => Some(l)
+          case (None, Some(r)) => Some(r)
+          case _ => None
+        }
+      case Or(left, right) =>
+        for (l <- toPredicate(left, alignByDevice, hasAlias);
+             r <- toPredicate(right, alignByDevice, hasAlias))
+          yield s"($l) or ($r)"
+      case _ => None
+    }
+  }
+
+  private def literal(value: Any): Option[String] = value match {
+    case null => None
+    case s: String => Some("'" + s.replace("'", "''") + "'")
+    case b: Boolean => Some(b.toString)
+    case n: java.lang.Number => Some(n.toString)
+    case _ => None
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.iotdb.spark.db.unit
+
+import org.apache.iotdb.spark.db.SqlRewriter
+import org.apache.spark.sql.sources.{EqualTo, Filter, GreaterThan, IsNull, LessThanOrEqual, Or}
+import org.scalatest.FunSuite
+
+class SqlRewriterTest extends FunSuite {
+
+  test("test add predicate") {
+    assertResult("select s1 from root.sg.d1 where time > 1 ") {
+      SqlRewriter.addPredicate("select s1 from root.sg.d1", "time > 1")
+    }
+    assertResult("select s1 from root.sg.* where (time > 1) and (s1 > 2) align by device") {
+      SqlRewriter.addPredicate("select s1 from root.sg.* where s1 > 2 align by device", "time > 1")
+    }
+  }
+
+  test("test replace from paths") {
+    val sql = "select s1 from root.sg.* where s1 > 2 align by device"
+    assert(SqlRewriter.isAlignByDevice(sql))
+    assertResult(Array("root.sg.*"))(SqlRewriter.getFromPaths(sql))
+    assertResult("select s1 from root.sg.d1, root.sg.d2 where s1 > 2 align by device") {
+      SqlRewriter.replaceFromPaths(sql, Array("root.sg.d1", "root.sg.d2"))
+    }
+  }
+
+  test("test filter to predicate") {
+    val filters = Array[Filter](
+      GreaterThan("Time", 100L),
+      Or(EqualTo("s1", "a'b"), LessThanOrEqual("s2", 3)),
+      IsNull("s3"),
+      EqualTo("Device", "root.sg.d1"))
+    assertResult("(time > 100) and ((s1 = 'a''b') or (s2 <= 3))") {
+      SqlRewriter.toPredicate(filters, "select s1, s2 from root.sg.* align by device")
+    }
+    // only the time filter can be pushed down if the value columns are not full paths
+    assertResult("(time > 100)")(SqlRewriter.toPredicate(filters, "select s1, s2 from root.sg.d1"))
+    // or if the value columns may be aliases
+    assertResult("(time > 100)") {
+      SqlRewriter.toPredicate(filters, "select s1 as s2, s2 as s1 from root.sg.* align by device")
+    }
+    // filters on expressions are never pushed down
+    assertResult(null) {
+      SqlRewriter.toPredicate(Array(GreaterThan("root.sg.d1.s1 + root.sg.d1.s2", 1)),
+        "select s1 + s2 from root.sg.d1")
+    }
+  }
+
+  test("test unsplittable query") {
+    val filters = Array[Filter](GreaterThan("Time", 100L), EqualTo("s1", 1))
+    for (sql <- Array(
+      "select count(s1) from root.sg.* group by ([0, 100), 10ms) align by device",
+      "select count(s1) from root.sg.* align by device",
+      "select s1 from root.sg.* limit 10 align by device",
+      "select s1 from root.sg.* fill(previous) align by device",
+      "select s1 from root.sg.* order by time desc align by device")) {
+      assert(!SqlRewriter.isSplittable(sql))
+      // filtering the rows before LIMIT, FILL or aggregations changes their results
+      assertResult(null)(SqlRewriter.toPredicate(filters, sql))
+    }
+    assert(SqlRewriter.isSplittable("select s1 from root.sg.* where s1 > 2 align by device"))
+  }
+
+  test("test last query") {
+    // each partition would return its own last point of the series
+    for (sql <- Array(
+      "select last s1, s2 from root.sg.d1",
+      "  SELECT LAST s1 FROM root.sg.d1 WHERE time > 10")) {
+      assert(!SqlRewriter.isSplittable(sql))
+      assertResult(null)(SqlRewriter.toPredicate(Array(GreaterThan("Time", 100L)), sql))
+    }
+    assert(SqlRewriter.isSplittable("select last_value from root.sg.* align by device"))
+  }
+
+  test("test quoted identifiers and literals") {
+    // the keywords in them don't end the clauses or make the query unsplittable
+    val sql = "select `limit`, s1 from root.sg.`d,where` where s1 = 'a (b) limit' align by device"
+    assert(SqlRewriter.isSplittable(sql))
+    assertResult(Array("root.sg.`d,where`"))(SqlRewriter.getFromPaths(sql))
+    assertResult("select `limit`, s1 from root.sg.`d,where` where (time > 1) and " +
+      "(s1 = 'a (b) limit') align by device") {
+      SqlRewriter.addPredicate(sql, "time > 1")
+    }
+    // an alias in a backquoted identifier doesn't prevent pushing down the filters
+    assertResult("(s1 = 1)") {
+      SqlRewriter.toPredicate(Array(EqualTo("s1", 1)), "select `s1 as s2`, s1 from root.sg.* align by device")
+    }
+  }
+}
@@ -132,6 +132,45 @@ struct TSExecuteStatementReq {
   7: optional bool jdbcQuery;
 }
 
+// PrepareStatement()
+//
+// Prepare a statement whose literals are replaced by '?'. The returned preparedStatementId can be
+// used to execute the statement with different parameters.
+struct TSPrepareStatementReq {
+  1: required i64 sessionId
+
+  // The statement to be prepared, in which each parameter is a '?'
+  2: required string statement
+}
+
+struct TSPrepareStatementResp {
+  1: required common.TSStatus status
+  2: optional i64 preparedStatementId
+  3: optional i32 parameterCount
+}
+
+struct TSExecutePreparedStatementReq {
+  1: required i64 sessionId
+
+  2: required i64 preparedStatementId
+
+  // The literals of the parameters, in the order of the '?' in the prepared statement
+  3: required list<string> parameters
+
+  4: required i64 statementId
+
+  5: optional i32 fetchSize
+
+  6: optional i64 timeout
+
+  7: optional bool jdbcQuery;
+}
+
+struct TSDeallocatePreparedStatementReq {
+  1: required i64 sessionId
+  2: required i64 preparedStatementId
+}
+
 struct TSExecuteBatchStatementReq{
   // The session to execute the statement against
   1: required i64 sessionId
@@ -169,6 +208,8 @@ struct TSFetchResultsReq{
   4: required i64 queryId
   5: required bool isAlign
   6: optional i64 timeout
+  // the max number of batches the server is allowed to prepare ahead of the next fetch
+  7: optional i32 prefetchBatchNum
 }
 
 struct TSFetchResultsResp{
@@ -462,6 +503,12 @@ service IClientRPCService {
 
   TSExecuteStatementResp executeLastDataQueryV2(1:TSLastDataQueryReq req);
 
+  TSPrepareStatementResp prepareStatement(1:TSPrepareStatementReq req);
+
+  TSExecuteStatementResp executePreparedStatement(1:TSExecutePreparedStatementReq req);
+
+  common.TSStatus deallocatePreparedStatement(1:TSDeallocatePreparedStatementReq req);
+
   TSFetchResultsResp fetchResultsV2(1:TSFetchResultsReq req);
 
   TSOpenSessionResp openSession(1:TSOpenSessionReq req);
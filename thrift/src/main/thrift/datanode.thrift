@@ -234,6 +234,24 @@ struct TLoadSample {
   // The size of free disk space
   // Unit: Byte
   4: required i64 freeDiskSpace
+  // Percentage of the memtable memory in DataNode compared to the write reject threshold
+  5: optional double memTableUsageRate
+  // The load of each DataRegion in DataNode
+  6: optional map<common.TConsensusGroupId, TRegionLoad> regionLoads
+}
+
+struct TRegionLoad {
+  // The number of points written into the Region per second
+  1: required double writeRate
+  // The cpu time spent by the queries on the Region per second
+  // Unit: Millisecond
+  2: required double queryCpuRate
+  // The size of TsFiles of the Region
+  // Unit: Byte
+  3: required i64 diskUsage
+  // The size of the memtables of the Region
+  // Unit: Byte
+  4: required i64 memTableSize
 }
 
 struct TRegionRouteReq {
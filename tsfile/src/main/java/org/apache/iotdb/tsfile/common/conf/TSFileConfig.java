@@ -62,6 +62,11 @@ public class TSFileConfig implements Serializable {
   public static final String VERSION_NUMBER_V1 = "000001";
   /** version number is changed to use 1 byte to represent since version 3 */
   public static final byte VERSION_NUMBER = 0x03;
+  /**
+   * version of the files written with value bloom filters enabled, whose chunk metadata can't be
+   * parsed by the readers of version 3
+   */
+  public static final byte VERSION_NUMBER_WITH_VALUE_BLOOM_FILTER = 0x04;
 
   /** Bloom filter constrain */
   public static final double MIN_BLOOM_FILTER_ERROR_RATE = 0.01;
@@ -148,6 +153,12 @@ public class TSFileConfig implements Serializable {
   private String kerberosPrincipal = "principal";
   /** The acceptable error rate of bloom filter */
   private double bloomFilterErrorRate = 0.05;
+  /**
+   * The maximum number of distinct values of a chunk to build its value bloom filter, which is used
+   * to skip the chunks by the equality filters on values. A chunk with more distinct values has no
+   * value bloom filter, and 0 disables the value bloom filters.
+   */
+  private int valueBloomFilterMaxDistinctCount = 0;
   /** The amount of data iterate each time */
   private int batchSize = 1000;
 
@@ -348,6 +359,14 @@ public class TSFileConfig implements Serializable {
     this.bloomFilterErrorRate = bloomFilterErrorRate;
   }
 
+  public int getValueBloomFilterMaxDistinctCount() {
+    return valueBloomFilterMaxDistinctCount;
+  }
+
+  public void setValueBloomFilterMaxDistinctCount(int valueBloomFilterMaxDistinctCount) {
+    this.valueBloomFilterMaxDistinctCount = valueBloomFilterMaxDistinctCount;
+  }
+
   public FSType getTSFileStorageFs() {
     return this.TSFileStorageFs;
   }
@@ -475,4 +494,10 @@ public class TSFileConfig implements Serializable {
   public void setCustomizedProperties(Properties customizedProperties) {
     this.customizedProperties = customizedProperties;
   }
+
+  /** @return whether the files of the version can be read by the current readers */
+  public static boolean isSupportedVersionNumber(byte versionNumber) {
+    return versionNumber == VERSION_NUMBER
+        || versionNumber == VERSION_NUMBER_WITH_VALUE_BLOOM_FILTER;
+  }
 }
@@ -83,6 +83,8 @@ public class TSFileDescriptor {
     writer.setInt(conf::setBatchSize, "batch_size");
     writer.setInt(conf::setFreqEncodingBlockSize, "freq_block_size");
     writer.setDouble(conf::setFreqEncodingSNR, "freq_snr");
+    writer.setInt(
+        conf::setValueBloomFilterMaxDistinctCount, "value_bloom_filter_max_distinct_count");
   }
 
   private class PropertiesOverWriter {
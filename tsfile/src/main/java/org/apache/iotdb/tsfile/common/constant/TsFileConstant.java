@@ -37,6 +37,8 @@ public class TsFileConstant {
 
   public static final byte TIME_COLUMN_MASK = (byte) 0x80;
   public static final byte VALUE_COLUMN_MASK = (byte) 0x40;
+  // set in the type of TimeseriesMetadata if its chunk metadata have value bloom filters
+  public static final byte VALUE_BLOOM_FILTER_MASK = (byte) 0x20;
 
   // measurementID of aligned time chunk
   public static final String TIME_COLUMN_ID = "";
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ElfUtils;
+
+import java.nio.ByteBuffer;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_DOUBLE;
+import static org.apache.iotdb.tsfile.utils.ElfUtils.DECIMAL_PLACES_BITS_LENGTH;
+
+/** Decoder of ELF encoding of double values, see {@link ElfUtils}. */
+public class DoubleElfDecoder extends LongChimpDecoder {
+
+  private static final long GORILLA_ENCODING_ENDING =
+      Double.doubleToRawLongBits(GORILLA_ENCODING_ENDING_DOUBLE);
+
+  // the decimal places of the last erased value
+  private int storedDecimalPlaces = 0;
+
+  public DoubleElfDecoder() {
+    super(TSEncoding.ELF);
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    storedDecimalPlaces = 0;
+  }
+
+  @Override
+  public final double readDouble(ByteBuffer in) {
+    return Double.longBitsToDouble(readLong(in));
+  }
+
+  @Override
+  protected long cacheNext(ByteBuffer in) {
+    int decimalPlaces;
+    if (!readBit(in)) {
+      // case '0': erased with the stored decimal places
+      decimalPlaces = storedDecimalPlaces;
+    } else if (!readBit(in)) {
+      // case '10': not erased
+      storedValue = readNext(in);
+      if (storedValue == GORILLA_ENCODING_ENDING) {
+        hasNext = false;
+      }
+      return storedValue;
+    } else {
+      // case '11': erased with new decimal places
+      decimalPlaces = (int) readLong(DECIMAL_PLACES_BITS_LENGTH, in);
+      storedDecimalPlaces = decimalPlaces;
+    }
+    storedValue = ElfUtils.restore(readNext(in), decimalPlaces);
+    return storedValue;
+  }
+}
@@ -46,6 +46,11 @@ public abstract class GorillaDecoderV2 extends Decoder {
     super(TSEncoding.GORILLA);
   }
 
+  /** For the encodings based on GORILLA, which share the bit operations. */
+  protected GorillaDecoderV2(TSEncoding type) {
+    super(type);
+  }
+
   @Override
   public final boolean hasNext(ByteBuffer in) {
     return hasNext;
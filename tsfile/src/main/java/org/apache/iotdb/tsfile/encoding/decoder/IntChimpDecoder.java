@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+import java.nio.ByteBuffer;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_INTEGER;
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.VALUE_BITS_LENGTH_32BIT;
+import static org.apache.iotdb.tsfile.encoding.decoder.LongChimpDecoder.LEADING_ZEROS;
+import static org.apache.iotdb.tsfile.encoding.decoder.LongChimpDecoder.LEADING_ZERO_BITS_LENGTH;
+import static org.apache.iotdb.tsfile.encoding.decoder.LongChimpDecoder.PREVIOUS_VALUES;
+import static org.apache.iotdb.tsfile.encoding.decoder.LongChimpDecoder.PREVIOUS_VALUES_LOG2;
+
+/** Decoder of Chimp128 encoding of int values, see {@link LongChimpDecoder}. */
+public class IntChimpDecoder extends GorillaDecoderV2 {
+
+  private static final int MEANINGFUL_XOR_BITS_LENGTH = 5;
+
+  // the last values, the value of position i is stored in i % PREVIOUS_VALUES
+  private final int[] storedValues = new int[PREVIOUS_VALUES];
+  // the index of the last value read, -1 if there is none
+  private int current = -1;
+
+  // the value read ahead, which will be returned by the next call
+  protected int storedValue = 0;
+
+  public IntChimpDecoder() {
+    super(TSEncoding.CHIMP);
+  }
+
+  protected IntChimpDecoder(TSEncoding type) {
+    super(type);
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    current = -1;
+    storedValue = 0;
+  }
+
+  @Override
+  public final int readInt(ByteBuffer in) {
+    if (!firstValueWasRead) {
+      flipByte(in);
+      cacheNext(in);
+      firstValueWasRead = true;
+    }
+    int returnValue = storedValue;
+    cacheNext(in);
+    return returnValue;
+  }
+
+  protected int cacheNext(ByteBuffer in) {
+    storedValue = readNext(in);
+    if (storedValue == GORILLA_ENCODING_ENDING_INTEGER) {
+      hasNext = false;
+    }
+    return storedValue;
+  }
+
+  /** Read the next value of the Chimp128 stream. */
+  protected final int readNext(ByteBuffer in) {
+    int value;
+    if (current < 0) {
+      value = (int) readLong(VALUE_BITS_LENGTH_32BIT, in);
+      current = 0;
+      storedValues[current] = value;
+      return value;
+    }
+    switch ((int) readLong(2, in)) {
+      case 3: // case '11': use new leading zeros
+        storedLeadingZeros = LEADING_ZEROS[(int) readLong(LEADING_ZERO_BITS_LENGTH, in)];
+        value =
+            storedValues[current]
+                ^ (int) readLong(VALUE_BITS_LENGTH_32BIT - storedLeadingZeros, in);
+        break;
+      case 2: // case '10': use stored leading zeros
+        value =
+            storedValues[current]
+                ^ (int) readLong(VALUE_BITS_LENGTH_32BIT - storedLeadingZeros, in);
+        break;
+      case 1: // case '01': XOR with the given previous value, which has many trailing zeros
+        {
+          int previousIndex = (int) readLong(PREVIOUS_VALUES_LOG2, in);
+          int leadingZeros = LEADING_ZEROS[(int) readLong(LEADING_ZERO_BITS_LENGTH, in)];
+          int significantBits = (int) readLong(MEANINGFUL_XOR_BITS_LENGTH, in);
+          int trailingZeros = VALUE_BITS_LENGTH_32BIT - leadingZeros - significantBits;
+          value =
+              storedValues[previousIndex] ^ ((int) readLong(significantBits, in) << trailingZeros);
+          break;
+        }
+      default: // case '00': the same as the given previous value
+        value = storedValues[(int) readLong(PREVIOUS_VALUES_LOG2, in)];
+        break;
+    }
+    current = (current + 1) % PREVIOUS_VALUES;
+    storedValues[current] = value;
+    return value;
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.encoding.decoder.PlainDecoder;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_DOUBLE;
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_FLOAT;
+
+/**
+ * AutoEncoder selects the encoding of a chunk by the values of its first page. The values of the
+ * first page are buffered by PLAIN encoding, and encoded by each lossless candidate encoding of the
+ * data type when the page is flushed, then the encoding taking the least space is used for this
+ * page and the following pages.
+ *
+ * <p>The encodings based on GORILLA end a page by a value, which may be written after the encoding
+ * is selected, so they aren't candidates of INT32 and INT64 whose ending value is a valid value.
+ * The ending of FLOAT and DOUBLE is the raw bits of NaN, and a NaN value with those bits is encoded
+ * as a NaN with other raw bits, so that it never ends the page early and is still read as NaN.
+ *
+ * <p>{@link #getType()} returns the selected encoding, which should be recorded in the chunk
+ * header, or AUTO if the encoding hasn't been selected. Call {@link #reset()} after a chunk is
+ * written to select the encoding of the next chunk again.
+ */
+public class AutoEncoder extends Encoder {
+
+  private static final int GORILLA_ENDING_FLOAT_BITS =
+      Float.floatToRawIntBits(GORILLA_ENCODING_ENDING_FLOAT);
+  private static final float NAN_FLOAT = Float.intBitsToFloat(GORILLA_ENDING_FLOAT_BITS + 1);
+  private static final long GORILLA_ENDING_DOUBLE_BITS =
+      Double.doubleToRawLongBits(GORILLA_ENCODING_ENDING_DOUBLE);
+  private static final double NAN_DOUBLE = Double.longBitsToDouble(GORILLA_ENDING_DOUBLE_BITS + 1);
+
+  private final TSDataType dataType;
+  private final TSEncoding[] candidates;
+
+  // the values of the first page, which are buffered until the encoding is selected
+  private final PlainEncoder sampleEncoder;
+  private final PublicBAOS sampleOut = new PublicBAOS();
+
+  // the encoder of the selected encoding, null if the encoding hasn't been selected
+  private Encoder encoder;
+  // whether the selected encoding is based on GORILLA, whose ending value must be escaped
+  private boolean isEncoderBasedOnGorilla = false;
+
+  public AutoEncoder(TSDataType dataType) {
+    super(TSEncoding.AUTO);
+    this.dataType = dataType;
+    this.candidates = getCandidates(dataType);
+    this.sampleEncoder =
+        new PlainEncoder(dataType, TSFileDescriptor.getInstance().getConfig().getMaxStringLength());
+  }
+
+  /**
+   * The candidate encodings of each data type, which are lossless. RLE and TS_2DIFF keep only a
+   * limited number of decimal places of FLOAT and DOUBLE values, so they aren't candidates of them.
+   * GORILLA can't encode Integer.MIN_VALUE and Long.MIN_VALUE, so it isn't a candidate of INT32 and
+   * INT64.
+   */
+  private static TSEncoding[] getCandidates(TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+        return new TSEncoding[] {TSEncoding.PLAIN, TSEncoding.RLE};
+      case INT32:
+      case INT64:
+        return new TSEncoding[] {TSEncoding.PLAIN, TSEncoding.RLE, TSEncoding.TS_2DIFF};
+      case FLOAT:
+      case DOUBLE:
+        return new TSEncoding[] {
+          TSEncoding.PLAIN, TSEncoding.GORILLA, TSEncoding.CHIMP, TSEncoding.ELF
+        };
+      case TEXT:
+        return new TSEncoding[] {TSEncoding.PLAIN, TSEncoding.DICTIONARY};
+      default:
+        throw new UnSupportedDataTypeException("AUTO doesn't support data type: " + dataType);
+    }
+  }
+
+  private static boolean isBasedOnGorilla(TSEncoding encoding) {
+    return encoding == TSEncoding.GORILLA
+        || encoding == TSEncoding.CHIMP
+        || encoding == TSEncoding.ELF;
+  }
+
+  @Override
+  public void encode(boolean value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  @Override
+  public void encode(int value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  @Override
+  public void encode(long value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  @Override
+  public void encode(float value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(isEncoderBasedOnGorilla ? escapeGorillaEnding(value) : value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  @Override
+  public void encode(double value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(isEncoderBasedOnGorilla ? escapeGorillaEnding(value) : value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  private static float escapeGorillaEnding(float value) {
+    return Float.floatToRawIntBits(value) == GORILLA_ENDING_FLOAT_BITS ? NAN_FLOAT : value;
+  }
+
+  private static double escapeGorillaEnding(double value) {
+    return Double.doubleToRawLongBits(value) == GORILLA_ENDING_DOUBLE_BITS ? NAN_DOUBLE : value;
+  }
+
+  @Override
+  public void encode(Binary value, ByteArrayOutputStream out) {
+    if (encoder != null) {
+      encoder.encode(value, out);
+    } else {
+      sampleEncoder.encode(value, sampleOut);
+    }
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) throws IOException {
+    if (encoder != null) {
+      encoder.flush(out);
+      return;
+    }
+    if (sampleOut.size() == 0) {
+      // there is no value to select the encoding by, e.g. a page of an aligned series with only
+      // null values
+      return;
+    }
+    PublicBAOS selectedOut = null;
+    for (TSEncoding candidate : candidates) {
+      Encoder candidateEncoder =
+          TSEncodingBuilder.getEncodingBuilder(candidate).getEncoder(dataType);
+      PublicBAOS candidateOut = new PublicBAOS();
+      encodeSample(candidateEncoder, isBasedOnGorilla(candidate), candidateOut);
+      candidateEncoder.flush(candidateOut);
+      if (selectedOut == null || candidateOut.size() < selectedOut.size()) {
+        selectedOut = candidateOut;
+        encoder = candidateEncoder;
+      }
+    }
+    out.write(selectedOut.getBuf(), 0, selectedOut.size());
+    setType(encoder.getType());
+    isEncoderBasedOnGorilla = isBasedOnGorilla(encoder.getType());
+    sampleOut.reset();
+  }
+
+  private void encodeSample(
+      Encoder candidateEncoder, boolean isBasedOnGorilla, ByteArrayOutputStream out) {
+    ByteBuffer buffer = ByteBuffer.wrap(sampleOut.getBuf(), 0, sampleOut.size());
+    PlainDecoder decoder = new PlainDecoder();
+    while (decoder.hasNext(buffer)) {
+      switch (dataType) {
+        case BOOLEAN:
+          candidateEncoder.encode(decoder.readBoolean(buffer), out);
+          break;
+        case INT32:
+          candidateEncoder.encode(decoder.readInt(buffer), out);
+          break;
+        case INT64:
+          candidateEncoder.encode(decoder.readLong(buffer), out);
+          break;
+        case FLOAT:
+          float floatValue = decoder.readFloat(buffer);
+          candidateEncoder.encode(
+              isBasedOnGorilla ? escapeGorillaEnding(floatValue) : floatValue, out);
+          break;
+        case DOUBLE:
+          double doubleValue = decoder.readDouble(buffer);
+          candidateEncoder.encode(
+              isBasedOnGorilla ? escapeGorillaEnding(doubleValue) : doubleValue, out);
+          break;
+        case TEXT:
+          candidateEncoder.encode(decoder.readBinary(buffer), out);
+          break;
+        default:
+          throw new UnSupportedDataTypeException("AUTO doesn't support data type: " + dataType);
+      }
+    }
+  }
+
+  /** Select the encoding again by the values of the next page, should be called after flushing. */
+  public void reset() {
+    encoder = null;
+    isEncoderBasedOnGorilla = false;
+    setType(TSEncoding.AUTO);
+    sampleOut.reset();
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    return encoder != null ? encoder.getOneItemMaxSize() : sampleEncoder.getOneItemMaxSize();
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    // the selected encoding takes no more space than PLAIN, which is one of the candidates
+    return encoder != null ? encoder.getMaxByteSize() : sampleOut.size();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ElfUtils;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_DOUBLE;
+import static org.apache.iotdb.tsfile.utils.ElfUtils.DECIMAL_PLACES_BITS_LENGTH;
+
+/**
+ * ELF encoding of double values, see {@link ElfUtils}. The trailing mantissa bits of each value are
+ * erased if possible, and the erased value is encoded by {@link LongChimpEncoder}. There are 3
+ * cases before each value, indicated by the control bits:
+ *
+ * <ul>
+ *   <li>0: the value is erased with the same decimal places as the last erased value
+ *   <li>10: the value isn't erased
+ *   <li>11: the value is erased with the decimal places stored in the next 4 bits
+ * </ul>
+ *
+ * <p>The original paper stores the number of significant digits, while the number of decimal places
+ * is stored here, which is more stable for sensor data with a fixed precision and doesn't depend on
+ * the exponent of the erased value.
+ */
+public class DoubleElfEncoder extends LongChimpEncoder {
+
+  // the decimal places of the last erased value
+  private int storedDecimalPlaces = Integer.MAX_VALUE;
+
+  public DoubleElfEncoder() {
+    super(TSEncoding.ELF);
+  }
+
+  @Override
+  public final void encode(double value, ByteArrayOutputStream out) {
+    long bits = Double.doubleToRawLongBits(value);
+    int decimalPlaces = ElfUtils.getDecimalPlaces(value);
+    long erasedBits = decimalPlaces < 0 ? bits : ElfUtils.erase(bits, decimalPlaces);
+    if (erasedBits == bits) {
+      // case 10
+      writeBits(2, 2, out);
+    } else if (decimalPlaces == storedDecimalPlaces) {
+      // case 0
+      skipBit(out);
+    } else {
+      // case 11
+      writeBits(3, 2, out);
+      writeBits(decimalPlaces, DECIMAL_PLACES_BITS_LENGTH, out);
+      storedDecimalPlaces = decimalPlaces;
+    }
+    encode(erasedBits, out);
+  }
+
+  /**
+   * The least significant bits of the erased values are zeros, so the key is hashed from all bits,
+   * which finds the same value among the previous values.
+   */
+  @Override
+  protected int getKey(long value) {
+    int hash = (int) (value ^ (value >>> 32));
+    return (hash ^ (hash >>> SET_LSB_LENGTH) ^ (hash >>> (2 * SET_LSB_LENGTH))) & SET_LSB;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    // ending stream, which isn't erased
+    writeBits(2, 2, out);
+    encode(Double.doubleToRawLongBits(GORILLA_ENCODING_ENDING_DOUBLE), out);
+
+    // flip the byte no matter it is empty or not
+    // the empty ending byte is necessary when decoding
+    bitsLeft = 0;
+    flipByte(out);
+
+    // the encoder may be reused, so let us reset it
+    reset();
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    storedDecimalPlaces = Integer.MAX_VALUE;
+  }
+}
@@ -45,6 +45,11 @@ public abstract class GorillaEncoderV2 extends Encoder {
     super(TSEncoding.GORILLA);
   }
 
+  /** For the encodings based on GORILLA, which share the bit operations. */
+  protected GorillaEncoderV2(TSEncoding type) {
+    super(type);
+  }
+
   @Override
   public final long getMaxByteSize() {
     return 0;
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_INTEGER;
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.VALUE_BITS_LENGTH_32BIT;
+import static org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder.LEADING_REPRESENTATION;
+import static org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder.LEADING_ROUND;
+import static org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder.LEADING_ZERO_BITS_LENGTH;
+import static org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder.PREVIOUS_VALUES;
+import static org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder.PREVIOUS_VALUES_LOG2;
+
+/** Chimp128 encoding of int values, see {@link LongChimpEncoder}. */
+public class IntChimpEncoder extends GorillaEncoderV2 {
+
+  private static final int MEANINGFUL_XOR_BITS_LENGTH = 5;
+  private static final int THRESHOLD = 5 + PREVIOUS_VALUES_LOG2;
+  static final int SET_LSB_LENGTH = THRESHOLD + 1;
+  static final int SET_LSB = (1 << SET_LSB_LENGTH) - 1;
+
+  private static final int ONE_ITEM_MAX_SIZE =
+      (2 + PREVIOUS_VALUES_LOG2 + LEADING_ZERO_BITS_LENGTH + VALUE_BITS_LENGTH_32BIT) / Byte.SIZE
+          + 1;
+
+  // the last values, the value of position i is stored in i % PREVIOUS_VALUES
+  private final int[] storedValues = new int[PREVIOUS_VALUES];
+  // the least significant bits of a value -> the position of the last value with them plus 1
+  private final int[] indices = new int[SET_LSB + 1];
+  // the number of values written
+  private int index = 0;
+
+  public IntChimpEncoder() {
+    super(TSEncoding.CHIMP);
+  }
+
+  protected IntChimpEncoder(TSEncoding type) {
+    super(type);
+  }
+
+  @Override
+  public final int getOneItemMaxSize() {
+    return ONE_ITEM_MAX_SIZE;
+  }
+
+  @Override
+  public final void encode(int value, ByteArrayOutputStream out) {
+    if (firstValueWasWritten) {
+      compressValue(value, out);
+    } else {
+      writeBits(Integer.toUnsignedLong(value), VALUE_BITS_LENGTH_32BIT, out);
+      firstValueWasWritten = true;
+    }
+    int key = getKey(value);
+    storedValues[index % PREVIOUS_VALUES] = value;
+    index++;
+    indices[key] = index;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    // ending stream
+    encode(GORILLA_ENCODING_ENDING_INTEGER, out);
+
+    // flip the byte no matter it is empty or not
+    // the empty ending byte is necessary when decoding
+    bitsLeft = 0;
+    flipByte(out);
+
+    // the encoder may be reused, so let us reset it
+    reset();
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    Arrays.fill(indices, 0);
+    index = 0;
+  }
+
+  /**
+   * The key to find the previous value of the given value, which is the least significant bits by
+   * default, so that the XOR with the found value has many trailing zeros.
+   */
+  protected int getKey(int value) {
+    return value & SET_LSB;
+  }
+
+  private void compressValue(int value, ByteArrayOutputStream out) {
+    int previousIndex = (index - 1) % PREVIOUS_VALUES;
+    int xor = storedValues[previousIndex] ^ value;
+    // prefer the last value with the same least significant bits if the XOR has enough trailing
+    // zeros
+    int candidate = indices[getKey(value)];
+    if (candidate > 0 && index - candidate < PREVIOUS_VALUES) {
+      int candidateIndex = (candidate - 1) % PREVIOUS_VALUES;
+      int candidateXor = storedValues[candidateIndex] ^ value;
+      if (Integer.numberOfTrailingZeros(candidateXor) > THRESHOLD) {
+        previousIndex = candidateIndex;
+        xor = candidateXor;
+      }
+    }
+
+    if (xor == 0) {
+      // case 00
+      writeBits(previousIndex, 2 + PREVIOUS_VALUES_LOG2, out);
+      storedLeadingZeros = Integer.MAX_VALUE;
+      return;
+    }
+    int leadingZeros = LEADING_ROUND[Integer.numberOfLeadingZeros(xor)];
+    int trailingZeros = Integer.numberOfTrailingZeros(xor);
+    if (trailingZeros > THRESHOLD) {
+      // case 01
+      int significantBits = VALUE_BITS_LENGTH_32BIT - leadingZeros - trailingZeros;
+      writeBits(1, 2, out);
+      writeBits(previousIndex, PREVIOUS_VALUES_LOG2, out);
+      writeBits(LEADING_REPRESENTATION[leadingZeros], LEADING_ZERO_BITS_LENGTH, out);
+      writeBits(significantBits, MEANINGFUL_XOR_BITS_LENGTH, out);
+      writeBits(xor >>> trailingZeros, significantBits, out);
+      storedLeadingZeros = Integer.MAX_VALUE;
+    } else if (leadingZeros == storedLeadingZeros) {
+      // case 10
+      writeBits(2, 2, out);
+      writeBits(Integer.toUnsignedLong(xor), VALUE_BITS_LENGTH_32BIT - leadingZeros, out);
+    } else {
+      // case 11
+      writeBits(3, 2, out);
+      writeBits(LEADING_REPRESENTATION[leadingZeros], LEADING_ZERO_BITS_LENGTH, out);
+      writeBits(Integer.toUnsignedLong(xor), VALUE_BITS_LENGTH_32BIT - leadingZeros, out);
+      storedLeadingZeros = leadingZeros;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.GORILLA_ENCODING_ENDING_LONG;
+import static org.apache.iotdb.tsfile.common.conf.TSFileConfig.VALUE_BITS_LENGTH_64BIT;
+
+/**
+ * Chimp128 encoding of long values, see "Chimp: Efficient Lossless Floating Point Compression for
+ * Time Series Databases" (VLDB 2022).
+ *
+ * <p>Like GORILLA, each value is stored as the XOR with a previous value, but the previous value is
+ * chosen among the last 128 values by the least significant bits, so that the XOR has more trailing
+ * zeros. The number of leading zeros is rounded to one of 8 values stored with 3 bits. There are 4
+ * cases, indicated by the 2 control bits:
+ *
+ * <ul>
+ *   <li>00: the value equals the previous value, followed by the index of it with 7 bits
+ *   <li>01: the XOR has more trailing zeros than the threshold, followed by the index of the
+ *       previous value with 7 bits, the leading zeros with 3 bits, the length of the meaningful
+ *       bits with 6 bits and the meaningful bits
+ *   <li>10: the XOR with the last value has the same leading zeros as the stored ones, followed by
+ *       the bits after the leading zeros
+ *   <li>11: the XOR with the last value, followed by the leading zeros with 3 bits and the bits
+ *       after the leading zeros
+ * </ul>
+ */
+public class LongChimpEncoder extends GorillaEncoderV2 {
+
+  static final int PREVIOUS_VALUES = 128;
+  static final int PREVIOUS_VALUES_LOG2 = 7;
+  static final int LEADING_ZERO_BITS_LENGTH = 3;
+
+  /** The number of leading zeros is rounded down to one of 0, 8, 12, 16, 18, 20, 22 and 24. */
+  static final int[] LEADING_ROUND = new int[VALUE_BITS_LENGTH_64BIT + 1];
+  /** The representation of the rounded number of leading zeros with 3 bits. */
+  static final int[] LEADING_REPRESENTATION = new int[VALUE_BITS_LENGTH_64BIT + 1];
+
+  static {
+    int[] leadingZeros = {0, 8, 12, 16, 18, 20, 22, 24};
+    for (int i = 0; i < leadingZeros.length; i++) {
+      int end = i + 1 < leadingZeros.length ? leadingZeros[i + 1] : LEADING_ROUND.length;
+      for (int j = leadingZeros[i]; j < end; j++) {
+        LEADING_ROUND[j] = leadingZeros[i];
+        LEADING_REPRESENTATION[leadingZeros[i]] = i;
+      }
+    }
+  }
+
+  private static final int MEANINGFUL_XOR_BITS_LENGTH = 6;
+  private static final int THRESHOLD = 6 + PREVIOUS_VALUES_LOG2;
+  static final int SET_LSB_LENGTH = THRESHOLD + 1;
+  static final int SET_LSB = (1 << SET_LSB_LENGTH) - 1;
+
+  private static final int ONE_ITEM_MAX_SIZE =
+      (2 + PREVIOUS_VALUES_LOG2 + LEADING_ZERO_BITS_LENGTH + VALUE_BITS_LENGTH_64BIT) / Byte.SIZE
+          + 1;
+
+  // the last values, the value of position i is stored in i % PREVIOUS_VALUES
+  private final long[] storedValues = new long[PREVIOUS_VALUES];
+  // the least significant bits of a value -> the position of the last value with them plus 1
+  private final int[] indices = new int[SET_LSB + 1];
+  // the number of values written
+  private int index = 0;
+
+  public LongChimpEncoder() {
+    super(TSEncoding.CHIMP);
+  }
+
+  protected LongChimpEncoder(TSEncoding type) {
+    super(type);
+  }
+
+  @Override
+  public final int getOneItemMaxSize() {
+    return ONE_ITEM_MAX_SIZE;
+  }
+
+  @Override
+  public final void encode(long value, ByteArrayOutputStream out) {
+    if (firstValueWasWritten) {
+      compressValue(value, out);
+    } else {
+      writeBits(value, VALUE_BITS_LENGTH_64BIT, out);
+      firstValueWasWritten = true;
+    }
+    int key = getKey(value);
+    storedValues[index % PREVIOUS_VALUES] = value;
+    index++;
+    indices[key] = index;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    // ending stream
+    encode(GORILLA_ENCODING_ENDING_LONG, out);
+
+    // flip the byte no matter it is empty or not
+    // the empty ending byte is necessary when decoding
+    bitsLeft = 0;
+    flipByte(out);
+
+    // the encoder may be reused, so let us reset it
+    reset();
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    Arrays.fill(indices, 0);
+    index = 0;
+  }
+
+  /**
+   * The key to find the previous value of the given value, which is the least significant bits by
+   * default, so that the XOR with the found value has many trailing zeros.
+   */
+  protected int getKey(long value) {
+    return (int) value & SET_LSB;
+  }
+
+  private void compressValue(long value, ByteArrayOutputStream out) {
+    int previousIndex = (index - 1) % PREVIOUS_VALUES;
+    long xor = storedValues[previousIndex] ^ value;
+    // prefer the last value with the same least significant bits if the XOR has enough trailing
+    // zeros
+    int candidate = indices[getKey(value)];
+    if (candidate > 0 && index - candidate < PREVIOUS_VALUES) {
+      int candidateIndex = (candidate - 1) % PREVIOUS_VALUES;
+      long candidateXor = storedValues[candidateIndex] ^ value;
+      if (Long.numberOfTrailingZeros(candidateXor) > THRESHOLD) {
+        previousIndex = candidateIndex;
+        xor = candidateXor;
+      }
+    }
+
+    if (xor == 0) {
+      // case 00
+      writeBits(previousIndex, 2 + PREVIOUS_VALUES_LOG2, out);
+      storedLeadingZeros = Integer.MAX_VALUE;
+      return;
+    }
+    int leadingZeros = LEADING_ROUND[Long.numberOfLeadingZeros(xor)];
+    int trailingZeros = Long.numberOfTrailingZeros(xor);
+    if (trailingZeros > THRESHOLD) {
+      // case 01
+      int significantBits = VALUE_BITS_LENGTH_64BIT - leadingZeros - trailingZeros;
+      writeBits(1, 2, out);
+      writeBits(previousIndex, PREVIOUS_VALUES_LOG2, out);
+      writeBits(LEADING_REPRESENTATION[leadingZeros], LEADING_ZERO_BITS_LENGTH, out);
+      writeBits(significantBits, MEANINGFUL_XOR_BITS_LENGTH, out);
+      writeBits(xor >>> trailingZeros, significantBits, out);
+      storedLeadingZeros = Integer.MAX_VALUE;
+    } else if (leadingZeros == storedLeadingZeros) {
+      // case 10
+      writeBits(2, 2, out);
+      writeBits(xor, VALUE_BITS_LENGTH_64BIT - leadingZeros, out);
+    } else {
+      // case 11
+      writeBits(3, 2, out);
+      writeBits(LEADING_REPRESENTATION[leadingZeros], LEADING_ZERO_BITS_LENGTH, out);
+      writeBits(xor, VALUE_BITS_LENGTH_64BIT - leadingZeros, out);
+      storedLeadingZeros = leadingZeros;
+    }
+  }
+}
@@ -73,6 +73,12 @@ public abstract class TSEncodingBuilder {
         return new Freq();
       case ZIGZAG:
         return new Zigzag();
+      case CHIMP:
+        return new Chimp();
+      case ELF:
+        return new Elf();
+      case AUTO:
+        return new Auto();
       default:
         throw new UnsupportedOperationException(type.toString());
     }
@@ -399,4 +405,64 @@ public abstract class TSEncodingBuilder {
       // do nothing
     }
   }
+
+  /** for INT32, INT64, FLOAT, DOUBLE. */
+  public static class Chimp extends TSEncodingBuilder {
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      switch (type) {
+        case FLOAT:
+          return new FloatChimpEncoder();
+        case DOUBLE:
+          return new DoubleChimpEncoder();
+        case INT32:
+          return new IntChimpEncoder();
+        case INT64:
+          return new LongChimpEncoder();
+        default:
+          throw new UnSupportedDataTypeException("CHIMP doesn't support data type: " + type);
+      }
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // allowed do nothing
+    }
+  }
+
+  /** for FLOAT, DOUBLE. */
+  public static class Elf extends TSEncodingBuilder {
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      switch (type) {
+        case FLOAT:
+          return new FloatElfEncoder();
+        case DOUBLE:
+          return new DoubleElfEncoder();
+        default:
+          throw new UnSupportedDataTypeException("ELF doesn't support data type: " + type);
+      }
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // allowed do nothing
+    }
+  }
+
+  /** for all data types except VECTOR, see {@link AutoEncoder}. */
+  public static class Auto extends TSEncodingBuilder {
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      return new AutoEncoder(type);
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // allowed do nothing
+    }
+  }
 }
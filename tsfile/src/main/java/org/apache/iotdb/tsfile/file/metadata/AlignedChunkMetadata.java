@@ -22,6 +22,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.controller.IChunkLoader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 import java.io.OutputStream;
 import java.util.List;
@@ -138,6 +139,11 @@ public class AlignedChunkMetadata implements IChunkMetadata {
     this.chunkLoader = chunkLoader;
   }
 
+  @Override
+  public String getFilePath() {
+    return timeChunkMetadata.getFilePath();
+  }
+
   @Override
   public void setFilePath(String filePath) {
     timeChunkMetadata.setFilePath(filePath);
@@ -183,11 +189,22 @@ public class AlignedChunkMetadata implements IChunkMetadata {
     throw new UnsupportedOperationException("VectorChunkMetadata doesn't support serial method");
   }
 
+  @Override
+  public int serializeTo(
+      OutputStream outputStream, boolean serializeStatistic, boolean serializeValueBloomFilter) {
+    throw new UnsupportedOperationException("VectorChunkMetadata doesn't support serial method");
+  }
+
   @Override
   public byte getMask() {
     return 0;
   }
 
+  @Override
+  public BloomFilter getValueBloomFilter() {
+    return null;
+  }
+
   public IChunkMetadata getTimeChunkMetadata() {
     return timeChunkMetadata;
   }
@@ -18,13 +18,16 @@
  */
 package org.apache.iotdb.tsfile.file.metadata;
 
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.controller.IChunkLoader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.FilePathUtils;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.IOException;
@@ -63,6 +66,9 @@ public class ChunkMetadata implements IChunkMetadata {
 
   private Statistics<? extends Serializable> statistics;
 
+  /** Bloom filter of the distinct values of the chunk, null if the chunk has none. */
+  private BloomFilter valueBloomFilter;
+
   private boolean isFromOldTsFile = false;
 
   private long ramSize;
@@ -111,6 +117,7 @@ public class ChunkMetadata implements IChunkMetadata {
     this.version = other.version;
     this.chunkLoader = other.chunkLoader;
     this.statistics = other.statistics;
+    this.valueBloomFilter = other.valueBloomFilter;
     this.isFromOldTsFile = other.isFromOldTsFile;
     this.ramSize = other.ramSize;
     this.isSeq = other.isSeq;
@@ -171,14 +178,59 @@ public class ChunkMetadata implements IChunkMetadata {
    * @throws IOException IOException
    */
   public int serializeTo(OutputStream outputStream, boolean serializeStatistic) throws IOException {
+    return serializeTo(outputStream, serializeStatistic, false);
+  }
+
+  /**
+   * serialize to outputStream.
+   *
+   * @param serializeValueBloomFilter whether to serialize the value bloom filter, which is set if
+   *     any chunk of the series has one, an empty one is serialized if this chunk has none
+   * @return length
+   */
+  @Override
+  public int serializeTo(
+      OutputStream outputStream, boolean serializeStatistic, boolean serializeValueBloomFilter)
+      throws IOException {
     int byteLen = 0;
     byteLen += ReadWriteIOUtils.write(offsetOfChunkHeader, outputStream);
     if (serializeStatistic) {
       byteLen += statistics.serialize(outputStream);
     }
+    if (serializeValueBloomFilter) {
+      byteLen += serializeValueBloomFilter(outputStream);
+    }
     return byteLen;
   }
 
+  private int serializeValueBloomFilter(OutputStream outputStream) throws IOException {
+    if (valueBloomFilter == null) {
+      return ReadWriteForEncodingUtils.writeUnsignedVarInt(0, outputStream);
+    }
+    int byteLen = 0;
+    byteLen +=
+        ReadWriteForEncodingUtils.writeUnsignedVarInt(valueBloomFilter.getSize(), outputStream);
+    byteLen +=
+        ReadWriteForEncodingUtils.writeUnsignedVarInt(
+            valueBloomFilter.getHashFunctionSize(), outputStream);
+    byte[] bytes = valueBloomFilter.serialize();
+    byteLen += ReadWriteForEncodingUtils.writeUnsignedVarInt(bytes.length, outputStream);
+    outputStream.write(bytes);
+    byteLen += bytes.length;
+    return byteLen;
+  }
+
+  private static BloomFilter deserializeValueBloomFilter(ByteBuffer buffer) {
+    int size = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    if (size == 0) {
+      return null;
+    }
+    int hashFunctionSize = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    byte[] bytes = new byte[ReadWriteForEncodingUtils.readUnsignedVarInt(buffer)];
+    buffer.get(bytes);
+    return BloomFilter.buildBloomFilter(bytes, size, hashFunctionSize);
+  }
+
   /**
    * deserialize from ByteBuffer.
    *
@@ -194,21 +246,27 @@ public class ChunkMetadata implements IChunkMetadata {
     chunkMetaData.offsetOfChunkHeader = ReadWriteIOUtils.readLong(buffer);
     // if the TimeSeriesMetadataType is not 0, it means it has more than one chunk
     // and each chunk's metadata has its own statistics
-    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x3F) != 0) {
+    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x1F) != 0) {
       chunkMetaData.statistics = Statistics.deserialize(buffer, chunkMetaData.tsDataType);
     } else {
       // if the TimeSeriesMetadataType is 0, it means it has only one chunk
       // and that chunk's metadata has no statistic
       chunkMetaData.statistics = timeseriesMetadata.getStatistics();
     }
+    if ((timeseriesMetadata.getTimeSeriesMetadataType() & TsFileConstant.VALUE_BLOOM_FILTER_MASK)
+        != 0) {
+      chunkMetaData.valueBloomFilter = deserializeValueBloomFilter(buffer);
+    }
     return chunkMetaData;
   }
 
+  /** Deserialize the chunk metadata serialized with both the statistics and value bloom filter. */
   public static ChunkMetadata deserializeFrom(ByteBuffer buffer, TSDataType dataType) {
     ChunkMetadata chunkMetadata = new ChunkMetadata();
     chunkMetadata.tsDataType = dataType;
     chunkMetadata.offsetOfChunkHeader = ReadWriteIOUtils.readLong(buffer);
     chunkMetadata.statistics = Statistics.deserialize(buffer, dataType);
+    chunkMetadata.valueBloomFilter = deserializeValueBloomFilter(buffer);
     return chunkMetadata;
   }
 
@@ -313,6 +371,9 @@ public class ChunkMetadata implements IChunkMetadata {
     memSize += RamUsageEstimator.sizeOf(tsFilePrefixPath);
     memSize += RamUsageEstimator.sizeOf(measurementUid);
     memSize += statistics.calculateRamSize();
+    if (valueBloomFilter != null) {
+      memSize += valueBloomFilter.getSize() / Byte.SIZE;
+    }
     return memSize;
   }
 
@@ -325,6 +386,8 @@ public class ChunkMetadata implements IChunkMetadata {
   public void mergeChunkMetadata(ChunkMetadata chunkMetadata) {
     Statistics<? extends Serializable> statistics = chunkMetadata.getStatistics();
     this.statistics.mergeStatistics(statistics);
+    // the values of the other chunk are not in the bloom filter
+    this.valueBloomFilter = null;
     this.ramSize = calculateRamSize();
   }
 
@@ -346,10 +409,12 @@ public class ChunkMetadata implements IChunkMetadata {
     isClosed = closed;
   }
 
+  @Override
   public String getFilePath() {
     return filePath;
   }
 
+  @Override
   public void setFilePath(String filePath) {
     this.filePath = filePath;
 
@@ -369,4 +434,13 @@ public class ChunkMetadata implements IChunkMetadata {
   public void setMask(byte mask) {
     this.mask = mask;
   }
+
+  @Override
+  public BloomFilter getValueBloomFilter() {
+    return valueBloomFilter;
+  }
+
+  public void setValueBloomFilter(BloomFilter valueBloomFilter) {
+    this.valueBloomFilter = valueBloomFilter;
+  }
 }
@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.controller.IChunkLoader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -59,6 +60,8 @@ public interface IChunkMetadata {
 
   void setChunkLoader(IChunkLoader chunkLoader);
 
+  String getFilePath();
+
   void setFilePath(String filePath);
 
   void setClosed(boolean closed);
@@ -73,5 +76,12 @@ public interface IChunkMetadata {
 
   int serializeTo(OutputStream outputStream, boolean serializeStatistic) throws IOException;
 
+  int serializeTo(
+      OutputStream outputStream, boolean serializeStatistic, boolean serializeValueBloomFilter)
+      throws IOException;
+
   byte getMask();
+
+  /** @return the bloom filter of the distinct values of the chunk, null if it has none */
+  BloomFilter getValueBloomFilter();
 }
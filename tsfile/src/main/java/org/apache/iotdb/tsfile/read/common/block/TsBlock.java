@@ -137,6 +137,34 @@ public class TsBlock {
         length, (TimeColumn) timeColumn.getRegion(positionOffset, length), slicedColumns);
   }
 
+  /**
+   * Keep the rows whose flag in the selection vector is true. No row is copied if all the rows are
+   * selected, otherwise each column is compacted into new arrays once.
+   *
+   * @param selection selection vector with at least positionCount flags
+   * @return current TsBlock if all the rows are selected, otherwise a TsBlock of the selected rows
+   */
+  public TsBlock selectPositions(boolean[] selection) {
+    int selectedCount = 0;
+    for (int i = 0; i < positionCount; i++) {
+      if (selection[i]) {
+        selectedCount++;
+      }
+    }
+    if (selectedCount == positionCount) {
+      return this;
+    }
+
+    Column[] selectedColumns = new Column[valueColumns.length];
+    for (int i = 0; i < valueColumns.length; i++) {
+      selectedColumns[i] = valueColumns[i].selectPositions(selection, selectedCount);
+    }
+    return wrapBlocksWithoutCopy(
+        selectedCount,
+        (TimeColumn) timeColumn.selectPositions(selection, selectedCount),
+        selectedColumns);
+  }
+
   public TsBlock appendValueColumn(Column column) {
     requireNonNull(column, "Column is null");
     if (positionCount != column.getPositionCount()) {
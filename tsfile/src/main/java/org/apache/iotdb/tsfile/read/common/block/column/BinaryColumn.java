@@ -145,6 +145,23 @@ public class BinaryColumn implements Column {
         arrayOffset + fromIndex, positionCount - fromIndex, valueIsNull, values);
   }
 
+  @Override
+  public Column selectPositions(boolean[] selection, int selectedCount) {
+    Binary[] selectedValues = new Binary[selectedCount];
+    boolean[] selectedIsNull = valueIsNull == null ? null : new boolean[selectedCount];
+    int index = 0;
+    for (int i = 0; i < positionCount && index < selectedCount; i++) {
+      if (selection[i]) {
+        selectedValues[index] = values[i + arrayOffset];
+        if (selectedIsNull != null) {
+          selectedIsNull[index] = valueIsNull[i + arrayOffset];
+        }
+        index++;
+      }
+    }
+    return new BinaryColumn(0, selectedCount, selectedIsNull, selectedValues);
+  }
+
   @Override
   public void reverse() {
     for (int i = arrayOffset, j = arrayOffset + positionCount - 1; i < j; i++, j--) {
@@ -147,6 +147,15 @@ public interface Column {
    */
   Column subColumn(int fromIndex);
 
+  /**
+   * Returns a column made of the positions whose flag in {@code selection} is true, in their
+   * original order. The values are copied, so the result doesn't share arrays with this column.
+   *
+   * @param selection selection vector with at least {@link #getPositionCount()} flags
+   * @param selectedCount the number of true flags in {@code selection}
+   */
+  Column selectPositions(boolean[] selection, int selectedCount);
+
   /** reverse the column */
   void reverse();
 }
@@ -144,6 +144,23 @@ public class DoubleColumn implements Column {
         arrayOffset + fromIndex, positionCount - fromIndex, valueIsNull, values);
   }
 
+  @Override
+  public Column selectPositions(boolean[] selection, int selectedCount) {
+    double[] selectedValues = new double[selectedCount];
+    boolean[] selectedIsNull = valueIsNull == null ? null : new boolean[selectedCount];
+    int index = 0;
+    for (int i = 0; i < positionCount && index < selectedCount; i++) {
+      if (selection[i]) {
+        selectedValues[index] = values[i + arrayOffset];
+        if (selectedIsNull != null) {
+          selectedIsNull[index] = valueIsNull[i + arrayOffset];
+        }
+        index++;
+      }
+    }
+    return new DoubleColumn(0, selectedCount, selectedIsNull, selectedValues);
+  }
+
   @Override
   public void reverse() {
     for (int i = arrayOffset, j = arrayOffset + positionCount - 1; i < j; i++, j--) {
@@ -110,6 +110,11 @@ public class NullColumn implements Column {
     return new NullColumn(arrayOffset + fromIndex, positionCount - fromIndex);
   }
 
+  @Override
+  public Column selectPositions(boolean[] selection, int selectedCount) {
+    return new NullColumn(selectedCount);
+  }
+
   @Override
   public void reverse() {}
 
@@ -204,6 +204,11 @@ public class RunLengthEncodedColumn implements Column {
     return new RunLengthEncodedColumn(value, positionCount - fromIndex);
   }
 
+  @Override
+  public Column selectPositions(boolean[] selection, int selectedCount) {
+    return new RunLengthEncodedColumn(value, selectedCount);
+  }
+
   @Override
   public void reverse() {
     // do nothing because the underlying column has only one value
@@ -122,6 +122,18 @@ public class TimeColumn implements Column {
     return new TimeColumn(arrayOffset + fromIndex, positionCount - fromIndex, values);
   }
 
+  @Override
+  public Column selectPositions(boolean[] selection, int selectedCount) {
+    long[] selectedValues = new long[selectedCount];
+    int index = 0;
+    for (int i = 0; i < positionCount && index < selectedCount; i++) {
+      if (selection[i]) {
+        selectedValues[index++] = values[i + arrayOffset];
+      }
+    }
+    return new TimeColumn(0, selectedCount, selectedValues);
+  }
+
   @Override
   public void reverse() {
     for (int i = arrayOffset, j = arrayOffset + positionCount - 1; i < j; i++, j--) {
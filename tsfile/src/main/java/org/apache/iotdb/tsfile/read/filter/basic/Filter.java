@@ -20,7 +20,10 @@ package org.apache.iotdb.tsfile.read.filter.basic;
 
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
@@ -46,6 +49,38 @@ public interface Filter {
    */
   boolean satisfy(long time, Object value);
 
+  /**
+   * To examine which points of a batch are satisfied with the filter. Only the points whose flags
+   * in {@code selection} are true are examined, and the flags of the unsatisfied ones are cleared.
+   * The default implementation examines the points one by one, filters on hot paths override it
+   * with loops specialized for the data type of the column.
+   *
+   * @param timeColumn times of the points
+   * @param valueColumn values of the points, null if only the times are examined
+   * @param selection selection vector with at least {@code timeColumn.getPositionCount()} flags
+   */
+  default void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    int positionCount = timeColumn.getPositionCount();
+    for (int i = 0; i < positionCount; i++) {
+      if (selection[i]) {
+        Object value =
+            valueColumn == null || valueColumn.isNull(i) ? null : valueColumn.getObject(i);
+        selection[i] = satisfy(timeColumn.getLong(i), value);
+      }
+    }
+  }
+
+  /**
+   * To examine whether a chunk may have points satisfied with the filter by the bloom filter of its
+   * distinct values, which are added by their string forms. Only the equality filters on values can
+   * tell a chunk has no satisfied point, the others return true.
+   *
+   * @param valueBloomFilter bloom filter of the distinct values of a chunk
+   */
+  default boolean satisfyValueBloomFilter(BloomFilter valueBloomFilter) {
+    return true;
+  }
+
   /**
    * To examine whether the min time and max time are satisfied with the filter.
    *
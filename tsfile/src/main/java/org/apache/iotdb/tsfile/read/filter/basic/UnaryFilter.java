@@ -18,7 +18,10 @@
  */
 package org.apache.iotdb.tsfile.read.filter.basic;
 
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -58,6 +61,120 @@ public abstract class UnaryFilter<T extends Comparable<T>> implements Filter, Se
     return filterType;
   }
 
+  /**
+   * To examine whether a point is satisfied with the filter by comparing its value with the value
+   * of the filter.
+   *
+   * @param compareResult the result of comparing the point value with the filter value, in the
+   *     semantics of {@link Comparable#compareTo}
+   */
+  protected abstract boolean satisfyCompareResult(int compareResult);
+
+  /**
+   * The points are compared with primitive values in the loop of their data type, null values never
+   * satisfy a value filter.
+   */
+  @Override
+  public void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    int positionCount = timeColumn.getPositionCount();
+    if (filterType == FilterType.TIME_FILTER) {
+      long time = (Long) value;
+      for (int i = 0; i < positionCount; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Long.compare(timeColumn.getLong(i), time));
+        }
+      }
+      return;
+    }
+
+    boolean mayHaveNull = valueColumn.mayHaveNull();
+    switch (valueColumn.getDataType()) {
+      case INT32:
+        if (!(value instanceof Integer)) {
+          break;
+        }
+        int intValue = (Integer) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(Integer.compare(valueColumn.getInt(i), intValue));
+          }
+        }
+        return;
+      case INT64:
+        if (!(value instanceof Long)) {
+          break;
+        }
+        long longValue = (Long) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(Long.compare(valueColumn.getLong(i), longValue));
+          }
+        }
+        return;
+      case FLOAT:
+        if (!(value instanceof Float)) {
+          break;
+        }
+        float floatValue = (Float) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(Float.compare(valueColumn.getFloat(i), floatValue));
+          }
+        }
+        return;
+      case DOUBLE:
+        if (!(value instanceof Double)) {
+          break;
+        }
+        double doubleValue = (Double) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(Double.compare(valueColumn.getDouble(i), doubleValue));
+          }
+        }
+        return;
+      case BOOLEAN:
+        if (!(value instanceof Boolean)) {
+          break;
+        }
+        boolean booleanValue = (Boolean) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(
+                        Boolean.compare(valueColumn.getBoolean(i), booleanValue));
+          }
+        }
+        return;
+      case TEXT:
+        if (!(value instanceof Binary)) {
+          break;
+        }
+        Binary binaryValue = (Binary) value;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            selection[i] =
+                !(mayHaveNull && valueColumn.isNull(i))
+                    && satisfyCompareResult(valueColumn.getBinary(i).compareTo(binaryValue));
+          }
+        }
+        return;
+      default:
+        break;
+    }
+    // the value of the filter doesn't match the data type of the column
+    Filter.super.satisfy(timeColumn, valueColumn, selection);
+  }
+
   @Override
   public abstract String toString();
 
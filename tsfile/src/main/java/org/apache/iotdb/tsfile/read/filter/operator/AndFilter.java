@@ -20,9 +20,12 @@ package org.apache.iotdb.tsfile.read.filter.operator;
 
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +51,19 @@ public class AndFilter extends BinaryFilter {
     return left.satisfy(time, value) && right.satisfy(time, value);
   }
 
+  /** The right filter only examines the points that satisfy the left one. */
+  @Override
+  public void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    left.satisfy(timeColumn, valueColumn, selection);
+    right.satisfy(timeColumn, valueColumn, selection);
+  }
+
+  @Override
+  public boolean satisfyValueBloomFilter(BloomFilter valueBloomFilter) {
+    return left.satisfyValueBloomFilter(valueBloomFilter)
+        && right.satisfyValueBloomFilter(valueBloomFilter);
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     return left.satisfyStartEndTime(startTime, endTime)
@@ -21,9 +21,12 @@ package org.apache.iotdb.tsfile.read.filter.operator;
 
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -106,6 +109,116 @@ public class Between<T extends Comparable<T>> implements Filter {
     return (value1.compareTo((T) v) <= 0 && ((T) v).compareTo(value2) <= 0) ^ not;
   }
 
+  /**
+   * The points are compared with primitive bounds in the loop of their data type, null values never
+   * satisfy a value filter.
+   */
+  @Override
+  public void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    int positionCount = timeColumn.getPositionCount();
+    if (filterType == FilterType.TIME_FILTER) {
+      long time1 = (Long) value1, time2 = (Long) value2;
+      for (int i = 0; i < positionCount; i++) {
+        if (selection[i]) {
+          long time = timeColumn.getLong(i);
+          selection[i] = (time1 <= time && time <= time2) ^ not;
+        }
+      }
+      return;
+    }
+
+    boolean mayHaveNull = valueColumn.mayHaveNull();
+    switch (valueColumn.getDataType()) {
+      case INT32:
+        if (!(value1 instanceof Integer && value2 instanceof Integer)) {
+          break;
+        }
+        int intValue1 = (Integer) value1, intValue2 = (Integer) value2;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            if (mayHaveNull && valueColumn.isNull(i)) {
+              selection[i] = false;
+            } else {
+              int v = valueColumn.getInt(i);
+              selection[i] = (intValue1 <= v && v <= intValue2) ^ not;
+            }
+          }
+        }
+        return;
+      case INT64:
+        if (!(value1 instanceof Long && value2 instanceof Long)) {
+          break;
+        }
+        long longValue1 = (Long) value1, longValue2 = (Long) value2;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            if (mayHaveNull && valueColumn.isNull(i)) {
+              selection[i] = false;
+            } else {
+              long v = valueColumn.getLong(i);
+              selection[i] = (longValue1 <= v && v <= longValue2) ^ not;
+            }
+          }
+        }
+        return;
+      case FLOAT:
+        if (!(value1 instanceof Float && value2 instanceof Float)) {
+          break;
+        }
+        float floatValue1 = (Float) value1, floatValue2 = (Float) value2;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            if (mayHaveNull && valueColumn.isNull(i)) {
+              selection[i] = false;
+            } else {
+              float v = valueColumn.getFloat(i);
+              selection[i] =
+                  (Float.compare(floatValue1, v) <= 0 && Float.compare(v, floatValue2) <= 0) ^ not;
+            }
+          }
+        }
+        return;
+      case DOUBLE:
+        if (!(value1 instanceof Double && value2 instanceof Double)) {
+          break;
+        }
+        double doubleValue1 = (Double) value1, doubleValue2 = (Double) value2;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            if (mayHaveNull && valueColumn.isNull(i)) {
+              selection[i] = false;
+            } else {
+              double v = valueColumn.getDouble(i);
+              selection[i] =
+                  (Double.compare(doubleValue1, v) <= 0 && Double.compare(v, doubleValue2) <= 0)
+                      ^ not;
+            }
+          }
+        }
+        return;
+      case TEXT:
+        if (!(value1 instanceof Binary && value2 instanceof Binary)) {
+          break;
+        }
+        Binary binaryValue1 = (Binary) value1, binaryValue2 = (Binary) value2;
+        for (int i = 0; i < positionCount; i++) {
+          if (selection[i]) {
+            if (mayHaveNull && valueColumn.isNull(i)) {
+              selection[i] = false;
+            } else {
+              Binary v = valueColumn.getBinary(i);
+              selection[i] =
+                  (binaryValue1.compareTo(v) <= 0 && v.compareTo(binaryValue2) <= 0) ^ not;
+            }
+          }
+        }
+        return;
+      default:
+        break;
+    }
+    Filter.super.satisfy(timeColumn, valueColumn, selection);
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     if (filterType == FilterType.TIME_FILTER) {
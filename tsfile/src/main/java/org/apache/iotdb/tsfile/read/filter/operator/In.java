@@ -18,16 +18,21 @@
  */
 package org.apache.iotdb.tsfile.read.filter.operator;
 
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +53,12 @@ public class In<T extends Comparable<T>> implements Filter {
 
   protected FilterType filterType;
 
+  /**
+   * The values of the set in their primitive bits and sorted, so that a batch of primitive points
+   * can be looked up without boxing.
+   */
+  private transient volatile SortedKeys sortedKeys;
+
   public In() {}
 
   public In(Set<T> values, FilterType filterType, boolean not) {
@@ -67,6 +78,100 @@ public class In<T extends Comparable<T>> implements Filter {
     return this.values.contains(v) != not;
   }
 
+  @Override
+  public boolean satisfyValueBloomFilter(BloomFilter valueBloomFilter) {
+    if (filterType == FilterType.TIME_FILTER || not) {
+      return true;
+    }
+    for (T value : values) {
+      if (valueBloomFilter.contains(String.valueOf(value))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The points of time, INT32, INT64, FLOAT and DOUBLE are looked up in the sorted primitive keys,
+   * null values never satisfy a value filter.
+   */
+  @Override
+  public void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    int positionCount = timeColumn.getPositionCount();
+    if (filterType == FilterType.TIME_FILTER) {
+      long[] keys = getSortedKeys(TSDataType.INT64);
+      for (int i = 0; i < positionCount; i++) {
+        if (selection[i]) {
+          selection[i] = (Arrays.binarySearch(keys, timeColumn.getLong(i)) >= 0) != not;
+        }
+      }
+      return;
+    }
+
+    TSDataType dataType = valueColumn.getDataType();
+    if (dataType != TSDataType.INT32
+        && dataType != TSDataType.INT64
+        && dataType != TSDataType.FLOAT
+        && dataType != TSDataType.DOUBLE) {
+      Filter.super.satisfy(timeColumn, valueColumn, selection);
+      return;
+    }
+    long[] keys = getSortedKeys(dataType);
+    boolean mayHaveNull = valueColumn.mayHaveNull();
+    for (int i = 0; i < positionCount; i++) {
+      if (selection[i]) {
+        if (mayHaveNull && valueColumn.isNull(i)) {
+          selection[i] = false;
+          continue;
+        }
+        long key;
+        switch (dataType) {
+          case INT32:
+            key = valueColumn.getInt(i);
+            break;
+          case INT64:
+            key = valueColumn.getLong(i);
+            break;
+          case FLOAT:
+            key = Float.floatToIntBits(valueColumn.getFloat(i));
+            break;
+          default:
+            key = Double.doubleToLongBits(valueColumn.getDouble(i));
+            break;
+        }
+        selection[i] = (Arrays.binarySearch(keys, key) >= 0) != not;
+      }
+    }
+  }
+
+  /**
+   * Values of other classes are skipped because {@code values.contains} never returns true for
+   * them. The bits of float and double are consistent with their {@code equals}.
+   */
+  private long[] getSortedKeys(TSDataType dataType) {
+    SortedKeys cached = sortedKeys;
+    if (cached != null && cached.dataType == dataType) {
+      return cached.keys;
+    }
+    long[] keys = new long[values.size()];
+    int size = 0;
+    for (T value : values) {
+      if (dataType == TSDataType.INT32 && value instanceof Integer) {
+        keys[size++] = (Integer) value;
+      } else if (dataType == TSDataType.INT64 && value instanceof Long) {
+        keys[size++] = (Long) value;
+      } else if (dataType == TSDataType.FLOAT && value instanceof Float) {
+        keys[size++] = Float.floatToIntBits((Float) value);
+      } else if (dataType == TSDataType.DOUBLE && value instanceof Double) {
+        keys[size++] = Double.doubleToLongBits((Double) value);
+      }
+    }
+    keys = Arrays.copyOf(keys, size);
+    Arrays.sort(keys);
+    sortedKeys = new SortedKeys(dataType, keys);
+    return keys;
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     return true;
@@ -106,6 +211,7 @@ public class In<T extends Comparable<T>> implements Filter {
     for (int i = 0; i < size; i++) {
       values.add((T) ReadWriteIOUtils.readObject(buffer));
     }
+    sortedKeys = null;
   }
 
   @Override
@@ -131,4 +237,16 @@ public class In<T extends Comparable<T>> implements Filter {
   public Set<T> getValues() {
     return values;
   }
+
+  private static class SortedKeys {
+
+    private final TSDataType dataType;
+
+    private final long[] keys;
+
+    private SortedKeys(TSDataType dataType, long[] keys) {
+      this.dataType = dataType;
+      this.keys = keys;
+    }
+  }
 }
@@ -20,12 +20,16 @@ package org.apache.iotdb.tsfile.read.filter.operator;
 
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -60,6 +64,28 @@ public class OrFilter extends BinaryFilter implements Serializable {
     return left.satisfy(time, value) || right.satisfy(time, value);
   }
 
+  /** The right filter only examines the points that don't satisfy the left one. */
+  @Override
+  public void satisfy(TimeColumn timeColumn, Column valueColumn, boolean[] selection) {
+    int positionCount = timeColumn.getPositionCount();
+    boolean[] leftSelection = Arrays.copyOf(selection, positionCount);
+    left.satisfy(timeColumn, valueColumn, leftSelection);
+    boolean[] rightSelection = new boolean[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      rightSelection[i] = selection[i] & !leftSelection[i];
+    }
+    right.satisfy(timeColumn, valueColumn, rightSelection);
+    for (int i = 0; i < positionCount; i++) {
+      selection[i] = leftSelection[i] | rightSelection[i];
+    }
+  }
+
+  @Override
+  public boolean satisfyValueBloomFilter(BloomFilter valueBloomFilter) {
+    return left.satisfyValueBloomFilter(valueBloomFilter)
+        || right.satisfyValueBloomFilter(valueBloomFilter);
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     return left.satisfyStartEndTime(startTime, endTime)
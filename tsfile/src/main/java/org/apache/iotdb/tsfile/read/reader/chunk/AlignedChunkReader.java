@@ -114,6 +114,16 @@ public class AlignedChunkReader implements IChunkReader {
     initAllPageReaders(timeChunk.getChunkStatistic(), valueChunkStatisticsList);
   }
 
+  /**
+   * Set the value filter of a column for all pages of this chunk, see {@link
+   * AlignedPageReader#setValueFilter(int, Filter)}.
+   */
+  public void setValueFilter(int columnIndex, Filter valueFilter) {
+    for (IPageReader pageReader : pageReaderList) {
+      ((AlignedPageReader) pageReader).setValueFilter(columnIndex, valueFilter);
+    }
+  }
+
   /** construct all the page readers in this chunk */
   private void initAllPageReaders(
       Statistics timeChunkStatistics, List<Statistics> valueChunkStatisticsList)
@@ -406,4 +416,9 @@ public class AlignedChunkReader implements IChunkReader {
   public List<IPageReader> loadPageReaderList() {
     return pageReaderList;
   }
+
+  /** @return the headers of the value chunks, null if the value chunk doesn't exist */
+  public List<ChunkHeader> getValueChunkHeaderList() {
+    return valueChunkHeaderList;
+  }
 }
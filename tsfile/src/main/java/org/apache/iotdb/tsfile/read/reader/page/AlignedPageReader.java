@@ -27,6 +27,8 @@ import org.apache.iotdb.tsfile.read.common.BatchDataFactory;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.operator.AndFilter;
 import org.apache.iotdb.tsfile.read.reader.IAlignedPageReader;
@@ -40,7 +42,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AlignedPageReader implements IPageReader, IAlignedPageReader {
 
@@ -50,6 +54,8 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
   private final List<ValuePageReader> valuePageReaderList;
   private final int valueCount;
   private Filter filter;
+  // the index of the value column -> the value filter of it, null if there is no value filter
+  private Map<Integer, Filter> valueFilters;
   private boolean isModified;
   private TsBlockBuilder builder;
 
@@ -88,6 +94,9 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
   @Override
   public BatchData getAllSatisfiedPageData(boolean ascending) throws IOException {
     BatchData pageData = BatchDataFactory.createBatchData(TSDataType.VECTOR, ascending, false);
+    if (!valueFiltersSatisfy()) {
+      return pageData.flip();
+    }
     int timeIndex = -1;
     while (timePageReader.hasNextTime()) {
       long timestamp = timePageReader.nextTime();
@@ -106,16 +115,27 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
       }
       // Currently, if it's a value filter, it will only accept AlignedPath with only one sub
       // sensor
-      if (!isNull && (filter == null || filter.satisfy(timestamp, notNullObject))) {
+      if (!isNull
+          && (filter == null || filter.satisfy(timestamp, notNullObject))
+          && valueFiltersSatisfy(timestamp, v)) {
         pageData.putVector(timestamp, v);
       }
     }
     return pageData.flip();
   }
 
+  /**
+   * The time column and the columns of the value filters are decoded first to select the rows, and
+   * the other value columns are only decoded until the last selected row. If no row is selected,
+   * the other value columns aren't decoded at all.
+   */
   @Override
   public TsBlock getAllSatisfiedData() throws IOException {
     builder.reset();
+    if (!valueFiltersSatisfy()) {
+      // no row of this page can be selected, skip it without decoding
+      return builder.build();
+    }
     long[] timeBatch = timePageReader.getNextTimeBatch();
 
     // if all the sub sensors' value are null in current row, just discard it
@@ -167,24 +187,66 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
       }
     }
 
+    // decode the columns of the value filters, and discard the rows not satisfying them
+    Column[] filteredColumns = new Column[valueCount];
+    if (valueFilters != null) {
+      boolean[] decodeAllRows = new boolean[timeBatch.length];
+      Arrays.fill(decodeAllRows, true);
+      for (Map.Entry<Integer, Filter> entry : valueFilters.entrySet()) {
+        int columnIndex = entry.getKey();
+        Filter valueFilter = entry.getValue();
+        ColumnBuilder columnBuilder =
+            builder.getColumnBuilder(columnIndex).newColumnBuilderLike(null);
+        valuePageReaderList
+            .get(columnIndex)
+            .writeColumnBuilderWithNextBatch(
+                timeBatch, columnBuilder, decodeAllRows, isDeleted[columnIndex]);
+        Column column = columnBuilder.build();
+        for (int i = 0, n = timeBatch.length; i < n; i++) {
+          keepCurrentRow[i] =
+              keepCurrentRow[i]
+                  && !column.isNull(i)
+                  && valueFilter.satisfy(timeBatch[i], column.getObject(i));
+        }
+        filteredColumns[columnIndex] = column;
+      }
+    }
+
     // construct time column
+    int endIndex = 0;
     for (int i = 0; i < timeBatch.length; i++) {
       if (keepCurrentRow[i]) {
         builder.getTimeColumnBuilder().writeLong(timeBatch[i]);
         builder.declarePosition();
+        endIndex = i + 1;
       }
     }
+    if (endIndex == 0) {
+      return builder.build();
+    }
 
-    // construct value columns
+    // construct value columns, the rows after the last kept one needn't be decoded
     for (int i = 0; i < valueCount; i++) {
       ValuePageReader pageReader = valuePageReaderList.get(i);
-      if (pageReader != null) {
+      ColumnBuilder columnBuilder = builder.getColumnBuilder(i);
+      if (filteredColumns[i] != null) {
+        Column column = filteredColumns[i];
+        for (int j = 0; j < endIndex; j++) {
+          if (keepCurrentRow[j]) {
+            if (column.isNull(j)) {
+              columnBuilder.appendNull();
+            } else {
+              columnBuilder.write(column, j);
+            }
+          }
+        }
+      } else if (pageReader != null) {
         pageReader.writeColumnBuilderWithNextBatch(
-            timeBatch, builder.getColumnBuilder(i), keepCurrentRow, isDeleted[i]);
+            timeBatch, columnBuilder, keepCurrentRow, isDeleted[i], endIndex);
       } else {
-        for (int j = 0; j < timeBatch.length; j++) {
+        for (int j = 0; j < endIndex; j++) {
           if (keepCurrentRow[j]) {
-            builder.getColumnBuilder(i).appendNull();
+            columnBuilder.appendNull();
           }
         }
       }
@@ -192,6 +254,55 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
     return builder.build();
   }
 
+  /**
+   * Check the value filters with the statistics of their columns.
+   *
+   * @return false if no row of this page can satisfy the value filters
+   */
+  private boolean valueFiltersSatisfy() {
+    if (valueFilters == null) {
+      return true;
+    }
+    for (Map.Entry<Integer, Filter> entry : valueFilters.entrySet()) {
+      ValuePageReader pageReader = valuePageReaderList.get(entry.getKey());
+      // all values of the column are null in this page
+      if (pageReader == null) {
+        return false;
+      }
+      Statistics statistics = pageReader.getStatistics();
+      if (statistics != null && !entry.getValue().satisfy(statistics)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean valueFiltersSatisfy(long timestamp, TsPrimitiveType[] values) {
+    if (valueFilters == null) {
+      return true;
+    }
+    for (Map.Entry<Integer, Filter> entry : valueFilters.entrySet()) {
+      TsPrimitiveType value = values[entry.getKey()];
+      if (value == null || !entry.getValue().satisfy(timestamp, value.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Set the value filter of a column, the rows whose value of the column is null or doesn't satisfy
+   * the filter are discarded.
+   *
+   * @param columnIndex the index of the column in the value columns of this page
+   */
+  public void setValueFilter(int columnIndex, Filter valueFilter) {
+    if (valueFilters == null) {
+      valueFilters = new HashMap<>();
+    }
+    valueFilters.merge(columnIndex, valueFilter, AndFilter::new);
+  }
+
   public void setDeleteIntervalList(List<List<TimeRange>> list) {
     for (int i = 0; i < valueCount; i++) {
       if (valuePageReaderList.get(i) != null) {
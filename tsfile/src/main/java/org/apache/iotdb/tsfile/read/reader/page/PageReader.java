@@ -29,6 +29,7 @@ import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.operator.AndFilter;
@@ -163,79 +164,72 @@ public class PageReader implements IPageReader {
     TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(dataType));
     TimeColumnBuilder timeBuilder = builder.getTimeColumnBuilder();
     ColumnBuilder valueBuilder = builder.getColumnBuilder(0);
-    if (filter == null || filter.satisfy(getStatistics())) {
-      switch (dataType) {
-        case BOOLEAN:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBoolean))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeBoolean(aBoolean);
-              builder.declarePosition();
-            }
-          }
-          break;
-        case INT32:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            int anInt = valueDecoder.readInt(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, anInt))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeInt(anInt);
-              builder.declarePosition();
-            }
-          }
-          break;
-        case INT64:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            long aLong = valueDecoder.readLong(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aLong))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeLong(aLong);
-              builder.declarePosition();
-            }
-          }
-          break;
-        case FLOAT:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            float aFloat = valueDecoder.readFloat(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aFloat))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeFloat(aFloat);
-              builder.declarePosition();
-            }
-          }
-          break;
-        case DOUBLE:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            double aDouble = valueDecoder.readDouble(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aDouble))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeDouble(aDouble);
-              builder.declarePosition();
-            }
-          }
-          break;
-        case TEXT:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            Binary aBinary = valueDecoder.readBinary(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBinary))) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeBinary(aBinary);
-              builder.declarePosition();
-            }
-          }
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
-      }
+    if (filter != null && !filter.satisfy(getStatistics())) {
+      return builder.build();
+    }
+
+    // decode the whole page first, then evaluate the filter over the columns in one pass
+    switch (dataType) {
+      case BOOLEAN:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeBoolean(valueDecoder.readBoolean(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      case INT32:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeInt(valueDecoder.readInt(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      case INT64:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeLong(valueDecoder.readLong(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      case FLOAT:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeFloat(valueDecoder.readFloat(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      case DOUBLE:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeDouble(valueDecoder.readDouble(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      case TEXT:
+        while (timeDecoder.hasNext(timeBuffer)) {
+          timeBuilder.writeLong(timeDecoder.readLong(timeBuffer));
+          valueBuilder.writeBinary(valueDecoder.readBinary(valueBuffer));
+          builder.declarePosition();
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+    TsBlock tsBlock = builder.build();
+    if (filter == null && (deleteIntervalList == null || deleteIntervalList.isEmpty())) {
+      return tsBlock;
+    }
+
+    TimeColumn timeColumn = tsBlock.getTimeColumn();
+    int positionCount = tsBlock.getPositionCount();
+    boolean[] selection = new boolean[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      selection[i] = !isDeleted(timeColumn.getLong(i));
+    }
+    if (filter != null) {
+      filter.satisfy(timeColumn, tsBlock.getColumn(0), selection);
     }
-    return builder.build();
+    return tsBlock.selectPositions(selection);
   }
 
   @Override
@@ -246,15 +246,29 @@ public class ValuePageReader {
       ColumnBuilder columnBuilder,
       boolean[] keepCurrentRow,
       boolean[] isDeleted) {
+    writeColumnBuilderWithNextBatch(
+        timeBatch, columnBuilder, keepCurrentRow, isDeleted, timeBatch.length);
+  }
+
+  /**
+   * Only decode the values of the first endIndex rows, the rows after them mustn't be kept. The
+   * values after them are left in the page, so this page can't be read any more.
+   */
+  public void writeColumnBuilderWithNextBatch(
+      long[] timeBatch,
+      ColumnBuilder columnBuilder,
+      boolean[] keepCurrentRow,
+      boolean[] isDeleted,
+      int endIndex) {
     if (valueBuffer == null) {
-      for (int i = 0, n = timeBatch.length; i < n; i++) {
+      for (int i = 0; i < endIndex; i++) {
         if (keepCurrentRow[i]) {
           columnBuilder.appendNull();
         }
       }
       return;
     }
-    for (int i = 0, n = timeBatch.length; i < n; i++) {
+    for (int i = 0; i < endIndex; i++) {
       if (((bitmap[i / 8] & 0xFF) & (MASK >>> (i % 8))) == 0) {
         if (keepCurrentRow[i]) {
           columnBuilder.appendNull();
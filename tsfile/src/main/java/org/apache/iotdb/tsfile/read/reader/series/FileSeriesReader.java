@@ -61,6 +61,9 @@ public class FileSeriesReader extends AbstractFileSeriesReader {
 
   @Override
   protected boolean chunkSatisfied(IChunkMetadata chunkMetaData) {
-    return filter == null || filter.satisfy(chunkMetaData.getStatistics());
+    return filter == null
+        || (filter.satisfy(chunkMetaData.getStatistics())
+            && (chunkMetaData.getValueBloomFilter() == null
+                || filter.satisfyValueBloomFilter(chunkMetaData.getValueBloomFilter())));
   }
 }
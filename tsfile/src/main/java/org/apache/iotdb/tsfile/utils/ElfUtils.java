@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+/**
+ * ElfUtils erases and restores the trailing bits of the mantissa of float and double values for ELF
+ * encoding, see "Elf: Erasing-based Lossless Floating-Point Compression" (VLDB 2023).
+ *
+ * <p>A value with α decimal places keeps its value after erasing the mantissa bits beyond the
+ * ⌈α·log2(10)⌉-th bit after the binary point, since the error is less than 10^-α. It is restored by
+ * rounding it away from zero to α decimal places. The value isn't erased if the restored one isn't
+ * exactly the original value, so the encoding is always lossless.
+ */
+public class ElfUtils {
+
+  /** The max number of decimal places, which is stored with 4 bits. */
+  public static final int MAX_DECIMAL_PLACES = 15;
+
+  public static final int DECIMAL_PLACES_BITS_LENGTH = 4;
+
+  // erasing fewer bits doesn't pay for the flag bits
+  private static final int MIN_ERASED_BITS = 5;
+
+  // the integers whose absolute value is less than it are exact in double
+  private static final double MAX_EXACT_INTEGER = 9007199254740992d;
+
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+  };
+
+  // the number of mantissa bits after the binary point needed by the decimal places, which is
+  // ⌈decimal places * log2(10)⌉
+  private static final int[] MANTISSA_BITS = new int[MAX_DECIMAL_PLACES + 1];
+
+  static {
+    double log2Of10 = Math.log(10) / Math.log(2);
+    for (int i = 0; i <= MAX_DECIMAL_PLACES; i++) {
+      MANTISSA_BITS[i] = (int) Math.ceil(i * log2Of10);
+    }
+  }
+
+  private ElfUtils() {}
+
+  /**
+   * @return the number of decimal places of the shortest decimal that is read as the value, -1 if
+   *     it's more than {@link #MAX_DECIMAL_PLACES}, or the value isn't finite
+   */
+  public static int getDecimalPlaces(double value) {
+    for (int i = 0; i <= MAX_DECIMAL_PLACES; i++) {
+      double scaled = value * POWERS_OF_TEN[i];
+      if (!(Math.abs(scaled) < MAX_EXACT_INTEGER)) {
+        return -1;
+      }
+      if (Math.rint(scaled) / POWERS_OF_TEN[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** @see #getDecimalPlaces(double) */
+  public static int getDecimalPlaces(float value) {
+    for (int i = 0; i <= MAX_DECIMAL_PLACES; i++) {
+      double scaled = value * POWERS_OF_TEN[i];
+      if (!(Math.abs(scaled) < MAX_EXACT_INTEGER)) {
+        return -1;
+      }
+      if ((float) (Math.rint(scaled) / POWERS_OF_TEN[i]) == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Erase the trailing mantissa bits of a double value with the given decimal places.
+   *
+   * @param bits the raw bits of the value
+   * @return the raw bits of the erased value, or the given bits if it can't be erased
+   */
+  public static long erase(long bits, int decimalPlaces) {
+    int exponent = (int) ((bits >>> 52) & 0x7ff);
+    // zero, subnormal, infinite and NaN values aren't erased
+    if (exponent == 0 || exponent == 0x7ff) {
+      return bits;
+    }
+    int erasedBits = 52 - (MANTISSA_BITS[decimalPlaces] + exponent - 1023);
+    if (erasedBits < MIN_ERASED_BITS || erasedBits > 52) {
+      return bits;
+    }
+    long erased = bits & (-1L << erasedBits);
+    if (erased == bits || restore(erased, decimalPlaces) != bits) {
+      return bits;
+    }
+    return erased;
+  }
+
+  /** @see #erase(long, int) */
+  public static int erase(int bits, int decimalPlaces) {
+    int exponent = (bits >>> 23) & 0xff;
+    // zero, subnormal, infinite and NaN values aren't erased
+    if (exponent == 0 || exponent == 0xff) {
+      return bits;
+    }
+    int erasedBits = 23 - (MANTISSA_BITS[decimalPlaces] + exponent - 127);
+    if (erasedBits < MIN_ERASED_BITS || erasedBits > 23) {
+      return bits;
+    }
+    int erased = bits & (-1 << erasedBits);
+    if (erased == bits || restore(erased, decimalPlaces) != bits) {
+      return bits;
+    }
+    return erased;
+  }
+
+  /**
+   * Restore an erased double value.
+   *
+   * @param erasedBits the raw bits of the erased value
+   * @return the raw bits of the original value
+   */
+  public static long restore(long erasedBits, int decimalPlaces) {
+    return Double.doubleToRawLongBits(
+        roundUp(Double.longBitsToDouble(erasedBits), POWERS_OF_TEN[decimalPlaces]));
+  }
+
+  /** @see #restore(long, int) */
+  public static int restore(int erasedBits, int decimalPlaces) {
+    return Float.floatToRawIntBits(
+        (float) roundUp(Float.intBitsToFloat(erasedBits), POWERS_OF_TEN[decimalPlaces]));
+  }
+
+  /** Round the erased value away from zero, whose absolute value is less than the original one. */
+  private static double roundUp(double erased, double scale) {
+    return erased < 0 ? Math.floor(erased * scale) / scale : Math.ceil(erased * scale) / scale;
+  }
+}
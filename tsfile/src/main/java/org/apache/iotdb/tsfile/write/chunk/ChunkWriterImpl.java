@@ -20,13 +20,17 @@ package org.apache.iotdb.tsfile.write.chunk;
 
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.encoding.encoder.AutoEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.encoding.encoder.SDTEncoder;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -41,6 +45,8 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
+import java.util.HashSet;
+import java.util.Set;
 
 public class ChunkWriterImpl implements IChunkWriter {
 
@@ -58,6 +64,9 @@ public class ChunkWriterImpl implements IChunkWriter {
   /** write data into current page */
   private PageWriter pageWriter;
 
+  /** the encoder of values, which selects the encoding of each chunk if the encoding is AUTO */
+  private final Encoder valueEncoder;
+
   /** page size threshold. */
   private final long pageSizeThreshold;
 
@@ -92,6 +101,15 @@ public class ChunkWriterImpl implements IChunkWriter {
 
   private Statistics<?> firstPageStatistics;
 
+  /** the maximum number of distinct values of a chunk to build its value bloom filter */
+  private final int maxDistinctValueCount;
+
+  /**
+   * distinct values of the current chunk to build its value bloom filter, null if the chunk has
+   * none
+   */
+  private Set<Object> distinctValues;
+
   /** @param schema schema of this measurement */
   public ChunkWriterImpl(IMeasurementSchema schema) {
     this.measurementSchema = schema;
@@ -109,11 +127,16 @@ public class ChunkWriterImpl implements IChunkWriter {
 
     this.pageWriter = new PageWriter(measurementSchema);
 
+    this.valueEncoder = measurementSchema.getValueEncoder();
     this.pageWriter.setTimeEncoder(measurementSchema.getTimeEncoder());
-    this.pageWriter.setValueEncoder(measurementSchema.getValueEncoder());
+    this.pageWriter.setValueEncoder(valueEncoder);
 
     // check if the measurement schema uses SDT
     checkSdtEncoding();
+
+    this.maxDistinctValueCount =
+        TSFileDescriptor.getInstance().getConfig().getValueBloomFilterMaxDistinctCount();
+    resetDistinctValues();
   }
 
   public ChunkWriterImpl(IMeasurementSchema schema, boolean isMerging) {
@@ -146,6 +169,9 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long time, long value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     // store last point for sdtEncoding, it still needs to go through encoding process
     // in case it exceeds compdev and needs to store second last point
     if (!isSdtEncoding || sdtEncoder.encodeLong(time, value)) {
@@ -160,6 +186,9 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long time, int value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     if (!isSdtEncoding || sdtEncoder.encodeInt(time, value)) {
       pageWriter.write(
           isSdtEncoding ? sdtEncoder.getTime() : time,
@@ -172,11 +201,17 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long time, boolean value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     pageWriter.write(time, value);
     checkPageSizeAndMayOpenANewPage();
   }
 
   public void write(long time, float value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     if (!isSdtEncoding || sdtEncoder.encodeFloat(time, value)) {
       pageWriter.write(
           isSdtEncoding ? sdtEncoder.getTime() : time,
@@ -190,6 +225,9 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long time, double value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     if (!isSdtEncoding || sdtEncoder.encodeDouble(time, value)) {
       pageWriter.write(
           isSdtEncoding ? sdtEncoder.getTime() : time,
@@ -202,11 +240,19 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long time, Binary value) {
+    if (distinctValues != null) {
+      collectValue(value);
+    }
     pageWriter.write(time, value);
     checkPageSizeAndMayOpenANewPage();
   }
 
   public void write(long[] timestamps, int[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     if (isSdtEncoding) {
       batchSize = sdtEncoder.encode(timestamps, values, batchSize);
     }
@@ -215,6 +261,11 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long[] timestamps, long[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     if (isSdtEncoding) {
       batchSize = sdtEncoder.encode(timestamps, values, batchSize);
     }
@@ -223,11 +274,21 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long[] timestamps, boolean[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     pageWriter.write(timestamps, values, batchSize);
     checkPageSizeAndMayOpenANewPage();
   }
 
   public void write(long[] timestamps, float[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     if (isSdtEncoding) {
       batchSize = sdtEncoder.encode(timestamps, values, batchSize);
     }
@@ -236,6 +297,11 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long[] timestamps, double[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     if (isSdtEncoding) {
       batchSize = sdtEncoder.encode(timestamps, values, batchSize);
     }
@@ -244,10 +310,42 @@ public class ChunkWriterImpl implements IChunkWriter {
   }
 
   public void write(long[] timestamps, Binary[] values, int batchSize) {
+    if (distinctValues != null) {
+      for (int i = 0; i < batchSize; i++) {
+        collectValue(values[i]);
+      }
+    }
     pageWriter.write(timestamps, values, batchSize);
     checkPageSizeAndMayOpenANewPage();
   }
 
+  /**
+   * The value bloom filters are not built for SDT encoding since it does not keep the written
+   * values.
+   */
+  private void resetDistinctValues() {
+    distinctValues = maxDistinctValueCount > 0 && !isSdtEncoding ? new HashSet<>() : null;
+  }
+
+  private void collectValue(Object value) {
+    if (distinctValues.add(value) && distinctValues.size() > maxDistinctValueCount) {
+      // too many distinct values for the bloom filter to skip the chunk
+      distinctValues = null;
+    }
+  }
+
+  private BloomFilter buildValueBloomFilter() {
+    BloomFilter bloomFilter =
+        BloomFilter.getEmptyBloomFilter(
+            TSFileDescriptor.getInstance().getConfig().getBloomFilterErrorRate(),
+            distinctValues.size());
+    // the values are added by their string forms, which are the same for the equal values
+    for (Object value : distinctValues) {
+      bloomFilter.add(String.valueOf(value));
+    }
+    return bloomFilter;
+  }
+
   /**
    * check occupied memory size, if it exceeds the PageSize threshold, construct a page and put it
    * to pageBuffer
@@ -317,6 +415,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     sizeWithoutStatistic = 0;
     firstPageStatistics = null;
     this.statistics = Statistics.getStatsByType(measurementSchema.getType());
+    resetDistinctValues();
+    if (measurementSchema.getEncodingType() == TSEncoding.AUTO) {
+      // select the encoding of the next chunk by its own values
+      ((AutoEncoder) valueEncoder).reset();
+    }
   }
 
   @Override
@@ -374,12 +477,31 @@ public class ChunkWriterImpl implements IChunkWriter {
     return measurementSchema.getType();
   }
 
+  /**
+   * Get the encoding of the current chunk. If the encoding is AUTO, it is selected when the first
+   * page is sealed, and PLAIN is returned before that since no value has been encoded.
+   */
+  public TSEncoding getEncodingType() {
+    TSEncoding encoding = valueEncoder.getType();
+    return encoding == TSEncoding.AUTO ? TSEncoding.PLAIN : encoding;
+  }
+
+  /**
+   * Whether the pages encoded by the given encoding can be written into the current chunk directly,
+   * which is false before the encoding of the chunk is selected if the encoding is AUTO.
+   */
+  public boolean isEncodedBy(TSEncoding encoding) {
+    return valueEncoder.getType() == encoding;
+  }
+
   /**
    * write the page header and data into the PageWriter's output stream. @NOTE: for upgrading
    * 0.11/v2 to 0.12/v3 TsFile
    */
   public void writePageHeaderAndDataIntoBuff(ByteBuffer data, PageHeader header)
       throws PageException {
+    // the values of the page are not known, so the chunk has no value bloom filter
+    distinctValues = null;
     // write the page header to pageBuffer
     try {
       logger.debug(
@@ -444,11 +566,14 @@ public class ChunkWriterImpl implements IChunkWriter {
         measurementSchema.getMeasurementId(),
         compressor.getType(),
         measurementSchema.getType(),
-        measurementSchema.getEncodingType(),
+        getEncodingType(),
         statistics,
         pageBuffer.size(),
         numOfPages,
         0);
+    if (distinctValues != null) {
+      writer.setCurrentChunkValueBloomFilter(buildValueBloomFilter());
+    }
 
     long dataOffset = writer.getPos();
 
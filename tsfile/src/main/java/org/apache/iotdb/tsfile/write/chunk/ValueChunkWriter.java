@@ -21,6 +21,7 @@ package org.apache.iotdb.tsfile.write.chunk;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.encoding.encoder.AutoEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
@@ -52,6 +53,9 @@ public class ValueChunkWriter {
 
   private final TSEncoding encodingType;
 
+  /** the encoder of values, which selects the encoding of each chunk if the encoding is AUTO */
+  private final Encoder valueEncoder;
+
   private final TSDataType dataType;
 
   private final CompressionType compressionType;
@@ -91,6 +95,7 @@ public class ValueChunkWriter {
       Encoder valueEncoder) {
     this.measurementId = measurementId;
     this.encodingType = encodingType;
+    this.valueEncoder = valueEncoder;
     this.dataType = dataType;
     this.compressionType = compressionType;
     this.pageBuffer = new PublicBAOS();
@@ -262,6 +267,10 @@ public class ValueChunkWriter {
     sizeWithoutStatistic = 0;
     firstPageStatistics = null;
     this.statistics = Statistics.getStatsByType(dataType);
+    if (encodingType == TSEncoding.AUTO) {
+      // select the encoding of the next chunk by its own values
+      ((AutoEncoder) valueEncoder).reset();
+    }
   }
 
   public long estimateMaxSeriesMemSize() {
@@ -356,7 +365,7 @@ public class ValueChunkWriter {
           measurementId,
           compressionType,
           dataType,
-          encodingType,
+          getEncodingType(),
           statistics,
           0,
           0,
@@ -370,7 +379,7 @@ public class ValueChunkWriter {
         measurementId,
         compressionType,
         dataType,
-        encodingType,
+        getEncodingType(),
         statistics,
         pageBuffer.size(),
         numOfPages,
@@ -398,8 +407,21 @@ public class ValueChunkWriter {
     return measurementId;
   }
 
+  /**
+   * Get the encoding of the current chunk. If the encoding is AUTO, it is selected when the first
+   * page with values is sealed, and PLAIN is returned before that since no value has been encoded.
+   */
   public TSEncoding getEncodingType() {
-    return encodingType;
+    TSEncoding encoding = valueEncoder.getType();
+    return encoding == TSEncoding.AUTO ? TSEncoding.PLAIN : encoding;
+  }
+
+  /**
+   * Whether the pages encoded by the given encoding can be written into the current chunk directly,
+   * which is false before the encoding of the chunk is selected if the encoding is AUTO.
+   */
+  public boolean isEncodedBy(TSEncoding encoding) {
+    return valueEncoder.getType() == encoding;
   }
 
   public CompressionType getCompressionType() {
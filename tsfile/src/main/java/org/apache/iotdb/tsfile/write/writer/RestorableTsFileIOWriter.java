@@ -122,6 +122,8 @@ public class RestorableTsFileIOWriter extends TsFileIOWriter {
         } else {
           crashed = true;
           canWrite = true;
+          // keep writing in the version of the file
+          versionNumber = reader.readVersionNumber();
           // remove broken data
           if (truncate) {
             out.truncate(truncatedSize);
@@ -74,19 +74,19 @@ import static org.apache.iotdb.tsfile.file.metadata.MetadataIndexConstructor.gen
 public class TsFileIOWriter implements AutoCloseable {
 
   protected static final byte[] MAGIC_STRING_BYTES;
-  public static final byte VERSION_NUMBER_BYTE;
   protected static final TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
   private static final Logger logger = LoggerFactory.getLogger(TsFileIOWriter.class);
   private static final Logger resourceLogger = LoggerFactory.getLogger("FileMonitor");
 
   static {
     MAGIC_STRING_BYTES = BytesUtils.stringToBytes(TSFileConfig.MAGIC_STRING);
-    VERSION_NUMBER_BYTE = TSFileConfig.VERSION_NUMBER;
   }
 
   protected TsFileOutput out;
   protected boolean canWrite = true;
   protected File file;
+  // the version in the head of the file, value bloom filters are only written since version 4
+  protected byte versionNumber = TSFileConfig.VERSION_NUMBER;
 
   // current flushed Chunk
   protected ChunkMetadata currentChunkMetadata;
@@ -171,8 +171,14 @@ public class TsFileIOWriter implements AutoCloseable {
   }
 
   protected void startFile() throws IOException {
+    // the files with value bloom filters are not written in version 3, so that the readers of
+    // version 3 reject them instead of misparsing their chunk metadata
+    versionNumber =
+        config.getValueBloomFilterMaxDistinctCount() > 0
+            ? TSFileConfig.VERSION_NUMBER_WITH_VALUE_BLOOM_FILTER
+            : TSFileConfig.VERSION_NUMBER;
     out.write(MAGIC_STRING_BYTES);
-    out.write(VERSION_NUMBER_BYTE);
+    out.write(versionNumber);
   }
 
   public int startChunkGroup(String deviceId) throws IOException {
@@ -256,6 +262,7 @@ public class TsFileIOWriter implements AutoCloseable {
             chunkHeader.getDataType(),
             out.getPosition(),
             chunkMetadata.getStatistics());
+    setCurrentChunkValueBloomFilter(chunkMetadata.getValueBloomFilter());
     chunkHeader.serializeTo(out.wrapAsStream());
     out.write(chunk.getData());
     endCurrentChunk();
@@ -304,6 +311,13 @@ public class TsFileIOWriter implements AutoCloseable {
     endCurrentChunk();
   }
 
+  /** Set the bloom filter of the distinct values of the chunk being flushed. */
+  public void setCurrentChunkValueBloomFilter(BloomFilter valueBloomFilter) {
+    if (versionNumber == TSFileConfig.VERSION_NUMBER_WITH_VALUE_BLOOM_FILTER) {
+      currentChunkMetadata.setValueBloomFilter(valueBloomFilter);
+    }
+  }
+
   /** end chunk and write some log. */
   public void endCurrentChunk() {
     if (enableMemoryControl) {
@@ -706,7 +720,7 @@ public class TsFileIOWriter implements AutoCloseable {
     PublicBAOS buffer = new PublicBAOS();
     int totalSize = 0;
     for (IChunkMetadata chunkMetadata : iChunkMetadataList) {
-      totalSize += chunkMetadata.serializeTo(buffer, true);
+      totalSize += chunkMetadata.serializeTo(buffer, true, true);
     }
     ReadWriteIOUtils.write(totalSize, tempOutput.wrapAsStream());
     buffer.writeTo(tempOutput);
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding;
+
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compression benchmark of the encodings of DOUBLE series. Encode the generated datasets with each
+ * encoding in pages of pageSize points, and print the compressed size and the encoding and decoding
+ * time. The datasets are generated with a fixed seed, so the sizes are reproducible.
+ *
+ * <p>Note that TS_2DIFF and RLE keep only max_point_number decimal places of the values, so they
+ * are lossy for the datasets with more decimal places, which can be told by the checksums.
+ */
+public class EncodingBenchmark {
+
+  private static final TSEncoding[] ENCODINGS = {
+    TSEncoding.GORILLA, TSEncoding.CHIMP, TSEncoding.ELF, TSEncoding.TS_2DIFF, TSEncoding.RLE
+  };
+
+  private static int pointNum = 1_000_000;
+  private static int pageSize = 10_000;
+  private static int numOfRound = 5;
+
+  public static void main(String[] args) throws IOException {
+    Map<String, double[]> datasets = generateDatasets();
+    for (Map.Entry<String, double[]> dataset : datasets.entrySet()) {
+      for (TSEncoding encoding : ENCODINGS) {
+        run(dataset.getKey(), dataset.getValue(), encoding);
+      }
+    }
+  }
+
+  private static Map<String, double[]> generateDatasets() {
+    Random random = new Random(0);
+    Map<String, double[]> datasets = new LinkedHashMap<>();
+
+    // temperature like readings with 2 decimal places
+    double[] randomWalk = new double[pointNum];
+    long value = 2000;
+    for (int i = 0; i < pointNum; i++) {
+      value += random.nextInt(11) - 5;
+      randomWalk[i] = value / 100.0;
+    }
+    datasets.put("random walk (2 decimals)", randomWalk);
+
+    // a sampled signal, whose values have the full precision
+    double[] sine = new double[pointNum];
+    for (int i = 0; i < pointNum; i++) {
+      sine[i] = 100 * Math.sin(i / 100.0) + random.nextGaussian();
+    }
+    datasets.put("sine wave with noise", sine);
+
+    // a sensor reporting a few states, with 1 decimal place
+    double[] steps = new double[pointNum];
+    double step = 0;
+    for (int i = 0; i < pointNum; i++) {
+      if (random.nextInt(100) == 0) {
+        step = random.nextInt(100) / 10.0;
+      }
+      steps[i] = step;
+    }
+    datasets.put("steps (1 decimal)", steps);
+
+    // prices with 4 decimal places
+    double[] prices = new double[pointNum];
+    long price = 1_000_000;
+    for (int i = 0; i < pointNum; i++) {
+      price += Math.round(random.nextGaussian() * 20);
+      prices[i] = price / 10000.0;
+    }
+    datasets.put("prices (4 decimals)", prices);
+    return datasets;
+  }
+
+  private static void run(String datasetName, double[] values, TSEncoding encoding)
+      throws IOException {
+    int size = 0;
+    long encodeTime = 0;
+    long decodeTime = 0;
+    double checksum = 0;
+    for (int round = 0; round < numOfRound; round++) {
+      Encoder encoder =
+          TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(TSDataType.DOUBLE);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      long startTime = System.nanoTime();
+      for (int i = 0; i < values.length; i++) {
+        encoder.encode(values[i], out);
+        if ((i + 1) % pageSize == 0 || i == values.length - 1) {
+          encoder.flush(out);
+        }
+      }
+      encodeTime += System.nanoTime() - startTime;
+      size = out.size();
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      startTime = System.nanoTime();
+      // the pages are decoded one by one like reading a chunk
+      for (int i = 0; i < values.length; i += pageSize) {
+        Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.DOUBLE);
+        for (int j = i; j < Math.min(i + pageSize, values.length); j++) {
+          decoder.hasNext(buffer);
+          checksum += decoder.readDouble(buffer);
+        }
+      }
+      decodeTime += System.nanoTime() - startTime;
+    }
+    System.out.println(
+        String.format(
+            "%-26s %-9s size: %9d bytes (%5.2f bits/point), "
+                + "encode: %6.1f ns/point, decode: %6.1f ns/point, checksum: %.2f",
+            datasetName,
+            encoding,
+            size,
+            size * 8.0 / values.length,
+            (double) encodeTime / numOfRound / values.length,
+            (double) decodeTime / numOfRound / values.length,
+            checksum / numOfRound));
+  }
+}
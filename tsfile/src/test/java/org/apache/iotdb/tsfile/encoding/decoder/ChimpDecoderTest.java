@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.encoding.encoder.DoubleChimpEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FloatChimpEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.IntChimpEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.LongChimpEncoder;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChimpDecoderTest {
+
+  private static final int REPEAT_COUNT = 3;
+
+  @Test
+  public void testIntSingleValue() throws IOException {
+    testInt(new int[] {777});
+  }
+
+  @Test
+  public void testInt() throws IOException {
+    Random random = new Random(1);
+    int[] values = new int[2000];
+    int value = 0;
+    for (int i = 0; i < values.length; i++) {
+      // repeated values, small deltas, values seen before and random values
+      switch (i % 4) {
+        case 0:
+          value += random.nextInt(100);
+          break;
+        case 1:
+          break;
+        case 2:
+          value = values[random.nextInt(i)];
+          break;
+        default:
+          value = random.nextInt();
+          break;
+      }
+      values[i] = value;
+    }
+    values[1] = Integer.MAX_VALUE;
+    values[2] = Integer.MIN_VALUE + 1;
+    values[3] = -1;
+    testInt(values);
+  }
+
+  @Test
+  public void testLongSingleValue() throws IOException {
+    testLong(new long[] {(long) Integer.MAX_VALUE + 10});
+  }
+
+  @Test
+  public void testLong() throws IOException {
+    Random random = new Random(2);
+    long[] values = new long[2000];
+    long value = 0;
+    for (int i = 0; i < values.length; i++) {
+      switch (i % 4) {
+        case 0:
+          value += random.nextInt(1000);
+          break;
+        case 1:
+          break;
+        case 2:
+          value = values[random.nextInt(i)];
+          break;
+        default:
+          value = random.nextLong();
+          break;
+      }
+      values[i] = value;
+    }
+    values[1] = Long.MAX_VALUE;
+    values[2] = Long.MIN_VALUE + 1;
+    values[3] = -1;
+    testLong(values);
+  }
+
+  @Test
+  public void testFloatSingleValue() throws IOException {
+    testFloat(new float[] {Float.MAX_VALUE});
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    Random random = new Random(3);
+    List<Float> values = new ArrayList<>();
+    float value = 20.0f;
+    for (int i = 0; i < 2000; i++) {
+      value += (random.nextInt(21) - 10) / 100.0f;
+      values.add(value);
+      values.add(value);
+      values.add(random.nextFloat() * 1e6f - 5e5f);
+    }
+    float[] specials = {
+      0.0f, -0.0f, Float.MIN_VALUE, Float.MAX_VALUE, Float.POSITIVE_INFINITY, -1.5f, 1e-30f
+    };
+    for (float special : specials) {
+      values.add(special);
+    }
+    float[] array = new float[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    testFloat(array);
+  }
+
+  @Test
+  public void testDoubleSingleValue() throws IOException {
+    testDouble(new double[] {Double.MAX_VALUE});
+  }
+
+  @Test
+  public void testDouble() throws IOException {
+    Random random = new Random(4);
+    List<Double> values = new ArrayList<>();
+    double value = 20.0;
+    for (int i = 0; i < 2000; i++) {
+      value += (random.nextInt(21) - 10) / 100.0;
+      values.add(value);
+      values.add(value);
+      values.add(random.nextDouble() * 1e9 - 5e8);
+    }
+    double[] specials = {
+      0.0, -0.0, Double.MIN_VALUE, Double.MAX_VALUE, Double.NEGATIVE_INFINITY, -1.5, 1e-300
+    };
+    for (double special : specials) {
+      values.add(special);
+    }
+    double[] array = new double[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    testDouble(array);
+  }
+
+  private void testInt(int[] values) throws IOException {
+    Encoder encoder = new IntChimpEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (int value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new IntChimpDecoder();
+      for (int expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(expected, decoder.readInt(buffer));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  private void testLong(long[] values) throws IOException {
+    Encoder encoder = new LongChimpEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (long value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new LongChimpDecoder();
+      for (long expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(expected, decoder.readLong(buffer));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  private void testFloat(float[] values) throws IOException {
+    Encoder encoder = new FloatChimpEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (float value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new FloatChimpDecoder();
+      for (float expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(
+            Float.floatToRawIntBits(expected), Float.floatToRawIntBits(decoder.readFloat(buffer)));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  private void testDouble(double[] values) throws IOException {
+    Encoder encoder = new DoubleChimpEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (double value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new DoubleChimpDecoder();
+      for (double expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(
+            Double.doubleToRawLongBits(expected),
+            Double.doubleToRawLongBits(decoder.readDouble(buffer)));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+}
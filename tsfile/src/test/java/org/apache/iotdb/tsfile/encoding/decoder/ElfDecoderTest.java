@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.encoding.encoder.DoubleElfEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FloatElfEncoder;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ElfDecoderTest {
+
+  private static final int REPEAT_COUNT = 3;
+
+  @Test
+  public void testDoubleSingleValue() throws IOException {
+    testDouble(new double[] {12.34});
+  }
+
+  @Test
+  public void testDecimalDouble() throws IOException {
+    Random random = new Random(1);
+    double[] values = new double[3000];
+    long value = 2000;
+    for (int i = 0; i < values.length; i++) {
+      // sensor readings with 2 decimal places, and some with more or less
+      value += random.nextInt(21) - 10;
+      values[i] = value / 100.0;
+      if (i % 7 == 0) {
+        values[i] = value / 10.0;
+      } else if (i % 11 == 0) {
+        values[i] = random.nextInt(1000000) / 100000.0;
+      }
+    }
+    testDouble(values);
+  }
+
+  @Test
+  public void testDouble() throws IOException {
+    Random random = new Random(2);
+    List<Double> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextDouble());
+      values.add(-random.nextInt(100000) / 1000.0);
+      values.add(random.nextGaussian() * 1e10);
+    }
+    double[] specials = {
+      0.0,
+      -0.0,
+      0.0,
+      Double.MIN_VALUE,
+      Double.MAX_VALUE,
+      -Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      1e-300,
+      123456789.123,
+      0.1,
+      0.1,
+      -0.3,
+      1e15,
+      9007199254740993.0,
+      Double.longBitsToDouble(1L)
+    };
+    for (double special : specials) {
+      values.add(special);
+    }
+    double[] array = new double[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    testDouble(array);
+  }
+
+  @Test
+  public void testFloatSingleValue() throws IOException {
+    testFloat(new float[] {12.34f});
+  }
+
+  @Test
+  public void testDecimalFloat() throws IOException {
+    Random random = new Random(3);
+    float[] values = new float[3000];
+    int value = 2000;
+    for (int i = 0; i < values.length; i++) {
+      value += random.nextInt(21) - 10;
+      values[i] = value / 100.0f;
+      if (i % 7 == 0) {
+        values[i] = value / 10.0f;
+      }
+    }
+    testFloat(values);
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    Random random = new Random(4);
+    List<Float> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextFloat());
+      values.add(-random.nextInt(100000) / 1000.0f);
+      values.add((float) random.nextGaussian() * 1e10f);
+    }
+    float[] specials = {
+      0.0f,
+      -0.0f,
+      Float.MIN_VALUE,
+      Float.MAX_VALUE,
+      -Float.MAX_VALUE,
+      Float.POSITIVE_INFINITY,
+      Float.NEGATIVE_INFINITY,
+      1e-30f,
+      0.1f,
+      -0.3f,
+      16777217.0f
+    };
+    for (float special : specials) {
+      values.add(special);
+    }
+    float[] array = new float[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    testFloat(array);
+  }
+
+  private void testDouble(double[] values) throws IOException {
+    Encoder encoder = new DoubleElfEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (double value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new DoubleElfDecoder();
+      for (double expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(
+            Double.doubleToRawLongBits(expected),
+            Double.doubleToRawLongBits(decoder.readDouble(buffer)));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  private void testFloat(float[] values) throws IOException {
+    Encoder encoder = new FloatElfEncoder();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      for (float value : values) {
+        encoder.encode(value, baos);
+      }
+      encoder.flush(baos);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+    for (int i = 0; i < REPEAT_COUNT; i++) {
+      Decoder decoder = new FloatElfDecoder();
+      for (float expected : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(
+            Float.floatToRawIntBits(expected), Float.floatToRawIntBits(decoder.readFloat(buffer)));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.TsFileGeneratorForTest;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class ValueBloomFilterTest {
+
+  private static final String DEVICE = "d1";
+  private static final int CHUNK_NUM = 10;
+  private static final int POINT_NUM_IN_CHUNK = 100;
+
+  private final TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+  private int oldMaxDistinctCount;
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    oldMaxDistinctCount = config.getValueBloomFilterMaxDistinctCount();
+    config.setValueBloomFilterMaxDistinctCount(50);
+
+    file = new File(TsFileGeneratorForTest.getTestTsFilePath("root.sg1", 0, 0, 1));
+    if (!file.getParentFile().exists()) {
+      Assert.assertTrue(file.getParentFile().mkdirs());
+    }
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      writer.registerTimeseries(
+          new Path(DEVICE),
+          Arrays.asList(
+              new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.RLE, CompressionType.LZ4),
+              new MeasurementSchema("s2", TSDataType.TEXT, TSEncoding.PLAIN, CompressionType.LZ4),
+              new MeasurementSchema(
+                  "s3", TSDataType.INT64, TSEncoding.TS_2DIFF, CompressionType.LZ4)));
+      for (int i = 0; i < CHUNK_NUM * POINT_NUM_IN_CHUNK; i++) {
+        TSRecord record = new TSRecord(i, DEVICE);
+        // rare status codes and errors between the frequent ones
+        record.addTuple(new IntDataPoint("s1", i == 750 ? 503 : (i % 2 == 0 ? 200 : 404)));
+        record.addTuple(new StringDataPoint("s2", new Binary(i == 350 ? "ERROR" : "INFO")));
+        record.addTuple(new LongDataPoint("s3", i));
+        writer.write(record);
+        if ((i + 1) % POINT_NUM_IN_CHUNK == 0) {
+          writer.flushAllChunkGroups();
+        }
+      }
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    config.setValueBloomFilterMaxDistinctCount(oldMaxDistinctCount);
+    if (file.exists()) {
+      Assert.assertTrue(file.delete());
+    }
+  }
+
+  @Test
+  public void testChunkValueBloomFilter() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      List<ChunkMetadata> s1ChunkMetadataList =
+          reader.getChunkMetadataList(new Path(DEVICE, "s1", true));
+      Assert.assertEquals(CHUNK_NUM, s1ChunkMetadataList.size());
+      Filter eq = ValueFilter.eq(503);
+      Filter in = ValueFilter.in(new HashSet<>(Arrays.asList(500, 503)), false);
+      for (int i = 0; i < CHUNK_NUM; i++) {
+        ChunkMetadata chunkMetadata = s1ChunkMetadataList.get(i);
+        Assert.assertNotNull(chunkMetadata.getValueBloomFilter());
+        Assert.assertEquals(
+            i == 7, eq.satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertEquals(
+            i == 7, in.satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertTrue(
+            ValueFilter.eq(200).satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        // only the equality filters on values can skip the chunks
+        Assert.assertTrue(
+            TimeFilter.eq(503L).satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertTrue(
+            ValueFilter.notEq(200).satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertTrue(
+            ValueFilter.in(Collections.singleton(200), true)
+                .satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertEquals(
+            i == 7,
+            FilterFactory.and(TimeFilter.gtEq(0L), eq)
+                .satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+        Assert.assertEquals(
+            i == 7,
+            FilterFactory.or(ValueFilter.eq(500), eq)
+                .satisfyValueBloomFilter(chunkMetadata.getValueBloomFilter()));
+      }
+
+      // too many distinct values in the chunks of s3
+      for (ChunkMetadata chunkMetadata :
+          reader.getChunkMetadataList(new Path(DEVICE, "s3", true))) {
+        Assert.assertNull(chunkMetadata.getValueBloomFilter());
+      }
+    }
+  }
+
+  @Test
+  public void testVersionNumber() throws Exception {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      Assert.assertEquals(
+          TSFileConfig.VERSION_NUMBER_WITH_VALUE_BLOOM_FILTER, reader.readVersionNumber());
+    }
+
+    // the files written with value bloom filters disabled are still readable by the old readers
+    config.setValueBloomFilterMaxDistinctCount(0);
+    File oldVersionFile = new File(TsFileGeneratorForTest.getTestTsFilePath("root.sg1", 0, 0, 2));
+    try {
+      try (TsFileWriter writer = new TsFileWriter(oldVersionFile)) {
+        writer.registerTimeseries(
+            new Path(DEVICE), new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.RLE));
+        TSRecord record = new TSRecord(0, DEVICE);
+        record.addTuple(new IntDataPoint("s1", 200));
+        writer.write(record);
+      }
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(oldVersionFile.getPath())) {
+        Assert.assertEquals(TSFileConfig.VERSION_NUMBER, reader.readVersionNumber());
+        for (ChunkMetadata chunkMetadata :
+            reader.getChunkMetadataList(new Path(DEVICE, "s1", true))) {
+          Assert.assertNull(chunkMetadata.getValueBloomFilter());
+        }
+      }
+    } finally {
+      if (oldVersionFile.exists()) {
+        Assert.assertTrue(oldVersionFile.delete());
+      }
+    }
+  }
+
+  @Test
+  public void testQueryWithValueBloomFilter() throws IOException {
+    assertQueryResult("s1", ValueFilter.eq(503), 750);
+    assertQueryResult("s1", ValueFilter.in(new HashSet<>(Arrays.asList(500, 503)), false), 750);
+    assertQueryResult("s2", ValueFilter.eq(new Binary("ERROR")), 350);
+    assertQueryResult("s3", ValueFilter.eq(123L), 123);
+  }
+
+  private void assertQueryResult(String measurement, Filter filter, long expectedTime)
+      throws IOException {
+    Path path = new Path(DEVICE, measurement, true);
+    try (TsFileReader reader = new TsFileReader(new TsFileSequenceReader(file.getPath()))) {
+      QueryDataSet dataSet =
+          reader.query(
+              QueryExpression.create(
+                  Collections.singletonList(path), new SingleSeriesExpression(path, filter)));
+      Assert.assertTrue(dataSet.hasNext());
+      RowRecord record = dataSet.next();
+      Assert.assertEquals(expectedTime, record.getTimestamp());
+      Assert.assertFalse(dataSet.hasNext());
+    }
+  }
+}
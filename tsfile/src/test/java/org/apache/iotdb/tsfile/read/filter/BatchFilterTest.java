@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.filter;
+
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.DoubleColumn;
+import org.apache.iotdb.tsfile.read.common.block.column.IntColumn;
+import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.read.filter.operator.Between;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+
+public class BatchFilterTest {
+
+  private static final int POSITION_COUNT = 100;
+
+  private final TimeColumn timeColumn;
+
+  private final IntColumn intColumn;
+
+  private final DoubleColumn doubleColumn;
+
+  public BatchFilterTest() {
+    long[] times = new long[POSITION_COUNT];
+    int[] ints = new int[POSITION_COUNT];
+    double[] doubles = new double[POSITION_COUNT];
+    boolean[] isNull = new boolean[POSITION_COUNT];
+    for (int i = 0; i < POSITION_COUNT; i++) {
+      times[i] = i;
+      ints[i] = i % 10;
+      doubles[i] = i % 7 == 0 ? Double.NaN : i * 0.5;
+      isNull[i] = i % 13 == 0;
+    }
+    timeColumn = new TimeColumn(POSITION_COUNT, times);
+    intColumn = new IntColumn(POSITION_COUNT, Optional.empty(), ints);
+    doubleColumn = new DoubleColumn(POSITION_COUNT, Optional.of(isNull), doubles);
+  }
+
+  @Test
+  public void testTimeFilter() {
+    checkSameAsPointFilter(TimeFilter.gt(50L), intColumn);
+    checkSameAsPointFilter(TimeFilter.ltEq(20L), intColumn);
+    checkSameAsPointFilter(TimeFilter.notEq(3L), intColumn);
+    checkSameAsPointFilter(TimeFilter.between(10L, 30L, false), intColumn);
+    checkSameAsPointFilter(TimeFilter.between(10L, 30L, true), intColumn);
+    checkSameAsPointFilter(
+        TimeFilter.in(new HashSet<>(Arrays.asList(1L, 5L, 99L)), false), intColumn);
+  }
+
+  @Test
+  public void testValueFilter() {
+    checkSameAsPointFilter(ValueFilter.gt(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.gtEq(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.lt(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.ltEq(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.eq(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.notEq(5), intColumn);
+    checkSameAsPointFilter(ValueFilter.in(new HashSet<>(Arrays.asList(1, 3, 7)), true), intColumn);
+    checkSameAsPointFilter(new Between<>(2, 6, FilterType.VALUE_FILTER, false), intColumn);
+    // the value of the filter is of another type
+    checkSameAsPointFilter(ValueFilter.eq(5L), intColumn);
+    checkSameAsPointFilter(ValueFilter.in(new HashSet<>(Arrays.asList(1L, 3L)), false), intColumn);
+  }
+
+  @Test
+  public void testFilterWithNaNAndNull() {
+    checkSameAsPointFilter(ValueFilter.gt(10.0), doubleColumn);
+    checkSameAsPointFilter(ValueFilter.notEq(Double.NaN), doubleColumn);
+    checkSameAsPointFilter(
+        ValueFilter.in(new HashSet<>(Arrays.asList(Double.NaN, 1.5)), false), doubleColumn);
+    checkSameAsPointFilter(
+        new Between<>(1.0, Double.NaN, FilterType.VALUE_FILTER, false), doubleColumn);
+  }
+
+  @Test
+  public void testBinaryFilter() {
+    checkSameAsPointFilter(FilterFactory.and(TimeFilter.gtEq(10L), ValueFilter.lt(8)), intColumn);
+    checkSameAsPointFilter(FilterFactory.or(TimeFilter.lt(10L), ValueFilter.eq(3)), intColumn);
+    checkSameAsPointFilter(
+        FilterFactory.not(FilterFactory.or(TimeFilter.lt(10L), ValueFilter.eq(3))), intColumn);
+    // the like filter is examined point by point
+    checkSameAsPointFilter(
+        FilterFactory.and(TimeFilter.gt(3L), ValueFilter.like("%5%")), intColumn);
+  }
+
+  @Test
+  public void testSelectPositions() {
+    TsBlock tsBlock = new TsBlock(timeColumn, intColumn, doubleColumn);
+    boolean[] selection = new boolean[POSITION_COUNT];
+    Arrays.fill(selection, true);
+    Assert.assertSame(tsBlock, tsBlock.selectPositions(selection));
+
+    ValueFilter.gt(10.0).satisfy(timeColumn, doubleColumn, selection);
+    TsBlock result = tsBlock.selectPositions(selection);
+    int index = 0;
+    for (int i = 0; i < POSITION_COUNT; i++) {
+      if (selection[i]) {
+        Assert.assertEquals(i, result.getTimeByIndex(index));
+        Assert.assertEquals(i % 10, result.getColumn(0).getInt(index));
+        Assert.assertEquals(doubleColumn.getDouble(i), result.getColumn(1).getDouble(index), 0);
+        Assert.assertFalse(result.getColumn(1).isNull(index));
+        index++;
+      }
+    }
+    Assert.assertEquals(index, result.getPositionCount());
+
+    // the view of a region is compacted from its offset
+    TsBlock region = tsBlock.getRegion(13, 20);
+    selection = new boolean[20];
+    selection[0] = true;
+    selection[19] = true;
+    result = region.selectPositions(selection);
+    Assert.assertEquals(2, result.getPositionCount());
+    Assert.assertEquals(13, result.getTimeByIndex(0));
+    Assert.assertTrue(result.getColumn(1).isNull(0));
+    Assert.assertEquals(32, result.getTimeByIndex(1));
+    Assert.assertEquals(2, result.getColumn(0).getInt(1));
+  }
+
+  /** The batch evaluation should select exactly the non-null points satisfying the filter. */
+  private void checkSameAsPointFilter(Filter filter, Column column) {
+    boolean[] selection = new boolean[POSITION_COUNT];
+    Arrays.fill(selection, true);
+    // the unselected points should stay unselected
+    selection[1] = false;
+    filter.satisfy(timeColumn, column, selection);
+    for (int i = 0; i < POSITION_COUNT; i++) {
+      boolean expected =
+          i != 1 && !column.isNull(i) && filter.satisfy(timeColumn.getLong(i), column.getObject(i));
+      Assert.assertEquals(filter + " at " + i, expected, selection[i]);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.constant.TestConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.chunk.AlignedChunkReader;
+import org.apache.iotdb.tsfile.read.reader.page.AlignedPageReader;
+import org.apache.iotdb.tsfile.utils.FilePathUtils;
+import org.apache.iotdb.tsfile.utils.TsFileGeneratorUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.PATH_SEPARATOR;
+
+public class AlignedPageReaderTest {
+  private final String testStorageGroup = TsFileGeneratorUtils.testStorageGroup;
+  private final File SEQ_DIRS =
+      new File(
+          TestConstant.BASE_OUTPUT_PATH
+              + "data"
+              + File.separator
+              + "sequence"
+              + File.separator
+              + testStorageGroup
+              + File.separator
+              + "0"
+              + File.separator
+              + "0");
+
+  private File file;
+  private final int oldMaxPointNumInPage =
+      TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
+  private final int measurementNum = 4;
+  private final int pointNum = 500;
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    TSFileDescriptor.getInstance().getConfig().setMaxNumberOfPointsInPage(100);
+    if (!SEQ_DIRS.exists()) {
+      Assert.assertTrue(SEQ_DIRS.mkdirs());
+    }
+    String fileName =
+        System.currentTimeMillis() + FilePathUtils.FILE_NAME_SEPARATOR + "0-0-0.tsfile";
+    String filePath = SEQ_DIRS.getPath() + File.separator + fileName;
+    // the value of each point is the same as its time
+    file =
+        TsFileGeneratorUtils.generateAlignedTsFile(
+            filePath, 1, measurementNum, pointNum, 0, 0, 0, 0);
+  }
+
+  @After
+  public void tearDown() {
+    TSFileDescriptor.getInstance().getConfig().setMaxNumberOfPointsInPage(oldMaxPointNumInPage);
+    if (file.exists()) {
+      file.delete();
+    }
+    if (SEQ_DIRS.exists()) {
+      SEQ_DIRS.delete();
+    }
+  }
+
+  @Test
+  public void valueFilterTest() throws IOException {
+    List<TsBlock> tsBlocks = readTsBlocks(null, 1, ValueFilter.gt(345L));
+    Assert.assertEquals(5, tsBlocks.size());
+    // the first 3 pages are skipped by the statistics
+    for (int i = 0; i < 3; i++) {
+      Assert.assertTrue(tsBlocks.get(i).isEmpty());
+    }
+    checkResult(tsBlocks, 346, pointNum);
+  }
+
+  @Test
+  public void timeAndValueFilterTest() throws IOException {
+    List<TsBlock> tsBlocks = readTsBlocks(TimeFilter.lt(380L), 2, ValueFilter.gtEq(120L));
+    checkResult(tsBlocks, 120, 380);
+  }
+
+  @Test
+  public void timeFilterTest() throws IOException {
+    // the rows after the selected ones aren't decoded
+    List<TsBlock> tsBlocks = readTsBlocks(TimeFilter.lt(150L), -1, null);
+    checkResult(tsBlocks, 0, 150);
+  }
+
+  @Test
+  public void batchDataWithValueFilterTest() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      AlignedChunkReader chunkReader = createChunkReader(reader, null);
+      chunkReader.setValueFilter(0, ValueFilter.ltEq(42L));
+      long expectedTime = 0;
+      while (chunkReader.hasNextSatisfiedPage()) {
+        BatchData batchData = chunkReader.nextPageData();
+        while (batchData.hasCurrent()) {
+          Assert.assertEquals(expectedTime++, batchData.currentTime());
+          batchData.next();
+        }
+      }
+      Assert.assertEquals(43, expectedTime);
+    }
+  }
+
+  private List<TsBlock> readTsBlocks(Filter timeFilter, int columnIndex, Filter valueFilter)
+      throws IOException {
+    List<TsBlock> tsBlocks = new ArrayList<>();
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      AlignedChunkReader chunkReader = createChunkReader(reader, timeFilter);
+      if (valueFilter != null) {
+        chunkReader.setValueFilter(columnIndex, valueFilter);
+      }
+      for (IPageReader pageReader : chunkReader.loadPageReaderList()) {
+        AlignedPageReader alignedPageReader = (AlignedPageReader) pageReader;
+        alignedPageReader.initTsBlockBuilder(Collections.nCopies(measurementNum, TSDataType.INT64));
+        tsBlocks.add(alignedPageReader.getAllSatisfiedData());
+      }
+    }
+    return tsBlocks;
+  }
+
+  private AlignedChunkReader createChunkReader(TsFileSequenceReader reader, Filter timeFilter)
+      throws IOException {
+    List<AlignedChunkMetadata> chunkMetadataList =
+        reader.getAlignedChunkMetadata(
+            testStorageGroup + PATH_SEPARATOR + "d" + TsFileGeneratorUtils.getAlignDeviceOffset());
+    Assert.assertEquals(1, chunkMetadataList.size());
+    AlignedChunkMetadata chunkMetadata = chunkMetadataList.get(0);
+    Chunk timeChunk = reader.readMemChunk((ChunkMetadata) chunkMetadata.getTimeChunkMetadata());
+    List<Chunk> valueChunkList = new ArrayList<>();
+    for (IChunkMetadata valueChunkMetadata : chunkMetadata.getValueChunkMetadataList()) {
+      valueChunkList.add(reader.readMemChunk((ChunkMetadata) valueChunkMetadata));
+    }
+    return new AlignedChunkReader(timeChunk, valueChunkList, timeFilter);
+  }
+
+  private void checkResult(List<TsBlock> tsBlocks, long startTime, long endTime) {
+    long expectedTime = startTime;
+    for (TsBlock tsBlock : tsBlocks) {
+      Assert.assertEquals(measurementNum, tsBlock.getValueColumnCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++, expectedTime++) {
+        Assert.assertEquals(expectedTime, tsBlock.getTimeByIndex(i));
+        for (int j = 0; j < measurementNum; j++) {
+          Assert.assertEquals(expectedTime, tsBlock.getColumn(j).getLong(i));
+        }
+      }
+    }
+    Assert.assertEquals(endTime, expectedTime);
+  }
+}
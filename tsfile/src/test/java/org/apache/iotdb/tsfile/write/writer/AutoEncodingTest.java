@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.tsfile.write.writer;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.encoder.AutoEncoder;
+import org.apache.iotdb.tsfile.file.MetaMarker;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileReader;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.apache.iotdb.tsfile.utils.TsFileGeneratorForTest;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.chunk.ValueChunkWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.BooleanDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.FloatDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AutoEncodingTest {
+
+  private static final String DEVICE = "d1";
+  private static final int POINT_NUM_IN_CHUNK = 1000;
+
+  private final String fileName = TsFileGeneratorForTest.getTestTsFilePath("root.sg1", 0, 0, 2);
+
+  @Before
+  public void setUp() {
+    File file = new File(fileName);
+    if (!file.getParentFile().exists()) {
+      assertTrue(file.getParentFile().mkdirs());
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(new File(fileName).toPath());
+  }
+
+  @Test
+  public void testSelectEncodingOfEachChunk() throws Exception {
+    long[] longValues = new long[POINT_NUM_IN_CHUNK * 2];
+    double[] doubleValues = new double[POINT_NUM_IN_CHUNK * 2];
+    Random random = new Random(0);
+    for (int i = 0; i < POINT_NUM_IN_CHUNK * 2; i++) {
+      // the values of the first chunk are regular, and those of the second chunk are random
+      longValues[i] = i < POINT_NUM_IN_CHUNK ? i * 10L : random.nextLong();
+      doubleValues[i] = Math.round((20 + Math.sin(i / 100.0)) * 100) / 100.0;
+    }
+
+    try (TsFileWriter writer = new TsFileWriter(new File(fileName))) {
+      writer.registerTimeseries(
+          new Path(DEVICE),
+          Arrays.asList(
+              new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.AUTO),
+              new MeasurementSchema("s2", TSDataType.DOUBLE, TSEncoding.AUTO),
+              new MeasurementSchema("s3", TSDataType.TEXT, TSEncoding.AUTO),
+              new MeasurementSchema("s4", TSDataType.BOOLEAN, TSEncoding.AUTO)));
+      for (int i = 0; i < POINT_NUM_IN_CHUNK * 2; i++) {
+        TSRecord record = new TSRecord(i, DEVICE);
+        record.addTuple(new LongDataPoint("s1", longValues[i]));
+        record.addTuple(new DoubleDataPoint("s2", doubleValues[i]));
+        record.addTuple(new StringDataPoint("s3", new Binary("status" + i % 3)));
+        record.addTuple(new BooleanDataPoint("s4", i % 100 < 50));
+        writer.write(record);
+        if (i == POINT_NUM_IN_CHUNK - 1) {
+          writer.flushAllChunkGroups();
+        }
+      }
+    }
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(fileName)) {
+      List<TSEncoding> s1Encodings = getChunkEncodings(reader, "s1");
+      assertEquals(2, s1Encodings.size());
+      assertNotEquals(TSEncoding.PLAIN, s1Encodings.get(0));
+      assertEquals(TSEncoding.PLAIN, s1Encodings.get(1));
+      for (String measurement : new String[] {"s2", "s3", "s4"}) {
+        for (TSEncoding encoding : getChunkEncodings(reader, measurement)) {
+          assertNotEquals(TSEncoding.AUTO, encoding);
+        }
+      }
+      assertEquals(TSEncoding.DICTIONARY, getChunkEncodings(reader, "s3").get(0));
+
+      List<Path> paths = new ArrayList<>();
+      for (String measurement : new String[] {"s1", "s2", "s3", "s4"}) {
+        paths.add(new Path(DEVICE, measurement, true));
+      }
+      QueryDataSet dataSet = new TsFileReader(reader).query(QueryExpression.create(paths, null));
+      int i = 0;
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        assertEquals(i, record.getTimestamp());
+        assertEquals(longValues[i], record.getFields().get(0).getLongV());
+        assertEquals(doubleValues[i], record.getFields().get(1).getDoubleV(), 0);
+        assertEquals("status" + i % 3, record.getFields().get(2).getBinaryV().toString());
+        assertEquals(i % 100 < 50, record.getFields().get(3).getBoolV());
+        i++;
+      }
+      assertEquals(POINT_NUM_IN_CHUNK * 2, i);
+    }
+  }
+
+  private List<TSEncoding> getChunkEncodings(TsFileSequenceReader reader, String measurement)
+      throws IOException {
+    List<TSEncoding> encodings = new ArrayList<>();
+    for (ChunkMetadata chunkMetadata :
+        reader.getChunkMetadataList(new Path(DEVICE, measurement, true))) {
+      encodings.add(reader.readMemChunk(chunkMetadata).getHeader().getEncodingType());
+    }
+    return encodings;
+  }
+
+  @Test
+  public void testGorillaEnding() throws IOException {
+    // NaN is the end of the encodings based on GORILLA, it is escaped so they can be selected
+    AutoEncoder encoder = new AutoEncoder(TSDataType.DOUBLE);
+    PublicBAOS out = new PublicBAOS();
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      encoder.encode(i % 10 == 0 ? Double.NaN : 1.5, out);
+    }
+    encoder.flush(out);
+    assertNotEquals(TSEncoding.PLAIN, encoder.getType());
+
+    Decoder decoder = Decoder.getDecoderByType(encoder.getType(), TSDataType.DOUBLE);
+    ByteBuffer buffer = ByteBuffer.wrap(out.getBuf(), 0, out.size());
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      assertTrue(decoder.hasNext(buffer));
+      assertEquals(i % 10 == 0 ? Double.NaN : 1.5, decoder.readDouble(buffer), 0);
+    }
+    assertFalse(decoder.hasNext(buffer));
+
+    // select the encoding again after reset
+    encoder.reset();
+    assertEquals(TSEncoding.AUTO, encoder.getType());
+    out.reset();
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      encoder.encode(1.5, out);
+    }
+    encoder.flush(out);
+    assertNotEquals(TSEncoding.PLAIN, encoder.getType());
+  }
+
+  @Test
+  public void testGorillaEndingInSecondPage() throws IOException {
+    AutoEncoder doubleEncoder = new AutoEncoder(TSDataType.DOUBLE);
+    AutoEncoder floatEncoder = new AutoEncoder(TSDataType.FLOAT);
+    AutoEncoder longEncoder = new AutoEncoder(TSDataType.INT64);
+    PublicBAOS doubleOut = new PublicBAOS();
+    PublicBAOS floatOut = new PublicBAOS();
+    PublicBAOS longOut = new PublicBAOS();
+    // the first page selects the encoding
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      doubleEncoder.encode(1.5, doubleOut);
+      floatEncoder.encode(2.5f, floatOut);
+      longEncoder.encode(1000L + i % 3, longOut);
+    }
+    doubleEncoder.flush(doubleOut);
+    floatEncoder.flush(floatOut);
+    longEncoder.flush(longOut);
+    assertNotEquals(TSEncoding.PLAIN, doubleEncoder.getType());
+    assertNotEquals(TSEncoding.PLAIN, floatEncoder.getType());
+    assertNotEquals(TSEncoding.GORILLA, longEncoder.getType());
+
+    // the second page is encoded by the selected encoding and contains the ending values
+    doubleOut.reset();
+    floatOut.reset();
+    longOut.reset();
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      doubleEncoder.encode(i == 10 ? Double.NaN : 1.5, doubleOut);
+      floatEncoder.encode(i == 10 ? Float.NaN : 2.5f, floatOut);
+      longEncoder.encode(i == 10 ? Long.MIN_VALUE : 1000L + i % 3, longOut);
+    }
+    doubleEncoder.flush(doubleOut);
+    floatEncoder.flush(floatOut);
+    longEncoder.flush(longOut);
+
+    Decoder doubleDecoder = Decoder.getDecoderByType(doubleEncoder.getType(), TSDataType.DOUBLE);
+    Decoder floatDecoder = Decoder.getDecoderByType(floatEncoder.getType(), TSDataType.FLOAT);
+    Decoder longDecoder = Decoder.getDecoderByType(longEncoder.getType(), TSDataType.INT64);
+    ByteBuffer doubleBuffer = ByteBuffer.wrap(doubleOut.getBuf(), 0, doubleOut.size());
+    ByteBuffer floatBuffer = ByteBuffer.wrap(floatOut.getBuf(), 0, floatOut.size());
+    ByteBuffer longBuffer = ByteBuffer.wrap(longOut.getBuf(), 0, longOut.size());
+    for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+      assertTrue(doubleDecoder.hasNext(doubleBuffer));
+      assertEquals(i == 10 ? Double.NaN : 1.5, doubleDecoder.readDouble(doubleBuffer), 0);
+      assertTrue(floatDecoder.hasNext(floatBuffer));
+      assertEquals(i == 10 ? Float.NaN : 2.5f, floatDecoder.readFloat(floatBuffer), 0);
+      assertTrue(longDecoder.hasNext(longBuffer));
+      assertEquals(i == 10 ? Long.MIN_VALUE : 1000L + i % 3, longDecoder.readLong(longBuffer));
+    }
+    assertFalse(doubleDecoder.hasNext(doubleBuffer));
+    assertFalse(floatDecoder.hasNext(floatBuffer));
+    assertFalse(longDecoder.hasNext(longBuffer));
+  }
+
+  @Test
+  public void testGorillaEndingAfterSelection() throws Exception {
+    int oldMaxNumberOfPointsInPage =
+        TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
+    TSFileDescriptor.getInstance().getConfig().setMaxNumberOfPointsInPage(100);
+    try {
+      try (TsFileWriter writer = new TsFileWriter(new File(fileName))) {
+        writer.registerTimeseries(
+            new Path(DEVICE),
+            Arrays.asList(
+                new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.AUTO),
+                new MeasurementSchema("s2", TSDataType.DOUBLE, TSEncoding.AUTO),
+                new MeasurementSchema("s3", TSDataType.FLOAT, TSEncoding.AUTO)));
+        for (int i = 0; i < POINT_NUM_IN_CHUNK; i++) {
+          // the ending values of GORILLA are only written in the second page
+          TSRecord record = new TSRecord(i, DEVICE);
+          record.addTuple(new LongDataPoint("s1", i == 150 ? Long.MIN_VALUE : 1000L + i % 3));
+          record.addTuple(new DoubleDataPoint("s2", i == 150 ? Double.NaN : 1.5));
+          record.addTuple(new FloatDataPoint("s3", i == 150 ? Float.NaN : 2.5f));
+          writer.write(record);
+        }
+      }
+
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(fileName)) {
+        assertNotEquals(TSEncoding.GORILLA, getChunkEncodings(reader, "s1").get(0));
+        assertNotEquals(TSEncoding.PLAIN, getChunkEncodings(reader, "s2").get(0));
+        assertNotEquals(TSEncoding.PLAIN, getChunkEncodings(reader, "s3").get(0));
+
+        List<Path> paths = new ArrayList<>();
+        for (String measurement : new String[] {"s1", "s2", "s3"}) {
+          paths.add(new Path(DEVICE, measurement, true));
+        }
+        QueryDataSet dataSet = new TsFileReader(reader).query(QueryExpression.create(paths, null));
+        int i = 0;
+        while (dataSet.hasNext()) {
+          RowRecord record = dataSet.next();
+          assertEquals(i, record.getTimestamp());
+          assertEquals(
+              i == 150 ? Long.MIN_VALUE : 1000L + i % 3, record.getFields().get(0).getLongV());
+          assertEquals(i == 150 ? Double.NaN : 1.5, record.getFields().get(1).getDoubleV(), 0);
+          assertEquals(i == 150 ? Float.NaN : 2.5f, record.getFields().get(2).getFloatV(), 0);
+          i++;
+        }
+        assertEquals(POINT_NUM_IN_CHUNK, i);
+      }
+    } finally {
+      TSFileDescriptor.getInstance()
+          .getConfig()
+          .setMaxNumberOfPointsInPage(oldMaxNumberOfPointsInPage);
+    }
+  }
+
+  @Test
+  public void testValueChunkWithOnlyNullValues() throws IOException {
+    ValueChunkWriter chunkWriter =
+        new ValueChunkWriter(
+            "s1",
+            CompressionType.UNCOMPRESSED,
+            TSDataType.INT64,
+            TSEncoding.AUTO,
+            new AutoEncoder(TSDataType.INT64));
+    for (int time = 1; time <= 20; time++) {
+      chunkWriter.write(time, 0L, true);
+    }
+    chunkWriter.sealCurrentPage();
+
+    // no encoding is selected, the header records PLAIN since no value is encoded
+    TestTsFileOutput testTsFileOutput = new TestTsFileOutput();
+    TsFileIOWriter writer = new TsFileIOWriter(testTsFileOutput, true);
+    chunkWriter.writeAllPagesOfChunkToTsFile(writer);
+    PublicBAOS publicBAOS = testTsFileOutput.publicBAOS;
+    ByteBuffer buffer = ByteBuffer.wrap(publicBAOS.getBuf(), 0, publicBAOS.size());
+    assertEquals(MetaMarker.ONLY_ONE_PAGE_VALUE_CHUNK_HEADER, ReadWriteIOUtils.readByte(buffer));
+    assertEquals("s1", ReadWriteIOUtils.readVarIntString(buffer));
+    assertEquals(0, ReadWriteForEncodingUtils.readUnsignedVarInt(buffer));
+    assertEquals(TSDataType.INT64.serialize(), ReadWriteIOUtils.readByte(buffer));
+    assertEquals(CompressionType.UNCOMPRESSED.serialize(), ReadWriteIOUtils.readByte(buffer));
+    assertEquals(TSEncoding.PLAIN.serialize(), ReadWriteIOUtils.readByte(buffer));
+  }
+}